@@ -70,6 +70,8 @@ dependencies {
     annotationProcessor("org.projectlombok:lombok:1.18.24")
     testImplementation(platform("org.junit:junit-bom:5.9.1"))
     testImplementation("org.junit.jupiter:junit-jupiter")
+    testImplementation("net.sf.trove4j:trove4j:3.0.3")
+    testImplementation("net.runelite:client:$runeliteVersion")
     compileOnly("net.sf.trove4j:trove4j:3.0.3")
     compileOnly("it.unimi.dsi:fastutil:8.5.11")
 
@@ -82,4 +84,13 @@ dependencies {
 
 tasks.test {
     useJUnitPlatform()
-}
\ No newline at end of file
+}
+
+// Times WorldLocation.location() against the linear scan it replaced; not part of the test run
+tasks.register<JavaExec>("benchmarkWorldLocation") {
+    group = "verification"
+    description = "Benchmarks the WorldLocation spatial index against the previous linear scan"
+
+    classpath = sourceSets.test.get().runtimeClasspath
+    mainClass.set("com.tonic.data.WorldLocationBenchmark")
+}
@@ -2,10 +2,12 @@ package com.tonic.api.entities;
 
 import com.tonic.Static;
 import com.tonic.api.TClient;
+import com.tonic.data.definitions.ObjectDef;
 import com.tonic.data.wrappers.TileObjectEx;
 import com.tonic.queries.TileObjectQuery;
 import com.tonic.services.ClickManager;
 import com.tonic.services.ClickPacket.ClickType;
+import com.tonic.services.DefinitionCache;
 import net.runelite.api.*;
 import net.runelite.api.coords.WorldPoint;
 
@@ -125,20 +127,10 @@ public class TileObjectAPI
      * @return actions
      */
     public static String[] getActions(TileObject tileObject) {
-        Client client = Static.getClient();
-        return Static.invoke(() -> {
-            ObjectComposition composition = client.getObjectDefinition(tileObject.getId());
-            if(composition == null)
-                return new String[]{};
-
-            if (composition.getImpostorIds() == null)
-            {
-                return composition.getActions();
-            }
-
-            composition = composition.getImpostor();
-            return composition.getActions();
-        });
+        ObjectDef definition = DefinitionCache.resolvedObject(tileObject.getId());
+        if(definition == null)
+            return new String[]{};
+        return definition.getActions();
     }
 
     private static int getAction(TileObject object, String action) {
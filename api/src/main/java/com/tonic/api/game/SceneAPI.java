@@ -2,6 +2,7 @@ package com.tonic.api.game;
 
 import com.tonic.Static;
 import com.tonic.data.wrappers.PlayerEx;
+import com.tonic.services.ReachabilityMap;
 import com.tonic.util.Location;
 import com.tonic.util.WorldPointUtil;
 import gnu.trove.set.TIntSet;
@@ -21,14 +22,14 @@ import java.util.function.Predicate;
 public class SceneAPI {
 
     /**
-     * Returns a list of all reachable tiles from the player's current position using a breadth-first search algorithm.
+     * Returns a list of all reachable tiles from the player's current position, from the shared {@link ReachabilityMap}.
      * This method considers the collision data to determine which tiles can be reached.
      *
      * @return A list of WorldPoint objects representing all reachable tiles.
      */
     public static List<WorldPoint> reachableTiles()
     {
-        return reachableTiles(PlayerEx.getLocal().getWorldPoint());
+        return ReachabilityMap.reachableTiles();
     }
 
     /**
@@ -396,12 +397,24 @@ public class SceneAPI {
     }
 
     /**
-     * check if a world point is reachable from another world point
+     * check if a world point is reachable from another world point, within the client's route
+     * limits: a 128x128 window around the start and at most 25 checkpoints
      * @param start world point
      * @param end target world point
      * @return boolean
      */
     public static boolean isReachable(WorldPoint start, WorldPoint end) {
+        if (ReachabilityMap.isOrigin(start)) {
+            // A route of at most 25 steps has at most 25 checkpoints and stays inside the window,
+            // longer ones still need the checkpoint search to apply the limits
+            int distance = ReachabilityMap.distanceTo(end);
+            if (distance < 0) {
+                return false;
+            }
+            if (distance <= 25) {
+                return true;
+            }
+        }
         return Static.invoke(() -> {
             if (start.getPlane() != end.getPlane()) {
                 return false;
@@ -704,34 +717,17 @@ public class SceneAPI {
 
     public static List<WorldPoint> filterReachable(WorldPoint... to)
     {
-        List<WorldPoint> reachable = reachableTiles();
-        List<WorldPoint> finalList = new ArrayList<>();
-        for (WorldPoint wp : to)
-        {
-            if (reachable.contains(wp))
-            {
-                finalList.add(wp);
-            }
-        }
-        return finalList;
+        return ReachabilityMap.filterReachable(to);
     }
 
     public static List<WorldPoint> filterReachable(List<WorldPoint> to)
     {
-        List<WorldPoint> reachable = reachableTiles();
-        List<WorldPoint> finalList = new ArrayList<>();
-        for (WorldPoint wp : to)
-        {
-            if (reachable.contains(wp))
-            {
-                finalList.add(wp);
-            }
-        }
-        return finalList;
+        return ReachabilityMap.filterReachable(to);
     }
 
     /**
-     * Determines if the destination world point is reachable from the player's current position.
+     * Determines if the destination world point is reachable from the player's current position,
+     * within the same route limits as {@link #isReachable(WorldPoint, WorldPoint)}.
      * @param to The destination WorldPoint.
      * @return True if the destination WorldPoint is reachable, false otherwise.
      */
@@ -740,6 +736,16 @@ public class SceneAPI {
         return isReachable(PlayerEx.getLocal().getWorldPoint(), to);
     }
 
+    /**
+     * Number of tiles the player has to walk to reach the destination.
+     * @param to The destination WorldPoint.
+     * @return The walking distance in tiles, or -1 if the destination isn't reachable.
+     */
+    public static int distanceTo(WorldPoint to)
+    {
+        return ReachabilityMap.distanceTo(to);
+    }
+
     public static boolean hasLineOfSightTo(WorldPoint source, WorldPoint other)
     {
         Tile sourceTile = getTile(source);
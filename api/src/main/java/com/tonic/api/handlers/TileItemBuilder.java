@@ -5,6 +5,7 @@ import com.tonic.api.entities.TileItemAPI;
 import com.tonic.api.widgets.InventoryAPI;
 import com.tonic.data.wrappers.TileItemEx;
 import com.tonic.util.handler.AbstractHandlerBuilder;
+import com.tonic.util.handler.StepContext;
 import net.runelite.api.coords.WorldPoint;
 
 /**
@@ -12,6 +13,9 @@ import net.runelite.api.coords.WorldPoint;
  */
 public class TileItemBuilder extends AbstractHandlerBuilder<TileItemBuilder>
 {
+    // inventory count before a pick up, one pick up is in flight at a time
+    private static final int PICKUP_COUNT = StepContext.key("PICKUP_COUNT");
+
     /**
      * Creates a new instance of TileItemBuilder.
      *
@@ -113,13 +117,13 @@ public class TileItemBuilder extends AbstractHandlerBuilder<TileItemBuilder>
     {
         walkTo(point);
         add(context -> {
-            context.put("COUNT_" + itemName, InventoryAPI.count(itemName));
+            context.put(PICKUP_COUNT, InventoryAPI.count(itemName));
         });
         int step = currentStep + 1;
         interact(itemName, 2);
         int nextStep = currentStep + 1;
         add(context -> {
-            int count = context.get("COUNT_" + itemName);
+            int count = context.get(PICKUP_COUNT);
             return InventoryAPI.count(itemName) > count ? step : nextStep;
         });
         return this;
@@ -136,13 +140,13 @@ public class TileItemBuilder extends AbstractHandlerBuilder<TileItemBuilder>
     {
         walkTo(point);
         add(context -> {
-            context.put("COUNT_" + itemId, InventoryAPI.count(itemId));
+            context.put(PICKUP_COUNT, InventoryAPI.count(itemId));
         });
         int step = currentStep + 1;
         interact(itemId, 2);
         int nextStep = currentStep + 1;
         add(context -> {
-            int count = context.get("COUNT_" + itemId);
+            int count = context.get(PICKUP_COUNT);
             return InventoryAPI.count(itemId) > count ? step : nextStep;
         });
         return this;
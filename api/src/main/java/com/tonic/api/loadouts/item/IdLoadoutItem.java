@@ -3,10 +3,14 @@ package com.tonic.api.loadouts.item;
 import com.tonic.api.loadouts.LoadoutException;
 import com.tonic.api.loadouts.item.restock.RestockConfig;
 import com.tonic.data.EquipmentSlot;
+import com.tonic.data.wrappers.ItemContainerSnapshot;
 import com.tonic.data.wrappers.ItemEx;
 import com.tonic.queries.InventoryQuery;
+import com.tonic.services.ItemContainerCache;
 import net.runelite.api.gameval.InventoryID;
+import org.apache.commons.lang3.ArrayUtils;
 
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
 
@@ -69,19 +73,23 @@ public class IdLoadoutItem extends LoadoutItem
   @Override
   public List<ItemEx> getBanked()
   {
-    int[] preferredOrder = getIds();
-    return InventoryQuery.fromInventoryId(InventoryID.BANK)
-        .withId(ids)
-        .removeIf(ItemEx::isPlaceholder)
-        .sort(Comparator.comparingInt(item -> {
-          int itemId = item.getId();
-          for (int i = 0; i < preferredOrder.length; i++) {
-            if (preferredOrder[i] == itemId) {
-              return i;
-            }
-          }
-          return Integer.MAX_VALUE;
-        })).collect();
+    ItemContainerSnapshot bank = ItemContainerCache.get(InventoryID.BANK);
+    List<ItemEx> banked = new ArrayList<>();
+    for (int i = 0; i < ids.length; i++)
+    {
+      if (ArrayUtils.indexOf(ids, ids[i]) != i)
+      {
+        continue;
+      }
+      for (ItemEx item : bank.getById(ids[i]))
+      {
+        if (!item.isPlaceholder())
+        {
+          banked.add(item);
+        }
+      }
+    }
+    return banked;
   }
 
   public static class Builder
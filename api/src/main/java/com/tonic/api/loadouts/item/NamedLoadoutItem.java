@@ -3,12 +3,13 @@ package com.tonic.api.loadouts.item;
 import com.tonic.api.loadouts.LoadoutException;
 import com.tonic.api.loadouts.item.restock.RestockConfig;
 import com.tonic.data.EquipmentSlot;
+import com.tonic.data.wrappers.ItemContainerSnapshot;
 import com.tonic.data.wrappers.ItemEx;
 import com.tonic.queries.InventoryQuery;
+import com.tonic.services.ItemContainerCache;
 import net.runelite.api.gameval.InventoryID;
 
-import java.util.Comparator;
-import java.util.List;
+import java.util.*;
 
 public class NamedLoadoutItem extends LoadoutItem
 {
@@ -69,18 +70,20 @@ public class NamedLoadoutItem extends LoadoutItem
   @Override
   public List<ItemEx> getBanked()
   {
-    String[] preferredOrder = getNames();
-    return InventoryQuery.fromInventoryId(InventoryID.BANK)
-        .removeIf(ItemEx::isPlaceholder)
-        .sort(Comparator.comparingInt(item -> {
-          String itemName = item.getName();
-          for (int i = 0; i < preferredOrder.length; i++) {
-            if (preferredOrder[i].equalsIgnoreCase(itemName)) {
-              return i;
-            }
-          }
-          return Integer.MAX_VALUE;
-        })).collect();
+    ItemContainerSnapshot bank = ItemContainerCache.get(InventoryID.BANK);
+    List<ItemEx> banked = new ArrayList<>();
+    Set<ItemEx> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+    for (String name : getNames())
+    {
+      for (ItemEx item : bank.getByName(name))
+      {
+        if (!item.isPlaceholder() && seen.add(item))
+        {
+          banked.add(item);
+        }
+      }
+    }
+    return banked;
   }
 
   public static Builder builder()
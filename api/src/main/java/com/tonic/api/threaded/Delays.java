@@ -10,6 +10,7 @@ import com.tonic.util.StackTraceUtil;
 import net.runelite.api.Client;
 import net.runelite.api.Player;
 
+import java.util.function.BooleanSupplier;
 import java.util.function.Supplier;
 
 /**
@@ -30,6 +31,11 @@ public class Delays
      */
     public static void tick(int ticks)
     {
+        if(canPark())
+        {
+            WaitRegistry.awaitTicks(ticks);
+            return;
+        }
         int tick = GameManager.getTickCount() + ticks;
         int start = GameManager.getTickCount();
         while(GameManager.getTickCount() < tick && GameManager.getTickCount() >= start)
@@ -76,6 +82,15 @@ public class Delays
      */
     public static void waitUntil(Supplier<Boolean> condition)
     {
+        if(condition.get())
+        {
+            return;
+        }
+        if(canPark())
+        {
+            WaitRegistry.await(condition, Integer.MAX_VALUE, Long.MAX_VALUE);
+            return;
+        }
         while(!condition.get())
         {
             if(Thread.currentThread().isInterrupted() || AsyncTask._isCancelled())
@@ -95,6 +110,14 @@ public class Delays
     public static boolean waitUntil(Supplier<Boolean> condition, long timeoutMS)
     {
         long start = System.currentTimeMillis();
+        if(condition.get())
+        {
+            return true;
+        }
+        if(canPark())
+        {
+            return WaitRegistry.await(condition, Integer.MAX_VALUE, timeoutMS) == WaitRegistry.Result.MET;
+        }
         while(!condition.get())
         {
             if(System.currentTimeMillis() - start > timeoutMS)
@@ -119,6 +142,14 @@ public class Delays
     public static boolean waitUntil(Supplier<Boolean> condition, int ticks)
     {
         int end = GameManager.getTickCount() + ticks;
+        if(condition.get())
+        {
+            return true;
+        }
+        if(canPark())
+        {
+            return WaitRegistry.await(condition, ticks, Long.MAX_VALUE) == WaitRegistry.Result.MET;
+        }
         while(!condition.get())
         {
             if(GameManager.getTickCount() >= end)
@@ -134,6 +165,50 @@ public class Delays
         return true;
     }
 
+    /**
+     * Waits until a side-effect free predicate is true or the tick limit is reached. The predicate
+     * runs on the client thread, batched with every other waiting predicate once per game tick, so it
+     * can read client state directly. It must not act, walk or wait; use {@link #waitUntil} for that.
+     * @param predicate the predicate to be met, evaluated on the client thread
+     * @param ticks the maximum time to wait in game ticks
+     * @return true if the predicate was met, false if the tick limit was reached
+     */
+    public static boolean waitUntilOnClient(BooleanSupplier predicate, int ticks)
+    {
+        int end = GameManager.getTickCount() + ticks;
+        if(Static.invoke(predicate::getAsBoolean))
+        {
+            return true;
+        }
+        if(canPark())
+        {
+            return WaitRegistry.awaitOnClient(predicate, ticks, Long.MAX_VALUE) == WaitRegistry.Result.MET;
+        }
+        while(!Static.invoke(predicate::getAsBoolean))
+        {
+            if(GameManager.getTickCount() >= end)
+            {
+                return false;
+            }
+            if(Thread.currentThread().isInterrupted() || AsyncTask._isCancelled())
+            {
+                throw new RuntimeException("Task cancelled");
+            }
+            wait(100);
+        }
+        return true;
+    }
+
+    /**
+     * Waits are handed to the {@link WaitRegistry} once it listens to ticks, unless called from the
+     * client thread, where the polling path throws like it always has.
+     */
+    private static boolean canPark()
+    {
+        Client client = Static.getClient();
+        return WaitRegistry.isActive() && client != null && !client.isClientThread();
+    }
+
     public static void waitUntilIdle()
     {
         tick(1);
@@ -0,0 +1,380 @@
+package com.tonic.api.threaded;
+
+import com.tonic.Static;
+import com.tonic.services.GameManager;
+import com.tonic.util.AsyncTask;
+import net.runelite.api.events.ClientTick;
+import net.runelite.api.events.GameStateChanged;
+import net.runelite.api.events.GameTick;
+import net.runelite.client.eventbus.Subscribe;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Parks script threads waiting on game ticks or conditions and wakes them from the client thread,
+ * instead of every waiting thread sleeping and polling on its own.
+ * <p>
+ * Tick waits are released in one batch at the end of every game tick and client tick, on the tick
+ * they end on. Predicates passed to {@link #awaitOnClient} are side-effect free by contract and are
+ * evaluated together on the client thread at the end of every game tick and game state change, so
+ * their threads only wake once there is an answer. Ordinary conditions may act, walk or wait, so the
+ * client thread only signals their waiters on those same events and each script thread evaluates
+ * its own condition.
+ * <p>
+ * Parked threads otherwise sleep until their time limit. Cancelling a task unparks them through
+ * {@link #wakeAll()}, and interrupting one unparks it directly.
+ */
+public class WaitRegistry
+{
+    private static final int WAITING = 0;
+    private static final int MET = 1;
+    private static final int TIMED_OUT = 2;
+    private static final int FAILED = 3;
+
+    private static WaitRegistry INSTANCE;
+    private static final Queue<Waiter> WAITERS = new ConcurrentLinkedQueue<>();
+
+    private static final AtomicLong wakes = new AtomicLong();
+    private static final AtomicLong wakeLatencyNanos = new AtomicLong();
+    private static volatile long maxWakeLatencyNanos;
+
+    /**
+     * Outcome of a condition wait.
+     */
+    public enum Result
+    {
+        MET,
+        TIMED_OUT
+    }
+
+    /**
+     * @return whether waits are being released, i.e. the registry is listening to ticks
+     */
+    public static boolean isActive()
+    {
+        return INSTANCE != null;
+    }
+
+    /**
+     * Parks until the tick count has advanced by the given ticks, or was reset by a logout or hop.
+     * @param ticks ticks
+     */
+    public static void awaitTicks(int ticks)
+    {
+        int start = GameManager.getTickCount();
+        Waiter waiter = new Waiter(start, start + ticks, null, null);
+        WAITERS.add(waiter);
+        try
+        {
+            while (waiter.state.get() == WAITING)
+            {
+                checkCancelled();
+                LockSupport.park(waiter);
+            }
+        }
+        finally
+        {
+            WAITERS.remove(waiter);
+        }
+        recordWake(waiter);
+    }
+
+    /**
+     * Parks until the condition is true, the tick limit is reached, or the time limit runs out.
+     * @param condition condition, evaluated on the calling thread whenever it is signalled
+     * @param ticks tick limit, {@link Integer#MAX_VALUE} for none
+     * @param timeoutMS time limit in milliseconds, {@link Long#MAX_VALUE} for none
+     * @return the outcome
+     */
+    public static Result await(Supplier<Boolean> condition, int ticks, long timeoutMS)
+    {
+        int start = GameManager.getTickCount();
+        Waiter waiter = new Waiter(start, endTick(start, ticks), condition, null);
+        long deadline = deadline(timeoutMS);
+        WAITERS.add(waiter);
+        try
+        {
+            while (true)
+            {
+                checkCancelled();
+                if (waiter.signalled.getAndSet(false))
+                {
+                    if (Boolean.TRUE.equals(condition.get()))
+                    {
+                        recordWake(waiter);
+                        return Result.MET;
+                    }
+                    if (GameManager.getTickCount() >= waiter.endTick)
+                    {
+                        return Result.TIMED_OUT;
+                    }
+                }
+                if (!park(waiter, deadline))
+                {
+                    return Result.TIMED_OUT;
+                }
+            }
+        }
+        finally
+        {
+            WAITERS.remove(waiter);
+        }
+    }
+
+    /**
+     * Parks until the predicate is true, the tick limit is reached, or the time limit runs out. The
+     * predicate is evaluated on the client thread in the same pass as every other waiter's, so it
+     * may read client state directly but must not act, walk, wait or otherwise have side effects.
+     * @param predicate side-effect free predicate, evaluated on the client thread
+     * @param ticks tick limit, {@link Integer#MAX_VALUE} for none
+     * @param timeoutMS time limit in milliseconds, {@link Long#MAX_VALUE} for none
+     * @return the outcome
+     */
+    public static Result awaitOnClient(BooleanSupplier predicate, int ticks, long timeoutMS)
+    {
+        int start = GameManager.getTickCount();
+        Waiter waiter = new Waiter(start, endTick(start, ticks), null, predicate);
+        long deadline = deadline(timeoutMS);
+        WAITERS.add(waiter);
+        try
+        {
+            int state;
+            while ((state = waiter.state.get()) == WAITING)
+            {
+                checkCancelled();
+                if (!park(waiter, deadline))
+                {
+                    // claim the outcome so a release racing the deadline doesn't report it as met
+                    if (waiter.state.compareAndSet(WAITING, TIMED_OUT))
+                    {
+                        return Result.TIMED_OUT;
+                    }
+                }
+            }
+            if (state == FAILED)
+            {
+                throw waiter.failure;
+            }
+            if (state == MET)
+            {
+                recordWake(waiter);
+                return Result.MET;
+            }
+            return Result.TIMED_OUT;
+        }
+        finally
+        {
+            WAITERS.remove(waiter);
+        }
+    }
+
+    /**
+     * Unparks every waiting thread so it re-checks cancellation right away.
+     */
+    public static void wakeAll()
+    {
+        for (Waiter waiter : WAITERS)
+        {
+            LockSupport.unpark(waiter.thread);
+        }
+    }
+
+    public static int getWaiting()
+    {
+        return WAITERS.size();
+    }
+
+    public static long getWakeCount()
+    {
+        return wakes.get();
+    }
+
+    /**
+     * @return mean time between a wait being released or met on the client thread and its thread running
+     */
+    public static long getAverageWakeLatencyMicros()
+    {
+        long count = wakes.get();
+        return count == 0 ? 0 : wakeLatencyNanos.get() / count / 1000;
+    }
+
+    public static long getMaxWakeLatencyMicros()
+    {
+        return maxWakeLatencyNanos / 1000;
+    }
+
+    private static void checkCancelled()
+    {
+        if (Thread.currentThread().isInterrupted() || AsyncTask._isCancelled())
+        {
+            throw new RuntimeException("Task cancelled");
+        }
+    }
+
+    private static int endTick(int start, int ticks)
+    {
+        return ticks == Integer.MAX_VALUE ? Integer.MAX_VALUE : start + ticks;
+    }
+
+    private static long deadline(long timeoutMS)
+    {
+        return timeoutMS == Long.MAX_VALUE ? Long.MAX_VALUE : System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMS);
+    }
+
+    /**
+     * Parks until unparked or the deadline passes.
+     * @return false once the deadline has passed
+     */
+    private static boolean park(Waiter waiter, long deadline)
+    {
+        if (deadline == Long.MAX_VALUE)
+        {
+            LockSupport.park(waiter);
+            return true;
+        }
+        long remaining = deadline - System.nanoTime();
+        if (remaining <= 0)
+        {
+            return false;
+        }
+        LockSupport.parkNanos(waiter, remaining);
+        return true;
+    }
+
+    private static void recordWake(Waiter waiter)
+    {
+        long latency = System.nanoTime() - waiter.releasedAt;
+        wakes.incrementAndGet();
+        wakeLatencyNanos.addAndGet(latency);
+        if (latency > maxWakeLatencyNanos)
+        {
+            maxWakeLatencyNanos = latency;
+        }
+    }
+
+    /**
+     * Releases finished tick waits and, when game state may have changed, evaluates the client-side
+     * predicates and signals condition waiters to re-check. Never runs an ordinary condition.
+     */
+    private static void release(boolean signalConditions)
+    {
+        if (WAITERS.isEmpty())
+        {
+            return;
+        }
+        int tick = GameManager.getTickCount();
+        for (Waiter waiter : WAITERS)
+        {
+            if (waiter.predicate != null)
+            {
+                if (signalConditions && waiter.state.get() == WAITING)
+                {
+                    evaluate(waiter, tick);
+                }
+                continue;
+            }
+            if (waiter.condition != null)
+            {
+                if (signalConditions)
+                {
+                    waiter.releasedAt = System.nanoTime();
+                    waiter.signalled.set(true);
+                    LockSupport.unpark(waiter.thread);
+                }
+                continue;
+            }
+            // the tick count resets on logout and hops, which ends tick waits like it always has
+            boolean ticksUp = tick >= waiter.endTick || tick < waiter.startTick;
+            if (ticksUp && waiter.state.get() == WAITING)
+            {
+                waiter.releasedAt = System.nanoTime();
+                if (waiter.state.compareAndSet(WAITING, MET))
+                {
+                    LockSupport.unpark(waiter.thread);
+                }
+            }
+        }
+    }
+
+    private static void evaluate(Waiter waiter, int tick)
+    {
+        int outcome;
+        try
+        {
+            outcome = waiter.predicate.getAsBoolean() ? MET : (tick >= waiter.endTick ? TIMED_OUT : WAITING);
+        }
+        catch (RuntimeException e)
+        {
+            waiter.failure = e;
+            outcome = FAILED;
+        }
+        if (outcome == WAITING)
+        {
+            return;
+        }
+        waiter.releasedAt = System.nanoTime();
+        if (waiter.state.compareAndSet(WAITING, outcome))
+        {
+            LockSupport.unpark(waiter.thread);
+        }
+    }
+
+    // after GameManager has counted the tick
+    @Subscribe(priority = -1)
+    public void onGameTick(GameTick event)
+    {
+        release(true);
+    }
+
+    @Subscribe(priority = -1)
+    public void onClientTick(ClientTick event)
+    {
+        release(false);
+    }
+
+    @Subscribe(priority = -1)
+    public void onGameStateChanged(GameStateChanged event)
+    {
+        release(true);
+    }
+
+    public static void init()
+    {
+        if(INSTANCE != null)
+            return;
+
+        INSTANCE = new WaitRegistry();
+        Static.getRuneLite()
+                .getEventBus()
+                .register(INSTANCE);
+    }
+
+    private static final class Waiter
+    {
+        private final Thread thread = Thread.currentThread();
+        private final int startTick;
+        private final int endTick;
+        private final Supplier<Boolean> condition;
+        private final BooleanSupplier predicate;
+        private final AtomicInteger state = new AtomicInteger(WAITING);
+        private final AtomicBoolean signalled = new AtomicBoolean();
+        private volatile long releasedAt;
+        private volatile RuntimeException failure;
+
+        private Waiter(int startTick, int endTick, Supplier<Boolean> condition, BooleanSupplier predicate)
+        {
+            this.startTick = startTick;
+            this.endTick = endTick;
+            this.condition = condition;
+            this.predicate = predicate;
+        }
+    }
+}
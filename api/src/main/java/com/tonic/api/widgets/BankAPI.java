@@ -7,9 +7,11 @@ import com.tonic.api.game.VarAPI;
 import com.tonic.api.loadouts.InventoryLoadout;
 import com.tonic.api.loadouts.item.LoadoutItem;
 import com.tonic.data.wrappers.ItemContainerEx;
+import com.tonic.data.wrappers.ItemContainerSnapshot;
 import com.tonic.queries.InventoryQuery;
 import com.tonic.data.wrappers.ItemEx;
 import com.tonic.services.GameManager;
+import com.tonic.services.ItemContainerCache;
 import net.runelite.api.Client;
 import net.runelite.api.gameval.InterfaceID;
 import net.runelite.api.gameval.InventoryID;
@@ -600,7 +602,13 @@ public class BankAPI
      */
     public static boolean contains(int... itemIds)
     {
-        return InventoryQuery.fromInventoryId(InventoryID.BANK).withId(itemIds).first() != null;
+        ItemContainerSnapshot bank = ItemContainerCache.get(InventoryID.BANK);
+        for(int itemId : itemIds)
+        {
+            if(bank.contains(itemId))
+                return true;
+        }
+        return false;
     }
 
     /**
@@ -610,7 +618,7 @@ public class BankAPI
      */
     public static boolean contains(String itemName)
     {
-        return InventoryQuery.fromInventoryId(InventoryID.BANK).withName(itemName).first() != null;
+        return ItemContainerCache.get(InventoryID.BANK).contains(itemName);
     }
 
     /**
@@ -620,7 +628,7 @@ public class BankAPI
      */
     public static int count(int itemId)
     {
-        return InventoryQuery.fromInventoryId(InventoryID.BANK).withId(itemId).count();
+        return ItemContainerCache.get(InventoryID.BANK).count(itemId);
     }
 
     /**
@@ -630,7 +638,7 @@ public class BankAPI
      */
     public static int count(String itemName)
     {
-        return InventoryQuery.fromInventoryId(InventoryID.BANK).withName(itemName).count();
+        return ItemContainerCache.get(InventoryID.BANK).count(itemName);
     }
 
     /**
@@ -640,9 +648,7 @@ public class BankAPI
      */
     public static int getSlot(int itemId)
     {
-        ItemEx item = Static.invoke(() ->
-                InventoryQuery.fromInventoryId(InventoryID.BANK).withId(itemId).first()
-        );
+        ItemEx item = ItemContainerCache.get(InventoryID.BANK).getFirst(itemId);
         if(item == null)
             return -1;
         return item.getSlot();
@@ -655,7 +661,7 @@ public class BankAPI
      */
     public static int getSlot(String itemName)
     {
-        ItemEx item = InventoryQuery.fromInventoryId(InventoryID.BANK).withName(itemName).first();
+        ItemEx item = ItemContainerCache.get(InventoryID.BANK).getFirst(itemName);
         if(item == null)
             return -1;
         return item.getSlot();
@@ -714,10 +720,7 @@ public class BankAPI
      * @param itemId The item id
      */
     public static void useGuessNextSlot(int itemId) {
-        int slot = Static.invoke(() -> {
-            ItemContainerEx inventory = new ItemContainerEx(InventoryID.INV);
-            return inventory.getNextEmptySlot();
-        });
+        int slot = new ItemContainerEx(InventoryID.INV).getNextEmptySlot();
         if(slot == -1)
         {
             Logger.warn("[useGuessNextSlot] Inventory full already");
@@ -1,7 +1,6 @@
 package com.tonic.api.widgets;
 
 import com.tonic.Logger;
-import com.tonic.Static;
 import com.tonic.data.wrappers.*;
 import com.tonic.queries.InventoryQuery;
 import net.runelite.api.coords.WorldPoint;
@@ -30,7 +29,7 @@ public class InventoryAPI
      */
     public static List<ItemEx> getItems()
     {
-        return Static.invoke(() -> InventoryQuery.fromInventoryId(InventoryID.INV).collect());
+        return InventoryQuery.fromInventoryId(InventoryID.INV).collect();
     }
 
     /**
@@ -2,6 +2,8 @@ package com.tonic.data;
 
 import com.google.common.collect.ImmutableMap;
 import lombok.Getter;
+import net.runelite.api.coords.WorldPoint;
+
 import java.util.Map;
 
 @Getter
@@ -457,6 +459,11 @@ public enum RegionInfo
         return FROM_REGION.get(regionId);
     }
 
+    public static RegionInfo fromPoint(WorldPoint worldPoint)
+    {
+        return FROM_REGION.get(worldPoint.getRegionID());
+    }
+
     public enum AreaType
     {
         BOSSES,
@@ -1,6 +1,7 @@
 package com.tonic.data;
 
 import com.google.common.collect.ImmutableMap;
+import com.tonic.util.SpatialIndex;
 import lombok.Getter;
 import net.runelite.api.coords.WorldArea;
 import net.runelite.api.coords.WorldPoint;
@@ -725,17 +726,29 @@ public enum WorldLocation
     private final Location location;
     @Getter
     private static final Map<WorldArea, String> LOCATION_MAP;
+    private static final SpatialIndex<WorldLocation> INDEX;
 
     static
     {
         ImmutableMap.Builder<WorldArea, String> builder = ImmutableMap.builder();
+        SpatialIndex.Builder<WorldLocation> index = SpatialIndex.builder();
 
         for (WorldLocation value : values())
         {
-            builder.put(value.getWorldArea(), value.getName());
+            WorldArea area = value.getWorldArea();
+            builder.put(area, value.getName());
+            if (area.getWidth() > 0 && area.getHeight() > 0)
+            {
+                index.add(
+                        area.getX(), area.getY(),
+                        area.getX() + area.getWidth() - 1, area.getY() + area.getHeight() - 1,
+                        area.getPlane(), value
+                );
+            }
         }
 
         LOCATION_MAP = builder.build();
+        INDEX = index.build();
     }
 
     /**
@@ -760,33 +773,19 @@ public enum WorldLocation
      */
     public static String location(WorldPoint worldPoint)
     {
-        int dist = 128; // x2 Region lengths
-        String s = "";
-        WorldArea closestArea = null;
-
-        for (Map.Entry<WorldArea, String> entry : LOCATION_MAP.entrySet())
+        WorldLocation containing = containing(worldPoint);
+        if (containing != null)
         {
-            final WorldArea worldArea = entry.getKey();
-
-            if (worldArea.toWorldPointList().contains(worldPoint))
-            {
-                s = entry.getValue();
-                return s;
-            }
-
-            final int distTo = worldArea.distanceTo(worldPoint);
-
-            if (distTo < dist)
-            {
-                dist = distTo;
-                closestArea = worldArea;
-            }
+            return containing.getName();
         }
 
-        if (closestArea == null)
+        String s = "";
+        int closest = INDEX.nearest(worldPoint.getX(), worldPoint.getY(), worldPoint.getPlane(), 128); // x2 Region lengths
+        if (closest == -1)
         {
             return s;
         }
+        WorldArea closestArea = INDEX.get(closest).getWorldArea();
 
         if (worldPoint.getY() > closestArea.toWorldPoint().getY() + closestArea.getHeight())
         {
@@ -809,7 +808,7 @@ public enum WorldLocation
         }
 
         s = s + " of ";
-        s = s + LOCATION_MAP.get(closestArea);
+        s = s + INDEX.get(closest).getName();
 
         if (s.startsWith(" of "))
         {
@@ -819,6 +818,17 @@ public enum WorldLocation
         return s;
     }
 
+    /**
+     * Returns the first WorldLocation whose area contains the WorldPoint
+     *
+     * @param worldPoint - the WorldPoint to look up
+     * @return - Containing location, or null if it isn't in any
+     */
+    public static WorldLocation containing(WorldPoint worldPoint)
+    {
+        int id = INDEX.containing(worldPoint.getX(), worldPoint.getY(), worldPoint.getPlane());
+        return id == -1 ? null : INDEX.get(id);
+    }
 
     public static class Location
     {
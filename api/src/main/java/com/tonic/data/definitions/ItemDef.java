@@ -0,0 +1,60 @@
+package com.tonic.data.definitions;
+
+import com.tonic.api.TItemComposition;
+import com.tonic.util.TextUtil;
+import lombok.Value;
+import net.runelite.api.ItemComposition;
+
+/**
+ * Immutable copy of the {@link ItemComposition} fields scripts read, safe to use from any thread.
+ *
+ * @see com.tonic.services.DefinitionCache#item(int)
+ */
+@Value
+public class ItemDef
+{
+    int id;
+    /**
+     * Sanitized name, formatting tags removed.
+     */
+    String name;
+    String[] inventoryActions;
+    String[] groundActions;
+    boolean noted;
+    boolean stackable;
+    boolean placeholder;
+    boolean members;
+    boolean tradeable;
+    int linkedNoteId;
+    int price;
+    int haPrice;
+
+    /**
+     * Must be called on the client thread.
+     */
+    public static ItemDef of(ItemComposition composition)
+    {
+        String[] groundActions = composition instanceof TItemComposition
+                ? ((TItemComposition) composition).getGroundActions()
+                : null;
+        return new ItemDef(
+                composition.getId(),
+                TextUtil.sanitize(composition.getName()),
+                copy(composition.getInventoryActions()),
+                copy(groundActions),
+                composition.getNote() == 799,
+                composition.isStackable(),
+                composition.getPlaceholderTemplateId() >= 0,
+                composition.isMembers(),
+                composition.isTradeable(),
+                composition.getLinkedNoteId(),
+                composition.getPrice(),
+                composition.getHaPrice()
+        );
+    }
+
+    static String[] copy(String[] actions)
+    {
+        return actions == null ? new String[0] : actions.clone();
+    }
+}
@@ -0,0 +1,48 @@
+package com.tonic.data.definitions;
+
+import com.tonic.util.TextUtil;
+import lombok.Value;
+import net.runelite.api.NPCComposition;
+
+/**
+ * Immutable copy of the {@link NPCComposition} fields scripts read, safe to use from any thread.
+ * This is the definition of the id itself; NPCs with configs show whichever definition their
+ * varbit currently selects, see {@link com.tonic.services.DefinitionCache#resolvedNpc(int)}.
+ */
+@Value
+public class NpcDef
+{
+    int id;
+    /**
+     * Sanitized name, formatting tags removed.
+     */
+    String name;
+    String[] actions;
+    int size;
+    int combatLevel;
+    /**
+     * Transform ids, or null if the NPC has none.
+     */
+    int[] impostorIds;
+
+    /**
+     * Must be called on the client thread.
+     */
+    public static NpcDef of(NPCComposition composition)
+    {
+        int[] configs = composition.getConfigs();
+        return new NpcDef(
+                composition.getId(),
+                TextUtil.sanitize(composition.getName()),
+                ItemDef.copy(composition.getActions()),
+                composition.getSize(),
+                composition.getCombatLevel(),
+                configs == null ? null : configs.clone()
+        );
+    }
+
+    public boolean hasImpostors()
+    {
+        return impostorIds != null;
+    }
+}
@@ -0,0 +1,58 @@
+package com.tonic.data.definitions;
+
+import com.tonic.util.TextUtil;
+import lombok.Value;
+import net.runelite.api.ObjectComposition;
+
+/**
+ * Immutable copy of the {@link ObjectComposition} fields scripts read, safe to use from any thread.
+ * This is the definition of the id itself; objects with impostors show whichever definition their
+ * varbit currently selects, see {@link com.tonic.services.DefinitionCache#resolvedObject(int)}.
+ */
+@Value
+public class ObjectDef
+{
+    int id;
+    /**
+     * Sanitized name, formatting tags removed.
+     */
+    String name;
+    String[] actions;
+    int sizeX;
+    int sizeY;
+    /**
+     * Impostor ids, or null if the object has none.
+     */
+    int[] impostorIds;
+    /**
+     * Varbit that selects the impostor, or -1 if a varp selects it or there are no impostors.
+     */
+    int varbitId;
+    /**
+     * Varp that selects the impostor when {@link #varbitId} is -1.
+     */
+    int varpId;
+
+    /**
+     * Must be called on the client thread.
+     */
+    public static ObjectDef of(ObjectComposition composition)
+    {
+        int[] impostorIds = composition.getImpostorIds();
+        return new ObjectDef(
+                composition.getId(),
+                TextUtil.sanitize(composition.getName()),
+                ItemDef.copy(composition.getActions()),
+                composition.getSizeX(),
+                composition.getSizeY(),
+                impostorIds == null ? null : impostorIds.clone(),
+                composition.getVarbitId(),
+                composition.getVarPlayerId()
+        );
+    }
+
+    public boolean hasImpostors()
+    {
+        return impostorIds != null;
+    }
+}
@@ -6,6 +6,7 @@ import com.tonic.api.widgets.DialogueAPI;
 import com.tonic.data.wrappers.NpcEx;
 import com.tonic.queries.NpcQuery;
 import com.tonic.services.pathfinder.Walker;
+import com.tonic.util.SpatialIndex;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import net.runelite.api.coords.WorldPoint;
@@ -754,6 +755,18 @@ public enum NpcLocations {
     private final String name;
     private final WorldPoint location;
 
+    private static final SpatialIndex<NpcLocations> INDEX;
+
+    static
+    {
+        SpatialIndex.Builder<NpcLocations> builder = SpatialIndex.builder();
+        for (NpcLocations npc : values())
+        {
+            builder.add(npc.location.getX(), npc.location.getY(), npc.location.getPlane(), npc);
+        }
+        INDEX = builder.build();
+    }
+
     public void interact(String option) {
         Walker.walkTo(getLocation());
         NpcEx npc = new NpcQuery().withName(getName()).first();
@@ -784,4 +797,15 @@ public enum NpcLocations {
         }
         return null;
     }
-}
\ No newline at end of file
+
+    /**
+     * Finds the known NPC location closest to a point on the same plane
+     * @param worldPoint point to search from
+     * @param maxDistance exclusive upper bound on the (Chebyshev) distance
+     * @return closest NPC location, or null if none is within range
+     */
+    public static NpcLocations nearest(WorldPoint worldPoint, int maxDistance) {
+        int id = INDEX.nearest(worldPoint.getX(), worldPoint.getY(), worldPoint.getPlane(), maxDistance);
+        return id == -1 ? null : INDEX.get(id);
+    }
+}
@@ -3,6 +3,7 @@ package com.tonic.data.wrappers;
 import com.tonic.Static;
 import com.tonic.api.game.CombatAPI;
 import com.tonic.data.Orientation;
+import com.tonic.data.definitions.NpcDef;
 import com.tonic.data.wrappers.abstractions.Entity;
 import com.tonic.queries.NpcQuery;
 import com.tonic.queries.PlayerQuery;
@@ -54,16 +55,12 @@ public abstract class ActorEx<T extends Actor> implements Entity
     @Override
     public String getName()
     {
-        return TextUtil.sanitize(Static.invoke(() -> {
-            if(this instanceof PlayerEx)
-                return actor.getName();
-
-            NpcEx npcEx = (NpcEx) this;
-            NPCComposition composition = npcEx.getComposition();
-            if(composition == null)
-                return null;
-            return ((NpcEx) this).getComposition().getName();
-        }));
+        if(this instanceof NpcEx)
+        {
+            NpcDef definition = ((NpcEx) this).getDefinition();
+            return definition == null ? null : definition.getName();
+        }
+        return TextUtil.sanitize(Static.invoke(actor::getName));
     }
 
     /**
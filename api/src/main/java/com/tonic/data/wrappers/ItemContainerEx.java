@@ -1,21 +1,22 @@
 package com.tonic.data.wrappers;
 
-import com.tonic.Static;
-import com.tonic.data.wrappers.ItemEx;
+import com.tonic.services.ItemContainerCache;
 import lombok.Getter;
-import net.runelite.api.Client;
 import net.runelite.api.InventoryID;
-import net.runelite.api.ItemComposition;
-import net.runelite.api.ItemContainer;
 
 import java.util.ArrayList;
 import java.util.List;
 
+/**
+ * View over the latest {@link ItemContainerSnapshot} of a container. Construction and lookups read
+ * the cached snapshot and don't hop to the client thread.
+ */
 @Getter
 public class ItemContainerEx
 {
     private final int containerId;
     private final List<ItemEx> items;
+    private final ItemContainerSnapshot snapshot;
 
     public ItemContainerEx(InventoryID inventoryID)
     {
@@ -24,20 +25,16 @@ public class ItemContainerEx
     public ItemContainerEx(int containerId)
     {
         this.containerId = containerId;
-        Client client = Static.getClient();
-        ItemContainer container = Static.invoke(() -> client.getItemContainer(containerId));
-        if(container == null)
-        {
-            items = List.of();
-            return;
-        }
-        items = new ArrayList<>();
-        for(int i = 0; i < container.getItems().length; i++)
-        {
-            if(container.getItems()[i] == null || container.getItems()[i].getId() < 0)
-                continue;
-            items.add(new ItemEx(container.getItems()[i], i));
-        }
+        this.snapshot = ItemContainerCache.get(containerId);
+        this.items = snapshot.getItems();
+    }
+
+    /**
+     * @return version of the snapshot this view reads, see {@link ItemContainerSnapshot#getVersion()}
+     */
+    public long getVersion()
+    {
+        return snapshot.getVersion();
     }
 
     public List<ItemEx> getAll(int... itemIds)
@@ -45,88 +42,44 @@ public class ItemContainerEx
         List<ItemEx> found = new ArrayList<>();
         for(int itemId : itemIds)
         {
-            for(ItemEx item : items)
-            {
-                if(item.getItem().getId() == itemId)
-                    found.add(item);
-            }
+            found.addAll(snapshot.getById(itemId));
         }
         return found;
     }
 
     public List<ItemEx> getAll(String... itemNames)
     {
-        return Static.invoke(() -> {
-            Client client = Static.getClient();
-            ItemComposition itemComp;
-            List<ItemEx> found = new ArrayList<>();
-            for(String itemName : itemNames)
-            {
-                for(ItemEx item : items)
-                {
-                    itemComp = client.getItemDefinition(item.getItem().getId());
-                    if(itemName.equalsIgnoreCase(itemComp.getName()))
-                        found.add(item);
-                }
-            }
-            return found;
-        });
+        List<ItemEx> found = new ArrayList<>();
+        for(String itemName : itemNames)
+        {
+            found.addAll(snapshot.getByName(itemName));
+        }
+        return found;
     }
 
     public ItemEx getFirst(int itemId)
     {
-        for(ItemEx item : items)
-        {
-            if(item.getItem().getId() == itemId)
-                return item;
-        }
-        return null;
+        return snapshot.getFirst(itemId);
     }
 
     public ItemEx getFirst(String itemName)
     {
-        return Static.invoke(() -> {
-            Client client = Static.getClient();
-            ItemComposition itemComp;
-            for(ItemEx item : items)
-            {
-                itemComp = client.getItemDefinition(item.getItem().getId());
-                if(itemName.equalsIgnoreCase(itemComp.getName()))
-                    return item;
-            }
-            return null;
-        });
+        return snapshot.getFirst(itemName);
     }
 
     public ItemEx getFirstContains(String partialName)
     {
-        return Static.invoke(() -> {
-            Client client = Static.getClient();
-            ItemComposition itemComp;
-            for(ItemEx item : items)
-            {
-                itemComp = client.getItemDefinition(item.getItem().getId());
-                if(itemComp.getName().toLowerCase().contains(partialName.toLowerCase()))
-                    return item;
-            }
-            return null;
-        });
+        String part = partialName.toLowerCase();
+        for(ItemEx item : items)
+        {
+            String name = item.getName();
+            if(name != null && name.toLowerCase().contains(part))
+                return item;
+        }
+        return null;
     }
 
     public int getNextEmptySlot() {
-        Client client = Static.getClient();
-        ItemContainer container = Static.invoke(() -> client.getItemContainer(containerId));
-        if(container == null)
-        {
-            return -1;
-        }
-        for(int i = 0; i < container.getItems().length; i++)
-        {
-            if(container.getItems()[i] == null || container.getItems()[i].getId() <= 0)
-            {
-                return i;
-            }
-        }
-        return -1;
+        return snapshot.getNextEmptySlot();
     }
 }
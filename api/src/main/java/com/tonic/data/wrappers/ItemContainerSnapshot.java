@@ -0,0 +1,201 @@
+package com.tonic.data.wrappers;
+
+import com.tonic.data.definitions.ItemDef;
+import com.tonic.services.DefinitionCache;
+import com.tonic.util.TextUtil;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import lombok.Getter;
+import net.runelite.api.Item;
+import net.runelite.api.ItemContainer;
+
+import java.util.*;
+
+/**
+ * Immutable copy of an item container taken on the client thread, with the items indexed by id
+ * and by name. Every item carries its cached {@link ItemDef}, so names, noted and placeholder
+ * checks on a snapshot never hop to the client thread. Safe to read from any thread.
+ *
+ * @see com.tonic.services.ItemContainerCache
+ */
+public final class ItemContainerSnapshot
+{
+    @Getter
+    private final int containerId;
+    /**
+     * Increases every time any container snapshot is rebuilt, so two snapshots of the same
+     * container can be compared to tell whether its contents may have changed.
+     */
+    @Getter
+    private final long version;
+    /**
+     * Slot count of the container, including empty slots.
+     */
+    @Getter
+    private final int size;
+    @Getter
+    private final List<ItemEx> items;
+    private final ItemEx[] bySlot;
+    private final Int2ObjectOpenHashMap<List<ItemEx>> byId;
+    private final Map<String, List<ItemEx>> byName;
+
+    private ItemContainerSnapshot(int containerId, long version, int size, List<ItemEx> items, ItemEx[] bySlot,
+                                  Int2ObjectOpenHashMap<List<ItemEx>> byId, Map<String, List<ItemEx>> byName)
+    {
+        this.containerId = containerId;
+        this.version = version;
+        this.size = size;
+        this.items = items;
+        this.bySlot = bySlot;
+        this.byId = byId;
+        this.byName = byName;
+    }
+
+    /**
+     * @return snapshot of a container that isn't loaded
+     */
+    public static ItemContainerSnapshot empty(int containerId, long version)
+    {
+        return new ItemContainerSnapshot(containerId, version, 0, Collections.emptyList(), new ItemEx[0],
+                new Int2ObjectOpenHashMap<>(), Collections.emptyMap());
+    }
+
+    /**
+     * Copies a live container. Must be called on the client thread.
+     * @param container live container, or null for an empty snapshot
+     * @param containerId container id
+     * @param version snapshot version
+     * @return snapshot
+     */
+    public static ItemContainerSnapshot of(ItemContainer container, int containerId, long version)
+    {
+        if (container == null)
+        {
+            return empty(containerId, version);
+        }
+
+        Item[] slots = container.getItems();
+        ItemEx[] bySlot = new ItemEx[slots.length];
+        List<ItemEx> items = new ArrayList<>(slots.length);
+        Int2ObjectOpenHashMap<List<ItemEx>> byId = new Int2ObjectOpenHashMap<>();
+        Map<String, List<ItemEx>> byName = new HashMap<>();
+        for (int i = 0; i < slots.length; i++)
+        {
+            Item item = slots[i];
+            if (item == null || item.getId() < 0)
+                continue;
+
+            ItemDef definition = DefinitionCache.item(item.getId());
+            ItemEx itemEx = new ItemEx(item, i, definition);
+            bySlot[i] = itemEx;
+            items.add(itemEx);
+            byId.computeIfAbsent(item.getId(), k -> new ArrayList<>(1)).add(itemEx);
+            String name = definition == null ? null : normalize(definition.getName());
+            if (name != null)
+            {
+                byName.computeIfAbsent(name, k -> new ArrayList<>(1)).add(itemEx);
+            }
+        }
+        byId.replaceAll((id, list) -> Collections.unmodifiableList(list));
+        byName.replaceAll((name, list) -> Collections.unmodifiableList(list));
+        return new ItemContainerSnapshot(containerId, version, slots.length, Collections.unmodifiableList(items),
+                bySlot, byId, byName);
+    }
+
+    /**
+     * @param slot container slot
+     * @return the item in the slot, or null if the slot is empty or out of range
+     */
+    public ItemEx getSlot(int slot)
+    {
+        return slot >= 0 && slot < bySlot.length ? bySlot[slot] : null;
+    }
+
+    /**
+     * @param itemId item id
+     * @return items with the id, in slot order
+     */
+    public List<ItemEx> getById(int itemId)
+    {
+        return byId.getOrDefault(itemId, Collections.emptyList());
+    }
+
+    /**
+     * @param itemName item name, ignoring case and formatting tags
+     * @return items with the name, in slot order
+     */
+    public List<ItemEx> getByName(String itemName)
+    {
+        String name = normalize(itemName);
+        return name == null ? Collections.emptyList() : byName.getOrDefault(name, Collections.emptyList());
+    }
+
+    public ItemEx getFirst(int itemId)
+    {
+        List<ItemEx> found = byId.get(itemId);
+        return found == null ? null : found.get(0);
+    }
+
+    public ItemEx getFirst(String itemName)
+    {
+        List<ItemEx> found = getByName(itemName);
+        return found.isEmpty() ? null : found.get(0);
+    }
+
+    public boolean contains(int itemId)
+    {
+        return byId.containsKey(itemId);
+    }
+
+    public boolean contains(String itemName)
+    {
+        return !getByName(itemName).isEmpty();
+    }
+
+    /**
+     * @return the number of slots holding the item
+     */
+    public int count(int itemId)
+    {
+        return getById(itemId).size();
+    }
+
+    /**
+     * @return the number of slots holding the item
+     */
+    public int count(String itemName)
+    {
+        return getByName(itemName).size();
+    }
+
+    /**
+     * @return the summed stack size of the item
+     */
+    public int quantity(int itemId)
+    {
+        int total = 0;
+        for (ItemEx item : getById(itemId))
+        {
+            total += item.getQuantity();
+        }
+        return total;
+    }
+
+    /**
+     * @return the first slot without an item, or -1 if the container is full or not loaded
+     */
+    public int getNextEmptySlot()
+    {
+        for (int i = 0; i < bySlot.length; i++)
+        {
+            if (bySlot[i] == null || bySlot[i].getId() <= 0)
+                return i;
+        }
+        return -1;
+    }
+
+    private static String normalize(String name)
+    {
+        String sanitized = TextUtil.sanitize(name);
+        return sanitized == null ? null : sanitized.toLowerCase();
+    }
+}
@@ -2,9 +2,10 @@ package com.tonic.data.wrappers;
 
 import com.tonic.Static;
 import com.tonic.api.widgets.InventoryAPI;
+import com.tonic.data.definitions.ItemDef;
 import com.tonic.data.wrappers.abstractions.Identifiable;
 import com.tonic.data.wrappers.abstractions.Interactable;
-import com.tonic.util.TextUtil;
+import com.tonic.services.DefinitionCache;
 import lombok.*;
 import net.runelite.api.Client;
 import net.runelite.api.Item;
@@ -23,6 +24,17 @@ public class ItemEx implements Interactable, Identifiable
     private final Item item;
     private final int slot;
     private String[] actions = null;
+    @Getter(AccessLevel.NONE)
+    private ItemDef definition;
+
+    /**
+     * @param definition the item's definition, when the caller already has it
+     */
+    public ItemEx(Item item, int slot, ItemDef definition)
+    {
+        this(item, slot);
+        this.definition = definition;
+    }
 
     @Override
     public int getId() {
@@ -30,18 +42,18 @@ public class ItemEx implements Interactable, Identifiable
     }
 
     public boolean isNoted() {
-        Client client = Static.getClient();
-        return Static.invoke(() -> client.getItemDefinition(item.getId()).getNote()) == 799;
+        ItemDef definition = definition();
+        return definition != null && definition.isNoted();
     }
 
     public boolean isPlaceholder() {
-        Client client = Static.getClient();
-        return Static.invoke(() -> client.getItemDefinition(item.getId()).getPlaceholderTemplateId() >= 0);
+        ItemDef definition = definition();
+        return definition != null && definition.isPlaceholder();
     }
 
     public boolean isTradeable() {
-        ItemManager itemManager = Static.getInjector().getInstance(ItemManager.class);
-        return Static.invoke(() -> itemManager.getItemComposition(item.getId()).isTradeable());
+        ItemDef definition = definition();
+        return definition != null && definition.isTradeable();
     }
 
     public int getCanonicalId() {
@@ -50,13 +62,13 @@ public class ItemEx implements Interactable, Identifiable
     }
 
     public int getLinkedNoteId() {
-        Client client = Static.getClient();
-        return Static.invoke(() -> client.getItemDefinition(item.getId()).getLinkedNoteId());
+        ItemDef definition = definition();
+        return definition == null ? -1 : definition.getLinkedNoteId();
     }
 
     public String getName() {
-        Client client = Static.getClient();
-        return Static.invoke(() -> TextUtil.sanitize(client.getItemDefinition(item.getId()).getName()));
+        ItemDef definition = definition();
+        return definition == null ? null : definition.getName();
     }
 
     public int getQuantity() {
@@ -79,11 +91,10 @@ public class ItemEx implements Interactable, Identifiable
             return actions;
         if(item == null)
             return new String[0];
-        actions = Static.invoke(() -> {
-            Client client = Static.getClient();
-            ItemComposition itemComp = client.getItemDefinition(item.getId());
-            return itemComp.getInventoryActions();
-        });
+        ItemDef definition = definition();
+        if(definition == null)
+            return new String[0];
+        actions = definition.getInventoryActions();
         return actions;
     }
 
@@ -179,8 +190,8 @@ public class ItemEx implements Interactable, Identifiable
     }
 
     public int getShopPrice() {
-        Client client = Static.getClient();
-        return Static.invoke(() -> client.getItemDefinition(item.getId()).getPrice());
+        ItemDef definition = definition();
+        return definition == null ? 0 : definition.getPrice();
     }
 
     public long getGePrice()
@@ -208,8 +219,8 @@ public class ItemEx implements Interactable, Identifiable
 
     public int getHighAlchValue()
     {
-        Client client = Static.getClient();
-        return Static.invoke(() -> client.getItemDefinition(item.getId()).getHaPrice());
+        ItemDef definition = definition();
+        return definition == null ? 0 : definition.getHaPrice();
     }
 
     public int getLowAlchValue()
@@ -217,6 +228,20 @@ public class ItemEx implements Interactable, Identifiable
         return (int) Math.floor(getHighAlchValue() * 0.6);
     }
 
+    /**
+     * @return the item's definition, or null if the id has none
+     */
+    private ItemDef definition()
+    {
+        ItemDef cached = definition;
+        if (cached == null)
+        {
+            cached = DefinitionCache.item(item.getId());
+            definition = cached;
+        }
+        return cached;
+    }
+
     @Override
     public boolean equals(Object other)
     {
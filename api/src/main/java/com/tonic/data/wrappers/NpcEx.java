@@ -3,6 +3,8 @@ package com.tonic.data.wrappers;
 import com.tonic.Static;
 import com.tonic.api.entities.NpcAPI;
 import com.tonic.api.game.SceneAPI;
+import com.tonic.data.definitions.NpcDef;
+import com.tonic.services.DefinitionCache;
 import com.tonic.util.Location;
 import net.runelite.api.NPC;
 import net.runelite.api.NPCComposition;
@@ -35,12 +37,20 @@ public class NpcEx extends ActorEx<NPC>
     }
 
     public int getId() {
-        return Static.invoke(() -> {
-            NPCComposition composition = getComposition();
-            if(composition == null)
-                return actor.getId();
-            return composition.getId();
-        });
+        NpcDef definition = getDefinition();
+        if(definition == null)
+            return actor.getId();
+        return definition.getId();
+    }
+
+    /**
+     * @return the cached definition this NPC currently shows, transforms resolved, or null if hidden
+     */
+    public NpcDef getDefinition()
+    {
+        // the composition is the NPC's own definition, getId() would already be the transform
+        NPCComposition composition = actor.getComposition();
+        return composition == null ? null : DefinitionCache.resolvedNpc(composition.getId());
     }
 
     public int getHealth() {
@@ -108,10 +118,9 @@ public class NpcEx extends ActorEx<NPC>
 
     @Override
     public String[] getActions() {
-        return Static.invoke(() -> {
-            if(getComposition() == null)
-                return new String[0];
-            return getComposition().getActions();
-        });
+        NpcDef definition = getDefinition();
+        if(definition == null)
+            return new String[0];
+        return definition.getActions();
     }
 }
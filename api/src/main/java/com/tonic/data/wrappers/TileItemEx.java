@@ -1,11 +1,12 @@
 package com.tonic.data.wrappers;
 
 import com.tonic.Static;
-import com.tonic.api.TItemComposition;
 import com.tonic.api.entities.TileItemAPI;
 import com.tonic.api.entities.TileObjectAPI;
 import com.tonic.api.game.SceneAPI;
+import com.tonic.data.definitions.ItemDef;
 import com.tonic.data.wrappers.abstractions.Entity;
+import com.tonic.services.DefinitionCache;
 import com.tonic.services.GameManager;
 import com.tonic.util.WorldPointUtil;
 import lombok.Getter;
@@ -63,8 +64,8 @@ public class TileItemEx implements Entity
     }
 
     public boolean isNoted() {
-        Client client = Static.getClient();
-        return Static.invoke(() -> client.getItemDefinition(item.getId()).getNote()) == 799;
+        ItemDef definition = DefinitionCache.item(item.getId());
+        return definition != null && definition.isNoted();
     }
 
     public int getCanonicalId() {
@@ -86,8 +87,8 @@ public class TileItemEx implements Entity
 
     @Override
     public String getName() {
-        Client client = Static.getClient();
-        return Static.invoke(() -> client.getItemDefinition(item.getId()).getName());
+        ItemDef definition = DefinitionCache.item(item.getId());
+        return definition == null ? null : definition.getName();
     }
 
     public int getQuantity() {
@@ -110,11 +111,10 @@ public class TileItemEx implements Entity
             return actions;
         if(item == null)
             return new String[0];
-        actions = Static.invoke(() -> {
-            Client client = Static.getClient();
-            TItemComposition itemComp = (TItemComposition) client.getItemDefinition(item.getId());
-            return itemComp.getGroundActions();
-        });
+        ItemDef definition = DefinitionCache.item(item.getId());
+        if(definition == null)
+            return new String[0];
+        actions = definition.getGroundActions();
 
         return actions;
     }
@@ -152,8 +152,8 @@ public class TileItemEx implements Entity
     }
 
     public int getShopPrice() {
-        Client client = Static.getClient();
-        return Static.invoke(() -> client.getItemDefinition(item.getId()).getPrice());
+        ItemDef definition = DefinitionCache.item(item.getId());
+        return definition == null ? 0 : definition.getPrice();
     }
 
     public long getGePrice()
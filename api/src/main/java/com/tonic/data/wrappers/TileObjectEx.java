@@ -6,11 +6,12 @@ import com.tonic.api.entities.TileObjectAPI;
 import com.tonic.api.game.SceneAPI;
 import com.tonic.data.ObjectBlockAccessFlags;
 import com.tonic.data.Walls;
+import com.tonic.data.definitions.ObjectDef;
 import com.tonic.data.wrappers.abstractions.Entity;
+import com.tonic.services.DefinitionCache;
 import com.tonic.services.GameManager;
 import com.tonic.services.pathfinder.local.LocalCollisionMap;
 import com.tonic.util.Distance;
-import com.tonic.util.TextUtil;
 import lombok.Getter;
 import net.runelite.api.*;
 import net.runelite.api.Point;
@@ -32,7 +33,6 @@ public class TileObjectEx implements Entity
 
     @Getter
     private final TileObject tileObject;
-    private String[] actions;
 
     public TileObjectEx(TileObject tileObject)
     {
@@ -46,17 +46,10 @@ public class TileObjectEx implements Entity
 
     @Override
     public String getName() {
-        Client client = Static.getClient();
-        return Static.invoke(() -> {
-            ObjectComposition composition = client.getObjectDefinition(tileObject.getId());
-            if(composition.getImpostorIds() != null)
-            {
-                composition = composition.getImpostor();
-            }
-            if(composition == null)
-                return null;
-            return TextUtil.sanitize(composition.getName());
-        });
+        ObjectDef definition = DefinitionCache.resolvedObject(tileObject.getId());
+        if(definition == null)
+            return null;
+        return definition.getName();
     }
 
     public int getAnimation()
@@ -147,21 +140,10 @@ public class TileObjectEx implements Entity
 
     @Override
     public String[] getActions() {
-        if(actions == null)
-        {
-            Client client = Static.getClient();
-            actions = Static.invoke(() -> {
-                ObjectComposition composition = client.getObjectDefinition(tileObject.getId());
-                if(composition.getImpostorIds() != null)
-                {
-                    composition = composition.getImpostor();
-                }
-                if(composition == null)
-                    return new String[]{};
-                return composition.getActions();
-            });
-        }
-        return actions;
+        ObjectDef definition = DefinitionCache.resolvedObject(tileObject.getId());
+        if(definition == null)
+            return new String[]{};
+        return definition.getActions();
     }
 
     public int getActionIndex(String action) {
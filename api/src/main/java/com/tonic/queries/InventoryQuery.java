@@ -1,10 +1,10 @@
 package com.tonic.queries;
 
-import com.tonic.Static;
 import com.tonic.queries.abstractions.AbstractQuery;
 import com.tonic.data.wrappers.ItemContainerEx;
 import com.tonic.data.wrappers.ItemEx;
 import com.tonic.data.trading.Shop;
+import com.tonic.services.ItemContainerCache;
 import net.runelite.api.InventoryID;
 import net.runelite.api.ItemContainer;
 import net.runelite.client.util.Text;
@@ -14,7 +14,6 @@ import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 /**
  * Query class for searching and filtering items in an inventory.
@@ -28,17 +27,10 @@ public class InventoryQuery extends AbstractQuery<ItemEx, InventoryQuery>
      */
     public static InventoryQuery fromContainer(ItemContainerEx itemContainer)
     {
-        List<ItemEx> cache;
-        if(itemContainer != null)
-            cache = Static.invoke(() ->
-                    itemContainer.getItems().stream()
-                            .filter(i -> i.getId() != -1)
-                            .collect(Collectors.toList())
-            );
-        else
-            cache = new ArrayList<>();
-
-        return new InventoryQuery(cache);
+        if(itemContainer == null)
+            return new InventoryQuery(new ArrayList<>());
+
+        return new InventoryQuery(itemContainer.getItems());
     }
 
     /**
@@ -69,18 +61,7 @@ public class InventoryQuery extends AbstractQuery<ItemEx, InventoryQuery>
      */
     public static InventoryQuery fromInventoryId(int inventoryId)
     {
-        List<ItemEx> cache;
-        ItemContainerEx itemContainer = new ItemContainerEx(inventoryId);
-        if(!itemContainer.getItems().isEmpty())
-            cache = Static.invoke(() ->
-                    itemContainer.getItems().stream()
-                            .filter(i -> i.getId() != -1)
-                            .collect(Collectors.toList())
-            );
-        else
-            cache = new ArrayList<>();
-
-        return new InventoryQuery(cache);
+        return new InventoryQuery(ItemContainerCache.get(inventoryId).getItems());
     }
 
     /**
@@ -94,19 +75,7 @@ public class InventoryQuery extends AbstractQuery<ItemEx, InventoryQuery>
             return new InventoryQuery(new ArrayList<>());
         }
 
-        List<ItemEx> cache;
-        ItemContainerEx itemContainer = new ItemContainerEx(shop.getInventoryId());
-
-        if (!itemContainer.getItems().isEmpty())
-            cache = Static.invoke(() ->
-                    itemContainer.getItems().stream()
-                            .filter(i -> i.getId() != -1)
-                            .collect(Collectors.toList())
-            );
-        else
-            cache = new ArrayList<>();
-
-        return new InventoryQuery(cache);
+        return new InventoryQuery(ItemContainerCache.get(shop.getInventoryId()).getItems());
     }
 
     /**
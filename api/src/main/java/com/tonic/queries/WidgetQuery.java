@@ -3,6 +3,7 @@ package com.tonic.queries;
 import com.tonic.Static;
 import com.tonic.queries.abstractions.AbstractQuery;
 import com.tonic.services.GameManager;
+import com.tonic.services.WidgetIndex;
 import net.runelite.api.Client;
 import net.runelite.api.widgets.Widget;
 import org.apache.commons.lang3.ArrayUtils;
@@ -45,6 +46,17 @@ public class WidgetQuery extends AbstractQuery<Widget, WidgetQuery>
         super(new ArrayList<>(cache));
     }
 
+    /**
+     * Creates a query over the widgets of the given interfaces, looked up from the widget index
+     * instead of walking the whole tree.
+     * @param groupIds interface group ids
+     * @return WidgetQuery
+     */
+    public static WidgetQuery fromGroup(int... groupIds)
+    {
+        return new WidgetQuery(WidgetIndex.byGroup(groupIds));
+    }
+
     public WidgetQuery withName(String name)
     {
         return removeIf(w -> w.getName() == null || !w.getName().equalsIgnoreCase(name));
@@ -0,0 +1,268 @@
+package com.tonic.services;
+
+import com.tonic.Logger;
+import com.tonic.Static;
+import com.tonic.data.definitions.ItemDef;
+import com.tonic.data.definitions.NpcDef;
+import com.tonic.data.definitions.ObjectDef;
+import net.runelite.api.Client;
+import net.runelite.api.ItemComposition;
+import net.runelite.api.NPCComposition;
+import net.runelite.api.ObjectComposition;
+import net.runelite.api.events.VarbitChanged;
+import net.runelite.client.eventbus.Subscribe;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Shared cache of item, object and NPC definitions. Each id is read from the client once, on the
+ * client thread, into an immutable {@link ItemDef}, {@link ObjectDef} or {@link NpcDef}; after that
+ * lookups are a map read from any thread.
+ * <p>
+ * Which impostor an object or NPC shows depends on a varbit or varp. Resolved objects are indexed
+ * by the var their definition names and only those are dropped when that var changes, to be
+ * resolved again on the client thread the next time they're read. NPC compositions don't expose
+ * their var, so the few resolved NPCs are re-resolved in place on the client thread whenever a var
+ * changes and stay readable without a hop. Resolution and invalidation both run on the client
+ * thread, so they never interleave.
+ */
+public class DefinitionCache
+{
+    private static DefinitionCache INSTANCE;
+    private static final Map<Integer, ItemDef> items = new ConcurrentHashMap<>();
+    private static final Map<Integer, ObjectDef> objects = new ConcurrentHashMap<>();
+    private static final Map<Integer, NpcDef> npcs = new ConcurrentHashMap<>();
+    private static final Map<Integer, Resolved<ObjectDef>> resolvedObjects = new ConcurrentHashMap<>();
+    private static final Map<Integer, Resolved<NpcDef>> resolvedNpcs = new ConcurrentHashMap<>();
+    // object ids with impostors by the var that picks them, only touched on the client thread
+    private static final Map<Integer, Set<Integer>> objectsByVarbit = new HashMap<>();
+    private static final Map<Integer, Set<Integer>> objectsByVarp = new HashMap<>();
+    private static final LongAdder hits = new LongAdder();
+    private static final LongAdder misses = new LongAdder();
+
+    /**
+     * @param itemId item id
+     * @return the item's definition, or null if the id is invalid
+     */
+    public static ItemDef item(int itemId)
+    {
+        ItemDef def = items.get(itemId);
+        if (def != null)
+        {
+            hits.increment();
+            return def;
+        }
+        misses.increment();
+        return Static.invoke(() -> {
+            Client client = Static.getClient();
+            ItemComposition composition = client.getItemDefinition(itemId);
+            return composition == null ? null : items.computeIfAbsent(itemId, k -> ItemDef.of(composition));
+        });
+    }
+
+    /**
+     * @param objectId object id
+     * @return the definition of the id itself, impostors not resolved, or null if the id is invalid
+     */
+    public static ObjectDef object(int objectId)
+    {
+        ObjectDef def = objects.get(objectId);
+        if (def != null)
+        {
+            hits.increment();
+            return def;
+        }
+        misses.increment();
+        return Static.invoke(() -> {
+            Client client = Static.getClient();
+            ObjectComposition composition = client.getObjectDefinition(objectId);
+            return composition == null ? null : objects.computeIfAbsent(objectId, k -> ObjectDef.of(composition));
+        });
+    }
+
+    /**
+     * @param objectId object id
+     * @return the definition the object currently shows, following impostors, or null if the
+     * current impostor is hidden
+     */
+    public static ObjectDef resolvedObject(int objectId)
+    {
+        ObjectDef base = object(objectId);
+        if (base == null || !base.hasImpostors())
+        {
+            return base;
+        }
+        Resolved<ObjectDef> resolved = resolvedObjects.get(objectId);
+        if (resolved != null)
+        {
+            hits.increment();
+            return resolved.def;
+        }
+        misses.increment();
+        return Static.invoke(() -> {
+            Client client = Static.getClient();
+            ObjectComposition impostor = client.getObjectDefinition(objectId).getImpostor();
+            ObjectDef def = impostor == null ? null : objects.computeIfAbsent(impostor.getId(), k -> ObjectDef.of(impostor));
+            resolvedObjects.put(objectId, new Resolved<>(def));
+            Map<Integer, Set<Integer>> byVar = base.getVarbitId() != -1 ? objectsByVarbit : objectsByVarp;
+            int var = base.getVarbitId() != -1 ? base.getVarbitId() : base.getVarpId();
+            byVar.computeIfAbsent(var, k -> new HashSet<>()).add(objectId);
+            return def;
+        });
+    }
+
+    /**
+     * @param npcId npc id
+     * @return the definition of the id itself, transforms not resolved, or null if the id is invalid
+     */
+    public static NpcDef npc(int npcId)
+    {
+        NpcDef def = npcs.get(npcId);
+        if (def != null)
+        {
+            hits.increment();
+            return def;
+        }
+        misses.increment();
+        return Static.invoke(() -> {
+            Client client = Static.getClient();
+            NPCComposition composition = client.getNpcDefinition(npcId);
+            return composition == null ? null : npcs.computeIfAbsent(npcId, k -> NpcDef.of(composition));
+        });
+    }
+
+    /**
+     * @param npcId npc id
+     * @return the definition the NPC currently shows, following transforms, or null if the current
+     * transform is hidden
+     */
+    public static NpcDef resolvedNpc(int npcId)
+    {
+        NpcDef base = npc(npcId);
+        if (base == null || !base.hasImpostors())
+        {
+            return base;
+        }
+        Resolved<NpcDef> resolved = resolvedNpcs.get(npcId);
+        if (resolved != null)
+        {
+            hits.increment();
+            return resolved.def;
+        }
+        misses.increment();
+        return Static.invoke(() -> resolveNpc(Static.getClient(), npcId).def);
+    }
+
+    /**
+     * Must be called on the client thread.
+     */
+    private static Resolved<NpcDef> resolveNpc(Client client, int npcId)
+    {
+        NPCComposition transformed = client.getNpcDefinition(npcId).transform();
+        NpcDef def = transformed == null ? null : npcs.computeIfAbsent(transformed.getId(), k -> NpcDef.of(transformed));
+        Resolved<NpcDef> resolved = new Resolved<>(def);
+        resolvedNpcs.put(npcId, resolved);
+        return resolved;
+    }
+
+    public static long getHits()
+    {
+        return hits.sum();
+    }
+
+    public static long getMisses()
+    {
+        return misses.sum();
+    }
+
+    /**
+     * @return fraction of lookups served without a client thread hop, 0 if nothing was looked up
+     */
+    public static double getHitRate()
+    {
+        long h = hits.sum();
+        long total = h + misses.sum();
+        return total == 0 ? 0 : (double) h / total;
+    }
+
+    /**
+     * Logs the cache sizes and hit rate.
+     */
+    public static void logStats()
+    {
+        Logger.info(String.format(
+                "[DefinitionCache] %d items, %d objects, %d npcs cached; %d hits, %d misses (%.1f%% hit rate)",
+                items.size(), objects.size(), npcs.size(),
+                getHits(), getMisses(), getHitRate() * 100
+        ));
+    }
+
+    public static void resetStats()
+    {
+        hits.reset();
+        misses.reset();
+    }
+
+    @Subscribe
+    public void onVarbitChanged(VarbitChanged event)
+    {
+        if (event.getVarbitId() != -1)
+        {
+            forget(objectsByVarbit.remove(event.getVarbitId()));
+        }
+        // objects keyed on the whole varp change with any varbit packed into it
+        forget(objectsByVarp.remove(event.getVarpId()));
+
+        if (resolvedNpcs.isEmpty())
+        {
+            return;
+        }
+        Client client = Static.getClient();
+        for (Map.Entry<Integer, Resolved<NpcDef>> entry : resolvedNpcs.entrySet())
+        {
+            NPCComposition transformed = client.getNpcDefinition(entry.getKey()).transform();
+            NpcDef current = entry.getValue().def;
+            if (transformed == null ? current != null : current == null || transformed.getId() != current.getId())
+            {
+                resolveNpc(client, entry.getKey());
+            }
+        }
+    }
+
+    private static void forget(Set<Integer> objectIds)
+    {
+        if (objectIds != null)
+        {
+            for (int objectId : objectIds)
+            {
+                resolvedObjects.remove(objectId);
+            }
+        }
+    }
+
+    static void init()
+    {
+        if(INSTANCE != null)
+            return;
+
+        INSTANCE = new DefinitionCache();
+        Static.getRuneLite()
+                .getEventBus()
+                .register(INSTANCE);
+    }
+
+    private static final class Resolved<T>
+    {
+        private final T def;
+
+        private Resolved(T def)
+        {
+            this.def = def;
+        }
+    }
+}
@@ -2,7 +2,6 @@ package com.tonic.services;
 
 import com.tonic.Logger;
 import com.tonic.Static;
-import com.tonic.api.game.SceneAPI;
 import com.tonic.api.game.sailing.BoatStatsAPI;
 import com.tonic.data.magic.SpellBook;
 import com.tonic.data.magic.spellbooks.SpellbookEnums;
@@ -11,6 +10,7 @@ import com.tonic.services.pathfinder.sailing.BoatCollisionAPI;
 import com.tonic.services.pathfinder.sailing.BoatPathing;
 import com.tonic.api.game.sailing.SailingAPI;
 import com.tonic.api.threaded.Delays;
+import com.tonic.api.threaded.WaitRegistry;
 import com.tonic.api.widgets.MiniMapAPI;
 import com.tonic.api.widgets.WidgetAPI;
 import com.tonic.api.widgets.WorldMapAPI;
@@ -20,6 +20,7 @@ import com.tonic.data.wrappers.NpcEx;
 import com.tonic.data.wrappers.PlayerEx;
 import com.tonic.data.wrappers.TileItemEx;
 import com.tonic.data.wrappers.TileObjectEx;
+import com.tonic.headless.HeadlessMapPanel;
 import com.tonic.headless.HeadlessMode;
 import com.tonic.services.hotswapper.PluginReloader;
 import com.tonic.util.AsyncTask;
@@ -28,6 +29,8 @@ import com.tonic.services.mouse.MovementVisualizationOverlay;
 import com.tonic.services.pathfinder.abstractions.IPathfinder;
 import com.tonic.services.pathfinder.abstractions.IStep;
 import com.tonic.services.pathfinder.Walker;
+import com.tonic.services.pathfinder.collision.CollisionMap;
+import com.tonic.services.pathfinder.local.LocalCollisionMap;
 import com.tonic.services.pathfinder.model.WalkerPath;
 import com.tonic.services.pathfinder.transports.TransportLoader;
 import com.tonic.services.stratpath.StratPathOverlay;
@@ -36,8 +39,7 @@ import com.tonic.util.RuneliteConfigUtil;
 import com.tonic.util.ThreadPool;
 import com.tonic.util.WorldPointUtil;
 import com.tonic.util.handler.StepHandler;
-import gnu.trove.set.TIntSet;
-import gnu.trove.set.hash.TIntHashSet;
+import com.tonic.util.handler.StepScheduler;
 import lombok.Getter;
 import lombok.Setter;
 import net.runelite.api.*;
@@ -62,12 +64,9 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
-import java.util.ArrayDeque;
-import java.util.Deque;
 import java.util.ArrayList;
 import java.util.Set;
 import java.util.Collections;
-import java.util.IdentityHashMap;
 
 /**
  * GameManager
@@ -81,7 +80,6 @@ public class GameManager extends Overlay {
     private static int lastUpdateTileObjects = 0;
     private static int lastUpdatePlayers = 0;
     private static int lastUpdateNpcs = 0;
-    private static int lastUpdateReachableTiles = 0;
     private static int lastUpdateTileItems = 0;
     private static final List<TileObjectEx> tileObjects = new ArrayList<>();
     private static final List<NpcEx> npcs = new ArrayList<>();
@@ -91,7 +89,6 @@ public class GameManager extends Overlay {
     @Getter
     private static WalkerPath walkerPath;
     private static volatile StepHandler sailingPath;
-    private static final TIntSet reachableTiles = new TIntHashSet();
     private static final Set<Integer> worldViews = ConcurrentHashMap.newKeySet();
 
     public static Stream<PlayerEx> playerStream()
@@ -164,14 +161,7 @@ public class GameManager extends Overlay {
 
     public static boolean isReachable(int compressed)
     {
-        Client client = Static.getClient();
-        if(lastUpdateReachableTiles < client.getTickCount())
-        {
-            reachableTiles.clear();
-            reachableTiles.addAll(SceneAPI.reachableTilesCompressed(PlayerEx.getLocal().getWorldPoint()));
-            lastUpdateReachableTiles = client.getTickCount();
-        }
-        return reachableTiles.contains(compressed);
+        return ReachabilityMap.isReachable(compressed);
     }
 
     public static List<Tile> getTiles()
@@ -301,54 +291,15 @@ public class GameManager extends Overlay {
         return widgetList().stream();
     }
 
+    /**
+     * @return every loaded widget, served from the {@link WidgetIndex}
+     */
     public static List<Widget> widgetList() {
-        return Static.invoke(() -> {
-            Widget[] roots = ((Client) Static.getClient()).getWidgetRoots();
-
-            List<Widget> result = new ArrayList<>(256);
-            Set<Widget> visited = Collections.newSetFromMap(new IdentityHashMap<>());
-            Deque<Widget> toProcess = new ArrayDeque<>();
-            addNonNull(toProcess, roots);
-            while (!toProcess.isEmpty()) {
-                Widget widget = toProcess.pop();
-
-                if (!visited.add(widget)) {
-                    continue;
-                }
-
-                result.add(widget);
-                addNonNull(toProcess, widget.getChildren());
-                addNonNull(toProcess, widget.getStaticChildren());
-                addNonNull(toProcess, widget.getDynamicChildren());
-                addNonNull(toProcess, widget.getNestedChildren());
-            }
-
-            return result;
-        });
+        return WidgetIndex.all();
     }
 
     public static List<Widget> widgetList(Widget... roots) {
-        return Static.invoke(() -> {
-            List<Widget> result = new ArrayList<>(256);
-            Set<Widget> visited = Collections.newSetFromMap(new IdentityHashMap<>());
-            Deque<Widget> toProcess = new ArrayDeque<>();
-            addNonNull(toProcess, roots);
-            while (!toProcess.isEmpty()) {
-                Widget widget = toProcess.pop();
-
-                if (!visited.add(widget)) {
-                    continue;
-                }
-
-                result.add(widget);
-                addNonNull(toProcess, widget.getChildren());
-                addNonNull(toProcess, widget.getStaticChildren());
-                addNonNull(toProcess, widget.getDynamicChildren());
-                addNonNull(toProcess, widget.getNestedChildren());
-            }
-
-            return result;
-        });
+        return Static.invoke(() -> WidgetIndex.walk(roots));
     }
 
     public static List<Widget> widgetList(int... rootIds) {
@@ -358,37 +309,7 @@ public class GameManager extends Overlay {
             roots[i] = WidgetAPI.get(rootIds[i]);
         }
 
-        return Static.invoke(() -> {
-            List<Widget> result = new ArrayList<>(256);
-            Set<Widget> visited = Collections.newSetFromMap(new IdentityHashMap<>());
-            Deque<Widget> toProcess = new ArrayDeque<>();
-            addNonNull(toProcess, roots);
-            while (!toProcess.isEmpty()) {
-                Widget widget = toProcess.pop();
-
-                if (!visited.add(widget)) {
-                    continue;
-                }
-
-                result.add(widget);
-                addNonNull(toProcess, widget.getChildren());
-                addNonNull(toProcess, widget.getStaticChildren());
-                addNonNull(toProcess, widget.getDynamicChildren());
-                addNonNull(toProcess, widget.getNestedChildren());
-            }
-
-            return result;
-        });
-    }
-
-    private static void addNonNull(Deque<Widget> stack, Widget[] widgets) {
-        if (widgets != null) {
-            for (Widget w : widgets) {
-                if (w != null) {
-                    stack.push(w);
-                }
-            }
-        }
+        return Static.invoke(() -> WidgetIndex.walk(roots));
     }
 
 
@@ -433,6 +354,13 @@ public class GameManager extends Overlay {
                 .register(this);
         TransportLoader.init();
         BankCache.init();
+        WidgetIndex.init();
+        ItemContainerCache.init();
+        DefinitionCache.init();
+        ReachabilityMap.init();
+        LocalCollisionMap.init();
+        WaitRegistry.init();
+        StepScheduler.init();
 
         ThreadPool.submit(() -> {
             Client client = Static.getClient();
@@ -513,6 +441,9 @@ public class GameManager extends Overlay {
     private volatile List<WorldPoint> sailingPoints = null;
     private final BoatOverlay boatOverlay = new BoatOverlay();
     private boolean boatDebugShowing = false;
+    // headless map caches rendered chunks per accessor, so only swap it when the collision map does
+    private CollisionMap mapAccessorSource;
+    private HeadlessMapPanel.CollisionMapAccessor mapAccessor;
 
     public static void setPathPoints(List<WorldPoint> points)
     {
@@ -582,9 +513,12 @@ public class GameManager extends Overlay {
             }
 
             final var collisionMap = Walker.getCollisionMap();
+            if (collisionMap != mapAccessorSource) {
+                mapAccessorSource = collisionMap;
+                mapAccessor = (x, y, plane) -> collisionMap.all((short) x, (short) y, (byte) plane);
+            }
             try {
-                HeadlessMode.updateMap(pos.getX(), pos.getY(), pos.getPlane(),
-                        (x, y, plane) -> collisionMap.all((short) x, (short) y, (byte) plane));
+                HeadlessMode.updateMap(pos.getX(), pos.getY(), pos.getPlane(), mapAccessor);
             } catch (Exception e) {
                 Logger.error("Headless map update failed", e);
             }
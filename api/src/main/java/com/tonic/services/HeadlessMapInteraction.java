@@ -2,7 +2,9 @@ package com.tonic.services;
 
 import com.tonic.Logger;
 import com.tonic.data.RegionInfo;
+import com.tonic.headless.HeadlessMapPanel;
 import com.tonic.headless.HeadlessMode;
+import com.tonic.headless.RenderStats;
 import com.tonic.services.pathfinder.model.WalkerPath;
 import com.tonic.util.ThreadPool;
 import lombok.Getter;
@@ -94,6 +96,12 @@ public class HeadlessMapInteraction {
         lines.add(String.format("RegionId: %d", ((playerX >> 6) << 8) | (playerY >> 6)));
         lines.add(String.format("Location: %s", regionInfo != null ? regionInfo.getAreaName() : "Unknown"));
 
+        HeadlessMapPanel panel = HeadlessMode.getMapPanel();
+        if (panel != null) {
+            lines.add(String.format("Render: %.2f ms", panel.getLastRenderMillis()));
+        }
+        lines.add(RenderStats.summary());
+
         return lines;
     }
 
@@ -0,0 +1,109 @@
+package com.tonic.services;
+
+import com.tonic.Static;
+import com.tonic.data.wrappers.ItemContainerSnapshot;
+import net.runelite.api.Client;
+import net.runelite.api.GameState;
+import net.runelite.api.ItemContainer;
+import net.runelite.api.events.ClientTick;
+import net.runelite.api.events.GameStateChanged;
+import net.runelite.api.events.ItemContainerChanged;
+import net.runelite.client.eventbus.Subscribe;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps an immutable {@link ItemContainerSnapshot} per item container, rebuilt on the client thread
+ * when the container changes, so inventory and bank reads from script threads are a map lookup
+ * instead of a client thread round trip per call.
+ * <p>
+ * Closing the bank or a shop removes the container without an ItemContainerChanged, so each client
+ * tick also checks that the cached containers are still the live ones.
+ */
+public class ItemContainerCache
+{
+    private static ItemContainerCache INSTANCE;
+    private static final AtomicLong version = new AtomicLong();
+    private static final Map<Integer, ItemContainerSnapshot> snapshots = new ConcurrentHashMap<>();
+    private static final Map<Integer, ItemContainer> sources = new ConcurrentHashMap<>();
+
+    /**
+     * @param containerId container id
+     * @return the latest snapshot of the container, empty if it isn't loaded
+     */
+    public static ItemContainerSnapshot get(int containerId)
+    {
+        ItemContainerSnapshot snapshot = snapshots.get(containerId);
+        if (snapshot != null)
+        {
+            return snapshot;
+        }
+        return Static.invoke(() -> {
+            ItemContainerSnapshot latest = snapshots.get(containerId);
+            if (latest != null)
+            {
+                return latest;
+            }
+            Client client = Static.getClient();
+            return store(containerId, client.getItemContainer(containerId));
+        });
+    }
+
+    private static ItemContainerSnapshot store(int containerId, ItemContainer container)
+    {
+        ItemContainerSnapshot snapshot = ItemContainerSnapshot.of(container, containerId, version.incrementAndGet());
+        if (container == null)
+        {
+            sources.remove(containerId);
+        }
+        else
+        {
+            sources.put(containerId, container);
+        }
+        snapshots.put(containerId, snapshot);
+        return snapshot;
+    }
+
+    @Subscribe
+    public void onItemContainerChanged(ItemContainerChanged event)
+    {
+        store(event.getContainerId(), event.getItemContainer());
+    }
+
+    @Subscribe
+    public void onClientTick(ClientTick event)
+    {
+        Client client = Static.getClient();
+        for (Integer containerId : snapshots.keySet())
+        {
+            ItemContainer live = client.getItemContainer(containerId);
+            if (live != sources.get(containerId))
+            {
+                store(containerId, live);
+            }
+        }
+    }
+
+    @Subscribe
+    public void onGameStateChanged(GameStateChanged event)
+    {
+        if (event.getGameState() == GameState.LOGIN_SCREEN || event.getGameState() == GameState.HOPPING)
+        {
+            snapshots.clear();
+            sources.clear();
+        }
+    }
+
+    static void init()
+    {
+        if(INSTANCE != null)
+            return;
+
+        INSTANCE = new ItemContainerCache();
+        Static.getRuneLite()
+                .getEventBus()
+                .register(INSTANCE);
+    }
+}
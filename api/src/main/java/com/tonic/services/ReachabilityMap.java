@@ -0,0 +1,364 @@
+package com.tonic.services;
+
+import com.tonic.Static;
+import com.tonic.data.wrappers.PlayerEx;
+import com.tonic.util.WorldPointUtil;
+import net.runelite.api.Client;
+import net.runelite.api.CollisionData;
+import net.runelite.api.CollisionDataFlag;
+import net.runelite.api.Constants;
+import net.runelite.api.WorldView;
+import net.runelite.api.coords.WorldPoint;
+import net.runelite.api.events.*;
+import net.runelite.client.eventbus.Subscribe;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Tiles of the top level scene the local player can walk to, kept as one flood fill shared by
+ * every reachability check. The fill is stored as a bitset over scene coordinates plus the BFS step
+ * count to each tile, and is only recomputed, on the client thread, after the player's tile, the
+ * scene or a collision-affecting object changes. Reads in between are a volatile read and a bit
+ * test from any thread.
+ * <p>
+ * Steps follow the client's movement rules, diagonals included, so {@link #distanceTo} is the
+ * number of tiles walked to get there.
+ */
+public class ReachabilityMap
+{
+    private static final int SIZE = Constants.SCENE_SIZE;
+    private static final int[] DX = {-1, 1, 0, 0, -1, 1, -1, 1};
+    private static final int[] DY = {0, 0, -1, 1, -1, -1, 1, 1};
+    // blocks routing onto the tile, set alongside the full block by the client's own path masks
+    private static final int BLOCK_ROUTE = 0x1000000;
+
+    private static ReachabilityMap INSTANCE;
+    private static volatile Snapshot snapshot;
+    private static volatile boolean dirty = true;
+
+    /**
+     * @param worldPoint world point
+     * @return whether the local player can walk to the tile
+     */
+    public static boolean isReachable(WorldPoint worldPoint)
+    {
+        return worldPoint != null && isReachable(worldPoint.getX(), worldPoint.getY(), worldPoint.getPlane());
+    }
+
+    public static boolean isReachable(int compressed)
+    {
+        return isReachable(WorldPointUtil.getCompressedX(compressed), WorldPointUtil.getCompressedY(compressed),
+                WorldPointUtil.getCompressedPlane(compressed));
+    }
+
+    public static boolean isReachable(int x, int y, int plane)
+    {
+        Snapshot current = get();
+        return current != null && current.distance(x, y, plane) >= 0;
+    }
+
+    /**
+     * @param worldPoint world point
+     * @return tiles the local player has to walk to reach the tile, or -1 if it can't be reached
+     */
+    public static int distanceTo(WorldPoint worldPoint)
+    {
+        Snapshot current = get();
+        return current == null || worldPoint == null ? -1
+                : current.distance(worldPoint.getX(), worldPoint.getY(), worldPoint.getPlane());
+    }
+
+    /**
+     * @param worldPoint world point
+     * @return whether the map was filled from this tile, i.e. it's the local player's tile
+     */
+    public static boolean isOrigin(WorldPoint worldPoint)
+    {
+        Snapshot current = get();
+        return current != null && worldPoint != null && current.originX == worldPoint.getX()
+                && current.originY == worldPoint.getY() && current.plane == worldPoint.getPlane();
+    }
+
+    public static List<WorldPoint> filterReachable(WorldPoint... worldPoints)
+    {
+        List<WorldPoint> reachable = new ArrayList<>();
+        Snapshot current = get();
+        if (current == null)
+        {
+            return reachable;
+        }
+        for (WorldPoint wp : worldPoints)
+        {
+            if (wp != null && current.distance(wp.getX(), wp.getY(), wp.getPlane()) >= 0)
+            {
+                reachable.add(wp);
+            }
+        }
+        return reachable;
+    }
+
+    public static List<WorldPoint> filterReachable(List<WorldPoint> worldPoints)
+    {
+        return filterReachable(worldPoints.toArray(new WorldPoint[0]));
+    }
+
+    /**
+     * @return every tile the local player can walk to
+     */
+    public static List<WorldPoint> reachableTiles()
+    {
+        Snapshot current = get();
+        if (current == null)
+        {
+            return Collections.emptyList();
+        }
+        List<WorldPoint> tiles = new ArrayList<>();
+        for (int x = 0; x < SIZE; x++)
+        {
+            for (int y = 0; y < SIZE; y++)
+            {
+                if (current.distances[x * SIZE + y] >= 0)
+                {
+                    tiles.add(new WorldPoint(current.baseX + x, current.baseY + y, current.plane));
+                }
+            }
+        }
+        return tiles;
+    }
+
+    private static Snapshot get()
+    {
+        Snapshot current = snapshot;
+        if (current != null && !dirty)
+        {
+            return current;
+        }
+        return Static.invoke(ReachabilityMap::refresh);
+    }
+
+    private static Snapshot refresh()
+    {
+        if (snapshot != null && !dirty)
+        {
+            return snapshot;
+        }
+        dirty = false;
+        snapshot = compute();
+        return snapshot;
+    }
+
+    private static Snapshot compute()
+    {
+        Client client = Static.getClient();
+        WorldView worldView = client.getTopLevelWorldView();
+        PlayerEx local = PlayerEx.getLocal();
+        if (worldView == null || local == null)
+        {
+            return null;
+        }
+        CollisionData[] collisionData = worldView.getCollisionMaps();
+        WorldPoint origin = local.getWorldPoint();
+        int plane = worldView.getPlane();
+        if (collisionData == null || origin == null || origin.getPlane() != plane)
+        {
+            return null;
+        }
+
+        int baseX = worldView.getBaseX();
+        int baseY = worldView.getBaseY();
+        int startX = origin.getX() - baseX;
+        int startY = origin.getY() - baseY;
+        short[] distances = new short[SIZE * SIZE];
+        Arrays.fill(distances, (short) -1);
+        if (startX < 0 || startY < 0 || startX >= SIZE || startY >= SIZE)
+        {
+            return new Snapshot(baseX, baseY, plane, origin.getX(), origin.getY(), distances);
+        }
+
+        int[][] flags = collisionData[plane].getFlags();
+        int[] queue = new int[SIZE * SIZE];
+        int head = 0;
+        int tail = 0;
+        distances[startX * SIZE + startY] = 0;
+        queue[tail++] = startX * SIZE + startY;
+        while (head < tail)
+        {
+            int index = queue[head++];
+            int x = index / SIZE;
+            int y = index % SIZE;
+            short next = (short) (distances[index] + 1);
+            for (int dir = 0; dir < 8; dir++)
+            {
+                int nx = x + DX[dir];
+                int ny = y + DY[dir];
+                if (nx < 0 || ny < 0 || nx >= SIZE || ny >= SIZE || distances[nx * SIZE + ny] >= 0)
+                {
+                    continue;
+                }
+                if (canMove(flags, x, y, DX[dir], DY[dir]))
+                {
+                    distances[nx * SIZE + ny] = next;
+                    queue[tail++] = nx * SIZE + ny;
+                }
+            }
+        }
+        return new Snapshot(baseX, baseY, plane, origin.getX(), origin.getY(), distances);
+    }
+
+    /**
+     * The client's step rules: a cardinal step needs the target tile free and no wall between, a
+     * diagonal step additionally needs both cardinal steps it cuts past.
+     */
+    private static boolean canMove(int[][] flags, int x, int y, int dx, int dy)
+    {
+        int full = CollisionDataFlag.BLOCK_MOVEMENT_FULL | BLOCK_ROUTE;
+        int westOrEast = dx < 0 ? CollisionDataFlag.BLOCK_MOVEMENT_EAST : CollisionDataFlag.BLOCK_MOVEMENT_WEST;
+        int southOrNorth = dy < 0 ? CollisionDataFlag.BLOCK_MOVEMENT_NORTH : CollisionDataFlag.BLOCK_MOVEMENT_SOUTH;
+        if (dy == 0)
+        {
+            return (flags[x + dx][y] & (full | westOrEast)) == 0;
+        }
+        if (dx == 0)
+        {
+            return (flags[x][y + dy] & (full | southOrNorth)) == 0;
+        }
+
+        int corner;
+        if (dx < 0)
+            corner = dy < 0 ? CollisionDataFlag.BLOCK_MOVEMENT_NORTH_EAST : CollisionDataFlag.BLOCK_MOVEMENT_SOUTH_EAST;
+        else
+            corner = dy < 0 ? CollisionDataFlag.BLOCK_MOVEMENT_NORTH_WEST : CollisionDataFlag.BLOCK_MOVEMENT_SOUTH_WEST;
+
+        return (flags[x + dx][y + dy] & (full | westOrEast | southOrNorth | corner)) == 0
+                && (flags[x + dx][y] & (full | westOrEast)) == 0
+                && (flags[x][y + dy] & (full | southOrNorth)) == 0;
+    }
+
+    private static void checkOrigin()
+    {
+        Snapshot current = snapshot;
+        if (current == null || dirty)
+        {
+            return;
+        }
+        Client client = Static.getClient();
+        WorldView worldView = client.getTopLevelWorldView();
+        PlayerEx local = PlayerEx.getLocal();
+        WorldPoint origin = local == null ? null : local.getWorldPoint();
+        if (worldView == null || origin == null || origin.getX() != current.originX || origin.getY() != current.originY
+                || origin.getPlane() != current.plane || worldView.getBaseX() != current.baseX
+                || worldView.getBaseY() != current.baseY)
+        {
+            dirty = true;
+        }
+    }
+
+    @Subscribe
+    public void onGameTick(GameTick event)
+    {
+        checkOrigin();
+    }
+
+    @Subscribe
+    public void onClientTick(ClientTick event)
+    {
+        checkOrigin();
+    }
+
+    @Subscribe
+    public void onGameStateChanged(GameStateChanged event)
+    {
+        dirty = true;
+    }
+
+    @Subscribe
+    public void onGameObjectSpawned(GameObjectSpawned event)
+    {
+        dirty = true;
+    }
+
+    @Subscribe
+    public void onGameObjectDespawned(GameObjectDespawned event)
+    {
+        dirty = true;
+    }
+
+    @Subscribe
+    public void onWallObjectSpawned(WallObjectSpawned event)
+    {
+        dirty = true;
+    }
+
+    @Subscribe
+    public void onWallObjectDespawned(WallObjectDespawned event)
+    {
+        dirty = true;
+    }
+
+    @Subscribe
+    public void onGroundObjectSpawned(GroundObjectSpawned event)
+    {
+        dirty = true;
+    }
+
+    @Subscribe
+    public void onGroundObjectDespawned(GroundObjectDespawned event)
+    {
+        dirty = true;
+    }
+
+    static void init()
+    {
+        if(INSTANCE != null)
+            return;
+
+        INSTANCE = new ReachabilityMap();
+        Static.getRuneLite()
+                .getEventBus()
+                .register(INSTANCE);
+    }
+
+    private static final class Snapshot
+    {
+        private final int baseX;
+        private final int baseY;
+        private final int plane;
+        private final int originX;
+        private final int originY;
+        private final long[] reachable;
+        private final short[] distances;
+
+        private Snapshot(int baseX, int baseY, int plane, int originX, int originY, short[] distances)
+        {
+            this.baseX = baseX;
+            this.baseY = baseY;
+            this.plane = plane;
+            this.originX = originX;
+            this.originY = originY;
+            this.distances = distances;
+            this.reachable = new long[(distances.length + 63) >> 6];
+            for (int i = 0; i < distances.length; i++)
+            {
+                if (distances[i] >= 0)
+                {
+                    reachable[i >> 6] |= 1L << i;
+                }
+            }
+        }
+
+        private int distance(int x, int y, int plane)
+        {
+            int sx = x - baseX;
+            int sy = y - baseY;
+            if (plane != this.plane || sx < 0 || sy < 0 || sx >= SIZE || sy >= SIZE)
+            {
+                return -1;
+            }
+            int index = sx * SIZE + sy;
+            return (reachable[index >> 6] & (1L << index)) == 0 ? -1 : distances[index];
+        }
+    }
+}
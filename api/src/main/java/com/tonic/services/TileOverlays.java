@@ -258,7 +258,7 @@ public class TileOverlays extends Overlay
         WorldPoint point;
         LocalPoint localPoint;
         Tile tile;
-        LocalCollisionMap map = new LocalCollisionMap();
+        LocalCollisionMap map = LocalCollisionMap.shared();
         Color wall = Color.RED;
         Color fill = new Color(255, 0, 0, 80);
         Stroke stroke = new BasicStroke(1.0f);
@@ -0,0 +1,319 @@
+package com.tonic.services;
+
+import com.tonic.Logger;
+import com.tonic.Static;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import net.runelite.api.Client;
+import net.runelite.api.events.GameStateChanged;
+import net.runelite.api.events.ScriptPostFired;
+import net.runelite.api.events.WidgetClosed;
+import net.runelite.api.events.WidgetLoaded;
+import net.runelite.api.widgets.Widget;
+import net.runelite.client.eventbus.Subscribe;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+/**
+ * Flattened index of the loaded widget tree, so widget queries don't walk the whole tree on every
+ * call. The tree only changes shape when an interface is opened or closed or a script builds or
+ * deletes dynamic children. Opening and closing bump a version right away. Scripts fire many times
+ * a frame and most don't touch the tree, so they only mark the index dirty, and the next lookup
+ * clears the mark and rebuilds. A burst of scripts costs one rebuild however many run, and a lookup
+ * made right after a script never sees a tree from before it.
+ * <p>
+ * Text, actions and hidden state can be changed by server packets without any event, so those
+ * lookups test the live widget against the indexed list rather than keying on stale values.
+ */
+public class WidgetIndex
+{
+    private static WidgetIndex INSTANCE;
+    private static final AtomicInteger version = new AtomicInteger();
+    private static volatile boolean scriptsRan;
+    private static volatile Snapshot snapshot = new Snapshot(-1, Collections.emptyList(), new Int2ObjectOpenHashMap<>());
+
+    /**
+     * @return every loaded widget, in tree-walk order
+     */
+    public static List<Widget> all()
+    {
+        return current().widgets;
+    }
+
+    /**
+     * @param groupId interface group id
+     * @return loaded widgets of the interface, including dynamic children
+     */
+    public static List<Widget> byGroup(int groupId)
+    {
+        return current().byGroup.getOrDefault(groupId, Collections.emptyList());
+    }
+
+    /**
+     * @param groupIds interface group ids
+     * @return loaded widgets of any of the interfaces, in group order
+     */
+    public static List<Widget> byGroup(int... groupIds)
+    {
+        Snapshot current = current();
+        List<Widget> out = new ArrayList<>();
+        for (int groupId : groupIds)
+        {
+            out.addAll(current.byGroup.getOrDefault(groupId, Collections.emptyList()));
+        }
+        return out;
+    }
+
+    /**
+     * @param text text to match, ignoring case
+     * @return widgets whose current text matches
+     */
+    public static List<Widget> withText(String text)
+    {
+        return filter(w -> w.getText() != null && w.getText().equalsIgnoreCase(text));
+    }
+
+    /**
+     * @param action action to match, ignoring case
+     * @return widgets that currently have the action
+     */
+    public static List<Widget> withAction(String action)
+    {
+        return filter(w -> {
+            String[] actions = w.getActions();
+            if (actions == null)
+                return false;
+            for (String a : actions)
+            {
+                if (a != null && a.equalsIgnoreCase(action))
+                    return true;
+            }
+            return false;
+        });
+    }
+
+    /**
+     * @return widgets that are currently visible
+     */
+    public static List<Widget> visible()
+    {
+        return filter(w -> !w.isHidden());
+    }
+
+    /**
+     * Forces a rebuild on the next lookup, for code that changes the widget tree itself.
+     */
+    public static void invalidate()
+    {
+        version.incrementAndGet();
+    }
+
+    /**
+     * Times full tree walks against index lookups for the currently open interfaces and logs the
+     * result. The index is rebuilt once up front and that rebuild is reported on its own, so the
+     * lookup figures are the cost of queries served from a built index. Meant to be run by hand,
+     * e.g. with the bank and a few other interfaces open.
+     * @param iterations lookups per measurement
+     */
+    public static void benchmark(int iterations)
+    {
+        Client client = Static.getClient();
+        int[] groups = Static.invoke(() -> {
+            Widget[] roots = client.getWidgetRoots();
+            return roots == null ? new int[0] : Arrays.stream(roots)
+                    .filter(Objects::nonNull)
+                    .mapToInt(w -> w.getId() >>> 16)
+                    .distinct()
+                    .toArray();
+        });
+
+        long start = System.nanoTime();
+        int walked = 0;
+        for (int i = 0; i < iterations; i++)
+        {
+            walked = Static.invoke(() -> walk(client.getWidgetRoots()).size());
+        }
+        long walkNanos = System.nanoTime() - start;
+
+        invalidate();
+        start = System.nanoTime();
+        all();
+        long rebuildNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        int indexed = 0;
+        for (int i = 0; i < iterations; i++)
+        {
+            indexed = all().size();
+        }
+        long indexNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int i = 0; i < iterations; i++)
+        {
+            for (int group : groups)
+            {
+                byGroup(group);
+            }
+        }
+        long groupNanos = System.nanoTime() - start;
+
+        Logger.info(String.format(
+                "[WidgetIndex] %d widgets (%d indexed), %d groups open: tree walk %.1f us, rebuild %.1f us, index %.2f us, byGroup %.2f us per lookup",
+                walked, indexed, groups.length,
+                walkNanos / 1000.0 / iterations,
+                rebuildNanos / 1000.0,
+                indexNanos / 1000.0 / iterations,
+                groups.length == 0 ? 0 : groupNanos / 1000.0 / iterations / groups.length
+        ));
+    }
+
+    /**
+     * Walks a widget tree depth first through children, static, dynamic and nested children.
+     * Must be called on the client thread.
+     * @param roots tree roots, may contain nulls
+     * @return every widget reachable from the roots, once each
+     */
+    static List<Widget> walk(Widget[] roots)
+    {
+        List<Widget> result = new ArrayList<>(256);
+        Set<Widget> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+        Deque<Widget> toProcess = new ArrayDeque<>();
+        addNonNull(toProcess, roots);
+        while (!toProcess.isEmpty())
+        {
+            Widget widget = toProcess.pop();
+
+            if (!visited.add(widget))
+            {
+                continue;
+            }
+
+            result.add(widget);
+            addNonNull(toProcess, widget.getChildren());
+            addNonNull(toProcess, widget.getStaticChildren());
+            addNonNull(toProcess, widget.getDynamicChildren());
+            addNonNull(toProcess, widget.getNestedChildren());
+        }
+        return result;
+    }
+
+    private static void addNonNull(Deque<Widget> stack, Widget[] widgets)
+    {
+        if (widgets != null)
+        {
+            for (Widget w : widgets)
+            {
+                if (w != null)
+                {
+                    stack.push(w);
+                }
+            }
+        }
+    }
+
+    private static List<Widget> filter(Predicate<Widget> predicate)
+    {
+        List<Widget> widgets = all();
+        return Static.invoke(() -> {
+            List<Widget> out = new ArrayList<>();
+            for (Widget widget : widgets)
+            {
+                if (predicate.test(widget))
+                {
+                    out.add(widget);
+                }
+            }
+            return out;
+        });
+    }
+
+    private static Snapshot current()
+    {
+        Snapshot current = snapshot;
+        if (!scriptsRan && current.version == version.get())
+        {
+            return current;
+        }
+        return Static.invoke(() -> {
+            // scripts only run on the client thread, so none can slip in between here and the walk
+            if (scriptsRan)
+            {
+                scriptsRan = false;
+                invalidate();
+            }
+            int target = version.get();
+            Snapshot latest = snapshot;
+            if (latest.version == target)
+            {
+                return latest;
+            }
+            Snapshot built = build(target);
+            snapshot = built;
+            return built;
+        });
+    }
+
+    private static Snapshot build(int version)
+    {
+        Client client = Static.getClient();
+        List<Widget> widgets = walk(client.getWidgetRoots());
+        Int2ObjectOpenHashMap<List<Widget>> byGroup = new Int2ObjectOpenHashMap<>();
+        for (Widget widget : widgets)
+        {
+            byGroup.computeIfAbsent(widget.getId() >>> 16, k -> new ArrayList<>()).add(widget);
+        }
+        byGroup.replaceAll((group, list) -> Collections.unmodifiableList(list));
+        return new Snapshot(version, Collections.unmodifiableList(widgets), byGroup);
+    }
+
+    @Subscribe
+    public void onWidgetLoaded(WidgetLoaded event)
+    {
+        invalidate();
+    }
+
+    @Subscribe
+    public void onWidgetClosed(WidgetClosed event)
+    {
+        invalidate();
+    }
+
+    @Subscribe
+    public void onScriptPostFired(ScriptPostFired event)
+    {
+        scriptsRan = true;
+    }
+
+    @Subscribe
+    public void onGameStateChanged(GameStateChanged event)
+    {
+        invalidate();
+    }
+
+    static void init()
+    {
+        if(INSTANCE != null)
+            return;
+
+        INSTANCE = new WidgetIndex();
+        Static.getRuneLite()
+                .getEventBus()
+                .register(INSTANCE);
+    }
+
+    private static final class Snapshot
+    {
+        private final int version;
+        private final List<Widget> widgets;
+        private final Int2ObjectOpenHashMap<List<Widget>> byGroup;
+
+        private Snapshot(int version, List<Widget> widgets, Int2ObjectOpenHashMap<List<Widget>> byGroup)
+        {
+            this.version = version;
+            this.widgets = widgets;
+            this.byGroup = byGroup;
+        }
+    }
+}
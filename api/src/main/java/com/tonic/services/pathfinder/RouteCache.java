@@ -0,0 +1,285 @@
+package com.tonic.services.pathfinder;
+
+import com.tonic.data.wrappers.PlayerEx;
+import com.tonic.services.ReachabilityMap;
+import com.tonic.services.profiler.CacheStats;
+import com.tonic.services.pathfinder.abstractions.IPathfinder;
+import com.tonic.services.pathfinder.abstractions.IStep;
+import com.tonic.services.pathfinder.teleports.Teleport;
+import com.tonic.services.pathfinder.transports.TransportLoader;
+import com.tonic.util.WorldPointUtil;
+import lombok.Getter;
+import net.runelite.api.coords.WorldArea;
+import net.runelite.api.coords.WorldPoint;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Recently computed routes, reused instead of searching again when a script walks the same loop or
+ * replans partway along a route.
+ * <p>
+ * A route is reused when the goal and engine match, the transports and teleports available now are
+ * the ones it was searched with, and the player can walk to its start or to one of its tiles within
+ * {@link #REUSE_DISTANCE} steps; the walk then continues from that tile. Routes searched with a
+ * different transport or teleport set are dropped on the next lookup, since a quest, item or
+ * requirement change may have opened a shorter route.
+ * <p>
+ * Hit rate and saved search time are reported to {@link CacheStats} and shown in the profiler.
+ */
+public class RouteCache
+{
+    private static final int MAX_ROUTES = 32;
+    private static final int REUSE_DISTANCE = 3;
+
+    private static final LinkedList<Route> ROUTES = new LinkedList<>();
+    private static final CacheStats STATS = CacheStats.register("Route cache");
+
+    private RouteCache()
+    {
+    }
+
+    /**
+     * @param algo engine to search with on a miss
+     * @param target target point
+     * @return the route, reused or freshly searched
+     */
+    public static Result find(PathfinderAlgo algo, WorldPoint target)
+    {
+        int[] goal = {WorldPointUtil.compress(target)};
+        return find(algo, goal, engine -> engine.find(target));
+    }
+
+    /**
+     * @param algo engine to search with on a miss
+     * @param targets target areas
+     * @return the route, reused or freshly searched
+     */
+    public static Result find(PathfinderAlgo algo, List<WorldArea> targets)
+    {
+        int[] goal = new int[targets.size() * 3];
+        for (int i = 0; i < targets.size(); i++)
+        {
+            WorldArea area = targets.get(i);
+            goal[i * 3] = WorldPointUtil.compress(area.getX(), area.getY(), area.getPlane());
+            goal[i * 3 + 1] = area.getWidth();
+            goal[i * 3 + 2] = area.getHeight();
+        }
+        return find(algo, goal, engine -> engine.find(targets));
+    }
+
+    /**
+     * Drops every route ending on the tile, for when walking one of them failed.
+     */
+    public static synchronized void invalidate(WorldPoint destination)
+    {
+        int compressed = WorldPointUtil.compress(destination);
+        ROUTES.removeIf(route -> route.steps.get(route.steps.size() - 1).getPackedPosition() == compressed);
+    }
+
+    public static synchronized void clear()
+    {
+        ROUTES.clear();
+    }
+
+    /**
+     * @return share of lookups answered from the cache, 0 before the first lookup
+     */
+    public static double getHitRate()
+    {
+        return STATS.getHitRate();
+    }
+
+    /**
+     * @return search time the reused routes originally took
+     */
+    public static long getSavedMillis()
+    {
+        return STATS.getSavedMillis();
+    }
+
+    private static Result find(PathfinderAlgo algo, int[] goal, Function<IPathfinder, List<? extends IStep>> search)
+    {
+        TransportLoader.refreshTransports();
+        int transportHash = TransportLoader.getTransportHash();
+        List<Teleport> teleports = Teleport.buildTeleportLinks();
+        int teleportHash = teleportHash(teleports);
+        int player = WorldPointUtil.compress(PlayerEx.getLocal().getWorldPoint());
+
+        Result cached = lookup(algo, goal, transportHash, teleportHash, player);
+        if (cached != null)
+        {
+            return cached;
+        }
+
+        IPathfinder engine = algo.newInstance();
+        long start = System.nanoTime();
+        // the engine would refresh both again, reuse what the key was built from
+        List<? extends IStep> steps = TransportLoader.withCurrentTransports(
+                () -> Teleport.withLinks(teleports, () -> search.apply(engine)));
+        long elapsed = System.nanoTime() - start;
+        if (steps == null)
+        {
+            steps = new ArrayList<>();
+        }
+
+        STATS.miss();
+        synchronized (RouteCache.class)
+        {
+            if (!steps.isEmpty())
+            {
+                ROUTES.addFirst(new Route(algo, goal, transportHash, teleportHash, player,
+                        new ArrayList<>(steps), engine.getTeleport(), elapsed));
+                if (ROUTES.size() > MAX_ROUTES)
+                {
+                    ROUTES.removeLast();
+                }
+            }
+        }
+        return new Result(new ArrayList<>(steps), engine.getTeleport());
+    }
+
+    private static synchronized Result lookup(PathfinderAlgo algo, int[] goal, int transportHash, int teleportHash, int player)
+    {
+        Iterator<Route> it = ROUTES.iterator();
+        while (it.hasNext())
+        {
+            Route route = it.next();
+            if (route.transportHash != transportHash || route.teleportHash != teleportHash)
+            {
+                it.remove();
+                continue;
+            }
+            if (route.algo != algo || !Arrays.equals(route.goal, goal))
+            {
+                continue;
+            }
+
+            int from = reuseIndex(route, player);
+            if (from == -2)
+            {
+                continue;
+            }
+
+            it.remove();
+            ROUTES.addFirst(route);
+            STATS.hit(route.searchNanos);
+            clearHandlers(route);
+            List<IStep> steps = from == -1 ? route.steps : route.steps.subList(from, route.steps.size());
+            Teleport teleport = from == -1 ? route.teleport : null;
+            return new Result(new ArrayList<>(steps), teleport == null ? null : teleport.copy());
+        }
+        return null;
+    }
+
+    /**
+     * @return -1 to walk the whole route from its start, the index of the furthest step the player can
+     * walk to nearby, or -2 if the player is off the route
+     */
+    private static int reuseIndex(Route route, int player)
+    {
+        int plane = WorldPointUtil.getCompressedPlane(player);
+        for (int i = route.steps.size() - 1; i >= 0; i--)
+        {
+            int position = route.steps.get(i).getPackedPosition();
+            if (WorldPointUtil.getCompressedPlane(position) == plane && chebyshev(position, player) <= REUSE_DISTANCE
+                    && isNear(position))
+            {
+                return i;
+            }
+        }
+        if (chebyshev(route.start, player) <= REUSE_DISTANCE
+                && WorldPointUtil.getCompressedPlane(route.start) == plane && isNear(route.start))
+        {
+            return -1;
+        }
+        return -2;
+    }
+
+    /**
+     * Clears the handler state a previous walk of the route left behind, e.g. one cancelled halfway
+     * through a transport, since the cached steps hand out the same transports again.
+     */
+    private static void clearHandlers(Route route)
+    {
+        for (IStep step : route.steps)
+        {
+            if (step.hasTransport())
+            {
+                step.getTransport().getHandler().clear();
+            }
+        }
+        if (route.teleport != null)
+        {
+            route.teleport.getHandlers().clear();
+        }
+    }
+
+    private static boolean isNear(int position)
+    {
+        int distance = ReachabilityMap.distanceTo(WorldPointUtil.fromCompressed(position));
+        return distance >= 0 && distance <= REUSE_DISTANCE;
+    }
+
+    private static int chebyshev(int a, int b)
+    {
+        int dx = Math.abs(WorldPointUtil.getCompressedX(a) - WorldPointUtil.getCompressedX(b));
+        int dy = Math.abs(WorldPointUtil.getCompressedY(a) - WorldPointUtil.getCompressedY(b));
+        return Math.max(dx, dy);
+    }
+
+    private static int teleportHash(List<Teleport> teleports)
+    {
+        int hash = 0;
+        for (Teleport teleport : teleports)
+        {
+            hash += Integer.rotateLeft(WorldPointUtil.compress(teleport.getDestination()), 11) ^ teleport.getRadius();
+        }
+        return hash;
+    }
+
+    /**
+     * A route ready to walk. The step list is the caller's to consume.
+     */
+    @Getter
+    public static final class Result
+    {
+        private final List<IStep> steps;
+        private final Teleport teleport;
+
+        private Result(List<IStep> steps, Teleport teleport)
+        {
+            this.steps = steps;
+            this.teleport = teleport;
+        }
+    }
+
+    private static final class Route
+    {
+        private final PathfinderAlgo algo;
+        private final int[] goal;
+        private final int transportHash;
+        private final int teleportHash;
+        private final int start;
+        private final List<IStep> steps;
+        private final Teleport teleport;
+        private final long searchNanos;
+
+        private Route(PathfinderAlgo algo, int[] goal, int transportHash, int teleportHash, int start,
+                      List<IStep> steps, Teleport teleport, long searchNanos)
+        {
+            this.algo = algo;
+            this.goal = goal;
+            this.transportHash = transportHash;
+            this.teleportHash = teleportHash;
+            this.start = start;
+            this.steps = steps;
+            this.teleport = teleport;
+            this.searchNanos = searchNanos;
+        }
+    }
+}
@@ -5,6 +5,7 @@ import com.tonic.api.game.MovementAPI;
 import com.tonic.api.handlers.GenericHandlerBuilder;
 import com.tonic.data.wrappers.PlayerEx;
 import com.tonic.services.pathfinder.local.LocalCollisionMap;
+import com.tonic.util.handler.StepContext;
 import com.tonic.util.handler.StepHandler;
 import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
 import net.runelite.api.Client;
@@ -17,12 +18,14 @@ import java.util.function.Predicate;
 /**
  * Strategic Pathfinding API - Provides advanced pathfinding capabilities with support for
  * avoiding and/or navigating around dangerous and impassible tiles.
+ * For replanning every tick against changing hazards, see {@link StrategicPlanner}.
  */
 public class StrategicPathing {
 
     private static final HashSet<WorldPoint> EMPTY_SET = new HashSet<>();
+    private static final int STEP_INDEX = StepContext.key("stepIndex");
 
-    private static final int[][] DIRECTIONS_MAP = {
+    static final int[][] DIRECTIONS_MAP = {
             {-2, 0},   // Far West
             {0, 2},    // Far North
             {2, 0},    // Far East
@@ -72,13 +75,13 @@ public class StrategicPathing {
                         MovementAPI.toggleRun();
                     }
 
-                    int index = context.getOrDefault("stepIndex", -1) + 1;
+                    int index = context.getOrDefault(STEP_INDEX, -1) + 1;
                     if (index >= path.size()) {
                         return true;
                     }
 
                     MovementAPI.walkToWorldPoint(path.get(index));
-                    context.put("stepIndex", index);
+                    context.put(STEP_INDEX, index);
                     return false;
                 })
                 .build();
@@ -322,68 +325,7 @@ public class StrategicPathing {
                     }
 
                     // Check movement obstruction using primitive coordinates
-                    boolean obstructed = false;
-
-                    // Single-tile cardinal movements
-                    if (dx == 1 && dy == 0) {
-                        obstructed = collisionMap.e(currentX, currentY, plane);
-                    } else if (dx == -1 && dy == 0) {
-                        obstructed = collisionMap.w(currentX, currentY, plane);
-                    } else if (dx == 0 && dy == 1) {
-                        obstructed = collisionMap.n(currentX, currentY, plane);
-                    } else if (dx == 0 && dy == -1) {
-                        obstructed = collisionMap.s(currentX, currentY, plane);
-                    }
-                    // Far cardinal movements
-                    else if (dx == -2 && dy == 0) {
-                        obstructed = farWObstructed(currentX, currentY, plane, impassiblePacked, collisionMap);
-                    } else if (dx == 2 && dy == 0) {
-                        obstructed = farEObstructed(currentX, currentY, plane, impassiblePacked, collisionMap);
-                    } else if (dx == 0 && dy == -2) {
-                        obstructed = farSObstructed(currentX, currentY, plane, impassiblePacked, collisionMap);
-                    } else if (dx == 0 && dy == 2) {
-                        obstructed = farNObstructed(currentX, currentY, plane, impassiblePacked, collisionMap);
-                    }
-                    // L-shaped movements
-                    else if (Math.abs(dx) + Math.abs(dy) == 3) {
-                        if (dx == 1 && dy == 2) {
-                            obstructed = northEastLObstructed(currentX, currentY, plane, impassiblePacked, collisionMap);
-                        } else if (dx == 2 && dy == 1) {
-                            obstructed = eastNorthLObstructed(currentX, currentY, plane, impassiblePacked, collisionMap);
-                        } else if (dx == 2 && dy == -1) {
-                            obstructed = eastSouthLObstructed(currentX, currentY, plane, impassiblePacked, collisionMap);
-                        } else if (dx == 1 && dy == -2) {
-                            obstructed = southEastLObstructed(currentX, currentY, plane, impassiblePacked, collisionMap);
-                        } else if (dx == -1 && dy == -2) {
-                            obstructed = southWestLObstructed(currentX, currentY, plane, impassiblePacked, collisionMap);
-                        } else if (dx == -2 && dy == -1) {
-                            obstructed = westSouthLObstructed(currentX, currentY, plane, impassiblePacked, collisionMap);
-                        } else if (dx == -2 && dy == 1) {
-                            obstructed = westNorthLObstructed(currentX, currentY, plane, impassiblePacked, collisionMap);
-                        } else if (dx == -1 && dy == 2) {
-                            obstructed = northWestLObstructed(currentX, currentY, plane, impassiblePacked, collisionMap);
-                        }
-                    }
-                    // Diagonal and far diagonal movements
-                    else {
-                        if (dx == 1 && dy == -1) {
-                            obstructed = seObstructed(currentX, currentY, plane, impassiblePacked, collisionMap);
-                        } else if (dx == 1 && dy == 1) {
-                            obstructed = neObstructed(currentX, currentY, plane, impassiblePacked, collisionMap);
-                        } else if (dx == -1 && dy == 1) {
-                            obstructed = nwObstructed(currentX, currentY, plane, impassiblePacked, collisionMap);
-                        } else if (dx == -1 && dy == -1) {
-                            obstructed = swObstructed(currentX, currentY, plane, impassiblePacked, collisionMap);
-                        } else if (dx == -2 && dy == -2) {
-                            obstructed = farSWObstructed(currentX, currentY, plane, impassiblePacked, collisionMap);
-                        } else if (dx == -2 && dy == 2) {
-                            obstructed = farNWObstructed(currentX, currentY, plane, impassiblePacked, collisionMap);
-                        } else if (dx == 2 && dy == -2) {
-                            obstructed = farSEObstructed(currentX, currentY, plane, impassiblePacked, collisionMap);
-                        } else if (dx == 2 && dy == 2) {
-                            obstructed = farNEObstructed(currentX, currentY, plane, impassiblePacked, collisionMap);
-                        }
-                    }
+                    boolean obstructed = obstructed(currentX, currentY, dx, dy, plane, impassiblePacked, collisionMap);
 
                     if (obstructed) {
                         continue;
@@ -406,14 +348,14 @@ public class StrategicPathing {
     /**
      * Packs x,y coordinates into a single long for efficient storage
      */
-    private static long packCoords(int x, int y) {
+    static long packCoords(int x, int y) {
         return ((long) x << 32) | ((long) y & 0xFFFFFFFFL);
     }
 
     /**
      * Converts a HashSet of WorldPoints to packed long coordinates
      */
-    private static LongOpenHashSet packWorldPoints(HashSet<WorldPoint> points) {
+    static LongOpenHashSet packWorldPoints(HashSet<WorldPoint> points) {
         LongOpenHashSet packed = new LongOpenHashSet(points.size());
         for (WorldPoint point : points) {
             packed.add(packCoords(point.getX(), point.getY()));
@@ -421,6 +363,79 @@ public class StrategicPathing {
         return packed;
     }
 
+    // ============================================
+    // Move Obstruction Dispatch
+    // ============================================
+
+    /**
+     * Checks whether a single move from (x, y) by one of the {@link #DIRECTIONS_MAP} offsets is
+     * obstructed by collision or by an impassible tile it passes over. The destination tile itself
+     * is not checked against the impassible set.
+     */
+    static boolean obstructed(int x, int y, int dx, int dy, int plane, LongOpenHashSet impassible, LocalCollisionMap collision) {
+        // Single-tile cardinal movements
+        if (dx == 1 && dy == 0) {
+            return collision.e(x, y, plane);
+        } else if (dx == -1 && dy == 0) {
+            return collision.w(x, y, plane);
+        } else if (dx == 0 && dy == 1) {
+            return collision.n(x, y, plane);
+        } else if (dx == 0 && dy == -1) {
+            return collision.s(x, y, plane);
+        }
+        // Far cardinal movements
+        else if (dx == -2 && dy == 0) {
+            return farWObstructed(x, y, plane, impassible, collision);
+        } else if (dx == 2 && dy == 0) {
+            return farEObstructed(x, y, plane, impassible, collision);
+        } else if (dx == 0 && dy == -2) {
+            return farSObstructed(x, y, plane, impassible, collision);
+        } else if (dx == 0 && dy == 2) {
+            return farNObstructed(x, y, plane, impassible, collision);
+        }
+        // L-shaped movements
+        else if (Math.abs(dx) + Math.abs(dy) == 3) {
+            if (dx == 1 && dy == 2) {
+                return northEastLObstructed(x, y, plane, impassible, collision);
+            } else if (dx == 2 && dy == 1) {
+                return eastNorthLObstructed(x, y, plane, impassible, collision);
+            } else if (dx == 2 && dy == -1) {
+                return eastSouthLObstructed(x, y, plane, impassible, collision);
+            } else if (dx == 1 && dy == -2) {
+                return southEastLObstructed(x, y, plane, impassible, collision);
+            } else if (dx == -1 && dy == -2) {
+                return southWestLObstructed(x, y, plane, impassible, collision);
+            } else if (dx == -2 && dy == -1) {
+                return westSouthLObstructed(x, y, plane, impassible, collision);
+            } else if (dx == -2 && dy == 1) {
+                return westNorthLObstructed(x, y, plane, impassible, collision);
+            } else if (dx == -1 && dy == 2) {
+                return northWestLObstructed(x, y, plane, impassible, collision);
+            }
+        }
+        // Diagonal and far diagonal movements
+        else {
+            if (dx == 1 && dy == -1) {
+                return seObstructed(x, y, plane, impassible, collision);
+            } else if (dx == 1 && dy == 1) {
+                return neObstructed(x, y, plane, impassible, collision);
+            } else if (dx == -1 && dy == 1) {
+                return nwObstructed(x, y, plane, impassible, collision);
+            } else if (dx == -1 && dy == -1) {
+                return swObstructed(x, y, plane, impassible, collision);
+            } else if (dx == -2 && dy == -2) {
+                return farSWObstructed(x, y, plane, impassible, collision);
+            } else if (dx == -2 && dy == 2) {
+                return farNWObstructed(x, y, plane, impassible, collision);
+            } else if (dx == 2 && dy == -2) {
+                return farSEObstructed(x, y, plane, impassible, collision);
+            } else if (dx == 2 && dy == 2) {
+                return farNEObstructed(x, y, plane, impassible, collision);
+            }
+        }
+        return false;
+    }
+
     // ============================================
     // Single Tile Diagonal Obstruction Checks (Optimized)
     // ============================================
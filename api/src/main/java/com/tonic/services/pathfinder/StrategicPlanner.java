@@ -0,0 +1,509 @@
+package com.tonic.services.pathfinder;
+
+import com.tonic.Static;
+import com.tonic.data.wrappers.PlayerEx;
+import com.tonic.services.pathfinder.local.LocalCollisionMap;
+import com.tonic.util.WorldPointUtil;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import net.runelite.api.coords.WorldPoint;
+
+import java.util.*;
+
+/**
+ * Stateful counterpart to {@link StrategicPathing#pathToGoalSet} for scripts that replan every tick,
+ * e.g. while dodging boss mechanics. Uses D* Lite: the search runs backwards from the goal set and
+ * keeps its distance field between calls, so when hazards, goals, collision or the player position
+ * change only the affected part of the tree is repaired. Replanning cost scales with the number of
+ * changed tiles rather than the scene size.
+ * <p>
+ * Moves, costs and hazard semantics match {@link StrategicPathing}: every entry of its direction
+ * table is one move of cost 1, dangerous tiles can't be moved onto and impassible tiles can't be
+ * moved onto or over.
+ * <pre>{@code
+ * StrategicPlanner planner = new StrategicPlanner(safeTiles);
+ * // each tick
+ * planner.updateHazards(dangerous, impassible);
+ * WorldPoint step = planner.nextStep();
+ * if (step != null) MovementAPI.walkToWorldPoint(step);
+ * }</pre>
+ * Not thread safe; all work runs on the client thread.
+ */
+public class StrategicPlanner {
+
+    private static final int INF = Integer.MAX_VALUE / 4;
+    private static final int[][] DIRECTIONS = StrategicPathing.DIRECTIONS_MAP;
+
+    private LocalCollisionMap collision;
+    private int baseX;
+    private int baseY;
+    private int plane;
+    private int width;
+    private int height;
+
+    private LongOpenHashSet goals = new LongOpenHashSet();
+    private LongOpenHashSet dangerous = new LongOpenHashSet();
+    private LongOpenHashSet impassible = new LongOpenHashSet();
+
+    private int[] g;
+    private int[] rhs;
+    private boolean[] goal;
+    private Heap open;
+    private int km;
+    private int start = -1;
+    private int lastStart = -1;
+
+    /**
+     * @param goalSet tiles to reach, any of them ends the path
+     */
+    public StrategicPlanner(Set<WorldPoint> goalSet) {
+        this(goalSet, Collections.emptySet(), Collections.emptySet());
+    }
+
+    /**
+     * @param goalSet    tiles to reach, any of them ends the path
+     * @param dangerous  tiles that can't be moved onto
+     * @param impassible tiles that can't be moved onto or over
+     */
+    public StrategicPlanner(Set<WorldPoint> goalSet, Set<WorldPoint> dangerous, Set<WorldPoint> impassible) {
+        Static.invoke(() -> {
+            this.goals = pack(goalSet);
+            this.dangerous = pack(dangerous);
+            this.impassible = pack(impassible);
+            this.collision = new LocalCollisionMap(false);
+            reset();
+        });
+    }
+
+    /**
+     * Replaces the hazard sets. Only tiles that were added or removed since the last call are
+     * repaired.
+     *
+     * @param dangerous  tiles that can't be moved onto
+     * @param impassible tiles that can't be moved onto or over
+     */
+    public void updateHazards(Set<WorldPoint> dangerous, Set<WorldPoint> impassible) {
+        LongOpenHashSet newDangerous = pack(dangerous);
+        LongOpenHashSet newImpassible = pack(impassible);
+        Static.invoke(() -> {
+            syncStart();
+            LongOpenHashSet oldDangerous = this.dangerous;
+            LongOpenHashSet oldImpassible = this.impassible;
+            this.dangerous = newDangerous;
+            this.impassible = newImpassible;
+            repairDifference(oldDangerous, newDangerous);
+            repairDifference(oldImpassible, newImpassible);
+        });
+    }
+
+    /**
+     * Replaces the goal set. Only goals that were added or removed since the last call are repaired.
+     *
+     * @param goalSet tiles to reach, any of them ends the path
+     */
+    public void updateGoals(Set<WorldPoint> goalSet) {
+        LongOpenHashSet newGoals = pack(goalSet);
+        Static.invoke(() -> {
+            syncStart();
+            LongOpenHashSet oldGoals = this.goals;
+            this.goals = newGoals;
+            LongIterator it = oldGoals.iterator();
+            while (it.hasNext()) {
+                long packed = it.nextLong();
+                if (!newGoals.contains(packed)) {
+                    setGoal(packed, false);
+                }
+            }
+            it = newGoals.iterator();
+            while (it.hasNext()) {
+                long packed = it.nextLong();
+                if (!oldGoals.contains(packed)) {
+                    setGoal(packed, true);
+                }
+            }
+        });
+    }
+
+    /**
+     * Repairs the plan for the current player position, hazards and collision and returns the next
+     * tile to move to.
+     *
+     * @return next tile, or null if the player is already on a goal or no goal is reachable
+     */
+    public WorldPoint nextStep() {
+        return Static.invoke(() -> {
+            if (!plan() || goal[start]) {
+                return null;
+            }
+            int next = bestSuccessor(start);
+            return next == -1 ? null : toWorldPoint(next);
+        });
+    }
+
+    /**
+     * Repairs the plan and returns the full path from the player position, in the same form as
+     * {@link StrategicPathing#pathToGoalSet}.
+     *
+     * @return path excluding the start tile, empty if already on a goal, or null if no goal is reachable
+     */
+    public List<WorldPoint> getPath() {
+        return Static.invoke(() -> {
+            if (!plan()) {
+                return null;
+            }
+            List<WorldPoint> path = new ArrayList<>();
+            int current = start;
+            while (!goal[current]) {
+                current = bestSuccessor(current);
+                if (current == -1 || path.size() > width * height) {
+                    return null;
+                }
+                path.add(toWorldPoint(current));
+            }
+            return path;
+        });
+    }
+
+    // ============================================
+    // D* Lite
+    // ============================================
+
+    private boolean plan() {
+        syncCollision();
+        if (width == 0) {
+            return false;
+        }
+        syncStart();
+        if (start == -1) {
+            return false;
+        }
+        computeShortestPath();
+        return g[start] < INF;
+    }
+
+    private void reset() {
+        baseX = collision.getBaseX();
+        baseY = collision.getBaseY();
+        plane = collision.getPlane();
+        width = collision.getWidth();
+        height = collision.getHeight();
+
+        int size = width * height;
+        g = new int[size];
+        rhs = new int[size];
+        goal = new boolean[size];
+        open = new Heap(size);
+        Arrays.fill(g, INF);
+        Arrays.fill(rhs, INF);
+        km = 0;
+        start = -1;
+        lastStart = -1;
+        syncStart();
+
+        LongIterator it = goals.iterator();
+        while (it.hasNext()) {
+            setGoal(it.nextLong(), true);
+        }
+    }
+
+    private void syncCollision() {
+        boolean changed = collision.refresh(this::repairAround);
+        if (changed && (collision.getBaseX() != baseX || collision.getBaseY() != baseY
+                || collision.getPlane() != plane || collision.getWidth() != width || collision.getHeight() != height)) {
+            reset();
+        }
+    }
+
+    /**
+     * Moves the search start to the player's tile. D* Lite keeps the existing keys valid by adding
+     * the heuristic distance moved to the key modifier instead of reordering the queue.
+     */
+    private void syncStart() {
+        WorldPoint player = PlayerEx.getLocal().getWorldPoint();
+        start = player.getPlane() == plane ? index(player.getX(), player.getY()) : -1;
+        if (start == -1) {
+            return;
+        }
+        if (lastStart != -1 && lastStart != start) {
+            km += heuristic(lastStart, start);
+        }
+        lastStart = start;
+    }
+
+    private void setGoal(long packed, boolean isGoal) {
+        int node = index(unpackX(packed), unpackY(packed));
+        if (node == -1 || goal[node] == isGoal) {
+            return;
+        }
+        goal[node] = isGoal;
+        updateVertex(node);
+    }
+
+    private void repairDifference(LongOpenHashSet before, LongOpenHashSet after) {
+        LongIterator it = before.iterator();
+        while (it.hasNext()) {
+            long packed = it.nextLong();
+            if (!after.contains(packed)) {
+                repairAround(unpackX(packed), unpackY(packed));
+            }
+        }
+        it = after.iterator();
+        while (it.hasNext()) {
+            long packed = it.nextLong();
+            if (!before.contains(packed)) {
+                repairAround(unpackX(packed), unpackY(packed));
+            }
+        }
+    }
+
+    private void repairAround(int compressed) {
+        repairAround(WorldPointUtil.getCompressedX(compressed), WorldPointUtil.getCompressedY(compressed));
+    }
+
+    /**
+     * A tile affects every move that lands on or passes over it, and moves span at most two tiles,
+     * so every node within two tiles may have a changed outgoing edge.
+     */
+    private void repairAround(int x, int y) {
+        for (int dx = -2; dx <= 2; dx++) {
+            for (int dy = -2; dy <= 2; dy++) {
+                int node = index(x + dx, y + dy);
+                if (node != -1) {
+                    updateVertex(node);
+                }
+            }
+        }
+    }
+
+    private void updateVertex(int node) {
+        rhs[node] = goal[node] ? 0 : bestSuccessorCost(node);
+        if (g[node] != rhs[node]) {
+            open.upsert(node, key(node));
+        } else {
+            open.remove(node);
+        }
+    }
+
+    private void computeShortestPath() {
+        while (!open.isEmpty() && (open.topKey() < key(start) || rhs[start] != g[start])) {
+            int node = open.top();
+            long oldKey = open.topKey();
+            long newKey = key(node);
+            if (oldKey < newKey) {
+                open.upsert(node, newKey);
+            } else if (g[node] > rhs[node]) {
+                g[node] = rhs[node];
+                open.remove(node);
+                updatePredecessors(node);
+            } else {
+                g[node] = INF;
+                updateVertex(node);
+                updatePredecessors(node);
+            }
+        }
+    }
+
+    private void updatePredecessors(int node) {
+        int x = node / height;
+        int y = node % height;
+        for (int[] direction : DIRECTIONS) {
+            int from = index(baseX + x - direction[0], baseY + y - direction[1]);
+            if (from != -1 && canMove(from, direction)) {
+                updateVertex(from);
+            }
+        }
+    }
+
+    private int bestSuccessorCost(int node) {
+        int best = INF;
+        int x = node / height;
+        int y = node % height;
+        for (int[] direction : DIRECTIONS) {
+            int to = index(baseX + x + direction[0], baseY + y + direction[1]);
+            if (to != -1 && g[to] + 1 < best && canMove(node, direction)) {
+                best = g[to] + 1;
+            }
+        }
+        return best;
+    }
+
+    private int bestSuccessor(int node) {
+        int best = -1;
+        int bestCost = INF;
+        int x = node / height;
+        int y = node % height;
+        for (int[] direction : DIRECTIONS) {
+            int to = index(baseX + x + direction[0], baseY + y + direction[1]);
+            if (to != -1 && g[to] < bestCost && canMove(node, direction)) {
+                bestCost = g[to];
+                best = to;
+            }
+        }
+        return best;
+    }
+
+    private boolean canMove(int from, int[] direction) {
+        int x = baseX + from / height;
+        int y = baseY + from % height;
+        long destination = StrategicPathing.packCoords(x + direction[0], y + direction[1]);
+        if (impassible.contains(destination) || dangerous.contains(destination)) {
+            return false;
+        }
+        return !StrategicPathing.obstructed(x, y, direction[0], direction[1], plane, impassible, collision);
+    }
+
+    private long key(int node) {
+        int min = Math.min(g[node], rhs[node]);
+        long primary = min >= INF ? INF : min + heuristic(start, node) + km;
+        return (primary << 32) | min;
+    }
+
+    /**
+     * Chebyshev distance halved, rounded up. A move covers at most two tiles on each axis so this
+     * never overestimates.
+     */
+    private int heuristic(int a, int b) {
+        if (a == -1 || b == -1) {
+            return 0;
+        }
+        int dx = Math.abs(a / height - b / height);
+        int dy = Math.abs(a % height - b % height);
+        return (Math.max(dx, dy) + 1) / 2;
+    }
+
+    // ============================================
+    // Coordinates
+    // ============================================
+
+    private int index(int x, int y) {
+        int sx = x - baseX;
+        int sy = y - baseY;
+        if (sx < 0 || sy < 0 || sx >= width || sy >= height) {
+            return -1;
+        }
+        return sx * height + sy;
+    }
+
+    private WorldPoint toWorldPoint(int node) {
+        return new WorldPoint(baseX + node / height, baseY + node % height, plane);
+    }
+
+    private static int unpackX(long packed) {
+        return (int) (packed >> 32);
+    }
+
+    private static int unpackY(long packed) {
+        return (int) packed;
+    }
+
+    private static LongOpenHashSet pack(Set<WorldPoint> points) {
+        if (points == null) {
+            return new LongOpenHashSet();
+        }
+        LongOpenHashSet packed = new LongOpenHashSet(points.size());
+        for (WorldPoint point : points) {
+            packed.add(StrategicPathing.packCoords(point.getX(), point.getY()));
+        }
+        return packed;
+    }
+
+    /**
+     * Indexed binary min-heap over node ids with updatable keys.
+     */
+    private static final class Heap {
+        private final int[] heap;
+        private final int[] position;
+        private final long[] keys;
+        private int size;
+
+        private Heap(int capacity) {
+            heap = new int[capacity];
+            position = new int[capacity];
+            keys = new long[capacity];
+            Arrays.fill(position, -1);
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        int top() {
+            return heap[0];
+        }
+
+        long topKey() {
+            return keys[heap[0]];
+        }
+
+        void upsert(int node, long key) {
+            int at = position[node];
+            if (at == -1) {
+                at = size++;
+                heap[at] = node;
+                position[node] = at;
+                keys[node] = key;
+                siftUp(at);
+                return;
+            }
+            long old = keys[node];
+            keys[node] = key;
+            if (key < old) {
+                siftUp(at);
+            } else {
+                siftDown(at);
+            }
+        }
+
+        void remove(int node) {
+            int at = position[node];
+            if (at == -1) {
+                return;
+            }
+            position[node] = -1;
+            int last = heap[--size];
+            if (at == size) {
+                return;
+            }
+            heap[at] = last;
+            position[last] = at;
+            siftUp(at);
+            siftDown(position[last]);
+        }
+
+        private void siftUp(int at) {
+            int node = heap[at];
+            while (at > 0) {
+                int parent = (at - 1) >>> 1;
+                if (keys[heap[parent]] <= keys[node]) {
+                    break;
+                }
+                heap[at] = heap[parent];
+                position[heap[at]] = at;
+                at = parent;
+            }
+            heap[at] = node;
+            position[node] = at;
+        }
+
+        private void siftDown(int at) {
+            int node = heap[at];
+            while (true) {
+                int child = 2 * at + 1;
+                if (child >= size) {
+                    break;
+                }
+                if (child + 1 < size && keys[heap[child + 1]] < keys[heap[child]]) {
+                    child++;
+                }
+                if (keys[heap[child]] >= keys[node]) {
+                    break;
+                }
+                heap[at] = heap[child];
+                position[heap[at]] = at;
+                at = child;
+            }
+            heap[at] = node;
+            position[node] = at;
+        }
+    }
+}
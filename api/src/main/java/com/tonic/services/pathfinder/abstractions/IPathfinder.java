@@ -1,5 +1,7 @@
 package com.tonic.services.pathfinder.abstractions;
 
+import com.tonic.services.pathfinder.implimentations.multitarget.MultiTargetSearch;
+import com.tonic.services.pathfinder.implimentations.multitarget.TargetDistances;
 import com.tonic.services.pathfinder.teleports.Teleport;
 import net.runelite.api.coords.WorldArea;
 import net.runelite.api.coords.WorldPoint;
@@ -18,4 +20,31 @@ public interface IPathfinder
     {
         throw new UnsupportedOperationException("This is only implemented for the Hybrid BFS Algo.");
     }
+
+    /**
+     * Costs from the player to every target in one search, for picking among many destinations.
+     * @param maxCost cost past which unreached targets are given up on
+     * @param targets targets, indexed the same in the result
+     * @return costs and paths per target
+     */
+    default TargetDistances findDistances(int maxCost, WorldPoint... targets)
+    {
+        WorldArea[] areas = new WorldArea[targets.length];
+        for (int i = 0; i < targets.length; i++)
+        {
+            areas[i] = new WorldArea(targets[i], 1, 1);
+        }
+        return findDistances(maxCost, areas);
+    }
+
+    /**
+     * Costs from the player to every target in one search, a target being reached on any of its tiles.
+     * @param maxCost cost past which unreached targets are given up on
+     * @param targets targets, indexed the same in the result
+     * @return costs and paths per target
+     */
+    default TargetDistances findDistances(int maxCost, WorldArea... targets)
+    {
+        return new MultiTargetSearch(targets, maxCost).run();
+    }
 }
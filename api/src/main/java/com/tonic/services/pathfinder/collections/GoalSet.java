@@ -0,0 +1,272 @@
+package com.tonic.services.pathfinder.collections;
+
+import com.tonic.util.WorldPointUtil;
+import gnu.trove.set.hash.TIntHashSet;
+import net.runelite.api.coords.WorldArea;
+import net.runelite.api.coords.WorldPoint;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Pathfinding target made of rectangles and loose tiles, in compressed coordinates.
+ * <p>
+ * Rectangles stay as their bounds, so a goal test is a bounds check per rectangle and the
+ * heuristic is the distance to the nearest rectangle, whatever the size of the area. Tiles that
+ * aren't part of a rectangle go in a hash set, with their bounding box standing in for them in the
+ * heuristic so it never overestimates. Every tile is only expanded for searches that need to seed
+ * from the goal side, see {@link #toArray()}.
+ */
+public final class GoalSet
+{
+    private static final int PLANE_COST = 100;
+    private static final int STRIDE = 5;
+
+    // minX, minY, maxX, maxY, plane per rectangle
+    private final int[] rects;
+    private final int rectCount;
+    private final TIntHashSet points;
+    private final int pointsMinX, pointsMinY, pointsMaxX, pointsMaxY, pointsMinPlane, pointsMaxPlane;
+    private int[] expanded;
+
+    private GoalSet(Builder builder) {
+        this.rects = Arrays.copyOf(builder.rects, builder.rectCount * STRIDE);
+        this.rectCount = builder.rectCount;
+        this.points = builder.points;
+        this.pointsMinX = builder.pointsMinX;
+        this.pointsMinY = builder.pointsMinY;
+        this.pointsMaxX = builder.pointsMaxX;
+        this.pointsMaxY = builder.pointsMaxY;
+        this.pointsMinPlane = builder.pointsMinPlane;
+        this.pointsMaxPlane = builder.pointsMaxPlane;
+    }
+
+    public static GoalSet of(WorldPoint point) {
+        return builder().addArea(point.getX(), point.getY(), 1, 1, point.getPlane()).build();
+    }
+
+    public static GoalSet of(WorldArea... areas) {
+        Builder builder = builder();
+        for (WorldArea area : areas) {
+            builder.addArea(area.getX(), area.getY(), area.getWidth(), area.getHeight(), area.getPlane());
+        }
+        return builder.build();
+    }
+
+    public static GoalSet of(List<WorldArea> areas) {
+        return of(areas.toArray(new WorldArea[0]));
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public boolean isEmpty() {
+        return rectCount == 0 && points == null;
+    }
+
+    public boolean contains(int compressed) {
+        int x = WorldPointUtil.getCompressedX(compressed);
+        int y = WorldPointUtil.getCompressedY(compressed);
+        int plane = WorldPointUtil.getCompressedPlane(compressed);
+        for (int i = 0; i < rectCount * STRIDE; i += STRIDE) {
+            if (plane == rects[i + 4] && x >= rects[i] && y >= rects[i + 1] && x <= rects[i + 2] && y <= rects[i + 3]) {
+                return true;
+            }
+        }
+        return points != null && points.contains(compressed);
+    }
+
+    /**
+     * Diagonal (Chebyshev) distance to the nearest goal, plus {@value #PLANE_COST} per plane.
+     * @return the distance, or {@link Integer#MAX_VALUE} if the set is empty
+     */
+    public int chebyshev(int compressed) {
+        return distance(compressed, true);
+    }
+
+    /**
+     * Manhattan distance to the nearest goal, plus {@value #PLANE_COST} per plane.
+     * @return the distance, or {@link Integer#MAX_VALUE} if the set is empty
+     */
+    public int manhattan(int compressed) {
+        return distance(compressed, false);
+    }
+
+    private int distance(int compressed, boolean diagonal) {
+        int x = WorldPointUtil.getCompressedX(compressed);
+        int y = WorldPointUtil.getCompressedY(compressed);
+        int plane = WorldPointUtil.getCompressedPlane(compressed);
+        int best = Integer.MAX_VALUE;
+        for (int i = 0; i < rectCount * STRIDE; i += STRIDE) {
+            int d = boxDistance(x, y, plane, rects[i], rects[i + 1], rects[i + 2], rects[i + 3], rects[i + 4], rects[i + 4], diagonal);
+            if (d < best) {
+                best = d;
+            }
+        }
+        if (points != null) {
+            int d = boxDistance(x, y, plane, pointsMinX, pointsMinY, pointsMaxX, pointsMaxY, pointsMinPlane, pointsMaxPlane, diagonal);
+            if (d < best) {
+                best = d;
+            }
+        }
+        return best;
+    }
+
+    private static int boxDistance(int x, int y, int plane, int minX, int minY, int maxX, int maxY,
+                                   int minPlane, int maxPlane, boolean diagonal) {
+        int dx = x < minX ? minX - x : (x > maxX ? x - maxX : 0);
+        int dy = y < minY ? minY - y : (y > maxY ? y - maxY : 0);
+        int dz = plane < minPlane ? minPlane - plane : (plane > maxPlane ? plane - maxPlane : 0);
+        return (diagonal ? Math.max(dx, dy) : dx + dy) + dz * PLANE_COST;
+    }
+
+    /**
+     * First goal tile on a straight ray, the start tile excluded.
+     * @param dx x step, -1, 0 or 1
+     * @param dy y step, -1, 0 or 1
+     * @param maxSteps last step to consider
+     * @return the number of steps to the goal tile, or -1 if none is within reach
+     */
+    public int firstOnRay(int compressed, int dx, int dy, int maxSteps) {
+        int x = WorldPointUtil.getCompressedX(compressed);
+        int y = WorldPointUtil.getCompressedY(compressed);
+        int plane = WorldPointUtil.getCompressedPlane(compressed);
+        int best = Integer.MAX_VALUE;
+        for (int i = 0; i < rectCount * STRIDE; i += STRIDE) {
+            if (rects[i + 4] != plane) {
+                continue;
+            }
+            int from = Math.max(1, Math.max(rayStart(x, dx, rects[i], rects[i + 2]), rayStart(y, dy, rects[i + 1], rects[i + 3])));
+            int to = Math.min(maxSteps, Math.min(rayEnd(x, dx, rects[i], rects[i + 2]), rayEnd(y, dy, rects[i + 1], rects[i + 3])));
+            if (from <= to && from < best) {
+                best = from;
+            }
+        }
+        if (points != null && plane >= pointsMinPlane && plane <= pointsMaxPlane) {
+            // only the stretch of the ray inside the tiles' bounding box can hit one
+            int from = Math.max(1, Math.max(rayStart(x, dx, pointsMinX, pointsMaxX), rayStart(y, dy, pointsMinY, pointsMaxY)));
+            int limit = Math.min(Math.min(maxSteps, best - 1),
+                    Math.min(rayEnd(x, dx, pointsMinX, pointsMaxX), rayEnd(y, dy, pointsMinY, pointsMaxY)));
+            for (int k = from; k <= limit; k++) {
+                if (points.contains(WorldPointUtil.compress(x + dx * k, y + dy * k, plane))) {
+                    best = k;
+                    break;
+                }
+            }
+        }
+        return best == Integer.MAX_VALUE ? -1 : best;
+    }
+
+    // first and last step k at which pos + k * d lies in [min, max]
+    private static int rayStart(int pos, int d, int min, int max) {
+        if (d == 0) {
+            return pos >= min && pos <= max ? 0 : Integer.MAX_VALUE;
+        }
+        return d > 0 ? min - pos : pos - max;
+    }
+
+    private static int rayEnd(int pos, int d, int min, int max) {
+        if (d == 0) {
+            return pos >= min && pos <= max ? Integer.MAX_VALUE : Integer.MIN_VALUE;
+        }
+        return d > 0 ? max - pos : pos - min;
+    }
+
+    /**
+     * Whether any goal lies strictly ahead on both axes, i.e. could be reached by a diagonal ray in
+     * that direction or by a straight ray branching off it.
+     */
+    public boolean inQuadrant(int compressed, int dx, int dy) {
+        int x = WorldPointUtil.getCompressedX(compressed);
+        int y = WorldPointUtil.getCompressedY(compressed);
+        int plane = WorldPointUtil.getCompressedPlane(compressed);
+        for (int i = 0; i < rectCount * STRIDE; i += STRIDE) {
+            if (rects[i + 4] == plane && (dx > 0 ? rects[i + 2] > x : rects[i] < x) && (dy > 0 ? rects[i + 3] > y : rects[i + 1] < y)) {
+                return true;
+            }
+        }
+        return points != null && plane >= pointsMinPlane && plane <= pointsMaxPlane
+                && (dx > 0 ? pointsMaxX > x : pointsMinX < x) && (dy > 0 ? pointsMaxY > y : pointsMinY < y);
+    }
+
+    /**
+     * @return a goal tile, or -1 if the set is empty
+     */
+    public int first() {
+        if (rectCount > 0) {
+            return WorldPointUtil.compress(rects[0], rects[1], rects[4]);
+        }
+        return points == null ? -1 : points.iterator().next();
+    }
+
+    /**
+     * Every goal tile, for searches seeded from the goal side. Built on first use.
+     */
+    public int[] toArray() {
+        if (expanded == null) {
+            TIntHashSet tiles = new TIntHashSet();
+            for (int i = 0; i < rectCount * STRIDE; i += STRIDE) {
+                for (int x = rects[i]; x <= rects[i + 2]; x++) {
+                    for (int y = rects[i + 1]; y <= rects[i + 3]; y++) {
+                        tiles.add(WorldPointUtil.compress(x, y, rects[i + 4]));
+                    }
+                }
+            }
+            if (points != null) {
+                tiles.addAll(points);
+            }
+            expanded = tiles.toArray();
+        }
+        return expanded;
+    }
+
+    public static final class Builder
+    {
+        private int[] rects = new int[STRIDE * 4];
+        private int rectCount;
+        private TIntHashSet points;
+        private int pointsMinX = Integer.MAX_VALUE, pointsMinY = Integer.MAX_VALUE, pointsMinPlane = Integer.MAX_VALUE;
+        private int pointsMaxX = Integer.MIN_VALUE, pointsMaxY = Integer.MIN_VALUE, pointsMaxPlane = Integer.MIN_VALUE;
+
+        private Builder() {
+        }
+
+        public Builder addArea(int x, int y, int width, int height, int plane) {
+            if (width <= 0 || height <= 0) {
+                return this;
+            }
+            if ((rectCount + 1) * STRIDE > rects.length) {
+                rects = Arrays.copyOf(rects, rects.length * 2);
+            }
+            int i = rectCount++ * STRIDE;
+            rects[i] = x;
+            rects[i + 1] = y;
+            rects[i + 2] = x + width - 1;
+            rects[i + 3] = y + height - 1;
+            rects[i + 4] = plane;
+            return this;
+        }
+
+        public Builder addPoint(int compressed) {
+            if (points == null) {
+                points = new TIntHashSet();
+            }
+            points.add(compressed);
+            int x = WorldPointUtil.getCompressedX(compressed);
+            int y = WorldPointUtil.getCompressedY(compressed);
+            int plane = WorldPointUtil.getCompressedPlane(compressed);
+            pointsMinX = Math.min(pointsMinX, x);
+            pointsMinY = Math.min(pointsMinY, y);
+            pointsMaxX = Math.max(pointsMaxX, x);
+            pointsMaxY = Math.max(pointsMaxY, y);
+            pointsMinPlane = Math.min(pointsMinPlane, plane);
+            pointsMaxPlane = Math.max(pointsMaxPlane, plane);
+            return this;
+        }
+
+        public GoalSet build() {
+            return new GoalSet(this);
+        }
+    }
+}
@@ -6,6 +6,7 @@ import com.tonic.api.game.SceneAPI;
 import com.tonic.data.wrappers.PlayerEx;
 import com.tonic.services.pathfinder.Walker;
 import com.tonic.services.pathfinder.abstractions.IPathfinder;
+import com.tonic.services.pathfinder.collections.GoalSet;
 import com.tonic.services.pathfinder.collision.Flags;
 import com.tonic.services.pathfinder.collision.Properties;
 import com.tonic.services.pathfinder.local.LocalCollisionMap;
@@ -42,7 +43,7 @@ public class AStarAlgo implements IPathfinder
     private short targetX;
     private short targetY;
     private byte targetPlane;
-    private int[] worldAreaPoints;
+    private GoalSet goals;
 
     // Start state for backward heuristic
     private short startX;
@@ -61,7 +62,7 @@ public class AStarAlgo implements IPathfinder
         this.targetX = (short) target.getX();
         this.targetY = (short) target.getY();
         this.targetPlane = (byte) target.getPlane();
-        this.worldAreaPoints = null;
+        this.goals = null;
         return find();
     }
 
@@ -69,16 +70,7 @@ public class AStarAlgo implements IPathfinder
     public List<AStarStep> find(WorldArea... worldAreas) {
         TransportLoader.refreshTransports();
         this.targetCompressed = -1;
-        this.worldAreaPoints = WorldPointUtil.toCompressedPoints(worldAreas);
-
-        // Use first area point as heuristic target approximation
-        if (worldAreaPoints != null && worldAreaPoints.length > 0) {
-            int firstPoint = worldAreaPoints[0];
-            this.targetX = WorldPointUtil.getCompressedX(firstPoint);
-            this.targetY = WorldPointUtil.getCompressedY(firstPoint);
-            this.targetPlane = WorldPointUtil.getCompressedPlane(firstPoint);
-        }
-
+        this.goals = GoalSet.of(worldAreas);
         return find();
     }
 
@@ -86,16 +78,7 @@ public class AStarAlgo implements IPathfinder
     public List<AStarStep> find(List<WorldArea> worldAreas) {
         TransportLoader.refreshTransports();
         this.targetCompressed = -1;
-        this.worldAreaPoints = WorldPointUtil.toCompressedPoints(worldAreas.toArray(new WorldArea[0]));
-
-        // Use first area point as heuristic target approximation
-        if (worldAreaPoints != null && worldAreaPoints.length > 0) {
-            int firstPoint = worldAreaPoints[0];
-            this.targetX = WorldPointUtil.getCompressedX(firstPoint);
-            this.targetY = WorldPointUtil.getCompressedY(firstPoint);
-            this.targetPlane = WorldPointUtil.getCompressedPlane(firstPoint);
-        }
-
+        this.goals = GoalSet.of(worldAreas);
         return find();
     }
 
@@ -112,7 +95,7 @@ public class AStarAlgo implements IPathfinder
             this.backwardTransportsUsed = 0;
 
             if (inInstance) {
-                localMap = new LocalCollisionMap();
+                localMap = LocalCollisionMap.shared();
             }
 
             playerStartPos = WorldPointUtil.compress(PlayerEx.getLocal().getWorldPoint());
@@ -174,61 +157,51 @@ public class AStarAlgo implements IPathfinder
         // Initialize forward search (from starts)
         for (int start : starts) {
             forwardCache.putIfBetter(start, 0, -1);
-            int h = calculateHeuristic(start, targetX, targetY, targetPlane, worldAreaPoints, targetCompressed);
+            int h = forwardHeuristic(start);
             forwardOpenSet.enqueue(start, h);
         }
 
         // Initialize backward search (from target)
         if (targetCompressed != -1) {
             backwardCache.putIfBetter(targetCompressed, 0, -1);
-            int h = calculateHeuristic(targetCompressed, startX, startY, startPlane, null, playerStartPos);
+            int h = calculateHeuristic(targetCompressed, startX, startY, startPlane);
             backwardOpenSet.enqueue(targetCompressed, h);
-        } else if (worldAreaPoints != null && worldAreaPoints.length > 0) {
+        } else if (goals != null && !goals.isEmpty()) {
             // For area targets, initialize backward from all area points
-            for (int areaPoint : worldAreaPoints) {
+            for (int areaPoint : goals.toArray()) {
                 backwardCache.putIfBetter(areaPoint, 0, -1);
-                int h = calculateHeuristic(areaPoint, startX, startY, startPlane, null, playerStartPos);
+                int h = calculateHeuristic(areaPoint, startX, startY, startPlane);
                 backwardOpenSet.enqueue(areaPoint, h);
             }
         }
 
         if (targetCompressed != -1)
             return findWorldPointBidirectional(forwardCache, backwardCache, forwardOpenSet, backwardOpenSet, forwardClosedSet, backwardClosedSet);
-        if (worldAreaPoints != null && worldAreaPoints.length > 0)
+        if (goals != null && !goals.isEmpty())
             return findAreaPointBidirectional(forwardCache, backwardCache, forwardOpenSet, backwardOpenSet, forwardClosedSet, backwardClosedSet);
 
         return new ArrayList<>();
     }
 
-    private int calculateHeuristic(int pos, short targetX, short targetY, byte targetPlane, int[] areaPoints, int targetCompressed) {
+    /**
+     * Forward heuristic: Manhattan distance to the target, or to the nearest goal rectangle for area targets.
+     */
+    private int forwardHeuristic(int pos) {
+        if (goals != null) {
+            return goals.manhattan(pos);
+        }
+        return calculateHeuristic(pos, targetX, targetY, targetPlane);
+    }
+
+    private int calculateHeuristic(int pos, short targetX, short targetY, byte targetPlane) {
         short sx = WorldPointUtil.getCompressedX(pos);
         short sy = WorldPointUtil.getCompressedY(pos);
         byte sp = WorldPointUtil.getCompressedPlane(pos);
 
-        if (targetCompressed != -1 || areaPoints == null) {
-            int dx = sx > targetX ? sx - targetX : targetX - sx;
-            int dy = sy > targetY ? sy - targetY : targetY - sy;
-            int dz = sp > targetPlane ? sp - targetPlane : targetPlane - sp;
-            return dx + dy + (dz * 100);
-        } else {
-            // Area heuristic - find minimum distance to any area point
-            int minDist = Integer.MAX_VALUE;
-            for (int areaPoint : areaPoints) {
-                short ax = WorldPointUtil.getCompressedX(areaPoint);
-                short ay = WorldPointUtil.getCompressedY(areaPoint);
-                byte ap = WorldPointUtil.getCompressedPlane(areaPoint);
-
-                int dx = sx > ax ? sx - ax : ax - sx;
-                int dy = sy > ay ? sy - ay : ay - sy;
-                int dz = sp > ap ? sp - ap : ap - sp;
-
-                int dist = dx + dy + (dz * 100);
-                if (dist < minDist) {
-                    minDist = dist;
-                }
-            }
-            return minDist;
-        }
+        int dx = sx > targetX ? sx - targetX : targetX - sx;
+        int dy = sy > targetY ? sy - targetY : targetY - sy;
+        int dz = sp > targetPlane ? sp - targetPlane : targetPlane - sp;
+        return dx + dy + (dz * 100);
     }
 
     private List<AStarStep> findWorldPointBidirectional(AStarCache forwardCache, AStarCache backwardCache,
@@ -445,66 +418,42 @@ public class AStarAlgo implements IPathfinder
                 // West
                 int neighbor = WorldPointUtil.compress(x - 1, y, plane);
                 if (!closedSet.contains(neighbor) && cache.putIfBetter(neighbor, tentativeG, current)) {
-                    int dx = x - 1 > targetX ? x - 1 - targetX : targetX - x + 1;
-                    int dy = y > targetY ? y - targetY : targetY - y;
-                    int dz = plane > targetPlane ? plane - targetPlane : targetPlane - plane;
-                    openSet.enqueue(neighbor, tentativeG + dx + dy + (dz * 100));
+                    openSet.enqueue(neighbor, tentativeG + forwardHeuristic(neighbor));
                 }
                 // East
                 neighbor = WorldPointUtil.compress(x + 1, y, plane);
                 if (!closedSet.contains(neighbor) && cache.putIfBetter(neighbor, tentativeG, current)) {
-                    int dx = x + 1 > targetX ? x + 1 - targetX : targetX - x - 1;
-                    int dy = y > targetY ? y - targetY : targetY - y;
-                    int dz = plane > targetPlane ? plane - targetPlane : targetPlane - plane;
-                    openSet.enqueue(neighbor, tentativeG + dx + dy + (dz * 100));
+                    openSet.enqueue(neighbor, tentativeG + forwardHeuristic(neighbor));
                 }
                 // South
                 neighbor = WorldPointUtil.compress(x, y - 1, plane);
                 if (!closedSet.contains(neighbor) && cache.putIfBetter(neighbor, tentativeG, current)) {
-                    int dx = x > targetX ? x - targetX : targetX - x;
-                    int dy = y - 1 > targetY ? y - 1 - targetY : targetY - y + 1;
-                    int dz = plane > targetPlane ? plane - targetPlane : targetPlane - plane;
-                    openSet.enqueue(neighbor, tentativeG + dx + dy + (dz * 100));
+                    openSet.enqueue(neighbor, tentativeG + forwardHeuristic(neighbor));
                 }
                 // North
                 neighbor = WorldPointUtil.compress(x, y + 1, plane);
                 if (!closedSet.contains(neighbor) && cache.putIfBetter(neighbor, tentativeG, current)) {
-                    int dx = x > targetX ? x - targetX : targetX - x;
-                    int dy = y + 1 > targetY ? y + 1 - targetY : targetY - y - 1;
-                    int dz = plane > targetPlane ? plane - targetPlane : targetPlane - plane;
-                    openSet.enqueue(neighbor, tentativeG + dx + dy + (dz * 100));
+                    openSet.enqueue(neighbor, tentativeG + forwardHeuristic(neighbor));
                 }
                 // Southwest
                 neighbor = WorldPointUtil.compress(x - 1, y - 1, plane);
                 if (!closedSet.contains(neighbor) && cache.putIfBetter(neighbor, tentativeG, current)) {
-                    int dx = x - 1 > targetX ? x - 1 - targetX : targetX - x + 1;
-                    int dy = y - 1 > targetY ? y - 1 - targetY : targetY - y + 1;
-                    int dz = plane > targetPlane ? plane - targetPlane : targetPlane - plane;
-                    openSet.enqueue(neighbor, tentativeG + dx + dy + (dz * 100));
+                    openSet.enqueue(neighbor, tentativeG + forwardHeuristic(neighbor));
                 }
                 // Southeast
                 neighbor = WorldPointUtil.compress(x + 1, y - 1, plane);
                 if (!closedSet.contains(neighbor) && cache.putIfBetter(neighbor, tentativeG, current)) {
-                    int dx = x + 1 > targetX ? x + 1 - targetX : targetX - x - 1;
-                    int dy = y - 1 > targetY ? y - 1 - targetY : targetY - y + 1;
-                    int dz = plane > targetPlane ? plane - targetPlane : targetPlane - plane;
-                    openSet.enqueue(neighbor, tentativeG + dx + dy + (dz * 100));
+                    openSet.enqueue(neighbor, tentativeG + forwardHeuristic(neighbor));
                 }
                 // Northwest
                 neighbor = WorldPointUtil.compress(x - 1, y + 1, plane);
                 if (!closedSet.contains(neighbor) && cache.putIfBetter(neighbor, tentativeG, current)) {
-                    int dx = x - 1 > targetX ? x - 1 - targetX : targetX - x + 1;
-                    int dy = y + 1 > targetY ? y + 1 - targetY : targetY - y - 1;
-                    int dz = plane > targetPlane ? plane - targetPlane : targetPlane - plane;
-                    openSet.enqueue(neighbor, tentativeG + dx + dy + (dz * 100));
+                    openSet.enqueue(neighbor, tentativeG + forwardHeuristic(neighbor));
                 }
                 // Northeast
                 neighbor = WorldPointUtil.compress(x + 1, y + 1, plane);
                 if (!closedSet.contains(neighbor) && cache.putIfBetter(neighbor, tentativeG, current)) {
-                    int dx = x + 1 > targetX ? x + 1 - targetX : targetX - x - 1;
-                    int dy = y + 1 > targetY ? y + 1 - targetY : targetY - y - 1;
-                    int dz = plane > targetPlane ? plane - targetPlane : targetPlane - plane;
-                    openSet.enqueue(neighbor, tentativeG + dx + dy + (dz * 100));
+                    openSet.enqueue(neighbor, tentativeG + forwardHeuristic(neighbor));
                 }
                 checkTransportsForward(current, currentG, cache, openSet);
                 return;
@@ -516,80 +465,56 @@ public class AStarAlgo implements IPathfinder
         if ((flags & Flags.WEST) != 0) {
             int neighbor = WorldPointUtil.compress(x - 1, y, plane);
             if (!closedSet.contains(neighbor) && cache.putIfBetter(neighbor, tentativeG, current)) {
-                int dx = x - 1 > targetX ? x - 1 - targetX : targetX - x + 1;
-                int dy = y > targetY ? y - targetY : targetY - y;
-                int dz = plane > targetPlane ? plane - targetPlane : targetPlane - plane;
-                openSet.enqueue(neighbor, tentativeG + dx + dy + (dz * 100));
+                openSet.enqueue(neighbor, tentativeG + forwardHeuristic(neighbor));
             }
         }
 
         if ((flags & Flags.EAST) != 0) {
             int neighbor = WorldPointUtil.compress(x + 1, y, plane);
             if (!closedSet.contains(neighbor) && cache.putIfBetter(neighbor, tentativeG, current)) {
-                int dx = x + 1 > targetX ? x + 1 - targetX : targetX - x - 1;
-                int dy = y > targetY ? y - targetY : targetY - y;
-                int dz = plane > targetPlane ? plane - targetPlane : targetPlane - plane;
-                openSet.enqueue(neighbor, tentativeG + dx + dy + (dz * 100));
+                openSet.enqueue(neighbor, tentativeG + forwardHeuristic(neighbor));
             }
         }
 
         if ((flags & Flags.SOUTH) != 0) {
             int neighbor = WorldPointUtil.compress(x, y - 1, plane);
             if (!closedSet.contains(neighbor) && cache.putIfBetter(neighbor, tentativeG, current)) {
-                int dx = x > targetX ? x - targetX : targetX - x;
-                int dy = y - 1 > targetY ? y - 1 - targetY : targetY - y + 1;
-                int dz = plane > targetPlane ? plane - targetPlane : targetPlane - plane;
-                openSet.enqueue(neighbor, tentativeG + dx + dy + (dz * 100));
+                openSet.enqueue(neighbor, tentativeG + forwardHeuristic(neighbor));
             }
         }
 
         if ((flags & Flags.NORTH) != 0) {
             int neighbor = WorldPointUtil.compress(x, y + 1, plane);
             if (!closedSet.contains(neighbor) && cache.putIfBetter(neighbor, tentativeG, current)) {
-                int dx = x > targetX ? x - targetX : targetX - x;
-                int dy = y + 1 > targetY ? y + 1 - targetY : targetY - y - 1;
-                int dz = plane > targetPlane ? plane - targetPlane : targetPlane - plane;
-                openSet.enqueue(neighbor, tentativeG + dx + dy + (dz * 100));
+                openSet.enqueue(neighbor, tentativeG + forwardHeuristic(neighbor));
             }
         }
 
         if ((flags & Flags.SOUTHWEST) != 0) {
             int neighbor = WorldPointUtil.compress(x - 1, y - 1, plane);
             if (!closedSet.contains(neighbor) && cache.putIfBetter(neighbor, tentativeG, current)) {
-                int dx = x - 1 > targetX ? x - 1 - targetX : targetX - x + 1;
-                int dy = y - 1 > targetY ? y - 1 - targetY : targetY - y + 1;
-                int dz = plane > targetPlane ? plane - targetPlane : targetPlane - plane;
-                openSet.enqueue(neighbor, tentativeG + dx + dy + (dz * 100));
+                openSet.enqueue(neighbor, tentativeG + forwardHeuristic(neighbor));
             }
         }
 
         if ((flags & Flags.SOUTHEAST) != 0) {
             int neighbor = WorldPointUtil.compress(x + 1, y - 1, plane);
             if (!closedSet.contains(neighbor) && cache.putIfBetter(neighbor, tentativeG, current)) {
-                int dx = x + 1 > targetX ? x + 1 - targetX : targetX - x - 1;
-                int dy = y - 1 > targetY ? y - 1 - targetY : targetY - y + 1;
-                int dz = plane > targetPlane ? plane - targetPlane : targetPlane - plane;
-                openSet.enqueue(neighbor, tentativeG + dx + dy + (dz * 100));
+                openSet.enqueue(neighbor, tentativeG + forwardHeuristic(neighbor));
             }
         }
 
         if ((flags & Flags.NORTHWEST) != 0) {
             int neighbor = WorldPointUtil.compress(x - 1, y + 1, plane);
             if (!closedSet.contains(neighbor) && cache.putIfBetter(neighbor, tentativeG, current)) {
-                int dx = x - 1 > targetX ? x - 1 - targetX : targetX - x + 1;
-                int dy = y + 1 > targetY ? y + 1 - targetY : targetY - y - 1;
-                int dz = plane > targetPlane ? plane - targetPlane : targetPlane - plane;
-                openSet.enqueue(neighbor, tentativeG + dx + dy + (dz * 100));
+                openSet.enqueue(neighbor, tentativeG + forwardHeuristic(neighbor));
             }
         }
 
         if ((flags & Flags.NORTHEAST) != 0) {
             int neighbor = WorldPointUtil.compress(x + 1, y + 1, plane);
             if (!closedSet.contains(neighbor) && cache.putIfBetter(neighbor, tentativeG, current)) {
-                int dx = x + 1 > targetX ? x + 1 - targetX : targetX - x - 1;
-                int dy = y + 1 > targetY ? y + 1 - targetY : targetY - y - 1;
-                int dz = plane > targetPlane ? plane - targetPlane : targetPlane - plane;
-                openSet.enqueue(neighbor, tentativeG + dx + dy + (dz * 100));
+                openSet.enqueue(neighbor, tentativeG + forwardHeuristic(neighbor));
             }
         }
 
@@ -776,80 +701,56 @@ public class AStarAlgo implements IPathfinder
         if (!localMap.w(x, y, plane)) {
             int neighbor = WorldPointUtil.compress(x - 1, y, plane);
             if (!closedSet.contains(neighbor) && cache.putIfBetter(neighbor, tentativeG, current)) {
-                int dx = x - 1 > targetX ? x - 1 - targetX : targetX - x + 1;
-                int dy = y > targetY ? y - targetY : targetY - y;
-                int dz = plane > targetPlane ? plane - targetPlane : targetPlane - plane;
-                openSet.enqueue(neighbor, tentativeG + dx + dy + (dz * 100));
+                openSet.enqueue(neighbor, tentativeG + forwardHeuristic(neighbor));
             }
         }
 
         if (!localMap.e(x, y, plane)) {
             int neighbor = WorldPointUtil.compress(x + 1, y, plane);
             if (!closedSet.contains(neighbor) && cache.putIfBetter(neighbor, tentativeG, current)) {
-                int dx = x + 1 > targetX ? x + 1 - targetX : targetX - x - 1;
-                int dy = y > targetY ? y - targetY : targetY - y;
-                int dz = plane > targetPlane ? plane - targetPlane : targetPlane - plane;
-                openSet.enqueue(neighbor, tentativeG + dx + dy + (dz * 100));
+                openSet.enqueue(neighbor, tentativeG + forwardHeuristic(neighbor));
             }
         }
 
         if (!localMap.n(x, y, plane)) {
             int neighbor = WorldPointUtil.compress(x, y + 1, plane);
             if (!closedSet.contains(neighbor) && cache.putIfBetter(neighbor, tentativeG, current)) {
-                int dx = x > targetX ? x - targetX : targetX - x;
-                int dy = y + 1 > targetY ? y + 1 - targetY : targetY - y - 1;
-                int dz = plane > targetPlane ? plane - targetPlane : targetPlane - plane;
-                openSet.enqueue(neighbor, tentativeG + dx + dy + (dz * 100));
+                openSet.enqueue(neighbor, tentativeG + forwardHeuristic(neighbor));
             }
         }
 
         if (!localMap.s(x, y, plane)) {
             int neighbor = WorldPointUtil.compress(x, y - 1, plane);
             if (!closedSet.contains(neighbor) && cache.putIfBetter(neighbor, tentativeG, current)) {
-                int dx = x > targetX ? x - targetX : targetX - x;
-                int dy = y - 1 > targetY ? y - 1 - targetY : targetY - y + 1;
-                int dz = plane > targetPlane ? plane - targetPlane : targetPlane - plane;
-                openSet.enqueue(neighbor, tentativeG + dx + dy + (dz * 100));
+                openSet.enqueue(neighbor, tentativeG + forwardHeuristic(neighbor));
             }
         }
 
         if (!localMap.nw(x, y, plane)) {
             int neighbor = WorldPointUtil.compress(x - 1, y + 1, plane);
             if (!closedSet.contains(neighbor) && cache.putIfBetter(neighbor, tentativeG, current)) {
-                int dx = x - 1 > targetX ? x - 1 - targetX : targetX - x + 1;
-                int dy = y + 1 > targetY ? y + 1 - targetY : targetY - y - 1;
-                int dz = plane > targetPlane ? plane - targetPlane : targetPlane - plane;
-                openSet.enqueue(neighbor, tentativeG + dx + dy + (dz * 100));
+                openSet.enqueue(neighbor, tentativeG + forwardHeuristic(neighbor));
             }
         }
 
         if (!localMap.ne(x, y, plane)) {
             int neighbor = WorldPointUtil.compress(x + 1, y + 1, plane);
             if (!closedSet.contains(neighbor) && cache.putIfBetter(neighbor, tentativeG, current)) {
-                int dx = x + 1 > targetX ? x + 1 - targetX : targetX - x - 1;
-                int dy = y + 1 > targetY ? y + 1 - targetY : targetY - y - 1;
-                int dz = plane > targetPlane ? plane - targetPlane : targetPlane - plane;
-                openSet.enqueue(neighbor, tentativeG + dx + dy + (dz * 100));
+                openSet.enqueue(neighbor, tentativeG + forwardHeuristic(neighbor));
             }
         }
 
         if (!localMap.sw(x, y, plane)) {
             int neighbor = WorldPointUtil.compress(x - 1, y - 1, plane);
             if (!closedSet.contains(neighbor) && cache.putIfBetter(neighbor, tentativeG, current)) {
-                int dx = x - 1 > targetX ? x - 1 - targetX : targetX - x + 1;
-                int dy = y - 1 > targetY ? y - 1 - targetY : targetY - y + 1;
-                int dz = plane > targetPlane ? plane - targetPlane : targetPlane - plane;
-                openSet.enqueue(neighbor, tentativeG + dx + dy + (dz * 100));
+                openSet.enqueue(neighbor, tentativeG + forwardHeuristic(neighbor));
             }
         }
 
         if (!localMap.se(x, y, plane)) {
             int neighbor = WorldPointUtil.compress(x + 1, y - 1, plane);
             if (!closedSet.contains(neighbor) && cache.putIfBetter(neighbor, tentativeG, current)) {
-                int dx = x + 1 > targetX ? x + 1 - targetX : targetX - x - 1;
-                int dy = y - 1 > targetY ? y - 1 - targetY : targetY - y + 1;
-                int dz = plane > targetPlane ? plane - targetPlane : targetPlane - plane;
-                openSet.enqueue(neighbor, tentativeG + dx + dy + (dz * 100));
+                openSet.enqueue(neighbor, tentativeG + forwardHeuristic(neighbor));
             }
         }
     }
@@ -870,15 +771,7 @@ public class AStarAlgo implements IPathfinder
 
             // Note: Not checking closedSet for transports to allow re-exploration with better cost
             if (cache.putIfBetter(dest, tentativeG, current, t)) {
-                short dx = WorldPointUtil.getCompressedX(dest);
-                short dy = WorldPointUtil.getCompressedY(dest);
-                byte dp = WorldPointUtil.getCompressedPlane(dest);
-
-                int hx = dx > targetX ? dx - targetX : targetX - dx;
-                int hy = dy > targetY ? dy - targetY : targetY - dy;
-                int hz = dp > targetPlane ? dp - targetPlane : targetPlane - dp;
-
-                openSet.enqueue(dest, tentativeG + hx + hy + (hz * 100));
+                openSet.enqueue(dest, tentativeG + forwardHeuristic(dest));
             }
         }
     }
@@ -6,6 +6,7 @@ import com.tonic.api.game.SceneAPI;
 import com.tonic.data.wrappers.PlayerEx;
 import com.tonic.services.pathfinder.Walker;
 import com.tonic.services.pathfinder.abstractions.IPathfinder;
+import com.tonic.services.pathfinder.collections.GoalSet;
 import com.tonic.services.pathfinder.collections.HybridIntQueue;
 import com.tonic.services.pathfinder.collision.Flags;
 import com.tonic.services.pathfinder.collision.Properties;
@@ -21,7 +22,6 @@ import net.runelite.api.Client;
 import net.runelite.api.Tile;
 import net.runelite.api.coords.WorldArea;
 import net.runelite.api.coords.WorldPoint;
-import org.apache.commons.lang3.ArrayUtils;
 
 import java.util.ArrayList;
 import java.util.Collections;
@@ -38,7 +38,7 @@ public class BiDirBFSAlgo implements IPathfinder
     private Teleport teleport;
     private WorldPoint targetWorldPoint;
 
-    private int[] worldAreaPoints;
+    private GoalSet goals;
     private boolean inInstance = false;
     private int forwardTransportsUsed;
     private int backwardTransportsUsed;
@@ -52,6 +52,7 @@ public class BiDirBFSAlgo implements IPathfinder
     public List<BiDirBFSStep> find(final WorldPoint target) {
         TransportLoader.refreshTransports();
         this.targetWorldPoint = target;
+        this.goals = null;
         return find();
     }
 
@@ -63,7 +64,8 @@ public class BiDirBFSAlgo implements IPathfinder
     public List<BiDirBFSStep> find(WorldArea... worldAreas)
     {
         TransportLoader.refreshTransports();
-        worldAreaPoints = WorldPointUtil.toCompressedPoints(worldAreas);
+        targetWorldPoint = null;
+        goals = GoalSet.of(worldAreas);
         return find();
     }
 
@@ -75,7 +77,8 @@ public class BiDirBFSAlgo implements IPathfinder
     public List<BiDirBFSStep> find(List<WorldArea> worldAreas)
     {
         TransportLoader.refreshTransports();
-        worldAreaPoints = WorldPointUtil.toCompressedPoints(worldAreas.toArray(new WorldArea[0]));
+        targetWorldPoint = null;
+        goals = GoalSet.of(worldAreas);
         return find();
     }
 
@@ -99,7 +102,7 @@ public class BiDirBFSAlgo implements IPathfinder
 
             if(inInstance)
             {
-                localMap = new LocalCollisionMap();
+                localMap = LocalCollisionMap.shared();
             }
 
             startPoints.add(0, WorldPointUtil.compress(PlayerEx.getLocal().getWorldPoint()));
@@ -161,7 +164,7 @@ public class BiDirBFSAlgo implements IPathfinder
 
         if(targetWorldPoint != null)
             return findWorldPointBidirectional(forwardVisited, backwardVisited, forwardQueue, backwardQueue);
-        if(worldAreaPoints != null && worldAreaPoints.length > 0)
+        if(goals != null && !goals.isEmpty())
             return findAreaPointBidirectional(forwardVisited, backwardVisited, forwardQueue, backwardQueue);
         return new ArrayList<>();
     }
@@ -169,7 +172,7 @@ public class BiDirBFSAlgo implements IPathfinder
     private List<BiDirBFSStep> findAreaPointBidirectional(final BiDirBFSCache forwardVisited, final BiDirBFSCache backwardVisited,
                                                            final HybridIntQueue forwardQueue, final HybridIntQueue backwardQueue) {
         // Initialize backward search from all goal area points
-        for(int goalPoint : worldAreaPoints)
+        for(int goalPoint : goals.toArray())
         {
             if(Walker.getCollisionMap().walkable(goalPoint))
             {
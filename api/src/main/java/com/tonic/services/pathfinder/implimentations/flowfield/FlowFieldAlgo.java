@@ -6,6 +6,7 @@ import com.tonic.api.game.SceneAPI;
 import com.tonic.data.wrappers.PlayerEx;
 import com.tonic.services.pathfinder.Walker;
 import com.tonic.services.pathfinder.abstractions.IPathfinder;
+import com.tonic.services.pathfinder.collections.GoalSet;
 import com.tonic.services.pathfinder.collision.Flags;
 import com.tonic.services.pathfinder.collision.Properties;
 import com.tonic.services.pathfinder.local.LocalCollisionMap;
@@ -49,7 +50,7 @@ public class FlowFieldAlgo implements IPathfinder
     private Teleport teleport;
 
     private int targetCompressed;
-    private int[] worldAreaPoints;
+    private GoalSet goals;
     private boolean inInstance = false;
     private int playerStartPos;
 
@@ -57,7 +58,7 @@ public class FlowFieldAlgo implements IPathfinder
     public List<FlowFieldStep> find(WorldPoint target) {
         TransportLoader.refreshTransports();
         this.targetCompressed = WorldPointUtil.compress(target);
-        this.worldAreaPoints = null;
+        this.goals = null;
         return find();
     }
 
@@ -65,7 +66,7 @@ public class FlowFieldAlgo implements IPathfinder
     public List<FlowFieldStep> find(WorldArea... worldAreas) {
         TransportLoader.refreshTransports();
         this.targetCompressed = -1;
-        this.worldAreaPoints = WorldPointUtil.toCompressedPoints(worldAreas);
+        this.goals = GoalSet.of(worldAreas);
         return find();
     }
 
@@ -73,7 +74,7 @@ public class FlowFieldAlgo implements IPathfinder
     public List<FlowFieldStep> find(List<WorldArea> worldAreas) {
         TransportLoader.refreshTransports();
         this.targetCompressed = -1;
-        this.worldAreaPoints = WorldPointUtil.toCompressedPoints(worldAreas.toArray(new WorldArea[0]));
+        this.goals = GoalSet.of(worldAreas);
         return find();
     }
 
@@ -89,7 +90,7 @@ public class FlowFieldAlgo implements IPathfinder
             this.playerStartPos = WorldPointUtil.compress(PlayerEx.getLocal().getWorldPoint());
 
             if (inInstance) {
-                localMap = new LocalCollisionMap();
+                localMap = LocalCollisionMap.shared();
             }
 
             // Try cache first for single WorldPoint targets
@@ -194,8 +195,8 @@ public class FlowFieldAlgo implements IPathfinder
             costs.put(targetCompressed, 0);
             parents.put(targetCompressed, -1);
             queue.add(targetCompressed);
-        } else if (worldAreaPoints != null) {
-            for (int areaPos : worldAreaPoints) {
+        } else if (goals != null) {
+            for (int areaPos : goals.toArray()) {
                 costs.put(areaPos, 0);
                 parents.put(areaPos, -1);
                 queue.add(areaPos);
@@ -319,7 +320,7 @@ public class FlowFieldAlgo implements IPathfinder
         });
 
         int goalPos = targetCompressed != -1 ? targetCompressed :
-                     (worldAreaPoints != null && worldAreaPoints.length > 0 ? worldAreaPoints[0] : -1);
+                     (goals != null ? goals.first() : -1);
 
         return new FlowField(goalPos, directions, costs);
     }
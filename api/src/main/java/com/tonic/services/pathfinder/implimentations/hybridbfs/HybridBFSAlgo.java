@@ -6,6 +6,7 @@ import com.tonic.api.game.SceneAPI;
 import com.tonic.data.wrappers.PlayerEx;
 import com.tonic.services.pathfinder.Walker;
 import com.tonic.services.pathfinder.abstractions.IPathfinder;
+import com.tonic.services.pathfinder.collections.GoalSet;
 import com.tonic.services.pathfinder.collections.BFSCache;
 import com.tonic.services.pathfinder.collections.HybridIntQueue;
 import com.tonic.services.pathfinder.collections.IntToBoolPairMap;
@@ -21,7 +22,6 @@ import lombok.Getter;
 import net.runelite.api.Client;
 import net.runelite.api.coords.WorldArea;
 import net.runelite.api.coords.WorldPoint;
-import org.apache.commons.lang3.ArrayUtils;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -35,7 +35,7 @@ public class HybridBFSAlgo implements IPathfinder
     private Teleport teleport;
     private WorldPoint targetWorldPoint;
 
-    private int[] worldAreaPoints;
+    private GoalSet goals;
     private boolean inInstance = false;
     private int transportsUsed;
 
@@ -48,6 +48,7 @@ public class HybridBFSAlgo implements IPathfinder
     public List<HybridBFSStep> find(final WorldPoint target) {
         TransportLoader.refreshTransports();
         this.targetWorldPoint = target;
+        this.goals = null;
         return find();
     }
 
@@ -59,7 +60,8 @@ public class HybridBFSAlgo implements IPathfinder
     public List<HybridBFSStep> find(WorldArea... worldAreas)
     {
         TransportLoader.refreshTransports();
-        worldAreaPoints = WorldPointUtil.toCompressedPoints(worldAreas);
+        targetWorldPoint = null;
+        goals = GoalSet.of(worldAreas);
         return find();
     }
 
@@ -71,7 +73,8 @@ public class HybridBFSAlgo implements IPathfinder
     public List<HybridBFSStep> find(List<WorldArea> worldAreas)
     {
         TransportLoader.refreshTransports();
-        worldAreaPoints = WorldPointUtil.toCompressedPoints(worldAreas.toArray(new WorldArea[0]));
+        targetWorldPoint = null;
+        goals = GoalSet.of(worldAreas);
         return find();
     }
 
@@ -119,7 +122,7 @@ public class HybridBFSAlgo implements IPathfinder
 
             if(inInstance)
             {
-                localMap = new LocalCollisionMap();
+                localMap = LocalCollisionMap.shared();
             }
 
             startPoints.add(0, WorldPointUtil.compress(PlayerEx.getLocal().getWorldPoint()));
@@ -178,7 +181,7 @@ public class HybridBFSAlgo implements IPathfinder
 
         if(targetWorldPoint != null)
             return findWorldPoint(visited, queue);
-        if(worldAreaPoints != null && worldAreaPoints.length > 0)
+        if(goals != null && !goals.isEmpty())
             return findAreaPoint(visited, queue);
         return new ArrayList<>();
     }
@@ -211,7 +214,7 @@ public class HybridBFSAlgo implements IPathfinder
             dests.put(point, false, false);
         }
 
-        if(worldAreaPoints != null && worldAreaPoints.length > 0)
+        if(goals != null && !goals.isEmpty())
             return findBestMidPoint(visitedA, queueA, visitedB, queueB, dests);
         return null;
     }
@@ -225,7 +228,7 @@ public class HybridBFSAlgo implements IPathfinder
                 return new ArrayList<>();
             }
             current = queue.dequeue();
-            if(ArrayUtils.contains(worldAreaPoints, current))
+            if(goals.contains(current))
             {
                 //Logger.info("Nodes visited: " + visited.size());
                 return visited.path(current);
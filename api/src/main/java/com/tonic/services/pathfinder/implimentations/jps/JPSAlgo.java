@@ -5,6 +5,7 @@ import com.tonic.Static;
 import com.tonic.data.wrappers.PlayerEx;
 import com.tonic.services.pathfinder.Walker;
 import com.tonic.services.pathfinder.abstractions.IPathfinder;
+import com.tonic.services.pathfinder.collections.GoalSet;
 import com.tonic.services.pathfinder.collision.CollisionMap;
 import com.tonic.services.pathfinder.collision.Flags;
 import com.tonic.services.pathfinder.teleports.Teleport;
@@ -36,7 +37,7 @@ public class JPSAlgo implements IPathfinder
     private short targetX;
     private short targetY;
     private byte targetPlane;
-    private int[] worldAreaPoints;
+    private GoalSet goals;
     private int playerStartPos;
 
     // Cached collision map to avoid repeated method calls
@@ -52,7 +53,7 @@ public class JPSAlgo implements IPathfinder
         this.targetX = (short) target.getX();
         this.targetY = (short) target.getY();
         this.targetPlane = (byte) target.getPlane();
-        this.worldAreaPoints = null;
+        this.goals = null;
         return find();
     }
 
@@ -60,16 +61,7 @@ public class JPSAlgo implements IPathfinder
     public List<JPSStep> find(WorldArea... worldAreas) {
         TransportLoader.refreshTransports();
         this.targetCompressed = -1;
-        this.worldAreaPoints = WorldPointUtil.toCompressedPoints(worldAreas);
-
-        // Use first area point as heuristic target approximation
-        if (worldAreaPoints != null && worldAreaPoints.length > 0) {
-            int firstPoint = worldAreaPoints[0];
-            this.targetX = WorldPointUtil.getCompressedX(firstPoint);
-            this.targetY = WorldPointUtil.getCompressedY(firstPoint);
-            this.targetPlane = WorldPointUtil.getCompressedPlane(firstPoint);
-        }
-
+        this.goals = GoalSet.of(worldAreas);
         return find();
     }
 
@@ -77,16 +69,7 @@ public class JPSAlgo implements IPathfinder
     public List<JPSStep> find(List<WorldArea> worldAreas) {
         TransportLoader.refreshTransports();
         this.targetCompressed = -1;
-        this.worldAreaPoints = WorldPointUtil.toCompressedPoints(worldAreas.toArray(new WorldArea[0]));
-
-        // Use first area point as heuristic target approximation
-        if (worldAreaPoints != null && worldAreaPoints.length > 0) {
-            int firstPoint = worldAreaPoints[0];
-            this.targetX = WorldPointUtil.getCompressedX(firstPoint);
-            this.targetY = WorldPointUtil.getCompressedY(firstPoint);
-            this.targetPlane = WorldPointUtil.getCompressedPlane(firstPoint);
-        }
-
+        this.goals = GoalSet.of(worldAreas);
         return find();
     }
 
@@ -178,12 +161,7 @@ public class JPSAlgo implements IPathfinder
         if (targetCompressed != -1) {
             return position == targetCompressed;
         }
-        if (worldAreaPoints != null) {
-            for (int areaPoint : worldAreaPoints) {
-                if (position == areaPoint) return true;
-            }
-        }
-        return false;
+        return goals != null && goals.contains(position);
     }
 
     /**
@@ -206,41 +184,28 @@ public class JPSAlgo implements IPathfinder
         if ((flags & Flags.NORTH) != 0) {
             int neighbor = WorldPointUtil.compress(x, (short)(y + 1), plane);
             if (!closedSet.contains(neighbor) && cache.putIfBetter(neighbor, tentativeG, current)) {
-                // Inline heuristic calculation
-                int dx = x > targetX ? x - targetX : targetX - x;
-                int dy = (y + 1) > targetY ? (y + 1) - targetY : targetY - (y + 1);
-                int dz = plane > targetPlane ? plane - targetPlane : targetPlane - plane;
-                openSet.enqueue(neighbor, tentativeG + Math.max(dx, dy) + (dz * 100));
+                openSet.enqueue(neighbor, tentativeG + heuristic(neighbor));
             }
         }
 
         if ((flags & Flags.SOUTH) != 0) {
             int neighbor = WorldPointUtil.compress(x, (short)(y - 1), plane);
             if (!closedSet.contains(neighbor) && cache.putIfBetter(neighbor, tentativeG, current)) {
-                int dx = x > targetX ? x - targetX : targetX - x;
-                int dy = (y - 1) > targetY ? (y - 1) - targetY : targetY - (y - 1);
-                int dz = plane > targetPlane ? plane - targetPlane : targetPlane - plane;
-                openSet.enqueue(neighbor, tentativeG + Math.max(dx, dy) + (dz * 100));
+                openSet.enqueue(neighbor, tentativeG + heuristic(neighbor));
             }
         }
 
         if ((flags & Flags.EAST) != 0) {
             int neighbor = WorldPointUtil.compress((short)(x + 1), y, plane);
             if (!closedSet.contains(neighbor) && cache.putIfBetter(neighbor, tentativeG, current)) {
-                int dx = (x + 1) > targetX ? (x + 1) - targetX : targetX - (x + 1);
-                int dy = y > targetY ? y - targetY : targetY - y;
-                int dz = plane > targetPlane ? plane - targetPlane : targetPlane - plane;
-                openSet.enqueue(neighbor, tentativeG + Math.max(dx, dy) + (dz * 100));
+                openSet.enqueue(neighbor, tentativeG + heuristic(neighbor));
             }
         }
 
         if ((flags & Flags.WEST) != 0) {
             int neighbor = WorldPointUtil.compress((short)(x - 1), y, plane);
             if (!closedSet.contains(neighbor) && cache.putIfBetter(neighbor, tentativeG, current)) {
-                int dx = (x - 1) > targetX ? (x - 1) - targetX : targetX - (x - 1);
-                int dy = y > targetY ? y - targetY : targetY - y;
-                int dz = plane > targetPlane ? plane - targetPlane : targetPlane - plane;
-                openSet.enqueue(neighbor, tentativeG + Math.max(dx, dy) + (dz * 100));
+                openSet.enqueue(neighbor, tentativeG + heuristic(neighbor));
             }
         }
 
@@ -248,40 +213,28 @@ public class JPSAlgo implements IPathfinder
         if ((flags & Flags.NORTHEAST) != 0) {
             int neighbor = WorldPointUtil.compress((short)(x + 1), (short)(y + 1), plane);
             if (!closedSet.contains(neighbor) && cache.putIfBetter(neighbor, tentativeG, current)) {
-                int dx = (x + 1) > targetX ? (x + 1) - targetX : targetX - (x + 1);
-                int dy = (y + 1) > targetY ? (y + 1) - targetY : targetY - (y + 1);
-                int dz = plane > targetPlane ? plane - targetPlane : targetPlane - plane;
-                openSet.enqueue(neighbor, tentativeG + Math.max(dx, dy) + (dz * 100));
+                openSet.enqueue(neighbor, tentativeG + heuristic(neighbor));
             }
         }
 
         if ((flags & Flags.NORTHWEST) != 0) {
             int neighbor = WorldPointUtil.compress((short)(x - 1), (short)(y + 1), plane);
             if (!closedSet.contains(neighbor) && cache.putIfBetter(neighbor, tentativeG, current)) {
-                int dx = (x - 1) > targetX ? (x - 1) - targetX : targetX - (x - 1);
-                int dy = (y + 1) > targetY ? (y + 1) - targetY : targetY - (y + 1);
-                int dz = plane > targetPlane ? plane - targetPlane : targetPlane - plane;
-                openSet.enqueue(neighbor, tentativeG + Math.max(dx, dy) + (dz * 100));
+                openSet.enqueue(neighbor, tentativeG + heuristic(neighbor));
             }
         }
 
         if ((flags & Flags.SOUTHEAST) != 0) {
             int neighbor = WorldPointUtil.compress((short)(x + 1), (short)(y - 1), plane);
             if (!closedSet.contains(neighbor) && cache.putIfBetter(neighbor, tentativeG, current)) {
-                int dx = (x + 1) > targetX ? (x + 1) - targetX : targetX - (x + 1);
-                int dy = (y - 1) > targetY ? (y - 1) - targetY : targetY - (y - 1);
-                int dz = plane > targetPlane ? plane - targetPlane : targetPlane - plane;
-                openSet.enqueue(neighbor, tentativeG + Math.max(dx, dy) + (dz * 100));
+                openSet.enqueue(neighbor, tentativeG + heuristic(neighbor));
             }
         }
 
         if ((flags & Flags.SOUTHWEST) != 0) {
             int neighbor = WorldPointUtil.compress((short)(x - 1), (short)(y - 1), plane);
             if (!closedSet.contains(neighbor) && cache.putIfBetter(neighbor, tentativeG, current)) {
-                int dx = (x - 1) > targetX ? (x - 1) - targetX : targetX - (x - 1);
-                int dy = (y - 1) > targetY ? (y - 1) - targetY : targetY - (y - 1);
-                int dz = plane > targetPlane ? plane - targetPlane : targetPlane - plane;
-                openSet.enqueue(neighbor, tentativeG + Math.max(dx, dy) + (dz * 100));
+                openSet.enqueue(neighbor, tentativeG + heuristic(neighbor));
             }
         }
     }
@@ -321,30 +274,14 @@ public class JPSAlgo implements IPathfinder
         short sy = WorldPointUtil.getCompressedY(from);
         byte sp = WorldPointUtil.getCompressedPlane(from);
 
-        if (targetCompressed != -1 || worldAreaPoints == null) {
+        if (targetCompressed != -1 || goals == null) {
             int dx = sx > targetX ? sx - targetX : targetX - sx;
             int dy = sy > targetY ? sy - targetY : targetY - sy;
             int dz = sp > targetPlane ? sp - targetPlane : targetPlane - sp;
             return Math.max(dx, dy) + (dz * 100);
-        } else {
-            // Area heuristic - find minimum distance to any area point
-            int minDist = Integer.MAX_VALUE;
-            for (int areaPoint : worldAreaPoints) {
-                short ax = WorldPointUtil.getCompressedX(areaPoint);
-                short ay = WorldPointUtil.getCompressedY(areaPoint);
-                byte ap = WorldPointUtil.getCompressedPlane(areaPoint);
-
-                int dx = sx > ax ? sx - ax : ax - sx;
-                int dy = sy > ay ? sy - ay : ay - sy;
-                int dz = sp > ap ? sp - ap : ap - sp;
-
-                int dist = Math.max(dx, dy) + (dz * 100);
-                if (dist < minDist) {
-                    minDist = dist;
-                }
-            }
-            return minDist;
         }
+        // Area heuristic - distance to the nearest goal rectangle
+        return goals.chebyshev(from);
     }
 
 }
@@ -28,13 +28,7 @@ public class JPSCache
      * @return true if added (better path), false if already has better path
      */
     public boolean putIfBetter(int position, int gScore, int parent) {
-        int existingGScore = gScores.get(position);
-        if (gScore < existingGScore) {
-            gScores.put(position, gScore);
-            parents.put(position, parent);
-            return true;
-        }
-        return false;
+        return putIfBetter(position, gScore, parent, null);
     }
 
     /**
@@ -47,6 +41,8 @@ public class JPSCache
             parents.put(position, parent);
             if (transport != null) {
                 transports.put(position, transport);
+            } else {
+                transports.remove(position);
             }
             return true;
         }
@@ -1,5 +1,7 @@
 package com.tonic.services.pathfinder.implimentations.jps;
 
+import java.util.Arrays;
+
 /**
  * Min-heap priority queue optimized for JPS pathfinding.
  * Uses parallel primitive arrays for cache-friendly access.
@@ -12,9 +14,17 @@ public class JPSPriorityQueue
     private final int capacity;
 
     public JPSPriorityQueue(int capacity) {
+        this(capacity, capacity);
+    }
+
+    /**
+     * @param initialCapacity slots allocated up front, doubled as the queue fills
+     * @param capacity most nodes the queue will hold
+     */
+    public JPSPriorityQueue(int initialCapacity, int capacity) {
         this.capacity = capacity;
-        this.positions = new int[capacity];
-        this.fScores = new int[capacity];
+        this.positions = new int[Math.min(initialCapacity, capacity)];
+        this.fScores = new int[positions.length];
         this.size = 0;
     }
 
@@ -27,6 +37,11 @@ public class JPSPriorityQueue
         if (size >= capacity) {
             throw new IllegalStateException("Priority queue capacity exceeded");
         }
+        if (size == positions.length) {
+            int grown = (int) Math.min(capacity, positions.length * 2L);
+            positions = Arrays.copyOf(positions, grown);
+            fScores = Arrays.copyOf(fScores, grown);
+        }
 
         positions[size] = position;
         fScores[size] = fScore;
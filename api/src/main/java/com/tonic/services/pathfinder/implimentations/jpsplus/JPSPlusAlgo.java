@@ -0,0 +1,120 @@
+package com.tonic.services.pathfinder.implimentations.jpsplus;
+
+import com.tonic.Logger;
+import com.tonic.Static;
+import com.tonic.data.wrappers.PlayerEx;
+import com.tonic.services.pathfinder.Walker;
+import com.tonic.services.pathfinder.abstractions.IPathfinder;
+import com.tonic.services.pathfinder.abstractions.IStep;
+import com.tonic.services.pathfinder.collections.GoalSet;
+import com.tonic.services.pathfinder.collision.CollisionMap;
+import com.tonic.services.pathfinder.implimentations.astar.AStarAlgo;
+import com.tonic.services.pathfinder.implimentations.jps.JPSStep;
+import com.tonic.services.pathfinder.teleports.Teleport;
+import com.tonic.services.pathfinder.transports.Transport;
+import com.tonic.services.pathfinder.transports.TransportLoader;
+import com.tonic.util.Profiler;
+import com.tonic.util.WorldPointUtil;
+import gnu.trove.map.hash.TIntObjectHashMap;
+import lombok.Getter;
+import net.runelite.api.coords.WorldArea;
+import net.runelite.api.coords.WorldPoint;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * JPS+ pathfinder. Same search as {@link com.tonic.services.pathfinder.implimentations.jps.JPSAlgo},
+ * but straight and diagonal jumps are read from a precomputed {@link JumpTable} instead of walking
+ * the collision map tile by tile, so open terrain costs a table read per jump.
+ * <p>
+ * The table describes the global collision map only. Inside instances the search falls back to
+ * {@link AStarAlgo}, which reads the scene's own collision data.
+ */
+public class JPSPlusAlgo implements IPathfinder
+{
+    @Getter
+    private Teleport teleport;
+
+    public JPSPlusAlgo() {
+    }
+
+    @Override
+    public List<? extends IStep> find(WorldPoint target) {
+        TransportLoader.refreshTransports();
+        return find(GoalSet.of(target), astar -> astar.find(target));
+    }
+
+    @Override
+    public List<? extends IStep> find(WorldArea... worldAreas) {
+        TransportLoader.refreshTransports();
+        return find(GoalSet.of(worldAreas), astar -> astar.find(worldAreas));
+    }
+
+    @Override
+    public List<? extends IStep> find(List<WorldArea> worldAreas) {
+        TransportLoader.refreshTransports();
+        return find(GoalSet.of(worldAreas), astar -> astar.find(worldAreas));
+    }
+
+    private List<? extends IStep> find(GoalSet goals, Fallback fallback) {
+        teleport = null;
+        CollisionMap collisionMap = Walker.getCollisionMap();
+        if (collisionMap == null) {
+            Logger.error("[JPS+] Collision map is null");
+            return new ArrayList<>();
+        }
+
+        try {
+            if (Static.getClient().getTopLevelWorldView().isInstance()) {
+                AStarAlgo astar = new AStarAlgo();
+                List<? extends IStep> path = fallback.find(astar);
+                teleport = astar.getTeleport();
+                return path;
+            }
+
+            TIntObjectHashMap<ArrayList<Transport>> transports = TransportLoader.getTransports();
+            JumpTable table = JumpTable.get(collisionMap);
+            table.addStops(transports.keySet());
+            int playerStartPos = WorldPointUtil.compress(PlayerEx.getLocal().getWorldPoint());
+
+            List<Teleport> teleports = Teleport.buildTeleportLinks();
+            List<Integer> startPoints = new ArrayList<>();
+            startPoints.add(playerStartPos);
+
+            for (Teleport tp : teleports) {
+                startPoints.add(WorldPointUtil.compress(tp.getDestination()));
+            }
+
+            Profiler.Start("JPS+ Pathfinding");
+            JPSPlusSearch search = new JPSPlusSearch(table, goals, transports);
+            int goal = search.run(startPoints);
+            List<JPSStep> path = goal == -1 ? new ArrayList<>() : search.path(goal, playerStartPos);
+            Profiler.StopMS();
+
+            Logger.info("[JPS+] Path Length: " + path.size());
+
+            if (path.isEmpty())
+                return path;
+
+            // Set teleport if path starts with one
+            for (Teleport tp : teleports) {
+                if (WorldPointUtil.compress(tp.getDestination()) == path.get(0).getPackedPosition()) {
+                    teleport = tp.copy();
+                    break;
+                }
+            }
+
+            return path;
+
+        } catch (Exception e) {
+            Logger.error(e, "[JPS+] %e");
+            return new ArrayList<>();
+        }
+    }
+
+    @FunctionalInterface
+    private interface Fallback {
+        List<? extends IStep> find(AStarAlgo astar);
+    }
+}
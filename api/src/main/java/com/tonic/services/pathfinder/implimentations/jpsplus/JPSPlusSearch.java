@@ -0,0 +1,184 @@
+package com.tonic.services.pathfinder.implimentations.jpsplus;
+
+import com.tonic.services.pathfinder.collections.GoalSet;
+import com.tonic.services.pathfinder.implimentations.jps.JPSCache;
+import com.tonic.services.pathfinder.implimentations.jps.JPSPriorityQueue;
+import com.tonic.services.pathfinder.implimentations.jps.JPSStep;
+import com.tonic.services.pathfinder.transports.Transport;
+import com.tonic.util.WorldPointUtil;
+import gnu.trove.map.hash.TIntIntHashMap;
+import gnu.trove.map.hash.TIntObjectHashMap;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One JPS+ search over a {@link JumpTable}, kept apart from {@link JPSPlusAlgo} so it only depends on
+ * the table, the goals and the transports it is given.
+ */
+final class JPSPlusSearch
+{
+    // arrival direction bits 0-7 use JumpTable's direction indices, this one marks a node that
+    // wasn't reached by a jump (a start tile or a transport destination)
+    private static final int ANY = 1 << 8;
+    private static final int[] SUCCESSORS = new int[9];
+
+    static {
+        for (int dir = 0; dir < 4; dir++) {
+            int side1 = JumpTable.side1(dir);
+            int side2 = JumpTable.side2(dir);
+            SUCCESSORS[dir] = 1 << dir | 1 << side1 | 1 << side2
+                    | 1 << JumpTable.diagonal(dir, side1) | 1 << JumpTable.diagonal(dir, side2);
+        }
+        for (int dir = 4; dir < 8; dir++) {
+            SUCCESSORS[dir] = 1 << dir | 1 << JumpTable.componentX(dir) | 1 << JumpTable.componentY(dir);
+        }
+        SUCCESSORS[8] = 0xFF;
+    }
+
+    private final JumpTable table;
+    private final GoalSet goals;
+    private final TIntObjectHashMap<ArrayList<Transport>> transports;
+    private final JPSCache cache = new JPSCache(50_000);
+    private final JPSPriorityQueue openSet = new JPSPriorityQueue(200_000);
+    // arrival directions a node was reached by at its best g, and those already expanded
+    private final TIntIntHashMap arrivals = new TIntIntHashMap(50_000, 0.5f, -1, 0);
+    private final TIntIntHashMap expanded = new TIntIntHashMap(50_000, 0.5f, -1, 0);
+
+    JPSPlusSearch(JumpTable table, GoalSet goals, TIntObjectHashMap<ArrayList<Transport>> transports) {
+        this.table = table;
+        this.goals = goals;
+        this.transports = transports;
+    }
+
+    /**
+     * Searches from every start tile at g 0.
+     * @return the goal tile reached, or -1 if no goal is reachable
+     */
+    int run(List<Integer> starts) {
+        for (int start : starts) {
+            if (cache.putIfBetter(start, 0, -1)) {
+                arrivals.put(start, ANY);
+                openSet.enqueue(start, goals.chebyshev(start));
+            }
+        }
+
+        while (!openSet.isEmpty()) {
+            int current = openSet.dequeue();
+            int done = expanded.get(current);
+            int pending = arrivals.get(current) & ~done;
+            if (pending == 0) {
+                continue;
+            }
+            expanded.put(current, done | pending);
+
+            if (goals.contains(current)) {
+                return current;
+            }
+
+            int currentG = cache.getGScore(current);
+            int directions = 0;
+            for (int bit = 0; bit < 9; bit++) {
+                if ((pending & 1 << bit) != 0) {
+                    directions |= SUCCESSORS[bit];
+                }
+            }
+            for (int dir = 0; dir < 8; dir++) {
+                if ((directions & 1 << dir) != 0) {
+                    jump(current, currentG, dir);
+                }
+            }
+
+            ArrayList<Transport> list = transports.get(current);
+            if (list != null) {
+                for (int i = 0, size = list.size(); i < size; i++) {
+                    Transport transport = list.get(i);
+                    int destination = transport.getDestination();
+                    int tentativeG = currentG + transport.getDuration() + 1;
+                    if (cache.putIfBetter(destination, tentativeG, current, transport)) {
+                        arrivals.put(destination, ANY);
+                        expanded.put(destination, 0);
+                        openSet.enqueue(destination, tentativeG + goals.chebyshev(destination));
+                    }
+                }
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * @return the cost of the best path found to the tile
+     */
+    int cost(int tile) {
+        return cache.getGScore(tile);
+    }
+
+    List<JPSStep> path(int goal, int playerStart) {
+        return cache.reconstructPath(goal, playerStart);
+    }
+
+    /**
+     * Follows one direction from the node and queues the tile it stops on: the table's jump point,
+     * or an earlier tile if a goal is on the way.
+     */
+    private void jump(int current, int currentG, int dir) {
+        int x = WorldPointUtil.getCompressedX(current);
+        int y = WorldPointUtil.getCompressedY(current);
+        int plane = WorldPointUtil.getCompressedPlane(current);
+        int result = table.jump(x, y, plane, dir);
+        int reach = Math.abs(result);
+        if (reach == 0) {
+            return;
+        }
+
+        int dx = JumpTable.DX[dir];
+        int dy = JumpTable.DY[dir];
+        int steps = result > 0 ? result : -1;
+        int goal = goals.firstOnRay(current, dx, dy, reach);
+        if (goal != -1 && (steps == -1 || goal < steps)) {
+            steps = goal;
+        }
+        if (dir >= 4 && goals.inQuadrant(current, dx, dy)) {
+            // a goal may sit on a straight ray branching off the diagonal before it ends, the last
+            // tile before a wall included
+            int limit = steps == -1 ? reach : steps - 1;
+            for (int k = 1; k <= limit; k++) {
+                int tile = WorldPointUtil.compress(x + dx * k, y + dy * k, plane);
+                if (branchReachesGoal(tile, JumpTable.componentX(dir)) || branchReachesGoal(tile, JumpTable.componentY(dir))) {
+                    steps = k;
+                    break;
+                }
+            }
+        }
+        if (steps == -1) {
+            return;
+        }
+
+        int neighbor = WorldPointUtil.compress(x + dx * steps, y + dy * steps, plane);
+        int tentativeG = currentG + steps;
+        int existing = cache.getGScore(neighbor);
+        if (tentativeG < existing) {
+            cache.putIfBetter(neighbor, tentativeG, current);
+            arrivals.put(neighbor, 1 << dir);
+            expanded.put(neighbor, 0);
+            openSet.enqueue(neighbor, tentativeG + goals.chebyshev(neighbor));
+        } else if (tentativeG == existing && (arrivals.get(neighbor) & 1 << dir) == 0) {
+            // an equally short arrival from another direction opens different successors
+            arrivals.put(neighbor, arrivals.get(neighbor) | 1 << dir);
+            openSet.enqueue(neighbor, tentativeG + goals.chebyshev(neighbor));
+        }
+    }
+
+    private boolean branchReachesGoal(int tile, int dir) {
+        int dx = JumpTable.DX[dir];
+        int dy = JumpTable.DY[dir];
+        if (goals.firstOnRay(tile, dx, dy, Integer.MAX_VALUE) == -1) {
+            return false;
+        }
+        int reach = Math.abs(table.jump(WorldPointUtil.getCompressedX(tile), WorldPointUtil.getCompressedY(tile),
+                WorldPointUtil.getCompressedPlane(tile), dir));
+        return reach > 0 && goals.firstOnRay(tile, dx, dy, reach) != -1;
+    }
+
+}
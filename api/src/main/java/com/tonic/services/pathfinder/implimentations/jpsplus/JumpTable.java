@@ -0,0 +1,356 @@
+package com.tonic.services.pathfinder.implimentations.jpsplus;
+
+import com.tonic.services.pathfinder.collision.CollisionMap;
+import com.tonic.services.pathfinder.collision.Flags;
+import com.tonic.util.WorldPointUtil;
+import gnu.trove.TIntCollection;
+import gnu.trove.iterator.TIntIterator;
+import gnu.trove.set.hash.TIntHashSet;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Precomputed JPS+ jump distances over the global collision map.
+ * <p>
+ * Every tile stores one byte per direction: the number of steps to the next jump point in that
+ * direction, or minus the number of steps to the wall when the ray ends without meeting one. Tables
+ * are built per 64x64 region the first time a search reaches the region and are kept for later
+ * searches. A ray that leaves its region is stored as {@link #CONTINUE} and followed into the next
+ * region's table, so building a region's straight rays never needs its neighbours.
+ * <p>
+ * Searches on different threads read the table without a shared lock. Each region is built once and
+ * published through the region map, its diagonal table once under the region's own lock, and at most
+ * {@link #MAX_REGIONS} regions (about 37 KB each) are kept, the oldest dropped first.
+ * <p>
+ * Jump points follow canonical JPS without corner cutting, with walls on tile edges: a straight ray
+ * stops where a side tile opens up that the tiles beside the ray couldn't reach, a diagonal ray stops
+ * where one of its two straight components finds a jump point. Transport sources are jump points in
+ * every direction, so a search always stops on them to try their edges.
+ */
+final class JumpTable
+{
+    static final int N = 0, E = 1, S = 2, W = 3, NE = 4, SE = 5, SW = 6, NW = 7;
+    static final int[] DX = {0, 1, 0, -1, 1, 1, -1, -1};
+    static final int[] DY = {1, 0, -1, 0, 1, -1, -1, 1};
+    private static final byte[] FLAG = {
+            Flags.NORTH, Flags.EAST, Flags.SOUTH, Flags.WEST,
+            Flags.NORTHEAST, Flags.SOUTHEAST, Flags.SOUTHWEST, Flags.NORTHWEST
+    };
+    // straight components of each diagonal
+    private static final int[] COMPONENT_X = {-1, -1, -1, -1, E, E, W, W};
+    private static final int[] COMPONENT_Y = {-1, -1, -1, -1, N, S, S, N};
+
+    private static final byte CONTINUE = Byte.MIN_VALUE;
+    private static final int SIZE = 64;
+    private static final int BORDER = SIZE + 2;
+    static final int MAX_REGIONS = 256;
+
+    private static JumpTable shared;
+
+    private final CollisionMap collisionMap;
+    private volatile State state = new State(new TIntHashSet());
+
+    private JumpTable(CollisionMap collisionMap) {
+        this.collisionMap = collisionMap;
+    }
+
+    /**
+     * @return the table for the collision map, shared by every search over it
+     */
+    static synchronized JumpTable get(CollisionMap collisionMap) {
+        if (shared == null || shared.collisionMap != collisionMap) {
+            shared = new JumpTable(collisionMap);
+        }
+        return shared;
+    }
+
+    /**
+     * Makes the tiles jump points. Built regions are dropped if any tile is new, the set only grows,
+     * so this settles after the first few searches. Searches already running keep the regions and
+     * stops they started with.
+     */
+    synchronized void addStops(TIntCollection tiles) {
+        TIntHashSet stops = state.stops;
+        TIntHashSet added = null;
+        for (TIntIterator it = tiles.iterator(); it.hasNext(); ) {
+            int tile = it.next();
+            if (!stops.contains(tile)) {
+                if (added == null) {
+                    added = new TIntHashSet(stops);
+                }
+                added.add(tile);
+            }
+        }
+        if (added != null) {
+            state = new State(added);
+        }
+    }
+
+    int regionCount() {
+        return state.regions.size();
+    }
+
+    /**
+     * Follows the ray from the tile, the tile itself excluded.
+     * @return the steps to the jump point the ray ends on, or if it ends on a wall, minus the steps
+     * walkable before it. 0 if the first step is blocked.
+     */
+    int jump(int x, int y, int plane, int dir) {
+        return jump(state, x, y, plane, dir);
+    }
+
+    private int jump(State state, int x, int y, int plane, int dir) {
+        int total = 0;
+        while (true) {
+            Region region = region(state, x, y, plane);
+            int index = index(x & (SIZE - 1), y & (SIZE - 1), dir);
+            int value = dir < 4 ? region.cardinal[index] : diagonalTable(state, region)[index];
+            if (value != CONTINUE) {
+                return value > 0 ? total + value : value - total;
+            }
+            int steps = stepsToEdge(x & (SIZE - 1), y & (SIZE - 1), dir);
+            total += steps;
+            x += DX[dir] * steps;
+            y += DY[dir] * steps;
+            if (x < 0 || y < 0 || x > 8191 || y > 32767) {
+                return -(total - 1);
+            }
+            if (dir < 4 ? isStraightJumpPoint(state, x, y, plane, dir) : isDiagonalJumpPoint(state, x, y, plane, dir)) {
+                return total;
+            }
+        }
+    }
+
+    private Region region(State state, int x, int y, int plane) {
+        int key = (x >> 6) | (y >> 6) << 7 | plane << 16;
+        Region region = state.regions.get(key);
+        if (region != null) {
+            return region;
+        }
+        // straight tables only read the collision map, so building inside the map's lock can't
+        // come back for another region
+        boolean[] built = new boolean[1];
+        region = state.regions.computeIfAbsent(key, k -> {
+            built[0] = true;
+            return buildStraight(state, x >> 6, y >> 6, plane);
+        });
+        if (!built[0]) {
+            return region;
+        }
+        state.order.add(key);
+        while (state.regions.size() > MAX_REGIONS) {
+            Integer eldest = state.order.poll();
+            if (eldest == null) {
+                break;
+            }
+            state.regions.remove(eldest);
+        }
+        return region;
+    }
+
+    private byte[] diagonalTable(State state, Region region) {
+        byte[] diagonal = region.diagonal;
+        if (diagonal == null) {
+            // diagonal builds follow straight rays only, which never take a region lock
+            synchronized (region) {
+                diagonal = region.diagonal;
+                if (diagonal == null) {
+                    diagonal = buildDiagonal(state, region);
+                    region.diagonal = diagonal;
+                }
+            }
+        }
+        return diagonal;
+    }
+
+    private Region buildStraight(State state, int regionX, int regionY, int plane) {
+        Region region = new Region(regionX << 6, regionY << 6, plane);
+        byte[] flags = region.flags;
+        for (int x = -1; x <= SIZE; x++) {
+            for (int y = -1; y <= SIZE; y++) {
+                flags[(x + 1) * BORDER + y + 1] = collisionMap.all((short) (region.baseX + x), (short) (region.baseY + y), (byte) plane);
+            }
+        }
+
+        byte[] table = region.cardinal;
+        for (int dir = 0; dir < 4; dir++) {
+            int dx = DX[dir];
+            int dy = DY[dir];
+            for (int i = 0; i < SIZE; i++) {
+                int x = dx > 0 ? SIZE - 1 - i : i;
+                for (int j = 0; j < SIZE; j++) {
+                    int y = dy > 0 ? SIZE - 1 - j : j;
+                    int nx = x + dx;
+                    int ny = y + dy;
+                    byte value;
+                    if ((region.flag(x, y) & FLAG[dir]) == 0) {
+                        value = 0;
+                    } else if (nx < 0 || ny < 0 || nx >= SIZE || ny >= SIZE) {
+                        value = CONTINUE;
+                    } else if (state.stops.contains(WorldPointUtil.compress(region.baseX + nx, region.baseY + ny, plane))
+                            || forced(region.flag(nx, ny), region.flag(x, y),
+                            region.flag(x + DX[side1(dir)], y + DY[side1(dir)]),
+                            region.flag(x + DX[side2(dir)], y + DY[side2(dir)]), dir)) {
+                        value = 1;
+                    } else {
+                        value = extend(table[index(nx, ny, dir)]);
+                    }
+                    table[index(x, y, dir)] = value;
+                }
+            }
+        }
+        return region;
+    }
+
+    private byte[] buildDiagonal(State state, Region region) {
+        byte[] table = new byte[SIZE * SIZE * 4];
+        for (int dir = 4; dir < 8; dir++) {
+            int dx = DX[dir];
+            int dy = DY[dir];
+            for (int i = 0; i < SIZE; i++) {
+                int x = dx > 0 ? SIZE - 1 - i : i;
+                for (int j = 0; j < SIZE; j++) {
+                    int y = dy > 0 ? SIZE - 1 - j : j;
+                    int nx = x + dx;
+                    int ny = y + dy;
+                    byte value;
+                    if ((region.flag(x, y) & FLAG[dir]) == 0) {
+                        value = 0;
+                    } else if (nx < 0 || ny < 0 || nx >= SIZE || ny >= SIZE) {
+                        value = CONTINUE;
+                    } else if (isDiagonalJumpPoint(state, region.baseX + nx, region.baseY + ny, region.plane, dir)) {
+                        value = 1;
+                    } else {
+                        value = extend(table[index(nx, ny, dir)]);
+                    }
+                    table[index(x, y, dir)] = value;
+                }
+            }
+        }
+        return table;
+    }
+
+    private boolean isStraightJumpPoint(State state, int x, int y, int plane, int dir) {
+        if (state.stops.contains(WorldPointUtil.compress(x, y, plane))) {
+            return true;
+        }
+        int px = x - DX[dir];
+        int py = y - DY[dir];
+        return forced(flags(x, y, plane), flags(px, py, plane),
+                flags(px + DX[side1(dir)], py + DY[side1(dir)], plane),
+                flags(px + DX[side2(dir)], py + DY[side2(dir)], plane), dir);
+    }
+
+    private boolean isDiagonalJumpPoint(State state, int x, int y, int plane, int dir) {
+        return state.stops.contains(WorldPointUtil.compress(x, y, plane))
+                || jump(state, x, y, plane, COMPONENT_X[dir]) > 0
+                || jump(state, x, y, plane, COMPONENT_Y[dir]) > 0;
+    }
+
+    private byte flags(int x, int y, int plane) {
+        return collisionMap.all((short) x, (short) y, (byte) plane);
+    }
+
+    /**
+     * A tile reached by a straight step has a forced neighbour when it can step to a side tile but
+     * the tile it came from couldn't get there by stepping to its own side and then forward.
+     */
+    private static boolean forced(byte tile, byte previous, byte previousSide1, byte previousSide2, int dir) {
+        return forcedSide(tile, previous, previousSide1, side1(dir), dir)
+                || forcedSide(tile, previous, previousSide2, side2(dir), dir);
+    }
+
+    private static boolean forcedSide(byte tile, byte previous, byte previousSide, int side, int dir) {
+        return (tile & FLAG[side]) != 0 && ((previous & FLAG[side]) == 0 || (previousSide & FLAG[dir]) == 0);
+    }
+
+    static int side1(int dir) {
+        return (dir + 1) & 3;
+    }
+
+    static int side2(int dir) {
+        return (dir + 3) & 3;
+    }
+
+    /**
+     * @return the diagonal between a straight direction and one of its sides
+     */
+    static int diagonal(int dir, int side) {
+        int dx = DX[dir] + DX[side];
+        int dy = DY[dir] + DY[side];
+        if (dx > 0) {
+            return dy > 0 ? NE : SE;
+        }
+        return dy > 0 ? NW : SW;
+    }
+
+    static int componentX(int dir) {
+        return COMPONENT_X[dir];
+    }
+
+    static int componentY(int dir) {
+        return COMPONENT_Y[dir];
+    }
+
+    private static byte extend(byte next) {
+        if (next == CONTINUE) {
+            return CONTINUE;
+        }
+        return (byte) (next > 0 ? next + 1 : next - 1);
+    }
+
+    private static int stepsToEdge(int x, int y, int dir) {
+        int dx = DX[dir];
+        int dy = DY[dir];
+        int steps = Integer.MAX_VALUE;
+        if (dx != 0) {
+            steps = dx > 0 ? SIZE - x : x + 1;
+        }
+        if (dy != 0) {
+            steps = Math.min(steps, dy > 0 ? SIZE - y : y + 1);
+        }
+        return steps;
+    }
+
+    private static int index(int x, int y, int dir) {
+        return ((x << 6 | y) << 2) | (dir & 3);
+    }
+
+    /**
+     * The stop set and the regions built for it. Replaced as a whole when the stops change, never
+     * modified after it is published apart from the region map.
+     */
+    private static final class State
+    {
+        private final TIntHashSet stops;
+        private final ConcurrentHashMap<Integer, Region> regions = new ConcurrentHashMap<>(256);
+        // insertion order for eviction
+        private final ConcurrentLinkedQueue<Integer> order = new ConcurrentLinkedQueue<>();
+
+        private State(TIntHashSet stops) {
+            this.stops = stops;
+        }
+    }
+
+    private static final class Region
+    {
+        private final int baseX;
+        private final int baseY;
+        private final int plane;
+        // movement flags of the region and a one tile border around it
+        private final byte[] flags = new byte[BORDER * BORDER];
+        private final byte[] cardinal = new byte[SIZE * SIZE * 4];
+        private volatile byte[] diagonal;
+
+        private Region(int baseX, int baseY, int plane) {
+            this.baseX = baseX;
+            this.baseY = baseY;
+            this.plane = plane;
+        }
+
+        private byte flag(int x, int y) {
+            return flags[(x + 1) * BORDER + y + 1];
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package com.tonic.services.pathfinder.implimentations.multitarget;
+
+import com.tonic.Logger;
+import com.tonic.Static;
+import com.tonic.data.wrappers.PlayerEx;
+import com.tonic.services.pathfinder.Walker;
+import com.tonic.services.pathfinder.collections.GoalSet;
+import com.tonic.services.pathfinder.collision.CollisionMap;
+import com.tonic.services.pathfinder.collision.Flags;
+import com.tonic.services.pathfinder.collision.Properties;
+import com.tonic.services.pathfinder.implimentations.jps.JPSCache;
+import com.tonic.services.pathfinder.implimentations.jps.JPSPriorityQueue;
+import com.tonic.services.pathfinder.local.LocalCollisionMap;
+import com.tonic.services.pathfinder.teleports.Teleport;
+import com.tonic.services.pathfinder.transports.Transport;
+import com.tonic.services.pathfinder.transports.TransportLoader;
+import com.tonic.util.Profiler;
+import com.tonic.util.WorldPointUtil;
+import gnu.trove.map.hash.TIntObjectHashMap;
+import gnu.trove.set.hash.TIntHashSet;
+import net.runelite.api.coords.WorldArea;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * One Dijkstra search from the player and every teleport destination that settles the cost to each
+ * of several targets, so picking the nearest of K destinations costs one search instead of K.
+ * <p>
+ * Costs match {@link com.tonic.services.pathfinder.implimentations.jps.JPSAlgo}: one per tile
+ * walked and the duration plus one per transport. The search stops once every target is settled,
+ * once the next tile costs more than the bound, or once the node limit is hit.
+ */
+public class MultiTargetSearch
+{
+    private static final int MAX_NODES = 2_000_000;
+    private static final int INITIAL_QUEUE = 16_384;
+
+    private static final int[] DX = {0, 0, 1, -1, 1, -1, 1, -1};
+    private static final int[] DY = {1, -1, 0, 0, 1, 1, -1, -1};
+    private static final byte[] FLAG = {
+            Flags.NORTH, Flags.SOUTH, Flags.EAST, Flags.WEST,
+            Flags.NORTHEAST, Flags.NORTHWEST, Flags.SOUTHEAST, Flags.SOUTHWEST
+    };
+
+    private final WorldArea[] targets;
+    private final int maxCost;
+
+    /**
+     * @param targets destinations, a target is reached on any of its tiles
+     * @param maxCost cost past which the search gives up on unreached targets
+     */
+    public MultiTargetSearch(WorldArea[] targets, int maxCost) {
+        this.targets = targets;
+        this.maxCost = maxCost;
+    }
+
+    /**
+     * Runs the search from the local player's position and the available teleports.
+     */
+    public TargetDistances run() {
+        TransportLoader.refreshTransports();
+        CollisionMap collisionMap = Walker.getCollisionMap();
+        int playerStart = WorldPointUtil.compress(PlayerEx.getLocal().getWorldPoint());
+        List<Teleport> teleports = Teleport.buildTeleportLinks();
+        if (collisionMap == null) {
+            Logger.error("[MultiTarget] Collision map is null");
+            return TargetDistances.unreached(targets, playerStart, teleports);
+        }
+
+        List<Integer> starts = new ArrayList<>();
+        starts.add(playerStart);
+        for (Teleport tp : teleports) {
+            starts.add(WorldPointUtil.compress(tp.getDestination()));
+        }
+
+        // instanced scenes aren't in the global map, read them from the scene like the other engines
+        LocalCollisionMap localMap = Static.getClient().getTopLevelWorldView().isInstance()
+                ? LocalCollisionMap.shared() : null;
+
+        Profiler.Start("Multi-target Dijkstra");
+        TargetDistances result = search(collisionMap, localMap, starts, playerStart, teleports);
+        Profiler.StopMS();
+        return result;
+    }
+
+    private TargetDistances search(CollisionMap collisionMap, LocalCollisionMap localMap, List<Integer> starts,
+                                   int playerStart, List<Teleport> teleports) {
+        JPSCache cache = new JPSCache(100_000);
+        JPSPriorityQueue openSet = new JPSPriorityQueue(INITIAL_QUEUE, MAX_NODES);
+        TIntHashSet closedSet = new TIntHashSet(100_000);
+        TIntObjectHashMap<ArrayList<Transport>> transports = TransportLoader.getTransports();
+        GoalSet union = GoalSet.of(targets);
+
+        int[] costs = new int[targets.length];
+        int[] reachedAt = new int[targets.length];
+        Arrays.fill(costs, -1);
+        Arrays.fill(reachedAt, -1);
+        int remaining = targets.length;
+
+        for (int i : Properties.getBlacklist()) {
+            closedSet.add(i);
+        }
+        for (int start : starts) {
+            if (!closedSet.contains(start) && cache.putIfBetter(start, 0, -1)) {
+                openSet.enqueue(start, 0);
+            }
+        }
+
+        while (remaining > 0 && !openSet.isEmpty()) {
+            int current = openSet.dequeue();
+            if (!closedSet.add(current)) {
+                continue;
+            }
+            int currentG = cache.getGScore(current);
+            if (currentG > maxCost || closedSet.size() > MAX_NODES) {
+                break;
+            }
+
+            if (union.contains(current)) {
+                remaining -= settle(current, currentG, costs, reachedAt);
+            }
+
+            short x = WorldPointUtil.getCompressedX(current);
+            short y = WorldPointUtil.getCompressedY(current);
+            byte plane = WorldPointUtil.getCompressedPlane(current);
+            byte flags = localMap != null ? localMap.all(x, y, plane) : collisionMap.all(x, y, plane);
+            int tentativeG = currentG + 1;
+            for (int dir = 0; dir < 8; dir++) {
+                if ((flags & FLAG[dir]) == 0) {
+                    continue;
+                }
+                int neighbor = WorldPointUtil.compress(x + DX[dir], y + DY[dir], plane);
+                if (!closedSet.contains(neighbor) && cache.putIfBetter(neighbor, tentativeG, current)) {
+                    enqueue(openSet, neighbor, tentativeG);
+                }
+            }
+
+            ArrayList<Transport> list = transports.get(current);
+            if (list != null) {
+                for (int i = 0, size = list.size(); i < size; i++) {
+                    Transport transport = list.get(i);
+                    int destination = transport.getDestination();
+                    int transportG = currentG + transport.getDuration() + 1;
+                    if (!closedSet.contains(destination) && cache.putIfBetter(destination, transportG, current, transport)) {
+                        enqueue(openSet, destination, transportG);
+                    }
+                }
+            }
+        }
+
+        Logger.info("[MultiTarget] Settled " + (targets.length - remaining) + "/" + targets.length
+                + " targets, " + closedSet.size() + " nodes");
+        return new TargetDistances(targets, costs, reachedAt, cache, playerStart, teleports);
+    }
+
+    /**
+     * Marks every unreached target containing the tile.
+     * @return the number of targets newly reached
+     */
+    private int settle(int tile, int cost, int[] costs, int[] reachedAt) {
+        int x = WorldPointUtil.getCompressedX(tile);
+        int y = WorldPointUtil.getCompressedY(tile);
+        int plane = WorldPointUtil.getCompressedPlane(tile);
+        int settled = 0;
+        for (int i = 0; i < targets.length; i++) {
+            WorldArea area = targets[i];
+            if (costs[i] == -1 && area.getPlane() == plane && x >= area.getX() && y >= area.getY()
+                    && x < area.getX() + area.getWidth() && y < area.getY() + area.getHeight()) {
+                costs[i] = cost;
+                reachedAt[i] = tile;
+                settled++;
+            }
+        }
+        return settled;
+    }
+
+    private static void enqueue(JPSPriorityQueue openSet, int position, int cost) {
+        // a full queue only happens on searches already past the node limit
+        if (openSet.size() < MAX_NODES) {
+            openSet.enqueue(position, cost);
+        }
+    }
+}
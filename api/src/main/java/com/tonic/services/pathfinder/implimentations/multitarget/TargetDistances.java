@@ -0,0 +1,100 @@
+package com.tonic.services.pathfinder.implimentations.multitarget;
+
+import com.tonic.services.pathfinder.implimentations.jps.JPSCache;
+import com.tonic.services.pathfinder.implimentations.jps.JPSStep;
+import com.tonic.services.pathfinder.teleports.Teleport;
+import com.tonic.util.WorldPointUtil;
+import net.runelite.api.coords.WorldArea;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Result of a {@link MultiTargetSearch}: the cost to each target, indexed like the targets passed
+ * in, and the search tree to rebuild the path to any of them on demand.
+ */
+public class TargetDistances
+{
+    private final WorldArea[] targets;
+    private final int[] costs;
+    private final int[] reachedAt;
+    private final JPSCache cache;
+    private final int playerStart;
+    private final List<Teleport> teleports;
+
+    TargetDistances(WorldArea[] targets, int[] costs, int[] reachedAt, JPSCache cache, int playerStart, List<Teleport> teleports) {
+        this.targets = targets;
+        this.costs = costs;
+        this.reachedAt = reachedAt;
+        this.cache = cache;
+        this.playerStart = playerStart;
+        this.teleports = teleports;
+    }
+
+    static TargetDistances unreached(WorldArea[] targets, int playerStart, List<Teleport> teleports) {
+        int[] none = new int[targets.length];
+        Arrays.fill(none, -1);
+        return new TargetDistances(targets, none, none, null, playerStart, teleports);
+    }
+
+    public int size() {
+        return targets.length;
+    }
+
+    public WorldArea getTarget(int index) {
+        return targets[index];
+    }
+
+    /**
+     * @return the cost to the target, or -1 if it wasn't reached within the bound
+     */
+    public int getCost(int index) {
+        return costs[index];
+    }
+
+    public boolean isReachable(int index) {
+        return costs[index] != -1;
+    }
+
+    /**
+     * @return the index of the cheapest reached target, or -1 if none was reached
+     */
+    public int getNearest() {
+        int best = -1;
+        for (int i = 0; i < costs.length; i++) {
+            if (costs[i] != -1 && (best == -1 || costs[i] < costs[best])) {
+                best = i;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Rebuilds the path to the target from the search tree.
+     * @return the steps, or an empty list if the target wasn't reached
+     */
+    public List<JPSStep> getPath(int index) {
+        if (reachedAt[index] == -1) {
+            return new ArrayList<>();
+        }
+        return cache.reconstructPath(reachedAt[index], playerStart);
+    }
+
+    /**
+     * @return the teleport the path to the target starts with, or null if it starts on foot
+     */
+    public Teleport getTeleport(int index) {
+        List<JPSStep> path = getPath(index);
+        if (path.isEmpty()) {
+            return null;
+        }
+        int first = path.get(0).getPackedPosition();
+        for (Teleport tp : teleports) {
+            if (WorldPointUtil.compress(tp.getDestination()) == first) {
+                return tp.copy();
+            }
+        }
+        return null;
+    }
+}
@@ -4,20 +4,36 @@ import com.tonic.Static;
 import com.tonic.data.wrappers.PlayerEx;
 import com.tonic.services.GameManager;
 import com.tonic.services.pathfinder.Walker;
+import com.tonic.services.pathfinder.collision.Flags;
 import com.tonic.util.WorldPointUtil;
-import gnu.trove.map.hash.TIntIntHashMap;
 import lombok.Getter;
-import net.runelite.api.Client;
+import net.runelite.api.CollisionData;
+import net.runelite.api.CollisionDataFlag;
 import net.runelite.api.WorldView;
-import net.runelite.api.coords.WorldPoint;
+import net.runelite.api.events.*;
+import net.runelite.client.eventbus.Subscribe;
 
 import java.util.ArrayList;
-import java.util.HashSet;
+import java.util.BitSet;
+import java.util.Collections;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.IntConsumer;
 import java.util.function.Predicate;
-import java.util.stream.Collectors;
 
+/**
+ * Collision snapshot of the current scene plane, used for pathing where the global collision map
+ * has no data (instances). The scene's collision flags are copied into a flat array once and the
+ * walkable directions of every tile are precomputed into a byte using the {@link Flags} layout, so
+ * the direction checks are a single array read. Door and gate tiles are kept in a bitset.
+ * <p>
+ * {@link #refresh()} re-reads the scene and only recomputes tiles around changed flags or doors,
+ * so a holder can keep one map per scene load. {@link #shared()} is that holder for the pathfinders
+ * and overlays: one door-ignoring map, refreshed after a scene load or an object spawn or despawn.
+ * The scene flags and doors are read together in a single client thread call, and everything after
+ * that runs on the calling thread without holding a lock.
+ */
 public class LocalCollisionMap
 {
     public static final Predicate<Set<MovementFlag>> FULL_BLOCKING = flags -> flags.contains(MovementFlag.BLOCK_MOVEMENT_FULL) || flags.contains(MovementFlag.BLOCK_MOVEMENT_OBJECT) || flags.contains(MovementFlag.BLOCK_MOVEMENT_FLOOR) || flags.contains(MovementFlag.BLOCK_MOVEMENT_FLOOR_DECORATION);
@@ -26,19 +42,183 @@ public class LocalCollisionMap
     public static final Predicate<Set<MovementFlag>> BLOCKED_SOUTH = flags -> FULL_BLOCKING.test(flags) || flags.contains(MovementFlag.BLOCK_MOVEMENT_SOUTH) || flags.contains(MovementFlag.BLOCK_MOVEMENT_SOUTH_EAST) || flags.contains(MovementFlag.BLOCK_MOVEMENT_SOUTH_WEST);
     public static final Predicate<Set<MovementFlag>> BLOCKED_WEST = flags -> FULL_BLOCKING.test(flags) || flags.contains(MovementFlag.BLOCK_MOVEMENT_WEST) || flags.contains(MovementFlag.BLOCK_MOVEMENT_NORTH_WEST) || flags.contains(MovementFlag.BLOCK_MOVEMENT_SOUTH_WEST);
 
-    private final TIntIntHashMap collisionMap;
+    // bit mask equivalents of the predicates above
+    private static final int MASK_NORTH = MovementFlag.BLOCKING_FLAGS | CollisionDataFlag.BLOCK_MOVEMENT_NORTH | CollisionDataFlag.BLOCK_MOVEMENT_NORTH_EAST | CollisionDataFlag.BLOCK_MOVEMENT_NORTH_WEST;
+    private static final int MASK_EAST = MovementFlag.BLOCKING_FLAGS | CollisionDataFlag.BLOCK_MOVEMENT_EAST | CollisionDataFlag.BLOCK_MOVEMENT_NORTH_EAST | CollisionDataFlag.BLOCK_MOVEMENT_SOUTH_EAST;
+    private static final int MASK_SOUTH = MovementFlag.BLOCKING_FLAGS | CollisionDataFlag.BLOCK_MOVEMENT_SOUTH | CollisionDataFlag.BLOCK_MOVEMENT_SOUTH_EAST | CollisionDataFlag.BLOCK_MOVEMENT_SOUTH_WEST;
+    private static final int MASK_WEST = MovementFlag.BLOCKING_FLAGS | CollisionDataFlag.BLOCK_MOVEMENT_WEST | CollisionDataFlag.BLOCK_MOVEMENT_NORTH_WEST | CollisionDataFlag.BLOCK_MOVEMENT_SOUTH_WEST;
+
+    private static final int CARDINALS = Flags.NORTH | Flags.EAST | Flags.SOUTH | Flags.WEST;
+
+    private static final AtomicReference<LocalCollisionMap> SHARED = new AtomicReference<>();
+    private static Listener LISTENER;
+    // bumped by the listener, a shared map built before the latest bump is stale
+    private static volatile int epoch;
+
+    private final boolean ignoreDoors;
+    @Getter
+    private int baseX;
+    @Getter
+    private int baseY;
+    @Getter
+    private int plane;
     @Getter
-    private final List<Integer> ignoreTiles;
+    private int width;
+    @Getter
+    private int height;
+    private int[] flags;
+    private byte[] walkable;
+    private BitSet doored;
+    private List<Integer> ignoreTiles;
+    private int builtEpoch;
+
     public LocalCollisionMap()
     {
-        this.collisionMap = getCollision();
-        this.ignoreTiles = getDoored();
+        this(true);
     }
 
     public LocalCollisionMap(boolean ignoreDoors)
     {
-        this.collisionMap = getCollision();
-        this.ignoreTiles = ignoreDoors ? getDoored() : new ArrayList<>();
+        this.ignoreDoors = ignoreDoors;
+        rebuild(Scene.capture(ignoreDoors));
+    }
+
+    private LocalCollisionMap(LocalCollisionMap other)
+    {
+        this.ignoreDoors = other.ignoreDoors;
+        this.baseX = other.baseX;
+        this.baseY = other.baseY;
+        this.plane = other.plane;
+        this.width = other.width;
+        this.height = other.height;
+        this.flags = other.flags.clone();
+        this.walkable = other.walkable.clone();
+        this.doored = (BitSet) other.doored.clone();
+        this.ignoreTiles = other.ignoreTiles;
+        this.builtEpoch = other.builtEpoch;
+    }
+
+    /**
+     * The door-ignoring map of the current scene, shared instead of each search building its own.
+     * It is brought up to date with {@link #refresh()} after a scene load, plane change or object
+     * spawn or despawn. The refresh is made on a copy and published with a compare-and-set, so a map
+     * handed out earlier never changes under a search that is still reading it. No lock is held, so
+     * callers on the client thread never wait on a script thread that is itself waiting on the
+     * client thread.
+     * @return the current scene's map
+     */
+    public static LocalCollisionMap shared()
+    {
+        int current = epoch;
+        LocalCollisionMap map = SHARED.get();
+        WorldView wv = PlayerEx.getLocal().getWorldView();
+        if (map != null && map.builtEpoch == current && wv.getBaseX() == map.baseX
+                && wv.getBaseY() == map.baseY && wv.getPlane() == map.plane)
+        {
+            return map;
+        }
+
+        LocalCollisionMap next;
+        if (map == null)
+        {
+            next = new LocalCollisionMap();
+        }
+        else
+        {
+            next = new LocalCollisionMap(map);
+            next.refresh();
+        }
+        next.builtEpoch = current;
+        if (SHARED.compareAndSet(map, next))
+        {
+            return next;
+        }
+        // another thread published first, its map is at least as recent as the one it replaced
+        return SHARED.get();
+    }
+
+    /**
+     * Re-reads the scene collision and doors. If the scene base, plane or size changed the map is
+     * rebuilt, otherwise only tiles next to a changed flag or door are recomputed.
+     * @return true if anything changed
+     */
+    public boolean refresh()
+    {
+        return refresh(null);
+    }
+
+    /**
+     * Same as {@link #refresh()}, reporting each tile whose walkable directions changed. Nothing is
+     * reported when the map is rebuilt, check the base and plane for that.
+     * @param changed receives the packed world point ({@link WorldPointUtil#compress}) of changed tiles, may be null
+     * @return true if anything changed
+     */
+    public boolean refresh(IntConsumer changed)
+    {
+        Scene scene = Scene.capture(ignoreDoors);
+        int[][] current = scene.flags;
+        if (current == null || current.length == 0 || scene.baseX != baseX || scene.baseY != baseY || scene.plane != plane
+                || current.length != width || current[0].length != height)
+        {
+            rebuild(scene);
+            return true;
+        }
+
+        BitSet dirty = new BitSet(width * height);
+        for (int x = 0; x < width; x++)
+        {
+            int[] column = current[x];
+            for (int y = 0; y < height; y++)
+            {
+                int index = x * height + y;
+                if (flags[index] != column[y])
+                {
+                    flags[index] = column[y];
+                    dirty.set(index);
+                }
+            }
+        }
+
+        BitSet doors = doorBits(scene.doors);
+        BitSet changedDoors = (BitSet) doors.clone();
+        changedDoors.xor(doored);
+        dirty.or(changedDoors);
+        if (!changedDoors.isEmpty())
+        {
+            doored = doors;
+            ignoreTiles = null;
+        }
+
+        if (dirty.isEmpty())
+        {
+            return false;
+        }
+
+        byte[] before = changed != null ? walkable.clone() : null;
+
+        // cardinals read the tile and its edge neighbours, diagonals read cardinals one tile further
+        BitSet cardinal = expand(dirty);
+        for (int i = cardinal.nextSetBit(0); i >= 0; i = cardinal.nextSetBit(i + 1))
+        {
+            computeCardinals(i / height, i % height);
+        }
+        BitSet diagonal = expand(cardinal);
+        for (int i = diagonal.nextSetBit(0); i >= 0; i = diagonal.nextSetBit(i + 1))
+        {
+            computeDiagonals(i / height, i % height);
+        }
+
+        if (changed != null)
+        {
+            for (int i = diagonal.nextSetBit(0); i >= 0; i = diagonal.nextSetBit(i + 1))
+            {
+                if (before[i] != walkable[i])
+                {
+                    changed.accept(WorldPointUtil.compress(baseX + i / height, baseY + i % height, plane));
+                }
+            }
+        }
+        return true;
     }
 
     public byte all(short x, short y, byte z)
@@ -47,121 +227,274 @@ public class LocalCollisionMap
         {
             return Walker.getCollisionMap().all(x, y, z);
         }
+        return walkable(x, y, z);
+    }
 
-        byte n = (byte) (n(x,y,z) ? 0 : 1);
-        byte e = (byte) (e(x,y,z) ? 0 : 1);
-        byte s = (byte) (s(x,y,z) ? 0 : 1);
-        byte w = (byte) (w(x,y,z) ? 0 : 1);
-        if((n | e | s | w) == 0)
+    /**
+     * @return walkable directions of the tile in the {@link Flags} layout, none outside the snapshot
+     */
+    public byte walkable(int x, int y, int z)
+    {
+        int sx = x - baseX;
+        int sy = y - baseY;
+        if (z != plane || sx < 0 || sy < 0 || sx >= width || sy >= height)
         {
-            return 0;
+            return Flags.NONE;
         }
-
-        byte sw = (byte) (sw(x,y,z) ? 0 : 1);
-        byte se = (byte) (se(x,y,z) ? 0 : 1);
-        byte nw = (byte) (nw(x,y,z) ? 0 : 1);
-        byte ne = (byte) (ne(x,y,z) ? 0 : 1);
-
-        return (byte) (nw | (n << 1) | (ne << 2) | (w << 3) | (e << 4) | (sw << 5) | (s << 6) | (se << 7));
+        return walkable[sx * height + sy];
     }
 
     public boolean n(int x, int y, int z)
     {
-        if(isDoored(x, y, z) || isDoored(x, y + 1, z))
-            return false;
-        return BLOCKED_NORTH.test(getFlags(x, y, z)) || BLOCKED_SOUTH.test(getFlags(x, y + 1, z));
+        return (walkable(x, y, z) & Flags.NORTH) == 0;
     }
 
     public boolean e(int x, int y, int z)
     {
-        if (isDoored(x, y, z) || isDoored(x + 1, y, z))
-            return false;
-        return BLOCKED_EAST.test(getFlags(x, y, z)) || BLOCKED_WEST.test(getFlags(x + 1, y, z));
+        return (walkable(x, y, z) & Flags.EAST) == 0;
     }
 
     public boolean s(int x, int y, int z)
     {
-        if (isDoored(x, y, z) || isDoored(x, y - 1, z))
-            return false;
-        return BLOCKED_SOUTH.test(getFlags(x, y, z)) || BLOCKED_NORTH.test(getFlags(x, y - 1, z));
+        return (walkable(x, y, z) & Flags.SOUTH) == 0;
     }
 
     public boolean w(int x, int y, int z)
     {
-        if (isDoored(x, y, z) || isDoored(x - 1, y, z))
-            return false;
-        return BLOCKED_WEST.test(getFlags(x, y, z)) || BLOCKED_EAST.test(getFlags(x - 1, y, z));
+        return (walkable(x, y, z) & Flags.WEST) == 0;
     }
 
     public boolean ne(int x, int y, int z)
     {
-        return n(x, y, z) || e(x, y, z) || s(x, y + 1, z) || w(x + 1, y, z) || s(x + 1, y + 1, z) || w(x + 1, y + 1, z);
+        return (walkable(x, y, z) & Flags.NORTHEAST) == 0;
     }
 
     public boolean se(int x, int y, int z)
     {
-        return s(x, y, z) || e(x, y, z) || n(x, y - 1, z) || w(x + 1, y, z) || n(x + 1, y - 1, z) || w(x + 1, y - 1, z);
+        return (walkable(x, y, z) & Flags.SOUTHEAST) == 0;
     }
 
     public boolean sw(int x, int y, int z)
     {
-        return s(x, y, z) || w(x, y, z) || n(x, y - 1, z) || e(x - 1, y, z) || n(x - 1, y - 1, z) || e(x - 1, y - 1, z);
+        return (walkable(x, y, z) & Flags.SOUTHWEST) == 0;
     }
 
     public boolean nw(int x, int y, int z)
     {
-        return n(x, y, z) || w(x, y, z) || s(x, y + 1, z) || e(x - 1, y, z) || s(x - 1, y + 1, z) || e(x - 1, y + 1, z);
+        return (walkable(x, y, z) & Flags.NORTHWEST) == 0;
     }
 
-    private Set<MovementFlag> getFlags(int x, int y, int z)
+    /**
+     * @return raw collision flags of the tile, or {@link CollisionDataFlag#BLOCK_MOVEMENT_FULL} outside the snapshot
+     */
+    public int getFlags(int x, int y, int z)
     {
-        int compressed = WorldPointUtil.compress(x, y, z);
-        if(!collisionMap.contains(compressed))
+        int sx = x - baseX;
+        int sy = y - baseY;
+        if (z != plane || sx < 0 || sy < 0 || sx >= width || sy >= height)
         {
-            Set<MovementFlag> flags = new HashSet<>();
-            flags.add(MovementFlag.BLOCK_MOVEMENT_FULL);
-            return flags;
+            return CollisionDataFlag.BLOCK_MOVEMENT_FULL;
         }
-        return MovementFlag.getSetFlags(collisionMap.get(WorldPointUtil.compress(x, y, z)));
+        return flags[sx * height + sy];
     }
 
-    private boolean isDoored(int x, int y, int z)
+    public boolean isDoored(int x, int y, int z)
     {
-        int packed = WorldPointUtil.compress(x, y, z);
-        return ignoreTiles.contains(packed);
+        int sx = x - baseX;
+        int sy = y - baseY;
+        if (z != plane || sx < 0 || sy < 0 || sx >= width || sy >= height)
+        {
+            return false;
+        }
+        return doored.get(sx * height + sy);
     }
 
-    private List<Integer> getDoored()
+    /**
+     * @return packed world points of the door and gate tiles that are treated as passable
+     */
+    public List<Integer> getIgnoreTiles()
     {
-        return Static.invoke(() ->
-                GameManager.objectStream()
-                        .filter(o -> {
-                            String name = o.getName() == null ? "" :  o.getName().toLowerCase();
-                            return (name.contains("door") || name.contains("gate")) && !name.contains("trapdoor");
-                        })
-                        .map(door -> WorldPointUtil.compress(door.getWorldPoint().getX(), door.getWorldPoint().getY(), door.getWorldPoint().getPlane()))
-                        .collect(Collectors.toList())
-        );
+        List<Integer> tiles = ignoreTiles;
+        if (tiles == null)
+        {
+            tiles = new ArrayList<>(doored.cardinality());
+            for (int i = doored.nextSetBit(0); i >= 0; i = doored.nextSetBit(i + 1))
+            {
+                tiles.add(WorldPointUtil.compress(baseX + i / height, baseY + i % height, plane));
+            }
+            tiles = Collections.unmodifiableList(tiles);
+            ignoreTiles = tiles;
+        }
+        return tiles;
     }
 
-    private TIntIntHashMap getCollision()
+    private void rebuild(Scene scene)
     {
-        TIntIntHashMap collisionMap = new TIntIntHashMap();
-        WorldView wv = PlayerEx.getLocal().getWorldView();
-        if(wv.getCollisionMaps() == null || wv.getCollisionMaps()[wv.getPlane()] == null)
-            return collisionMap;
+        baseX = scene.baseX;
+        baseY = scene.baseY;
+        plane = scene.plane;
+
+        int[][] current = scene.flags;
+        if (current == null || current.length == 0)
+        {
+            width = height = 0;
+            flags = new int[0];
+            walkable = new byte[0];
+            doored = new BitSet();
+            ignoreTiles = null;
+            return;
+        }
+
+        width = current.length;
+        height = current[0].length;
+        flags = new int[width * height];
+        walkable = new byte[width * height];
+        for (int x = 0; x < width; x++)
+        {
+            System.arraycopy(current[x], 0, flags, x * height, height);
+        }
+        doored = doorBits(scene.doors);
+        ignoreTiles = null;
+
+        for (int x = 0; x < width; x++)
+        {
+            for (int y = 0; y < height; y++)
+            {
+                computeCardinals(x, y);
+            }
+        }
+        for (int x = 0; x < width; x++)
+        {
+            for (int y = 0; y < height; y++)
+            {
+                computeDiagonals(x, y);
+            }
+        }
+    }
+
+    private void computeCardinals(int x, int y)
+    {
+        int index = x * height + y;
+        int tile = flags[index];
+        boolean door = doored.get(index);
+        int result = walkable[index] & ~CARDINALS;
+        if (edgeOpen(door, tile, MASK_NORTH, x, y + 1, MASK_SOUTH))
+        {
+            result |= Flags.NORTH;
+        }
+        if (edgeOpen(door, tile, MASK_EAST, x + 1, y, MASK_WEST))
+        {
+            result |= Flags.EAST;
+        }
+        if (edgeOpen(door, tile, MASK_SOUTH, x, y - 1, MASK_NORTH))
+        {
+            result |= Flags.SOUTH;
+        }
+        if (edgeOpen(door, tile, MASK_WEST, x - 1, y, MASK_EAST))
+        {
+            result |= Flags.WEST;
+        }
+        walkable[index] = (byte) result;
+    }
 
-        int[][] flags = wv.getCollisionMaps()[wv.getPlane()].getFlags();
-        WorldPoint point;
-        for(int x = 0; x < flags.length; x++)
+    private boolean edgeOpen(boolean door, int tile, int tileMask, int nx, int ny, int neighbourMask)
+    {
+        boolean inside = nx >= 0 && ny >= 0 && nx < width && ny < height;
+        if (door || (inside && doored.get(nx * height + ny)))
         {
-            for(int y = 0; y < flags[x].length; y++)
+            return true;
+        }
+        return inside && (tile & tileMask) == 0 && (flags[nx * height + ny] & neighbourMask) == 0;
+    }
+
+    private void computeDiagonals(int x, int y)
+    {
+        int index = x * height + y;
+        int self = walkable[index];
+        int north = cardinals(x, y + 1);
+        int south = cardinals(x, y - 1);
+        int east = cardinals(x + 1, y);
+        int west = cardinals(x - 1, y);
+
+        int result = self & CARDINALS;
+        if ((self & Flags.NORTH) != 0 && (self & Flags.EAST) != 0 && (north & Flags.EAST) != 0 && (east & Flags.NORTH) != 0)
+        {
+            result |= Flags.NORTHEAST;
+        }
+        if ((self & Flags.SOUTH) != 0 && (self & Flags.EAST) != 0 && (south & Flags.EAST) != 0 && (east & Flags.SOUTH) != 0)
+        {
+            result |= Flags.SOUTHEAST;
+        }
+        if ((self & Flags.SOUTH) != 0 && (self & Flags.WEST) != 0 && (south & Flags.WEST) != 0 && (west & Flags.SOUTH) != 0)
+        {
+            result |= Flags.SOUTHWEST;
+        }
+        if ((self & Flags.NORTH) != 0 && (self & Flags.WEST) != 0 && (north & Flags.WEST) != 0 && (west & Flags.NORTH) != 0)
+        {
+            result |= Flags.NORTHWEST;
+        }
+        walkable[index] = (byte) result;
+    }
+
+    private int cardinals(int x, int y)
+    {
+        if (x < 0 || y < 0 || x >= width || y >= height)
+        {
+            return 0;
+        }
+        return walkable[x * height + y];
+    }
+
+    private BitSet expand(BitSet tiles)
+    {
+        BitSet expanded = new BitSet(width * height);
+        for (int i = tiles.nextSetBit(0); i >= 0; i = tiles.nextSetBit(i + 1))
+        {
+            int x = i / height;
+            int y = i % height;
+            for (int dx = -1; dx <= 1; dx++)
             {
-                point = WorldPoint.fromScene(wv, x, y, wv.getPlane());
-                collisionMap.put(WorldPointUtil.compress(point.getX(), point.getY(), wv.getPlane()), flags[x][y]);
+                for (int dy = -1; dy <= 1; dy++)
+                {
+                    int nx = x + dx;
+                    int ny = y + dy;
+                    if (nx >= 0 && ny >= 0 && nx < width && ny < height)
+                    {
+                        expanded.set(nx * height + ny);
+                    }
+                }
             }
         }
-        return collisionMap;
+        return expanded;
+    }
+
+    private BitSet doorBits(List<Integer> doors)
+    {
+        BitSet bits = new BitSet(width * height);
+        for (int packed : doors)
+        {
+            int sx = WorldPointUtil.getCompressedX(packed) - baseX;
+            int sy = WorldPointUtil.getCompressedY(packed) - baseY;
+            if (WorldPointUtil.getCompressedPlane(packed) == plane && sx >= 0 && sy >= 0 && sx < width && sy < height)
+            {
+                bits.set(sx * height + sy);
+            }
+        }
+        return bits;
+    }
+
+    /**
+     * Starts marking the {@link #shared()} map stale on scene loads and object changes.
+     */
+    public static void init()
+    {
+        if(LISTENER != null)
+            return;
+
+        LISTENER = new Listener();
+        Static.getRuneLite()
+                .getEventBus()
+                .register(LISTENER);
     }
 
     public static boolean canStep(int x, int y, int plane) {
@@ -175,4 +508,105 @@ public class LocalCollisionMap
             return false;
         return (wv.getCollisionMaps()[plane].getFlags()[sceneX][SceneY] & MovementFlag.BLOCKING_FLAGS) == 0;
     }
-}
\ No newline at end of file
+
+    /**
+     * Scene base, plane, a copy of the plane's collision flags and the door tiles, read in one
+     * client thread call so they all describe the same frame.
+     */
+    private static final class Scene
+    {
+        private final int baseX;
+        private final int baseY;
+        private final int plane;
+        private final int[][] flags;
+        private final List<Integer> doors;
+
+        private Scene(int baseX, int baseY, int plane, int[][] flags, List<Integer> doors)
+        {
+            this.baseX = baseX;
+            this.baseY = baseY;
+            this.plane = plane;
+            this.flags = flags;
+            this.doors = doors;
+        }
+
+        static Scene capture(boolean withDoors)
+        {
+            return Static.invoke(() -> {
+                WorldView wv = PlayerEx.getLocal().getWorldView();
+                CollisionData[] maps = wv.getCollisionMaps();
+                int[][] flags = null;
+                if (maps != null && maps[wv.getPlane()] != null)
+                {
+                    int[][] live = maps[wv.getPlane()].getFlags();
+                    flags = new int[live.length][];
+                    for (int x = 0; x < live.length; x++)
+                    {
+                        flags[x] = live[x].clone();
+                    }
+                }
+
+                List<Integer> doors = new ArrayList<>();
+                if (withDoors)
+                {
+                    GameManager.objectStream()
+                            .filter(o -> {
+                                String name = o.getName() == null ? "" :  o.getName().toLowerCase();
+                                return (name.contains("door") || name.contains("gate")) && !name.contains("trapdoor");
+                            })
+                            .forEach(door -> doors.add(WorldPointUtil.compress(door.getWorldPoint().getX(), door.getWorldPoint().getY(), door.getWorldPoint().getPlane())));
+                }
+                return new Scene(wv.getBaseX(), wv.getBaseY(), wv.getPlane(), flags, doors);
+            });
+        }
+    }
+
+    public static final class Listener
+    {
+        private Listener()
+        {
+        }
+
+        @Subscribe
+        public void onGameStateChanged(GameStateChanged event)
+        {
+            epoch++;
+        }
+
+        @Subscribe
+        public void onGameObjectSpawned(GameObjectSpawned event)
+        {
+            epoch++;
+        }
+
+        @Subscribe
+        public void onGameObjectDespawned(GameObjectDespawned event)
+        {
+            epoch++;
+        }
+
+        @Subscribe
+        public void onWallObjectSpawned(WallObjectSpawned event)
+        {
+            epoch++;
+        }
+
+        @Subscribe
+        public void onWallObjectDespawned(WallObjectDespawned event)
+        {
+            epoch++;
+        }
+
+        @Subscribe
+        public void onGroundObjectSpawned(GroundObjectSpawned event)
+        {
+            epoch++;
+        }
+
+        @Subscribe
+        public void onGroundObjectDespawned(GroundObjectDespawned event)
+        {
+            epoch++;
+        }
+    }
+}
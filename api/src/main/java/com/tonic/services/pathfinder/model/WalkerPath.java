@@ -19,9 +19,11 @@ import com.tonic.queries.WidgetQuery;
 import static com.tonic.services.pathfinder.Walker.*;
 import com.tonic.services.GameManager;
 import com.tonic.services.pathfinder.PathfinderAlgo;
+import com.tonic.services.pathfinder.RouteCache;
 import com.tonic.services.pathfinder.Walker;
 import com.tonic.services.pathfinder.abstractions.IPathfinder;
 import com.tonic.services.pathfinder.abstractions.IStep;
+import com.tonic.services.pathfinder.implimentations.multitarget.TargetDistances;
 import com.tonic.services.pathfinder.teleports.Teleport;
 import com.tonic.util.ClickManagerUtil;
 import com.tonic.util.StaticIntFinder;
@@ -36,6 +38,7 @@ import net.runelite.api.gameval.ItemID;
 import net.runelite.api.widgets.Widget;
 import net.runelite.api.widgets.WidgetInfo;
 import org.apache.commons.lang3.ArrayUtils;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.ThreadLocalRandom;
 
@@ -76,9 +79,8 @@ public class WalkerPath
     public static WalkerPath get(WorldPoint target)
     {
         target = Walker.getCollisionMap().nearestWalkableEuclidean(target, 5);
-        final IPathfinder engine = Static.getVitaConfig().getPathfinderImpl().newInstance();
-        List<? extends IStep> path = engine.find(target);
-        return new WalkerPath(path, engine.getTeleport());
+        RouteCache.Result route = RouteCache.find(Static.getVitaConfig().getPathfinderImpl(), target);
+        return new WalkerPath(route.getSteps(), route.getTeleport());
     }
 
     /**
@@ -89,9 +91,8 @@ public class WalkerPath
     public static WalkerPath get(WorldPoint target, PathfinderAlgo algo)
     {
         target = Walker.getCollisionMap().nearestWalkableEuclidean(target, 5);
-        final IPathfinder engine = algo.newInstance();
-        List<? extends IStep> path = engine.find(target);
-        return new WalkerPath(path, engine.getTeleport());
+        RouteCache.Result route = RouteCache.find(algo, target);
+        return new WalkerPath(route.getSteps(), route.getTeleport());
     }
 
     /**
@@ -100,10 +101,27 @@ public class WalkerPath
      * @return The WalkerPath
      */
     public static WalkerPath get(List<WorldArea> targets)
+    {
+        RouteCache.Result route = RouteCache.find(Static.getVitaConfig().getPathfinderImpl(), targets);
+        return new WalkerPath(route.getSteps(), route.getTeleport());
+    }
+
+    /**
+     * Get a WalkerPath to the nearest of multiple targets, costing all of them in one search
+     * @param maxCost cost past which targets are considered unreachable
+     * @param targets The target WorldPoints
+     * @return The WalkerPath, empty if no target was reached
+     */
+    public static WalkerPath getNearest(int maxCost, WorldPoint... targets)
     {
         final IPathfinder engine = Static.getVitaConfig().getPathfinderImpl().newInstance();
-        List<? extends IStep> path = engine.find(targets);
-        return new WalkerPath(path, engine.getTeleport());
+        TargetDistances distances = engine.findDistances(maxCost, targets);
+        int nearest = distances.getNearest();
+        if(nearest == -1)
+        {
+            return new WalkerPath(new ArrayList<>(), null);
+        }
+        return new WalkerPath(distances.getPath(nearest), distances.getTeleport(nearest));
     }
 
     /**
@@ -140,8 +158,9 @@ public class WalkerPath
     private void repath()
     {
         steps.clear();
-        final IPathfinder engine = Static.getVitaConfig().getPathfinderImpl().newInstance();
-        ((List) steps).addAll(engine.find(destination));
+        // the cached route is the one that just failed to walk
+        RouteCache.invalidate(destination);
+        ((List) steps).addAll(RouteCache.find(Static.getVitaConfig().getPathfinderImpl(), destination).getSteps());
     }
 
     /**
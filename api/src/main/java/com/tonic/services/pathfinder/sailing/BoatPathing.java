@@ -14,6 +14,7 @@ import com.tonic.services.profiler.recording.MethodProfiler;
 import com.tonic.util.Distance;
 import com.tonic.util.Profiler;
 import com.tonic.util.WorldPointUtil;
+import com.tonic.util.handler.StepContext;
 import com.tonic.util.handler.StepHandler;
 import it.unimi.dsi.fastutil.ints.Int2IntOpenHashMap;
 import it.unimi.dsi.fastutil.ints.IntList;
@@ -51,6 +52,12 @@ import java.util.*;
  */
 public class BoatPathing
 {
+    private static final int PATH = StepContext.key("PATH");
+    private static final int POINTER = StepContext.key("POINTER");
+    private static final int LAST_HEADING = StepContext.key("LAST_HEADING");
+    private static final int FINAL_DESTINATION = StepContext.key("FINAL_DESTINATION");
+    private static final int HEADING_INIT_SET = StepContext.key("HEADING_INIT_SET");
+
     private static final int[] DX = {-1, 1, 0, 0, -1, 1, -1, 1};
     private static final int[] DY = {0, 0, -1, 1, -1, -1, 1, 1};
     private static final int[] BASE_COSTS = {10, 10, 10, 10, 14, 14, 14, 14};
@@ -153,19 +160,19 @@ public class BoatPathing
     {
         return GenericHandlerBuilder.get()
                 .addDelayUntil(context -> {
-                    if(!context.contains("PATH"))
+                    if(!context.contains(PATH))
                     {
-                        context.put("PATH", path);
-                        context.put("POINTER", 0);
-                        context.put("LAST_HEADING", null);
-                        context.put("FINAL_DESTINATION", path.get(path.size() - 1).getPosition());
+                        context.put(PATH, path);
+                        context.put(POINTER, 0);
+                        context.put(LAST_HEADING, null);
+                        context.put(FINAL_DESTINATION, path.get(path.size() - 1).getPosition());
                     }
-                    List<Waypoint> waypoints = context.get("PATH");
+                    List<Waypoint> waypoints = context.get(PATH);
                     Waypoint first = waypoints.get(1);
                     WorldPoint start = BoatCollisionAPI.getPlayerBoatWorldPoint();
                     Heading heading = Heading.getOptimalHeading(start, first.getPosition());
 
-                    boolean headingInitSet = context.getOrDefault("HEADING_INIT_SET", false);
+                    boolean headingInitSet = context.getOrDefault(HEADING_INIT_SET, false);
                     if(headingInitSet)
                     {
                         int dif = heading.getValue() - SailingAPI.getHeading().getValue();
@@ -180,21 +187,21 @@ public class BoatPathing
                         return false;
                     }
                     SailingAPI.setHeading(heading);
-                    context.put("HEADING_INIT_SET", true);
+                    context.put(HEADING_INIT_SET, true);
                     return false;
                 })
                 .addDelayUntil(context -> {
-                    if(!context.contains("PATH") || !SailingAPI.isOnBoat())
+                    if(!context.contains(PATH) || !SailingAPI.isOnBoat())
                     {
                         return true;
                     }
-                    List<Waypoint> waypoints = context.get("PATH");
-                    int pointer = context.get("POINTER");
+                    List<Waypoint> waypoints = context.get(PATH);
+                    int pointer = context.get(POINTER);
 
                     if(waypoints == null || waypoints.isEmpty() || pointer >= waypoints.size())
                     {
-                        context.remove("PATH");
-                        context.remove("POINTER");
+                        context.remove(PATH);
+                        context.remove(POINTER);
                         SailingAPI.unSetSails();
                         GameManager.clearPathPoints();
                         return true;
@@ -206,8 +213,8 @@ public class BoatPathing
 
                     if(Distance.chebyshev(start, end.getPosition()) <= 3)
                     {
-                        context.remove("PATH");
-                        context.remove("POINTER");
+                        context.remove(PATH);
+                        context.remove(POINTER);
                         SailingAPI.unSetSails();
                         GameManager.clearPathPoints();
                         return true;
@@ -215,7 +222,7 @@ public class BoatPathing
 
                     if((end != waypoint && Distance.chebyshev(start, waypoint.getPosition()) <= 4))
                     {
-                        context.put("POINTER", pointer + 1);
+                        context.put(POINTER, pointer + 1);
                         return false;
                     }
                     if(SailingAPI.trimSails())
@@ -223,11 +230,11 @@ public class BoatPathing
                         return false;
                     }
                     Heading optimalHeading = Heading.getOptimalHeading(waypoint.getPosition());
-                    Heading lastHeading = context.get("LAST_HEADING");
+                    Heading lastHeading = context.get(LAST_HEADING);
                     if(optimalHeading != lastHeading)
                     {
                         SailingAPI.sailTo(waypoint.getPosition());
-                        context.put("LAST_HEADING", optimalHeading);
+                        context.put(LAST_HEADING, optimalHeading);
                     }
                     return false;
                 })
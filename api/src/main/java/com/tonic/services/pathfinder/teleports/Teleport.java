@@ -8,10 +8,13 @@ import net.runelite.api.coords.WorldPoint;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Supplier;
 
 @Value
 public class Teleport
 {
+    private static final ThreadLocal<List<Teleport>> LINKS = new ThreadLocal<>();
+
     WorldPoint destination;
     int radius;
     StepHandler handlers;
@@ -45,9 +48,35 @@ public class Teleport
 
     public static List<Teleport> buildTeleportLinks()
     {
+        List<Teleport> links = LINKS.get();
+        if (links != null)
+        {
+            return new ArrayList<>(links);
+        }
         return new ArrayList<>(TeleportLoader.buildTeleports());
     }
 
+    /**
+     * Runs a search with {@link #buildTeleportLinks()} answering from links the caller just built,
+     * instead of building them again on this thread.
+     * @param links teleport links
+     * @param search search to run
+     * @return the search's result
+     */
+    public static <T> T withLinks(List<Teleport> links, Supplier<T> search)
+    {
+        List<Teleport> previous = LINKS.get();
+        LINKS.set(links);
+        try
+        {
+            return search.get();
+        }
+        finally
+        {
+            LINKS.set(previous);
+        }
+    }
+
     public Teleport copy()
     {
         return new Teleport(
@@ -40,6 +40,7 @@ import org.apache.commons.lang3.tuple.Pair;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.*;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import static com.tonic.services.pathfinder.teleports.MovementConstants.SLASH_ITEMS;
@@ -52,6 +53,8 @@ public class TransportLoader
     private static final TIntObjectHashMap<ArrayList<Transport>> ALL_STATIC_TRANSPORTS = new TIntObjectHashMap<>();
     private static final TIntObjectHashMap<ArrayList<Transport>> LAST_TRANSPORT_LIST = new TIntObjectHashMap<>();
     private static List<Transport> TEMP_TRANSPORTS;
+    private static volatile int transportHash;
+    private static final ThreadLocal<Boolean> REFRESHED = ThreadLocal.withInitial(() -> false);
 
     public static void init()
     {
@@ -105,9 +108,36 @@ public class TransportLoader
 
     public static void refreshTransports()
     {
+        if (REFRESHED.get())
+        {
+            return;
+        }
         refreshTransports(true);
     }
 
+    /**
+     * Runs a search right after a refresh, skipping the refreshes the search itself makes on this
+     * thread, so a caller that refreshed to inspect the transports doesn't pay for it twice.
+     * @param search search to run against the current transports
+     * @return the search's result
+     */
+    public static <T> T withCurrentTransports(Supplier<T> search)
+    {
+        if (REFRESHED.get())
+        {
+            return search.get();
+        }
+        REFRESHED.set(true);
+        try
+        {
+            return search.get();
+        }
+        finally
+        {
+            REFRESHED.set(false);
+        }
+    }
+
     public static void refreshTransports(boolean filter)
     {
         boolean lock = Static.invoke(() ->
@@ -474,10 +504,31 @@ public class TransportLoader
                 LAST_TRANSPORT_LIST.retainEntries((key, value) ->  !value.isEmpty());
             }
 
+            int hash = 0;
+            for (ArrayList<Transport> list : LAST_TRANSPORT_LIST.valueCollection())
+            {
+                for (Transport transport : list)
+                {
+                    // order independent, the map's iteration order isn't stable across refreshes
+                    hash += Integer.rotateLeft(transport.getSource() * 31 + transport.getDestination(), 7) ^ transport.getDuration();
+                }
+            }
+            transportHash = hash;
+
             return true;
         });
     }
 
+    /**
+     * Hash of the transports kept by the last refresh, by source, destination and duration. The
+     * transport objects are rebuilt on every refresh, so equal hashes are how callers tell the
+     * pathfinders would see the same transport graph.
+     */
+    public static int getTransportHash()
+    {
+        return transportHash;
+    }
+
     private static void canoes(final TIntObjectHashMap<ArrayList<Transport>> transports)
     {
         for(Transport transport : CanoeStation.getTravelMatrix())
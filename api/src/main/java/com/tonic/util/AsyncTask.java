@@ -2,6 +2,7 @@ package com.tonic.util;
 
 import com.tonic.Logger;
 import com.tonic.api.threaded.Delays;
+import com.tonic.api.threaded.WaitRegistry;
 import lombok.Getter;
 import lombok.NonNull;
 import lombok.Setter;
@@ -44,11 +45,13 @@ public class AsyncTask implements Runnable {
     public static void _cancel()
     {
         canceled = true;
+        WaitRegistry.wakeAll();
     }
 
     public void cancel()
     {
         canceled = true;
+        WaitRegistry.wakeAll();
     }
 
     public static void dispose()
@@ -0,0 +1,275 @@
+package com.tonic.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Immutable region-bucketed grid over axis-aligned tile rectangles. Each rectangle is registered in
+ * every 64x64 region it overlaps, so containment and nearest-rectangle queries only look at the
+ * handful of entries near the query tile and never allocate.
+ * <p>
+ * Entries are identified by their insertion index. Where several entries match a query equally
+ * well the lowest index wins, which matches a linear scan over the same entries in order.
+ *
+ * @param <T> value type
+ */
+public final class SpatialIndex<T>
+{
+    private static final int REGION_SHIFT = 6;
+    private static final int[] EMPTY = new int[0];
+
+    private final int[] minX;
+    private final int[] minY;
+    private final int[] maxX;
+    private final int[] maxY;
+    private final int[] plane;
+    private final Object[] values;
+
+    private final int regionMinX;
+    private final int regionMinY;
+    private final int regionsWide;
+    private final int regionsHigh;
+    private final int[][] buckets;
+
+    private SpatialIndex(Builder<T> builder)
+    {
+        int size = builder.values.size();
+        this.minX = Arrays.copyOf(builder.minX, size);
+        this.minY = Arrays.copyOf(builder.minY, size);
+        this.maxX = Arrays.copyOf(builder.maxX, size);
+        this.maxY = Arrays.copyOf(builder.maxY, size);
+        this.plane = Arrays.copyOf(builder.plane, size);
+        this.values = builder.values.toArray();
+
+        if (size == 0)
+        {
+            regionMinX = regionMinY = regionsWide = regionsHigh = 0;
+            buckets = new int[0][];
+            return;
+        }
+
+        int rMinX = Integer.MAX_VALUE, rMinY = Integer.MAX_VALUE, rMaxX = Integer.MIN_VALUE, rMaxY = Integer.MIN_VALUE;
+        for (int i = 0; i < size; i++)
+        {
+            rMinX = Math.min(rMinX, minX[i] >> REGION_SHIFT);
+            rMinY = Math.min(rMinY, minY[i] >> REGION_SHIFT);
+            rMaxX = Math.max(rMaxX, maxX[i] >> REGION_SHIFT);
+            rMaxY = Math.max(rMaxY, maxY[i] >> REGION_SHIFT);
+        }
+        regionMinX = rMinX;
+        regionMinY = rMinY;
+        regionsWide = rMaxX - rMinX + 1;
+        regionsHigh = rMaxY - rMinY + 1;
+
+        int[] counts = new int[regionsWide * regionsHigh];
+        for (int i = 0; i < size; i++)
+        {
+            for (int rx = (minX[i] >> REGION_SHIFT) - regionMinX; rx <= (maxX[i] >> REGION_SHIFT) - regionMinX; rx++)
+            {
+                for (int ry = (minY[i] >> REGION_SHIFT) - regionMinY; ry <= (maxY[i] >> REGION_SHIFT) - regionMinY; ry++)
+                {
+                    counts[rx * regionsHigh + ry]++;
+                }
+            }
+        }
+
+        buckets = new int[counts.length][];
+        for (int b = 0; b < counts.length; b++)
+        {
+            buckets[b] = counts[b] == 0 ? EMPTY : new int[counts[b]];
+            counts[b] = 0;
+        }
+
+        // ascending insertion order within each bucket
+        for (int i = 0; i < size; i++)
+        {
+            for (int rx = (minX[i] >> REGION_SHIFT) - regionMinX; rx <= (maxX[i] >> REGION_SHIFT) - regionMinX; rx++)
+            {
+                for (int ry = (minY[i] >> REGION_SHIFT) - regionMinY; ry <= (maxY[i] >> REGION_SHIFT) - regionMinY; ry++)
+                {
+                    int b = rx * regionsHigh + ry;
+                    buckets[b][counts[b]++] = i;
+                }
+            }
+        }
+    }
+
+    public static <T> Builder<T> builder()
+    {
+        return new Builder<>();
+    }
+
+    /**
+     * Finds the first entry containing the tile.
+     * @return entry index, or -1 if no entry contains the tile
+     */
+    public int containing(int x, int y, int z)
+    {
+        int[] bucket = bucket(x >> REGION_SHIFT, y >> REGION_SHIFT);
+        for (int id : bucket)
+        {
+            if (contains(id, x, y, z))
+            {
+                return id;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Finds the entry nearest to the tile by Chebyshev distance, on the same plane only.
+     * A containing entry is at distance zero.
+     * @param maxDistance exclusive upper bound on the distance
+     * @return entry index, or -1 if no entry is closer than maxDistance
+     */
+    public int nearest(int x, int y, int z, int maxDistance)
+    {
+        if (maxDistance <= 0 || buckets.length == 0)
+        {
+            return -1;
+        }
+
+        int best = -1;
+        int bestDistance = maxDistance;
+        // the whole map fits in 2^15 tiles, clamp so huge bounds can't overflow
+        int reach = Math.min(maxDistance - 1, 1 << 15);
+        int rxFrom = Math.max((x - reach) >> REGION_SHIFT, regionMinX);
+        int rxTo = Math.min((x + reach) >> REGION_SHIFT, regionMinX + regionsWide - 1);
+        int ryFrom = Math.max((y - reach) >> REGION_SHIFT, regionMinY);
+        int ryTo = Math.min((y + reach) >> REGION_SHIFT, regionMinY + regionsHigh - 1);
+        for (int rx = rxFrom; rx <= rxTo; rx++)
+        {
+            for (int ry = ryFrom; ry <= ryTo; ry++)
+            {
+                for (int id : buckets[(rx - regionMinX) * regionsHigh + (ry - regionMinY)])
+                {
+                    if (plane[id] != z)
+                    {
+                        continue;
+                    }
+                    int distance = distance(id, x, y);
+                    if (distance < bestDistance || (distance == bestDistance && best != -1 && id < best))
+                    {
+                        bestDistance = distance;
+                        best = id;
+                    }
+                }
+            }
+        }
+        return best;
+    }
+
+    public boolean contains(int id, int x, int y, int z)
+    {
+        return plane[id] == z && x >= minX[id] && x <= maxX[id] && y >= minY[id] && y <= maxY[id];
+    }
+
+    /**
+     * @return Chebyshev distance from the tile to the entry's rectangle, ignoring plane
+     */
+    public int distance(int id, int x, int y)
+    {
+        int dx = x < minX[id] ? minX[id] - x : (x > maxX[id] ? x - maxX[id] : 0);
+        int dy = y < minY[id] ? minY[id] - y : (y > maxY[id] ? y - maxY[id] : 0);
+        return Math.max(dx, dy);
+    }
+
+    @SuppressWarnings("unchecked")
+    public T get(int id)
+    {
+        return (T) values[id];
+    }
+
+    public int size()
+    {
+        return values.length;
+    }
+
+    public int getMinX(int id)
+    {
+        return minX[id];
+    }
+
+    public int getMinY(int id)
+    {
+        return minY[id];
+    }
+
+    public int getMaxX(int id)
+    {
+        return maxX[id];
+    }
+
+    public int getMaxY(int id)
+    {
+        return maxY[id];
+    }
+
+    public int getPlane(int id)
+    {
+        return plane[id];
+    }
+
+    private int[] bucket(int rx, int ry)
+    {
+        rx -= regionMinX;
+        ry -= regionMinY;
+        if (rx < 0 || ry < 0 || rx >= regionsWide || ry >= regionsHigh)
+        {
+            return EMPTY;
+        }
+        return buckets[rx * regionsHigh + ry];
+    }
+
+    public static final class Builder<T>
+    {
+        private int[] minX = new int[16];
+        private int[] minY = new int[16];
+        private int[] maxX = new int[16];
+        private int[] maxY = new int[16];
+        private int[] plane = new int[16];
+        private final List<T> values = new ArrayList<>();
+
+        private Builder()
+        {
+        }
+
+        /**
+         * Adds an inclusive tile rectangle.
+         */
+        public Builder<T> add(int minX, int minY, int maxX, int maxY, int plane, T value)
+        {
+            int i = values.size();
+            if (i == this.minX.length)
+            {
+                int capacity = i * 2;
+                this.minX = Arrays.copyOf(this.minX, capacity);
+                this.minY = Arrays.copyOf(this.minY, capacity);
+                this.maxX = Arrays.copyOf(this.maxX, capacity);
+                this.maxY = Arrays.copyOf(this.maxY, capacity);
+                this.plane = Arrays.copyOf(this.plane, capacity);
+            }
+            this.minX[i] = Math.min(minX, maxX);
+            this.minY[i] = Math.min(minY, maxY);
+            this.maxX[i] = Math.max(minX, maxX);
+            this.maxY[i] = Math.max(minY, maxY);
+            this.plane[i] = plane;
+            values.add(value);
+            return this;
+        }
+
+        /**
+         * Adds a single tile.
+         */
+        public Builder<T> add(int x, int y, int plane, T value)
+        {
+            return add(x, y, x, y, plane, value);
+        }
+
+        public SpatialIndex<T> build()
+        {
+            return new SpatialIndex<>(this);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.tonic.util.handler;
 
+import com.tonic.Logger;
 import com.tonic.Static;
 import com.tonic.api.game.MovementAPI;
 import com.tonic.data.wrappers.PlayerEx;
@@ -21,6 +22,8 @@ import java.util.function.*;
 public class HandlerBuilder
 {
     public static final int END_EXECUTION = Integer.MAX_VALUE;
+    private static final int PATH = StepContext.key("PATH");
+    private static final int TARGET_AREA = StepContext.key("TARGET_AREA");
 
     /**
      * Creates a new HandlerBuilder
@@ -45,13 +48,25 @@ public class HandlerBuilder
 
     public static void speedUp(StepContext context)
     {
-        context.put("SPEED_UP", true);
+        context.speedUp();
     }
 
+    /**
+     * Resolves a label registered on the handler to its step.
+     *
+     * @param label   the label
+     * @param context the handler's context
+     * @return the labeled step, or END_EXECUTION if there is no such label
+     */
     public static int jump(String label, StepContext context)
     {
-        context.put("MAGIC_LABEL_STEP", label);
-        return 0xDECAFBAD;
+        Integer step = context.getLabels().get(label);
+        if(step == null)
+        {
+            Logger.warn("No such label: " + label);
+            return END_EXECUTION;
+        }
+        return step;
     }
 
     /**
@@ -120,7 +135,7 @@ public class HandlerBuilder
         handler.add(step, context -> {
             if (remaining.decrementAndGet() <= 1) {
                 remaining.set(delay);
-                context.put("SPEED_UP", true);
+                context.speedUp();
                 return step + 1;
             }
             return step;
@@ -142,7 +157,7 @@ public class HandlerBuilder
             boolean met = condition.test(context);
             if (met) {
                 remaining.set(timeout);
-                context.put("SPEED_UP", true);
+                context.speedUp();
                 return step + 1;
             }
             if (remaining.get() <= 1) {
@@ -183,7 +198,7 @@ public class HandlerBuilder
         handler.add(step, context -> {
             if(condition.test(context))
             {
-                context.put("SPEED_UP", true);
+                context.speedUp();
                 return step + 1;
             } else {
                 return step;
@@ -222,16 +237,16 @@ public class HandlerBuilder
     {
         HandlerBuilder builder = HandlerBuilder.get()
                 .addDelayUntil(0, context -> {
-                    WalkerPath path = context.get("PATH");
+                    WalkerPath path = context.get(PATH);
                     if(path == null)
                     {
                         path = WalkerPath.get(location);
-                        context.put("PATH", path);
+                        context.put(PATH, path);
                     }
                     boolean value = !path.step();
                     if(value)
                     {
-                        context.remove("PATH");
+                        context.remove(PATH);
                     }
                     return value;
                 })
@@ -243,23 +258,23 @@ public class HandlerBuilder
     {
         HandlerBuilder builder = HandlerBuilder.get()
                 .addDelayUntil(0, context -> {
-                    WorldPoint location = context.get("TARGET_AREA");
+                    WorldPoint location = context.get(TARGET_AREA);
                     if(location == null)
                     {
                         location = locationSupplier.get();
-                        context.put("TARGET_AREA", location);
+                        context.put(TARGET_AREA, location);
                     }
-                    WalkerPath path = context.get("PATH");
+                    WalkerPath path = context.get(PATH);
                     if(path == null)
                     {
                         path = WalkerPath.get(location);
-                        context.put("PATH", path);
+                        context.put(PATH, path);
                     }
                     boolean value = !path.step();
                     if(value)
                     {
-                        context.remove("TARGET_AREA");
-                        context.remove("PATH");
+                        context.remove(TARGET_AREA);
+                        context.remove(PATH);
                     }
                     return value;
                 })
@@ -273,19 +288,19 @@ public class HandlerBuilder
                 .addDelayUntil(0, context -> {
                     if(location.contains(PlayerEx.getLocal().getWorldPoint()))
                     {
-                        context.remove("PATH");
+                        context.remove(PATH);
                         return true;
                     }
-                    WalkerPath path = context.get("PATH");
+                    WalkerPath path = context.get(PATH);
                     if(path == null)
                     {
                         path = WalkerPath.get(List.of(location));
-                        context.put("PATH", path);
+                        context.put(PATH, path);
                     }
                     boolean value = !path.step();
                     if(value)
                     {
-                        context.remove("PATH");
+                        context.remove(PATH);
                     }
                     return value;
                 })
@@ -297,29 +312,29 @@ public class HandlerBuilder
     {
         HandlerBuilder builder = HandlerBuilder.get()
                 .addDelayUntil(0, context -> {
-                    WorldArea location = context.get("TARGET_AREA");
+                    WorldArea location = context.get(TARGET_AREA);
                     if(location == null)
                     {
                         location = locationSupplier.get();
-                        context.put("TARGET_AREA", location);
+                        context.put(TARGET_AREA, location);
                     }
                     if(location.contains(PlayerEx.getLocal().getWorldPoint()))
                     {
-                        context.remove("TARGET_AREA");
-                        context.remove("PATH");
+                        context.remove(TARGET_AREA);
+                        context.remove(PATH);
                         return true;
                     }
-                    WalkerPath path = context.get("PATH");
+                    WalkerPath path = context.get(PATH);
                     if(path == null)
                     {
                         path = WalkerPath.get(List.of(location));
-                        context.put("PATH", path);
+                        context.put(PATH, path);
                     }
                     boolean value = !path.step();
                     if(value)
                     {
-                        context.remove("TARGET_AREA");
-                        context.remove("PATH");
+                        context.remove(TARGET_AREA);
+                        context.remove(PATH);
                     }
                     return value;
                 })
@@ -2,51 +2,191 @@ package com.tonic.util.handler;
 
 import lombok.Getter;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Per-handler state. Keys are interned once to int slots with {@link #key(String)}, so steps that
+ * hold on to the slot read and write it with an array index. The string methods remain for builders
+ * and scripts that key by name: a name that was interned uses its slot, any other name is kept in
+ * a map of this context only, so names built from runtime data never grow the shared slot table.
+ */
 public class StepContext
 {
+    private static final Map<String,Integer> KEYS = new ConcurrentHashMap<>();
+    private static final Object NULL = new Object();
+
+    /**
+     * Set by a step to run the next step in the same call instead of waiting for the next one.
+     */
+    public static final int SPEED_UP = key("SPEED_UP");
+
     @Getter
     private final Map<String,Integer> labels = new HashMap<>();
-    private final Map<String, Object> contextMap = new HashMap<>();
+    private Object[] slots = new Object[Math.max(16, KEYS.size())];
+    private Map<String,Object> named;
+
+    /**
+     * Interns a key to its slot. Slots are shared by every context and never released, so only
+     * intern constant names, e.g. into a static final field, and resolve them once up front. Names
+     * built from runtime data such as item names or ids belong in the string methods.
+     * @param name key name
+     * @return the slot
+     */
+    public static int key(String name) {
+        Integer slot = KEYS.get(name);
+        if(slot != null) {
+            return slot;
+        }
+        synchronized (KEYS) {
+            return KEYS.computeIfAbsent(name, k -> KEYS.size());
+        }
+    }
 
     public List<Object> values() {
-        return List.copyOf(contextMap.values());
+        List<Object> values = new ArrayList<>();
+        for(Object value : slots) {
+            if(value != null) {
+                values.add(value == NULL ? null : value);
+            }
+        }
+        if(named != null) {
+            values.addAll(named.values());
+        }
+        return values;
+    }
+
+    /**
+     * Drops every value, keeping the labels the handler was built with.
+     */
+    public void clear() {
+        Arrays.fill(slots, null);
+        named = null;
+    }
+
+    public void put(int slot, Object value) {
+        if(slot >= slots.length) {
+            slots = Arrays.copyOf(slots, Math.max(slot + 1, slots.length * 2));
+        }
+        slots[slot] = value == null ? NULL : value;
+    }
+
+    public <T> T get(int slot) {
+        if(slot >= slots.length) {
+            return null;
+        }
+        Object value = slots[slot];
+        return value == NULL ? null : (T) value;
+    }
+
+    public boolean contains(int slot) {
+        return slot < slots.length && slots[slot] != null;
+    }
+
+    public void remove(int slot) {
+        if(slot < slots.length) {
+            slots[slot] = null;
+        }
+    }
+
+    public <T> T getOrDefault(int slot, T defaultValue) {
+        if(!contains(slot)) {
+            put(slot, defaultValue);
+            return defaultValue;
+        }
+        return get(slot);
+    }
+
+    public boolean getBoolean(int slot) {
+        return slot < slots.length && slots[slot] == Boolean.TRUE;
+    }
+
+    /**
+     * Runs the next step in the same call.
+     */
+    public void speedUp() {
+        put(SPEED_UP, true);
+    }
+
+    /**
+     * @return whether a step asked to speed up, clearing the request
+     */
+    boolean takeSpeedUp() {
+        if(slots[SPEED_UP] == null) {
+            return false;
+        }
+        slots[SPEED_UP] = null;
+        return true;
     }
 
     public void put(String key, Object value) {
-        contextMap.put(key, value);
+        int slot = slot(key);
+        if(slot >= 0) {
+            put(slot, value);
+            return;
+        }
+        if(named == null) {
+            named = new HashMap<>();
+        }
+        named.put(key, value);
     }
 
     public void putIfAbsent(String key, Object value) {
-        contextMap.putIfAbsent(key, value);
+        if(!contains(key)) {
+            put(key, value);
+        }
     }
 
     public <T> T getOrDefault(String key, T defaultValue) {
-        if(!contextMap.containsKey(key)) {
+        if(!contains(key)) {
             put(key, defaultValue);
             return defaultValue;
         }
-        return (T) contextMap.get(key);
+        return get(key);
     }
 
     public <T> T get(String key) {
-        if(!contextMap.containsKey(key)) {
-            return null;
+        int slot = slot(key);
+        if(slot >= 0) {
+            return get(slot);
         }
-        return (T) contextMap.get(key);
+        return named == null ? null : (T) named.get(key);
     }
 
     public boolean contains(String key) {
-        return contextMap.containsKey(key);
+        int slot = slot(key);
+        if(slot >= 0) {
+            return contains(slot);
+        }
+        return named != null && named.containsKey(key);
     }
 
     public void remove(String key) {
-        if(!contextMap.containsKey(key)) {
-            return;
+        int slot = slot(key);
+        if(slot >= 0) {
+            remove(slot);
+        }
+        else if(named != null) {
+            named.remove(key);
+        }
+    }
+
+    /**
+     * @return the key's slot if it was interned, -1 if it lives in this context's map. A value stored
+     * by name before its key was interned moves to the slot.
+     */
+    private int slot(String key) {
+        Integer slot = KEYS.get(key);
+        if(slot == null) {
+            return -1;
+        }
+        if(named != null && named.containsKey(key)) {
+            put(slot, named.remove(key));
         }
-        contextMap.remove(key);
+        return slot;
     }
 }
@@ -1,6 +1,5 @@
 package com.tonic.util.handler;
 
-import com.tonic.Logger;
 import com.tonic.Static;
 import com.tonic.api.entities.PlayerAPI;
 import com.tonic.api.game.SceneAPI;
@@ -10,32 +9,47 @@ import lombok.Getter;
 import net.runelite.api.Client;
 import net.runelite.api.coords.WorldPoint;
 
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
+import java.util.function.ToIntFunction;
 
 /**
  * Manages transport stateful step execution.
+ * <p>
+ * Steps live in a table indexed by step number, so advancing is an array read. Step numbers past
+ * {@link #MAX_DENSE_STEP} (e.g. {@link HandlerBuilder#END_EXECUTION}) are not steps and end the handler.
  */
 public final class StepHandler
 {
-    private static final int MAGIC_LABEL_STEP = 0xDECAFBAD;
+    private static final int MAX_DENSE_STEP = 1 << 16;
     @Getter
     private final StepContext context = new StepContext();
 
-    private final Map<Integer, Function<StepContext,Integer>> steps;
+    private ToIntFunction<StepContext>[] steps;
     private int STEP_POINTER = 0;
 
     @Getter
     private boolean started = false;
 
     public StepHandler(Map<Integer, Function<StepContext,Integer>> steps) {
+        this.steps = table(16);
+        for(Map.Entry<Integer, Function<StepContext,Integer>> entry : steps.entrySet())
+        {
+            add(entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * @param steps compiled step table, step n at index n
+     */
+    public StepHandler(ToIntFunction<StepContext>[] steps) {
         this.steps = steps;
     }
 
     StepHandler() {
-        this.steps = new HashMap<>();
+        this.steps = table(16);
     }
 
     /**
@@ -45,34 +59,28 @@ public final class StepHandler
     public boolean step()
     {
         started = true;
-        if(!steps.containsKey(STEP_POINTER))
+        ToIntFunction<StepContext> step = lookup(STEP_POINTER);
+        if(step == null)
         {
             reset();
             return false;
         }
-        STEP_POINTER = steps.get(STEP_POINTER).apply(context);
-        STEP_POINTER = translate(STEP_POINTER);
-        if(context.get("SPEED_UP") != null && steps.containsKey(STEP_POINTER))
+        while(true)
         {
-            context.remove("SPEED_UP");
-            return step();
+            STEP_POINTER = step.applyAsInt(context);
+            if(!context.takeSpeedUp())
+                return true;
+            step = lookup(STEP_POINTER);
+            if(step == null)
+                return true;
         }
-        return true;
     }
 
-    private int translate(int pointer)
+    private ToIntFunction<StepContext> lookup(int pointer)
     {
-        if(pointer != MAGIC_LABEL_STEP || !context.contains("MAGIC_LABEL_STEP"))
-            return pointer;
-
-        String label = context.get("MAGIC_LABEL_STEP");
-        if(!context.getLabels().containsKey(label))
-        {
-            Logger.warn("No such label: " + label);
-            return pointer;
-        }
-
-        return context.getLabels().get(label);
+        if(pointer < 0 || pointer >= steps.length)
+            return null;
+        return steps[pointer];
     }
 
     /**
@@ -82,7 +90,7 @@ public final class StepHandler
     {
         started = false;
         STEP_POINTER = 0;
-        context.remove("SPEED_UP");
+        context.remove(StepContext.SPEED_UP);
         for(Object value : context.values())
         {
             if(value instanceof WalkerPath)
@@ -92,13 +100,29 @@ public final class StepHandler
         }
     }
 
+    /**
+     * Resets the step handler and drops what its steps left in the context, for handing a handler
+     * that may have been abandoned midway to a new run.
+     */
+    public void clear()
+    {
+        reset();
+        context.clear();
+    }
+
     /**
      * Gets the number of steps in this transport handler.
      * @return the number of steps.
      */
     public int size()
     {
-        return steps.size();
+        int size = 0;
+        for(ToIntFunction<StepContext> step : steps)
+        {
+            if(step != null)
+                size++;
+        }
+        return size;
     }
 
     /**
@@ -108,7 +132,26 @@ public final class StepHandler
      */
     public void add(int step, Function<StepContext,Integer> function)
     {
-        steps.put(step, function);
+        put(step, function::apply);
+    }
+
+    private void put(int step, ToIntFunction<StepContext> function)
+    {
+        if(step < 0 || step >= MAX_DENSE_STEP)
+        {
+            throw new IllegalArgumentException("Step out of range: " + step);
+        }
+        if(step >= steps.length)
+        {
+            steps = Arrays.copyOf(steps, Math.max(step + 1, steps.length * 2));
+        }
+        steps[step] = function;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ToIntFunction<StepContext>[] table(int length)
+    {
+        return new ToIntFunction[length];
     }
 
     public void execute()
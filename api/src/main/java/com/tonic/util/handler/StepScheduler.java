@@ -0,0 +1,319 @@
+package com.tonic.util.handler;
+
+import com.tonic.Logger;
+import com.tonic.Static;
+import lombok.AccessLevel;
+import lombok.Getter;
+import net.runelite.api.events.GameTick;
+import net.runelite.client.eventbus.Subscribe;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Runs many {@link StepHandler}s cooperatively, stepping each at most once per game tick, so a
+ * batch of helper scripts costs one thread instead of one sleeping thread each.
+ * <p>
+ * Scripts step on the shared scheduler thread unless they opt in to the client thread. Typical
+ * handlers walk or wait (e.g. {@code WalkerPath}, {@code Delays}), which block or throw on the
+ * client thread, so only steps that just read game state and queue actions should opt in.
+ * Each tick the scripts of a thread step in priority order. A step that runs longer than its
+ * script's budget is counted as an overrun, and once a tick has spent {@link #TICK_BUDGET_MICROS}
+ * the remaining scripts wait for the next tick, those that waited going first among equal
+ * priorities. Overruns and deferrals are logged as one summary at most every
+ * {@link #SUMMARY_INTERVAL_TICKS} ticks.
+ */
+public class StepScheduler
+{
+    private static final long TICK_BUDGET_MICROS = 8_000;
+    private static final int SUMMARY_INTERVAL_TICKS = 100;
+    public static final long DEFAULT_BUDGET_MICROS = 1_000;
+    public static final int DEFAULT_PRIORITY = 0;
+
+    private static StepScheduler INSTANCE;
+    private static final List<Task> CLIENT_TASKS = new CopyOnWriteArrayList<>();
+    private static final List<Task> THREAD_TASKS = new CopyOnWriteArrayList<>();
+    private static Thread schedulerThread;
+    private static volatile int tick = 0;
+    private static int lastSummaryTick = 0;
+
+    private static final Comparator<Task> ORDER = Comparator
+            .comparingInt((Task task) -> -task.priority)
+            .thenComparingInt(task -> task.lastStepTick);
+
+    /**
+     * Schedules a handler on the scheduler thread with the default priority and budget.
+     * @param name name used in reports
+     * @param handler handler
+     * @return the task
+     */
+    public static Task submit(String name, StepHandler handler)
+    {
+        return submit(name, handler, DEFAULT_PRIORITY, DEFAULT_BUDGET_MICROS, false);
+    }
+
+    /**
+     * Schedules a handler on the client thread with the default priority and budget. Its steps
+     * must not block or wait.
+     * @param name name used in reports
+     * @param handler handler
+     * @return the task
+     */
+    public static Task submitOnClient(String name, StepHandler handler)
+    {
+        return submit(name, handler, DEFAULT_PRIORITY, DEFAULT_BUDGET_MICROS, true);
+    }
+
+    /**
+     * Schedules a handler.
+     * @param name name used in reports
+     * @param handler handler
+     * @param priority higher priorities step first each tick
+     * @param budgetMicros time a single step may take before it is reported as an overrun
+     * @param clientThread true to step on the client thread, false to step on the scheduler thread
+     * @return the task
+     */
+    public static Task submit(String name, StepHandler handler, int priority, long budgetMicros, boolean clientThread)
+    {
+        Task task = new Task(name, handler, priority, budgetMicros, clientThread);
+        if (clientThread)
+        {
+            CLIENT_TASKS.add(task);
+        }
+        else
+        {
+            startThread();
+            THREAD_TASKS.add(task);
+        }
+        return task;
+    }
+
+    /**
+     * Cancels and resets every scheduled handler.
+     */
+    public static void cancelAll()
+    {
+        for (Task task : CLIENT_TASKS)
+        {
+            task.cancel();
+        }
+        for (Task task : THREAD_TASKS)
+        {
+            task.cancel();
+        }
+    }
+
+    /**
+     * @return the scheduled tasks, client thread tasks first
+     */
+    public static List<Task> getTasks()
+    {
+        List<Task> tasks = new ArrayList<>(CLIENT_TASKS);
+        tasks.addAll(THREAD_TASKS);
+        return tasks;
+    }
+
+    private static synchronized void startThread()
+    {
+        if (schedulerThread != null)
+        {
+            return;
+        }
+        schedulerThread = new Thread(() -> {
+            int last = tick;
+            while (!Thread.currentThread().isInterrupted())
+            {
+                if (tick == last)
+                {
+                    LockSupport.park(StepScheduler.class);
+                    continue;
+                }
+                last = tick;
+                run(THREAD_TASKS, last);
+            }
+        }, "StepScheduler");
+        schedulerThread.setDaemon(true);
+        schedulerThread.start();
+    }
+
+    private static void run(List<Task> tasks, int currentTick)
+    {
+        if (tasks.isEmpty())
+        {
+            return;
+        }
+        List<Task> ordered = new ArrayList<>(tasks);
+        ordered.sort(ORDER);
+
+        long tickStart = System.nanoTime();
+        for (Task task : ordered)
+        {
+            if (task.done)
+            {
+                tasks.remove(task);
+                continue;
+            }
+            if (TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - tickStart) >= TICK_BUDGET_MICROS)
+            {
+                task.deferred++;
+                continue;
+            }
+            task.lastStepTick = currentTick;
+            if (!task.step())
+            {
+                tasks.remove(task);
+            }
+        }
+    }
+
+    /**
+     * Logs the overruns and deferrals since the last summary in one line, if there were any.
+     */
+    private static void logSummary()
+    {
+        StringBuilder report = new StringBuilder();
+        for (Task task : getTasks())
+        {
+            int overruns = task.overruns - task.reportedOverruns;
+            int deferred = task.deferred - task.reportedDeferred;
+            task.reportedOverruns += overruns;
+            task.reportedDeferred += deferred;
+            if (overruns == 0 && deferred == 0)
+            {
+                continue;
+            }
+            report.append(report.length() == 0 ? "" : ", ")
+                    .append('\'').append(task.name).append("' ")
+                    .append(overruns).append(" overrun(s) (max ").append(task.maxStepMicros)
+                    .append("us, budget ").append(task.budgetMicros).append("us), ")
+                    .append(deferred).append(" deferral(s)");
+        }
+        if (report.length() > 0)
+        {
+            Logger.warn("[StepScheduler] Last " + SUMMARY_INTERVAL_TICKS + " ticks: " + report);
+        }
+    }
+
+    @Subscribe
+    public void onGameTick(GameTick event)
+    {
+        tick++;
+        if (schedulerThread != null && !THREAD_TASKS.isEmpty())
+        {
+            LockSupport.unpark(schedulerThread);
+        }
+        run(CLIENT_TASKS, tick);
+        if (tick - lastSummaryTick >= SUMMARY_INTERVAL_TICKS)
+        {
+            lastSummaryTick = tick;
+            logSummary();
+        }
+    }
+
+    public static void init()
+    {
+        if(INSTANCE != null)
+            return;
+
+        INSTANCE = new StepScheduler();
+        Static.getRuneLite()
+                .getEventBus()
+                .register(INSTANCE);
+    }
+
+    /**
+     * A scheduled handler and its timings.
+     */
+    @Getter
+    public static final class Task
+    {
+        private final String name;
+        private final StepHandler handler;
+        private final int priority;
+        private final long budgetMicros;
+        private final boolean clientThread;
+        private volatile boolean done = false;
+        private volatile boolean cancelled = false;
+        private int steps = 0;
+        private volatile int overruns = 0;
+        private volatile int deferred = 0;
+        private volatile long lastStepMicros = 0;
+        private volatile long maxStepMicros = 0;
+        private long totalStepMicros = 0;
+        private int lastStepTick = 0;
+        @Getter(AccessLevel.NONE)
+        private int reportedOverruns = 0;
+        @Getter(AccessLevel.NONE)
+        private int reportedDeferred = 0;
+
+        private Task(String name, StepHandler handler, int priority, long budgetMicros, boolean clientThread)
+        {
+            this.name = name;
+            this.handler = handler;
+            this.priority = priority;
+            this.budgetMicros = budgetMicros;
+            this.clientThread = clientThread;
+        }
+
+        /**
+         * Stops the task before its next step and resets its handler.
+         */
+        public void cancel()
+        {
+            if (done)
+            {
+                return;
+            }
+            cancelled = true;
+            done = true;
+            handler.reset();
+        }
+
+        /**
+         * @return mean time of a step
+         */
+        public long getAverageStepMicros()
+        {
+            return steps == 0 ? 0 : totalStepMicros / steps;
+        }
+
+        private boolean step()
+        {
+            long start = System.nanoTime();
+            boolean more;
+            try
+            {
+                more = handler.step();
+            }
+            catch (Exception e)
+            {
+                Logger.error(e, "[StepScheduler] '" + name + "' failed on step: %e");
+                handler.reset();
+                more = false;
+            }
+            long elapsed = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start);
+
+            steps++;
+            lastStepMicros = elapsed;
+            totalStepMicros += elapsed;
+            if (elapsed > maxStepMicros)
+            {
+                maxStepMicros = elapsed;
+            }
+            if (elapsed > budgetMicros)
+            {
+                overruns++;
+            }
+
+            if (!more)
+            {
+                done = true;
+            }
+            return more;
+        }
+    }
+}
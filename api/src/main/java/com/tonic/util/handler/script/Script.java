@@ -2,6 +2,7 @@ package com.tonic.util.handler.script;
 
 import com.tonic.util.ReflectUtil;
 import com.tonic.util.handler.StepHandler;
+import com.tonic.util.handler.StepScheduler;
 
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
@@ -32,6 +33,13 @@ import java.util.function.Consumer;
  *     s.await(BankAPI::isOpen);
  *     s.action(() -> depositAll());
  * });
+ *
+ * // Or step it once per tick on the shared scheduler thread
+ * Script.schedule("banking", s -> {
+ *     s.action(() -> openBank());
+ *     s.await(BankAPI::isOpen);
+ *     s.action(() -> depositAll());
+ * });
  * }</pre>
  *
  * <h2>Type-Safe Context</h2>
@@ -124,6 +132,18 @@ public final class Script {
         build(script).execute();
     }
 
+    /**
+     * Builds the script and hands it to the {@link StepScheduler}, which steps it once per game
+     * tick on its shared thread alongside other scheduled scripts. Returns immediately.
+     *
+     * @param name Name used in the scheduler's reports
+     * @param script The script definition
+     * @return The scheduled task, for cancelling or reading its timings
+     */
+    public static StepScheduler.Task schedule(String name, Consumer<ScriptBuilder> script) {
+        return StepScheduler.submit(name, build(script));
+    }
+
     /**
      * Alias for build() - creates a StepHandler from the script.
      *
@@ -8,11 +8,11 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Consumer;
-import java.util.function.Function;
+import java.util.function.ToIntFunction;
 
 /**
  * Compiles Script DSL into a StepHandler.
- * Collects steps during builder execution and produces a step map.
+ * Collects steps during builder execution and produces a step table.
  */
 public class ScriptCompiler {
 
@@ -29,24 +29,17 @@ public class ScriptCompiler {
         ScriptBuilder builder = new ScriptBuilder(this);
         script.accept(builder);
 
-        // Create the step handler
-        StepHandler handler = new StepHandler(new HashMap<>());
+        // Compile steps into a table indexed by step number, resolving jumps against the collected labels
+        @SuppressWarnings("unchecked")
+        ToIntFunction<StepContext>[] table = new ToIntFunction[steps.size()];
+        StepHandler handler = new StepHandler(table);
         scriptContext = new ScriptContext(handler.getContext());
-
-        // Register labels in the handler's context
-        handler.getContext().getLabels().putAll(labels);
-
-        // Convert steps to handler functions
-        Map<Integer, Function<StepContext, Integer>> stepMap = new HashMap<>();
         for (int i = 0; i < steps.size(); i++) {
-            ScriptStep step = steps.get(i);
-            stepMap.put(i, step.toFunction(i, labels, scriptContext));
+            table[i] = steps.get(i).toFunction(i, labels, scriptContext);
         }
 
-        // Add steps to handler via reflection or direct access
-        for (Map.Entry<Integer, Function<StepContext, Integer>> entry : stepMap.entrySet()) {
-            handler.add(entry.getKey(), entry.getValue());
-        }
+        // Labels stay on the context for ScriptContext.getLabels()
+        handler.getContext().getLabels().putAll(labels);
 
         return handler;
     }
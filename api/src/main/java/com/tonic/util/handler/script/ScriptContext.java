@@ -28,7 +28,7 @@ public class ScriptContext {
     public <T> void set(Var<T> var, T value) {
         typedValues.put(var, value);
         // Also store in underlying for compatibility with existing step handler features
-        underlying.put(var.name(), value);
+        underlying.put(var.slot(), value);
     }
 
     /**
@@ -40,7 +40,7 @@ public class ScriptContext {
         Object value = typedValues.get(var);
         if (value == null) {
             // Try underlying context (for compatibility)
-            value = underlying.get(var.name());
+            value = underlying.get(var.slot());
         }
         if (value == null && var.hasDefault()) {
             return var.defaultValue();
@@ -73,7 +73,7 @@ public class ScriptContext {
      * Checks if a var is set in the context.
      */
     public boolean has(Var<?> var) {
-        return typedValues.containsKey(var) || underlying.contains(var.name());
+        return typedValues.containsKey(var) || underlying.contains(var.slot());
     }
 
     /**
@@ -81,7 +81,7 @@ public class ScriptContext {
      */
     @SuppressWarnings("unchecked")
     public <T> T remove(Var<T> var) {
-        underlying.remove(var.name());
+        underlying.remove(var.slot());
         Object removed = typedValues.remove(var);
         cleanupValue(removed);
         return (T) removed;
@@ -6,7 +6,7 @@ import com.tonic.util.handler.StepContext;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
-import java.util.function.Function;
+import java.util.function.ToIntFunction;
 import java.util.function.Predicate;
 
 /**
@@ -18,11 +18,11 @@ public interface ScriptStep {
     /**
      * Converts this step to a StepHandler function.
      * @param stepNum The step number this will be assigned to
-     * @param labels Map of label names to step numbers
+     * @param labels Map of label names to step numbers, complete when this is called so jumps resolve here
      * @param scriptContext The shared script context wrapper
      * @return Function that takes StepContext and returns next step number
      */
-    Function<StepContext, Integer> toFunction(int stepNum, Map<String, Integer> labels, ScriptContext scriptContext);
+    ToIntFunction<StepContext> toFunction(int stepNum, Map<String, Integer> labels, ScriptContext scriptContext);
 
     /**
      * An action step - runs code and advances to next step.
@@ -35,10 +35,10 @@ public interface ScriptStep {
         }
 
         @Override
-        public Function<StepContext, Integer> toFunction(int stepNum, Map<String, Integer> labels, ScriptContext scriptContext) {
+        public ToIntFunction<StepContext> toFunction(int stepNum, Map<String, Integer> labels, ScriptContext scriptContext) {
             return ctx -> {
                 action.accept(scriptContext);
-                ctx.put("SPEED_UP", true);  // Immediately proceed to next step
+                ctx.speedUp();  // Immediately proceed to next step
                 return stepNum + 1;
             };
         }
@@ -55,7 +55,7 @@ public interface ScriptStep {
         }
 
         @Override
-        public Function<StepContext, Integer> toFunction(int stepNum, Map<String, Integer> labels, ScriptContext scriptContext) {
+        public ToIntFunction<StepContext> toFunction(int stepNum, Map<String, Integer> labels, ScriptContext scriptContext) {
             AtomicInteger remaining = new AtomicInteger(ticks);
             return ctx -> {
                 if (remaining.decrementAndGet() <= 0) {
@@ -81,17 +81,17 @@ public interface ScriptStep {
         }
 
         @Override
-        public Function<StepContext, Integer> toFunction(int stepNum, Map<String, Integer> labels, ScriptContext scriptContext) {
-            final String initKey = "__await_" + stepNum;
+        public ToIntFunction<StepContext> toFunction(int stepNum, Map<String, Integer> labels, ScriptContext scriptContext) {
+            final int initKey = StepContext.key("__await_" + stepNum);
             return ctx -> {
                 // First call this run - yield 1 tick to let prior action take effect
-                if (!ctx.getOrDefault(initKey, false)) {
+                if (!ctx.getBoolean(initKey)) {
                     ctx.put(initKey, true);
                     return stepNum;
                 }
                 if (condition.test(scriptContext)) {
                     ctx.remove(initKey);  // Clear for next handler run
-                    ctx.put("SPEED_UP", true);
+                    ctx.speedUp();
                     return stepNum + 1;
                 }
                 return stepNum;  // Stay on this step until condition met
@@ -116,12 +116,12 @@ public interface ScriptStep {
         }
 
         @Override
-        public Function<StepContext, Integer> toFunction(int stepNum, Map<String, Integer> labels, ScriptContext scriptContext) {
-            final String initKey = "__awaitTimeout_" + stepNum;
-            final String remainingKey = "__awaitTimeout_remaining_" + stepNum;
+        public ToIntFunction<StepContext> toFunction(int stepNum, Map<String, Integer> labels, ScriptContext scriptContext) {
+            final int initKey = StepContext.key("__awaitTimeout_" + stepNum);
+            final int remainingKey = StepContext.key("__awaitTimeout_remaining_" + stepNum);
             return ctx -> {
                 // First call this run - yield 1 tick and init remaining
-                if (!ctx.getOrDefault(initKey, false)) {
+                if (!ctx.getBoolean(initKey)) {
                     ctx.put(initKey, true);
                     ctx.put(remainingKey, timeout);
                     return stepNum;
@@ -129,7 +129,7 @@ public interface ScriptStep {
                 if (condition.test(scriptContext)) {
                     ctx.remove(initKey);
                     ctx.remove(remainingKey);
-                    ctx.put("SPEED_UP", true);
+                    ctx.speedUp();
                     return stepNum + 1;
                 }
                 int remaining = ctx.getOrDefault(remainingKey, timeout);
@@ -160,9 +160,9 @@ public interface ScriptStep {
         }
 
         @Override
-        public Function<StepContext, Integer> toFunction(int stepNum, Map<String, Integer> labels, ScriptContext scriptContext) {
+        public ToIntFunction<StepContext> toFunction(int stepNum, Map<String, Integer> labels, ScriptContext scriptContext) {
             return ctx -> {
-                ctx.put("SPEED_UP", true);
+                ctx.speedUp();
                 return stepNum + 1;
             };
         }
@@ -183,14 +183,15 @@ public interface ScriptStep {
         }
 
         @Override
-        public Function<StepContext, Integer> toFunction(int stepNum, Map<String, Integer> labels, ScriptContext scriptContext) {
+        public ToIntFunction<StepContext> toFunction(int stepNum, Map<String, Integer> labels, ScriptContext scriptContext) {
+            Integer target = labels.get(label);
+            if (target == null) {
+                throw new IllegalStateException("Unknown label: " + label);
+            }
+            final int step = target;
             return ctx -> {
-                Integer target = labels.get(label);
-                if (target == null) {
-                    throw new IllegalStateException("Unknown label: " + label);
-                }
-                ctx.put("SPEED_UP", true);
-                return target;
+                ctx.speedUp();
+                return step;
             };
         }
     }
@@ -208,17 +209,18 @@ public interface ScriptStep {
         }
 
         @Override
-        public Function<StepContext, Integer> toFunction(int stepNum, Map<String, Integer> labels, ScriptContext scriptContext) {
+        public ToIntFunction<StepContext> toFunction(int stepNum, Map<String, Integer> labels, ScriptContext scriptContext) {
+            Integer target = labels.get(label);
+            if (target == null) {
+                throw new IllegalStateException("Unknown label: " + label);
+            }
+            final int step = target;
             return ctx -> {
                 if (condition.test(scriptContext)) {
-                    Integer target = labels.get(label);
-                    if (target == null) {
-                        throw new IllegalStateException("Unknown label: " + label);
-                    }
-                    ctx.put("SPEED_UP", true);
-                    return target;
+                    ctx.speedUp();
+                    return step;
                 }
-                ctx.put("SPEED_UP", true);
+                ctx.speedUp();
                 return stepNum + 1;
             };
         }
@@ -229,7 +231,7 @@ public interface ScriptStep {
      */
     class ExitStep implements ScriptStep {
         @Override
-        public Function<StepContext, Integer> toFunction(int stepNum, Map<String, Integer> labels, ScriptContext scriptContext) {
+        public ToIntFunction<StepContext> toFunction(int stepNum, Map<String, Integer> labels, ScriptContext scriptContext) {
             return ctx -> HandlerBuilder.END_EXECUTION;
         }
     }
@@ -245,12 +247,12 @@ public interface ScriptStep {
         }
 
         @Override
-        public Function<StepContext, Integer> toFunction(int stepNum, Map<String, Integer> labels, ScriptContext scriptContext) {
+        public ToIntFunction<StepContext> toFunction(int stepNum, Map<String, Integer> labels, ScriptContext scriptContext) {
             return ctx -> {
                 if (condition.test(scriptContext)) {
                     return HandlerBuilder.END_EXECUTION;
                 }
-                ctx.put("SPEED_UP", true);
+                ctx.speedUp();
                 return stepNum + 1;
             };
         }
@@ -272,9 +274,9 @@ public interface ScriptStep {
         }
 
         @Override
-        public Function<StepContext, Integer> toFunction(int stepNum, Map<String, Integer> labels, ScriptContext scriptContext) {
+        public ToIntFunction<StepContext> toFunction(int stepNum, Map<String, Integer> labels, ScriptContext scriptContext) {
             return ctx -> {
-                ctx.put("SPEED_UP", true);
+                ctx.speedUp();
                 return condition.test(scriptContext) ? thenTarget : elseTarget;
             };
         }
@@ -295,13 +297,13 @@ public interface ScriptStep {
         }
 
         @Override
-        public Function<StepContext, Integer> toFunction(int stepNum, Map<String, Integer> labels, ScriptContext scriptContext) {
+        public ToIntFunction<StepContext> toFunction(int stepNum, Map<String, Integer> labels, ScriptContext scriptContext) {
             return ctx -> {
                 boolean conditionMet = condition.test(scriptContext);
                 // For loopUntil: exit when condition becomes true
                 // For loopWhile: exit when condition becomes false
                 boolean shouldExit = isUntil ? conditionMet : !conditionMet;
-                ctx.put("SPEED_UP", true);
+                ctx.speedUp();
                 return shouldExit ? loopEndStep : stepNum + 1;
             };
         }
@@ -318,9 +320,9 @@ public interface ScriptStep {
         }
 
         @Override
-        public Function<StepContext, Integer> toFunction(int stepNum, Map<String, Integer> labels, ScriptContext scriptContext) {
+        public ToIntFunction<StepContext> toFunction(int stepNum, Map<String, Integer> labels, ScriptContext scriptContext) {
             return ctx -> {
-                ctx.put("SPEED_UP", true);
+                ctx.speedUp();
                 return loopStartStep;
             };
         }
@@ -341,16 +343,16 @@ public interface ScriptStep {
         }
 
         @Override
-        public Function<StepContext, Integer> toFunction(int stepNum, Map<String, Integer> labels, ScriptContext scriptContext) {
+        public ToIntFunction<StepContext> toFunction(int stepNum, Map<String, Integer> labels, ScriptContext scriptContext) {
             return ctx -> {
                 int count = scriptContext.getOrDefault(counterVar, 0);
                 if (count >= times) {
                     scriptContext.set(counterVar, 0);  // Reset for potential re-entry
-                    ctx.put("SPEED_UP", true);
+                    ctx.speedUp();
                     return loopEndStep;
                 }
                 scriptContext.set(counterVar, count + 1);
-                ctx.put("SPEED_UP", true);
+                ctx.speedUp();
                 return stepNum + 1;
             };
         }
@@ -368,18 +370,18 @@ public interface ScriptStep {
         }
 
         @Override
-        public Function<StepContext, Integer> toFunction(int stepNum, Map<String, Integer> labels, ScriptContext scriptContext) {
-            final String initKey = "__include_" + stepNum;
+        public ToIntFunction<StepContext> toFunction(int stepNum, Map<String, Integer> labels, ScriptContext scriptContext) {
+            final int initKey = StepContext.key("__include_" + stepNum);
             return ctx -> {
                 // Reset included handler on fresh entry
-                if (!ctx.getOrDefault(initKey, false)) {
+                if (!ctx.getBoolean(initKey)) {
                     ctx.put(initKey, true);
                     handler.reset();
                 }
                 boolean hasMore = handler.step();
                 if (!hasMore) {
                     ctx.remove(initKey);
-                    ctx.put("SPEED_UP", true);
+                    ctx.speedUp();
                     return stepNum + 1;
                 }
                 return stepNum;  // Stay until handler completes
@@ -406,9 +408,9 @@ public interface ScriptStep {
         }
 
         @Override
-        public Function<StepContext, Integer> toFunction(int stepNum, Map<String, Integer> labels, ScriptContext scriptContext) {
+        public ToIntFunction<StepContext> toFunction(int stepNum, Map<String, Integer> labels, ScriptContext scriptContext) {
             return ctx -> {
-                ctx.put("SPEED_UP", true);
+                ctx.speedUp();
                 return skipToStep;  // Skip past the subroutine body
             };
         }
@@ -429,15 +431,16 @@ public interface ScriptStep {
         }
 
         @Override
-        public Function<StepContext, Integer> toFunction(int stepNum, Map<String, Integer> labels, ScriptContext scriptContext) {
+        public ToIntFunction<StepContext> toFunction(int stepNum, Map<String, Integer> labels, ScriptContext scriptContext) {
+            Integer target = labels.get("__sub_" + subName);
+            if (target == null) {
+                throw new IllegalStateException("Unknown subroutine: " + subName);
+            }
+            final int step = target;
             return ctx -> {
                 scriptContext.pushReturn(stepNum + 1);  // Push return address
-                Integer target = labels.get("__sub_" + subName);
-                if (target == null) {
-                    throw new IllegalStateException("Unknown subroutine: " + subName);
-                }
-                ctx.put("SPEED_UP", true);
-                return target;
+                ctx.speedUp();
+                return step;
             };
         }
     }
@@ -447,10 +450,10 @@ public interface ScriptStep {
      */
     class RetStep implements ScriptStep {
         @Override
-        public Function<StepContext, Integer> toFunction(int stepNum, Map<String, Integer> labels, ScriptContext scriptContext) {
+        public ToIntFunction<StepContext> toFunction(int stepNum, Map<String, Integer> labels, ScriptContext scriptContext) {
             return ctx -> {
                 int returnAddr = scriptContext.popReturn();
-                ctx.put("SPEED_UP", true);
+                ctx.speedUp();
                 return returnAddr;  // -1 will end execution if stack was empty
             };
         }
@@ -1,5 +1,7 @@
 package com.tonic.util.handler.script;
 
+import com.tonic.util.handler.StepContext;
+
 import java.util.Objects;
 
 /**
@@ -12,11 +14,15 @@ public final class Var<T> {
     private final String name;
     private final Class<T> type;
     private final T defaultValue;
+    private final int slot;
+    private final int hash;
 
     private Var(String name, Class<T> type, T defaultValue) {
         this.name = Objects.requireNonNull(name, "Var name cannot be null");
         this.type = Objects.requireNonNull(type, "Var type cannot be null");
         this.defaultValue = defaultValue;
+        this.slot = StepContext.key(name);
+        this.hash = Objects.hash(name, type);
     }
 
     /**
@@ -62,6 +68,13 @@ public final class Var<T> {
         return type;
     }
 
+    /**
+     * The StepContext slot this var's name is interned to.
+     */
+    public int slot() {
+        return slot;
+    }
+
     public T defaultValue() {
         return defaultValue;
     }
@@ -95,7 +108,7 @@ public final class Var<T> {
 
     @Override
     public int hashCode() {
-        return Objects.hash(name, type);
+        return hash;
     }
 
     @Override
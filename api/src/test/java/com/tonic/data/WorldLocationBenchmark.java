@@ -0,0 +1,164 @@
+package com.tonic.data;
+
+import net.runelite.api.coords.WorldArea;
+import net.runelite.api.coords.WorldPoint;
+
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Times {@link WorldLocation#location(WorldPoint)} against the linear scan it replaced, on the real
+ * area table. Not part of the unit tests; run it with {@code ./gradlew :api:benchmarkWorldLocation}.
+ * <p>
+ * Query points are drawn around the real areas, half inside one and half up to two regions away,
+ * so both the containing and the nearest-area paths are timed. Every answer is also compared, and
+ * a mismatch count other than zero means the index changed behaviour.
+ */
+public class WorldLocationBenchmark
+{
+    // the old scan builds every area's tile list, tens of milliseconds per miss, so it gets few queries
+    private static final int QUERIES = 200;
+    private static final int INDEX_REPEATS = 100;
+    private static final int WARMUP_ROUNDS = 1;
+    private static final int ROUNDS = 3;
+
+    public static void main(String[] args)
+    {
+        WorldPoint[] points = queryPoints(new Random(1234));
+
+        int mismatches = 0;
+        for (WorldPoint point : points)
+        {
+            if (!scanLocation(point).equals(WorldLocation.location(point)))
+            {
+                mismatches++;
+            }
+        }
+
+        long sink = 0;
+        for (int i = 0; i < WARMUP_ROUNDS; i++)
+        {
+            sink += runScan(points) + runIndex(points);
+        }
+
+        long scanNanos = Long.MAX_VALUE;
+        long indexNanos = Long.MAX_VALUE;
+        for (int i = 0; i < ROUNDS; i++)
+        {
+            long start = System.nanoTime();
+            sink += runScan(points);
+            scanNanos = Math.min(scanNanos, System.nanoTime() - start);
+
+            start = System.nanoTime();
+            sink += runIndex(points);
+            indexNanos = Math.min(indexNanos, System.nanoTime() - start);
+        }
+
+        System.out.printf("%d areas, %d lookups, best of %d rounds%n", WorldLocation.values().length, points.length, ROUNDS);
+        System.out.printf("linear scan  %8.2f us per lookup%n", scanNanos / 1000.0 / points.length);
+        System.out.printf("index        %8.2f us per lookup%n", indexNanos / 1000.0 / points.length / INDEX_REPEATS);
+        System.out.printf("speedup      %8.1fx, %d mismatches (checksum %d)%n", (double) scanNanos * INDEX_REPEATS / indexNanos, mismatches, sink);
+    }
+
+    private static long runScan(WorldPoint[] points)
+    {
+        long sink = 0;
+        for (WorldPoint point : points)
+        {
+            sink += scanLocation(point).length();
+        }
+        return sink;
+    }
+
+    private static long runIndex(WorldPoint[] points)
+    {
+        long sink = 0;
+        for (int i = 0; i < INDEX_REPEATS; i++)
+        {
+            for (WorldPoint point : points)
+            {
+                sink += WorldLocation.location(point).length();
+            }
+        }
+        return sink;
+    }
+
+    private static WorldPoint[] queryPoints(Random random)
+    {
+        WorldLocation[] locations = WorldLocation.values();
+        WorldPoint[] points = new WorldPoint[QUERIES];
+        for (int i = 0; i < QUERIES; i++)
+        {
+            WorldArea area = locations[random.nextInt(locations.length)].getWorldArea();
+            int spread = i % 2 == 0 ? 0 : 128;
+            int x = area.getX() + random.nextInt(Math.max(1, area.getWidth()) + spread * 2) - spread;
+            int y = area.getY() + random.nextInt(Math.max(1, area.getHeight()) + spread * 2) - spread;
+            points[i] = new WorldPoint(x, y, area.getPlane());
+        }
+        return points;
+    }
+
+    /**
+     * The lookup as it was before the spatial index, kept verbatim as the baseline.
+     */
+    private static String scanLocation(WorldPoint worldPoint)
+    {
+        int dist = 128; // x2 Region lengths
+        String s = "";
+        WorldArea closestArea = null;
+
+        for (Map.Entry<WorldArea, String> entry : WorldLocation.getLOCATION_MAP().entrySet())
+        {
+            final WorldArea worldArea = entry.getKey();
+
+            if (worldArea.toWorldPointList().contains(worldPoint))
+            {
+                s = entry.getValue();
+                return s;
+            }
+
+            final int distTo = worldArea.distanceTo(worldPoint);
+
+            if (distTo < dist)
+            {
+                dist = distTo;
+                closestArea = worldArea;
+            }
+        }
+
+        if (closestArea == null)
+        {
+            return s;
+        }
+
+        if (worldPoint.getY() > closestArea.toWorldPoint().getY() + closestArea.getHeight())
+        {
+            s = s + "N";
+        }
+
+        if (worldPoint.getY() < closestArea.toWorldPoint().getY())
+        {
+            s = s + "S";
+        }
+
+        if (worldPoint.getX() < closestArea.toWorldPoint().getX())
+        {
+            s = s + "W";
+        }
+
+        if (worldPoint.getX() > (closestArea.toWorldPoint().getX() + closestArea.getWidth()))
+        {
+            s = s + "E";
+        }
+
+        s = s + " of ";
+        s = s + WorldLocation.getLOCATION_MAP().get(closestArea);
+
+        if (s.startsWith(" of "))
+        {
+            s = s.substring(3);
+        }
+
+        return s;
+    }
+}
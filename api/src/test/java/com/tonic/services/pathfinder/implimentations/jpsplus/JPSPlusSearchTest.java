@@ -0,0 +1,397 @@
+package com.tonic.services.pathfinder.implimentations.jpsplus;
+
+import com.tonic.services.pathfinder.collections.GoalSet;
+import com.tonic.services.pathfinder.collision.CollisionMap;
+import com.tonic.services.pathfinder.transports.Transport;
+import com.tonic.util.WorldPointUtil;
+import gnu.trove.map.hash.TIntObjectHashMap;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares JPS+ path costs with a plain Dijkstra over the same synthetic collision maps. The maps
+ * straddle 64x64 region boundaries, which are lined with walls on tile edges that only doors let
+ * through, so rays have to continue across tables and stop on the tiles a door opens up.
+ */
+class JPSPlusSearchTest
+{
+    // 3136 and 3200 are region boundaries
+    private static final int BASE_X = 3150;
+    private static final int BASE_Y = 3150;
+    private static final int SIZE = 120;
+    private static final int[] DX = {0, 1, 0, -1, 1, 1, -1, -1};
+    private static final int[] DY = {1, 0, -1, 0, 1, -1, -1, 1};
+
+    @Test
+    void matchesDijkstraAcrossRegionsAndDoors()
+    {
+        Random random = new Random(1234);
+        for (int map = 0; map < 6; map++)
+        {
+            GridMap grid = GridMap.random(random, BASE_X, BASE_Y, SIZE);
+            TIntObjectHashMap<ArrayList<Transport>> transports = new TIntObjectHashMap<>();
+            JumpTable table = table(grid, transports);
+            for (int q = 0; q < 150; q++)
+            {
+                int start = grid.randomWalkable(random);
+                int goal = grid.randomWalkable(random);
+                assertCost(grid, table, transports, start, GoalSet.builder().addPoint(goal).build());
+            }
+        }
+    }
+
+    @Test
+    void matchesDijkstraWithTransports()
+    {
+        Random random = new Random(99);
+        for (int map = 0; map < 6; map++)
+        {
+            GridMap grid = GridMap.random(random, BASE_X, BASE_Y, SIZE);
+            TIntObjectHashMap<ArrayList<Transport>> transports = new TIntObjectHashMap<>();
+            // short hops like doors and stairs, never cheaper than the tiles they skip so the
+            // chebyshev heuristic stays admissible and both searches have one optimal cost
+            for (int i = 0; i < 40; i++)
+            {
+                int source = grid.randomWalkable(random);
+                int destination = grid.randomWalkableNear(random, source, 3);
+                int distance = Math.max(Math.abs(WorldPointUtil.getCompressedX(source) - WorldPointUtil.getCompressedX(destination)),
+                        Math.abs(WorldPointUtil.getCompressedY(source) - WorldPointUtil.getCompressedY(destination)));
+                transports.putIfAbsent(source, new ArrayList<>());
+                transports.get(source).add(new Transport(source, destination, 0, 0, distance + random.nextInt(3), null, null, i));
+            }
+            JumpTable table = table(grid, transports);
+            for (int q = 0; q < 150; q++)
+            {
+                int start = grid.randomWalkable(random);
+                int goal = grid.randomWalkable(random);
+                assertCost(grid, table, transports, start, GoalSet.builder().addPoint(goal).build());
+            }
+        }
+    }
+
+    @Test
+    void matchesDijkstraForAreaGoals()
+    {
+        Random random = new Random(7);
+        for (int map = 0; map < 4; map++)
+        {
+            GridMap grid = GridMap.random(random, BASE_X, BASE_Y, SIZE);
+            TIntObjectHashMap<ArrayList<Transport>> transports = new TIntObjectHashMap<>();
+            JumpTable table = table(grid, transports);
+            for (int q = 0; q < 100; q++)
+            {
+                int start = grid.randomWalkable(random);
+                GoalSet goals = GoalSet.builder()
+                        .addArea(BASE_X + random.nextInt(SIZE), BASE_Y + random.nextInt(SIZE), 1 + random.nextInt(6), 1 + random.nextInt(6), 0)
+                        .build();
+                assertCost(grid, table, transports, start, goals);
+            }
+        }
+    }
+
+    @Test
+    void concurrentSearchesShareOneTable() throws Exception
+    {
+        Random random = new Random(5);
+        GridMap grid = GridMap.random(random, BASE_X, BASE_Y, SIZE);
+        TIntObjectHashMap<ArrayList<Transport>> transports = new TIntObjectHashMap<>();
+        JumpTable table = table(grid, transports);
+        int[][] queries = new int[400][];
+        for (int q = 0; q < queries.length; q++)
+        {
+            queries[q] = new int[] {grid.randomWalkable(random), grid.randomWalkable(random)};
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try
+        {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int thread = 0; thread < 4; thread++)
+            {
+                int offset = thread;
+                futures.add(executor.submit(() -> {
+                    for (int q = offset; q < queries.length; q += 4)
+                    {
+                        assertCost(grid, table, transports, queries[q][0], GoalSet.builder().addPoint(queries[q][1]).build());
+                    }
+                }));
+            }
+            for (Future<?> future : futures)
+            {
+                future.get();
+            }
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void keepsRegionCountBounded()
+    {
+        // an open map wider than the region cap, searched corner to corner
+        int regions = 17;
+        GridMap grid = new GridMap(64 * 40, 64 * 40, regions * 64).seal();
+        TIntObjectHashMap<ArrayList<Transport>> transports = new TIntObjectHashMap<>();
+        JumpTable table = table(grid, transports);
+        Random random = new Random(3);
+        for (int q = 0; q < 5; q++)
+        {
+            int start = grid.randomWalkable(random);
+            int goal = grid.randomWalkable(random);
+            assertCost(grid, table, transports, start, GoalSet.builder().addPoint(goal).build());
+            assertTrue(table.regionCount() <= JumpTable.MAX_REGIONS);
+        }
+    }
+
+    private static JumpTable table(GridMap grid, TIntObjectHashMap<ArrayList<Transport>> transports)
+    {
+        JumpTable table = JumpTable.get(grid);
+        table.addStops(transports.keySet());
+        return table;
+    }
+
+    private static void assertCost(GridMap grid, JumpTable table, TIntObjectHashMap<ArrayList<Transport>> transports,
+                                   int start, GoalSet goals)
+    {
+        int expected = dijkstra(grid, transports, start, goals);
+        JPSPlusSearch search = new JPSPlusSearch(table, goals, transports);
+        int goal = search.run(Collections.singletonList(start));
+        int actual = goal == -1 ? -1 : search.cost(goal);
+        assertEquals(expected, actual, "cost from " + describe(start));
+    }
+
+    private static int dijkstra(GridMap grid, TIntObjectHashMap<ArrayList<Transport>> transports, int start, GoalSet goals)
+    {
+        int[] dist = new int[grid.size * grid.size];
+        Arrays.fill(dist, Integer.MAX_VALUE);
+        PriorityQueue<long[]> open = new PriorityQueue<>((a, b) -> Long.compare(a[0], b[0]));
+        dist[grid.index(start)] = 0;
+        open.add(new long[] {0, start});
+        while (!open.isEmpty())
+        {
+            long[] entry = open.poll();
+            int tile = (int) entry[1];
+            int g = (int) entry[0];
+            if (g > dist[grid.index(tile)])
+            {
+                continue;
+            }
+            if (goals.contains(tile))
+            {
+                return g;
+            }
+            short x = WorldPointUtil.getCompressedX(tile);
+            short y = WorldPointUtil.getCompressedY(tile);
+            for (int dir = 0; dir < 8; dir++)
+            {
+                if (grid.canMove(x, y, dir))
+                {
+                    relax(grid, open, dist, WorldPointUtil.compress(x + DX[dir], y + DY[dir], 0), g + 1);
+                }
+            }
+            ArrayList<Transport> list = transports.get(tile);
+            if (list != null)
+            {
+                for (Transport transport : list)
+                {
+                    relax(grid, open, dist, transport.getDestination(), g + transport.getDuration() + 1);
+                }
+            }
+        }
+        return -1;
+    }
+
+    private static void relax(GridMap grid, PriorityQueue<long[]> open, int[] dist, int tile, int g)
+    {
+        int index = grid.index(tile);
+        if (g < dist[index])
+        {
+            dist[index] = g;
+            open.add(new long[] {g, tile});
+        }
+    }
+
+    private static String describe(int tile)
+    {
+        return WorldPointUtil.getCompressedX(tile) + "," + WorldPointUtil.getCompressedY(tile);
+    }
+
+    /**
+     * Plane 0 grid with blocked tiles and walls on tile edges, nothing walkable outside it.
+     */
+    private static final class GridMap implements CollisionMap
+    {
+        private final int baseX;
+        private final int baseY;
+        private final int size;
+        private final boolean[] blocked;
+        private final boolean[] wallNorth;
+        private final boolean[] wallEast;
+        private final byte[] flags;
+
+        private GridMap(int baseX, int baseY, int size)
+        {
+            this.baseX = baseX;
+            this.baseY = baseY;
+            this.size = size;
+            this.blocked = new boolean[size * size];
+            this.wallNorth = new boolean[size * size];
+            this.wallEast = new boolean[size * size];
+            this.flags = new byte[size * size];
+        }
+
+        /**
+         * Works out every tile's movement flags once the walls are in place.
+         */
+        GridMap seal()
+        {
+            for (int x = 0; x < size; x++)
+            {
+                for (int y = 0; y < size; y++)
+                {
+                    flags[x * size + y] = computeFlags((short) (baseX + x), (short) (baseY + y), (byte) 0);
+                }
+            }
+            return this;
+        }
+
+        static GridMap random(Random random, int baseX, int baseY, int size)
+        {
+            GridMap grid = new GridMap(baseX, baseY, size);
+            for (int i = 0; i < grid.blocked.length; i++)
+            {
+                grid.blocked[i] = random.nextInt(100) < 22;
+                grid.wallNorth[i] = random.nextInt(100) < 4;
+                grid.wallEast[i] = random.nextInt(100) < 4;
+            }
+            // walls along the region boundaries at x 3199|3200 and y 3199|3200, with a few doors
+            for (int i = 0; i < size; i++)
+            {
+                boolean door = random.nextInt(100) < 6;
+                grid.wallEast[(3199 - baseX) * size + i] = !door;
+                door = random.nextInt(100) < 6;
+                grid.wallNorth[i * size + 3199 - baseY] = !door;
+            }
+            return grid.seal();
+        }
+
+        int index(int tile)
+        {
+            return (WorldPointUtil.getCompressedX(tile) - baseX) * size + WorldPointUtil.getCompressedY(tile) - baseY;
+        }
+
+        int randomWalkable(Random random)
+        {
+            while (true)
+            {
+                int x = baseX + random.nextInt(size);
+                int y = baseY + random.nextInt(size);
+                if (walkable((short) x, (short) y, (byte) 0))
+                {
+                    return WorldPointUtil.compress(x, y, 0);
+                }
+            }
+        }
+
+        int randomWalkableNear(Random random, int tile, int radius)
+        {
+            while (true)
+            {
+                int x = WorldPointUtil.getCompressedX(tile) + random.nextInt(radius * 2 + 1) - radius;
+                int y = WorldPointUtil.getCompressedY(tile) + random.nextInt(radius * 2 + 1) - radius;
+                if (walkable((short) x, (short) y, (byte) 0))
+                {
+                    return WorldPointUtil.compress(x, y, 0);
+                }
+            }
+        }
+
+        boolean canMove(short x, short y, int dir)
+        {
+            byte z = 0;
+            switch (dir)
+            {
+                case 0: return n(x, y, z) != 0;
+                case 1: return e(x, y, z) != 0;
+                case 2: return s(x, y, z) != 0;
+                case 3: return w(x, y, z) != 0;
+                case 4: return ne(x, y, z) != 0;
+                case 5: return se(x, y, z) != 0;
+                case 6: return sw(x, y, z) != 0;
+                default: return nw(x, y, z) != 0;
+            }
+        }
+
+        private boolean inside(int x, int y)
+        {
+            return x >= baseX && y >= baseY && x < baseX + size && y < baseY + size;
+        }
+
+        @Override
+        public boolean walkable(int packed)
+        {
+            return walkable(WorldPointUtil.getCompressedX(packed), WorldPointUtil.getCompressedY(packed),
+                    WorldPointUtil.getCompressedPlane(packed));
+        }
+
+        @Override
+        public boolean walkable(short x, short y, byte z)
+        {
+            return z == 0 && inside(x, y) && !blocked[(x - baseX) * size + y - baseY];
+        }
+
+        @Override
+        public byte n(short x, short y, byte z)
+        {
+            boolean open = walkable(x, y, z) && walkable(x, (short) (y + 1), z)
+                    && !wallNorth[(x - baseX) * size + y - baseY];
+            return open ? (byte) 1 : 0;
+        }
+
+        @Override
+        public byte e(short x, short y, byte z)
+        {
+            boolean open = walkable(x, y, z) && walkable((short) (x + 1), y, z)
+                    && !wallEast[(x - baseX) * size + y - baseY];
+            return open ? (byte) 1 : 0;
+        }
+
+        @Override
+        public byte all(short x, short y, byte z)
+        {
+            return z == 0 && inside(x, y) ? flags[(x - baseX) * size + y - baseY] : 0;
+        }
+
+        private byte computeFlags(short x, short y, byte z)
+        {
+            if (!walkable(x, y, z))
+            {
+                return 0;
+            }
+            int flags = 0;
+            flags |= nw(x, y, z) != 0 ? 0x1 : 0;
+            flags |= n(x, y, z) != 0 ? 0x2 : 0;
+            flags |= ne(x, y, z) != 0 ? 0x4 : 0;
+            flags |= w(x, y, z) != 0 ? 0x8 : 0;
+            flags |= e(x, y, z) != 0 ? 0x10 : 0;
+            flags |= sw(x, y, z) != 0 ? 0x20 : 0;
+            flags |= s(x, y, z) != 0 ? 0x40 : 0;
+            flags |= se(x, y, z) != 0 ? 0x80 : 0;
+            return (byte) flags;
+        }
+    }
+}
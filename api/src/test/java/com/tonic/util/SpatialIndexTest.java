@@ -0,0 +1,115 @@
+package com.tonic.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SpatialIndexTest
+{
+    private static final int AREAS = 530;
+
+    @Test
+    void matchesLinearScan()
+    {
+        Random random = new Random(1234);
+        int[][] rects = randomRects(random);
+        SpatialIndex<Integer> index = build(rects);
+
+        for (int q = 0; q < 20_000; q++)
+        {
+            int x = 1000 + random.nextInt(3000);
+            int y = 2500 + random.nextInt(7500);
+            int z = random.nextInt(2);
+            assertEquals(linearContaining(rects, x, y, z), index.containing(x, y, z));
+            assertEquals(linearNearest(rects, x, y, z, 128), index.nearest(x, y, z, 128));
+        }
+    }
+
+    @Test
+    void matchesLinearScanOnAreaEdges()
+    {
+        Random random = new Random(42);
+        int[][] rects = randomRects(random);
+        SpatialIndex<Integer> index = build(rects);
+
+        // corners and the tiles just outside them, where containment and distance change
+        for (int[] r : rects)
+        {
+            for (int x : new int[]{r[0] - 1, r[0], r[2], r[2] + 1})
+            {
+                for (int y : new int[]{r[1] - 1, r[1], r[3], r[3] + 1})
+                {
+                    int id = linearContaining(rects, x, y, r[4]);
+                    int expected = id != -1 ? id : linearNearest(rects, x, y, r[4], 128);
+                    int actual = index.containing(x, y, r[4]);
+                    if (actual == -1)
+                    {
+                        actual = index.nearest(x, y, r[4], 128);
+                    }
+                    assertEquals(expected, actual);
+                }
+            }
+        }
+    }
+
+    private static int[][] randomRects(Random random)
+    {
+        int[][] rects = new int[AREAS][];
+        for (int i = 0; i < AREAS; i++)
+        {
+            int x = 1000 + random.nextInt(3000);
+            int y = 2500 + random.nextInt(7500);
+            rects[i] = new int[]{x, y, x + random.nextInt(120), y + random.nextInt(120), random.nextInt(2)};
+        }
+        return rects;
+    }
+
+    private static SpatialIndex<Integer> build(int[][] rects)
+    {
+        SpatialIndex.Builder<Integer> builder = SpatialIndex.builder();
+        for (int i = 0; i < rects.length; i++)
+        {
+            int[] r = rects[i];
+            builder.add(r[0], r[1], r[2], r[3], r[4], i);
+        }
+        return builder.build();
+    }
+
+    private static int linearContaining(int[][] rects, int x, int y, int z)
+    {
+        for (int i = 0; i < rects.length; i++)
+        {
+            int[] r = rects[i];
+            if (r[4] == z && x >= r[0] && x <= r[2] && y >= r[1] && y <= r[3])
+            {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int linearNearest(int[][] rects, int x, int y, int z, int maxDistance)
+    {
+        int best = -1;
+        int bestDistance = maxDistance;
+        for (int i = 0; i < rects.length; i++)
+        {
+            int[] r = rects[i];
+            if (r[4] != z)
+            {
+                continue;
+            }
+            int dx = Math.max(0, Math.max(r[0] - x, x - r[2]));
+            int dy = Math.max(0, Math.max(r[1] - y, y - r[3]));
+            int distance = Math.max(dx, dy);
+            if (distance < bestDistance)
+            {
+                bestDistance = distance;
+                best = i;
+            }
+        }
+        return best;
+    }
+}
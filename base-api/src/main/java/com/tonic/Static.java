@@ -4,6 +4,7 @@ import com.google.inject.Injector;
 import com.tonic.api.TClient;
 import com.tonic.headless.HeadlessMode;
 import com.tonic.model.RuneLite;
+import com.tonic.services.profiler.timeline.TickTimeline;
 import com.tonic.util.ClientConfig;
 import com.tonic.util.config.ConfigFactory;
 import lombok.Getter;
@@ -109,7 +110,7 @@ public class Static
                     future.completeExceptionally(t);
                 }
             };
-            getRuneLite().getClientThread().invoke(runnable);
+            getRuneLite().getClientThread().invoke(TickTimeline.timeInvoke(runnable));
             return future.join();
         }
         return supplier.get();
@@ -123,7 +124,7 @@ public class Static
     public static void invoke(Runnable runnable) {
         TClient T_CLIENT = (TClient) CLIENT_OBJECT;
         if (!T_CLIENT.isClientThread()) {
-            getRuneLite().getClientThread().invoke(runnable);
+            getRuneLite().getClientThread().invoke(TickTimeline.timeInvoke(runnable));
         } else {
             runnable.run();
         }
@@ -133,7 +134,7 @@ public class Static
     {
         TClient T_CLIENT = (TClient) CLIENT_OBJECT;
         if (!T_CLIENT.isClientThread()) {
-            getRuneLite().getClientThread().invokeLater(runnable);
+            getRuneLite().getClientThread().invokeLater(TickTimeline.timeInvoke(runnable));
         } else {
             runnable.run();
         }
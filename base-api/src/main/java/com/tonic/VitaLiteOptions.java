@@ -98,6 +98,18 @@ public class VitaLiteOptions extends OptionsParser
     )
     private boolean autoEnterGame = true;
 
+    @CLIArgument(
+            name = "cdsTrain",
+            description = "Record loaded classes this run and build a class-data sharing archive to speed up later launches"
+    )
+    private boolean cdsTrain = false;
+
+    @CLIArgument(
+            name = "noCds",
+            description = "Do not use the class-data sharing archive"
+    )
+    private boolean noCds = false;
+
     public void _checkAudio()
     {
         if(!AudioDeviceChecker.hasAudioDevice())
@@ -12,10 +12,14 @@ import java.awt.event.MouseWheelListener;
 import java.awt.image.BufferedImage;
 import java.awt.image.DataBufferInt;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 /**
  * A JPanel that renders a simple collision map centered on the player.
- * Uses direct pixel manipulation for performance.
+ * Uses direct pixel manipulation for performance. The raw collision flags of each 64x64 region
+ * are cached per plane, so moving the view only reads regions that weren't seen yet, and tiles
+ * are rasterized from those flags at the current zoom level when drawn.
  * Supports dragging to pan view and plane selection.
  */
 public class HeadlessMapPanel extends JPanel {
@@ -62,6 +66,23 @@ public class HeadlessMapPanel extends JPanel {
     private int tilesX;        // Number of tiles visible horizontally
     private int tilesY;        // Number of tiles visible vertically
 
+    // Chunk cache - collision flags of 64x64 tile regions keyed by region and plane, 4 KB each
+    private static final int CHUNK_TILES = 64;
+    private final LinkedHashMap<Long, byte[]> chunkCache = new LinkedHashMap<Long, byte[]>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, byte[]> eldest) {
+            return size() > maxChunks;
+        }
+    };
+    private int maxChunks;
+
+    // View the current frame was rendered for, and the marker tiles drawn over it
+    private boolean frameValid;
+    private int frameOriginX, frameOriginY, framePlane;
+    private final int[] markedTiles = new int[4];
+    private int markedTileCount;
+    private volatile long lastRenderNanos;
+
     // Zoom control
     private static final int MIN_TILE_SIZE = 1;
     private static final int MAX_TILE_SIZE = 16;
@@ -307,6 +328,9 @@ public class HeadlessMapPanel extends JPanel {
      */
     public void setCollisionAccessor(CollisionMapAccessor accessor) {
         synchronized (renderLock) {
+            if (accessor != this.collisionAccessor) {
+                invalidateChunks();
+            }
             this.collisionAccessor = accessor;
         }
     }
@@ -421,6 +445,10 @@ public class HeadlessMapPanel extends JPanel {
 
             mapImage = new BufferedImage(imageWidth, imageHeight, BufferedImage.TYPE_INT_ARGB);
             pixels = ((DataBufferInt) mapImage.getRaster().getDataBuffer()).getData();
+            frameValid = false;
+
+            // Enough chunks to cover the view plus one ring around it for scrolling
+            maxChunks = (tilesX / CHUNK_TILES + 3) * (tilesY / CHUNK_TILES + 3);
         }
     }
 
@@ -450,7 +478,7 @@ public class HeadlessMapPanel extends JPanel {
             }
 
             // Update info text from provider
-            if (infoProvider != null) {
+            if (infoProvider != null && isShowing()) {
                 setInfoLines(infoProvider.getInfoLines(playerX, playerY, plane));
             }
         }
@@ -460,103 +488,225 @@ public class HeadlessMapPanel extends JPanel {
 
     /**
      * Redraw the map at current view center.
+     * When the view moves by less than a screen on the same plane, the last frame is shifted and
+     * only the strips that scrolled into view are drawn from cached chunks; the previous
+     * marker tiles are restored first. Skipped entirely while the panel isn't showing.
      */
     private void redrawMap() {
+        if (!isShowing()) {
+            return;
+        }
+
         synchronized (renderLock) {
             if (mapImage == null || collisionAccessor == null || pixels == null) {
                 recreateImage();
                 if (mapImage == null || collisionAccessor == null || pixels == null) return;
             }
 
-            // Clear to background
-            Arrays.fill(pixels, COLOR_BACKGROUND);
+            long start = System.nanoTime();
+            int originX = viewCenterX - tilesX / 2;
+            int originY = viewCenterY - tilesY / 2;
 
-            int halfTilesX = tilesX / 2;
-            int halfTilesY = tilesY / 2;
+            int shiftX = originX - frameOriginX;
+            int shiftY = originY - frameOriginY;
+            if (frameValid && viewPlane == framePlane && Math.abs(shiftX) < tilesX && Math.abs(shiftY) < tilesY) {
+                for (int i = 0; i < markedTileCount; i += 2) {
+                    restoreTile(markedTiles[i], markedTiles[i + 1]);
+                }
+                if (shiftX != 0 || shiftY != 0) {
+                    scrollFrame(originX, originY, shiftX, shiftY);
+                }
+            } else {
+                compose(originX, originY, 0, 0, imageWidth, imageHeight);
+            }
+            frameOriginX = originX;
+            frameOriginY = originY;
+            framePlane = viewPlane;
+            frameValid = true;
+            markedTileCount = 0;
+
+            // Markers (only if on same plane as view), player drawn over destination
+            if (destX >= 0 && viewPlane == destPlane) {
+                fillTile(originX, originY, destX, destY, COLOR_DESTINATION);
+            }
+            if (viewPlane == lastPlane) {
+                fillTile(originX, originY, lastPlayerX, lastPlayerY, COLOR_PLAYER);
+            }
 
-            // Render tiles
-            for (int dx = 0; dx < tilesX; dx++) {
-                for (int dy = 0; dy < tilesY; dy++) {
-                    int worldX = viewCenterX - halfTilesX + dx;
-                    int worldY = viewCenterY - halfTilesY + dy;
-
-                    // Screen coordinates (Y inverted - north is up)
-                    int screenX = dx * tileSize;
-                    int screenY = (tilesY - 1 - dy) * tileSize;
-
-                    // Check if this is the player tile (only if on same plane as view)
-                    boolean isPlayerTile = (worldX == lastPlayerX && worldY == lastPlayerY && viewPlane == lastPlane);
-                    if (isPlayerTile) {
-                        fillRect(screenX, screenY, tileSize, COLOR_PLAYER);
-                        continue;
-                    }
+            lastRenderNanos = System.nanoTime() - start;
+        }
 
-                    // Check if this is the destination tile (only if on same plane as view)
-                    boolean isDestTile = (destX >= 0 && worldX == destX && worldY == destY && viewPlane == destPlane);
-                    if (isDestTile) {
-                        fillRect(screenX, screenY, tileSize, COLOR_DESTINATION);
-                        continue;
-                    }
+        repaint();
+    }
 
-                    // Get collision flags for VIEW plane (not player plane)
-                    byte flags = collisionAccessor.getFlags(worldX, worldY, viewPlane);
+    /**
+     * Shift the frame by whole tiles and fill in the strips that scrolled into view.
+     */
+    private void scrollFrame(int originX, int originY, int shiftX, int shiftY) {
+        // World X grows to the right and world Y grows upwards on screen
+        int dx = -shiftX * tileSize;
+        int dy = shiftY * tileSize;
+        int copyWidth = imageWidth - Math.abs(dx);
+        int srcX = Math.max(0, -dx);
+        int dstX = Math.max(0, dx);
+
+        if (dy > 0) {
+            for (int y = imageHeight - 1; y >= dy; y--) {
+                System.arraycopy(pixels, (y - dy) * imageWidth + srcX, pixels, y * imageWidth + dstX, copyWidth);
+            }
+        } else {
+            for (int y = 0; y < imageHeight + dy; y++) {
+                System.arraycopy(pixels, (y - dy) * imageWidth + srcX, pixels, y * imageWidth + dstX, copyWidth);
+            }
+        }
 
-                    if (flags == FLAG_NONE) {
-                        // Fully blocked - red fill
-                        fillRect(screenX, screenY, tileSize, COLOR_BLOCKED);
-                    } else if (flags != FLAG_ALL) {
-                        // Partial blocking - draw walls on blocked edges
-                        int wallThickness = Math.max(1, tileSize / 4);
+        if (dx > 0) {
+            compose(originX, originY, 0, 0, dx, imageHeight);
+        } else if (dx < 0) {
+            compose(originX, originY, imageWidth + dx, 0, imageWidth, imageHeight);
+        }
+        if (dy > 0) {
+            compose(originX, originY, 0, 0, imageWidth, dy);
+        } else if (dy < 0) {
+            compose(originX, originY, 0, imageHeight + dy, imageWidth, imageHeight);
+        }
+    }
 
-                        // North wall (top of screen tile)
-                        if ((flags & FLAG_NORTH) == 0) {
-                            fillRect(screenX, screenY, tileSize, wallThickness, COLOR_WALL);
-                        }
-                        // South wall (bottom of screen tile)
-                        if ((flags & FLAG_SOUTH) == 0) {
-                            fillRect(screenX, screenY + tileSize - wallThickness, tileSize, wallThickness, COLOR_WALL);
-                        }
-                        // East wall (right of screen tile)
-                        if ((flags & FLAG_EAST) == 0) {
-                            fillRect(screenX + tileSize - wallThickness, screenY, wallThickness, tileSize, COLOR_WALL);
-                        }
-                        // West wall (left of screen tile)
-                        if ((flags & FLAG_WEST) == 0) {
-                            fillRect(screenX, screenY, wallThickness, tileSize, COLOR_WALL);
-                        }
-                    }
-                }
+    /**
+     * Repaint a tile of the last frame from its chunk, removing any marker drawn over it.
+     */
+    private void restoreTile(int worldX, int worldY) {
+        int dx = worldX - frameOriginX;
+        int dy = worldY - frameOriginY;
+        if (dx < 0 || dx >= tilesX || dy < 0 || dy >= tilesY) return;
+        int x = dx * tileSize;
+        int y = (tilesY - 1 - dy) * tileSize;
+        compose(frameOriginX, frameOriginY, x, y, x + tileSize, y + tileSize);
+    }
+
+    /**
+     * Draw the image rectangle [x1, x2) x [y1, y2) of the collision layer from cached chunk flags.
+     * The rectangle is always tile aligned: full frames, scrolled strips and single tiles.
+     */
+    private void compose(int originX, int originY, int x1, int y1, int x2, int y2) {
+        int wallThickness = Math.max(1, tileSize / 4);
+        int lastColumn = (x2 - 1) / tileSize;
+        int lastRow = (y2 - 1) / tileSize;
+
+        for (int row = y1 / tileSize; row <= lastRow; row++) {
+            // Image rows count down from the top, world Y counts up from the bottom
+            int worldY = originY + tilesY - 1 - row;
+            for (int column = x1 / tileSize; column <= lastColumn; column++) {
+                int worldX = originX + column;
+                byte[] chunk = getChunk(worldX >> 6, worldY >> 6, viewPlane);
+                byte flags = chunk[(worldX & (CHUNK_TILES - 1)) * CHUNK_TILES + (worldY & (CHUNK_TILES - 1))];
+                drawTile(column * tileSize, row * tileSize, flags, wallThickness);
             }
         }
+    }
 
-        repaint();
+    /**
+     * Get the collision flags of a 64x64 region, reading them on a cache miss.
+     */
+    private byte[] getChunk(int regionX, int regionY, int plane) {
+        long key = ((long) plane << 32) | ((regionX & 0xFFFFL) << 16) | (regionY & 0xFFFFL);
+        byte[] chunk = chunkCache.get(key);
+        if (chunk == null) {
+            chunk = readChunk(regionX, regionY, plane);
+            chunkCache.put(key, chunk);
+        }
+        return chunk;
+    }
+
+    private byte[] readChunk(int regionX, int regionY, int plane) {
+        byte[] chunk = new byte[CHUNK_TILES * CHUNK_TILES];
+        int baseX = regionX * CHUNK_TILES;
+        int baseY = regionY * CHUNK_TILES;
+
+        for (int dx = 0; dx < CHUNK_TILES; dx++) {
+            for (int dy = 0; dy < CHUNK_TILES; dy++) {
+                // Get collision flags for VIEW plane (not player plane)
+                chunk[dx * CHUNK_TILES + dy] = collisionAccessor.getFlags(baseX + dx, baseY + dy, plane);
+            }
+        }
+        return chunk;
+    }
+
+    /**
+     * Draw one tile of the collision layer at image position (x, y).
+     */
+    private void drawTile(int x, int y, byte flags, int wallThickness) {
+        if (flags == FLAG_NONE) {
+            // Fully blocked - red fill
+            fillRect(pixels, imageWidth, imageHeight, x, y, tileSize, tileSize, COLOR_BLOCKED);
+            return;
+        }
+
+        fillRect(pixels, imageWidth, imageHeight, x, y, tileSize, tileSize, COLOR_BACKGROUND);
+        if (flags == FLAG_ALL) {
+            return;
+        }
+
+        // Partial blocking - draw walls on blocked edges
+        if ((flags & FLAG_NORTH) == 0) {
+            fillRect(pixels, imageWidth, imageHeight, x, y, tileSize, wallThickness, COLOR_WALL);
+        }
+        if ((flags & FLAG_SOUTH) == 0) {
+            fillRect(pixels, imageWidth, imageHeight, x, y + tileSize - wallThickness, tileSize, wallThickness, COLOR_WALL);
+        }
+        if ((flags & FLAG_EAST) == 0) {
+            fillRect(pixels, imageWidth, imageHeight, x + tileSize - wallThickness, y, wallThickness, tileSize, COLOR_WALL);
+        }
+        if ((flags & FLAG_WEST) == 0) {
+            fillRect(pixels, imageWidth, imageHeight, x, y, wallThickness, tileSize, COLOR_WALL);
+        }
     }
 
     /**
-     * Fill a rectangle in the pixel array.
+     * Drop all cached chunks and force the next frame to be composed from scratch.
      */
-    private void fillRect(int x, int y, int size, int color) {
-        fillRect(x, y, size, size, color);
+    private void invalidateChunks() {
+        chunkCache.clear();
+        frameValid = false;
     }
 
     /**
-     * Fill a rectangle in the pixel array with separate width/height.
+     * Fill a world tile in the frame as a marker, if it's in view.
      */
-    private void fillRect(int x, int y, int width, int height, int color) {
+    private void fillTile(int originX, int originY, int worldX, int worldY, int color) {
+        int dx = worldX - originX;
+        int dy = worldY - originY;
+        if (dx < 0 || dx >= tilesX || dy < 0 || dy >= tilesY) return;
+        markedTiles[markedTileCount++] = worldX;
+        markedTiles[markedTileCount++] = worldY;
+        fillRect(pixels, imageWidth, imageHeight, dx * tileSize, (tilesY - 1 - dy) * tileSize, tileSize, tileSize, color);
+    }
+
+    /**
+     * Fill a rectangle in a pixel array, clipped to its bounds.
+     */
+    private static void fillRect(int[] target, int targetWidth, int targetHeight, int x, int y, int width, int height, int color) {
         int x1 = Math.max(0, x);
         int y1 = Math.max(0, y);
-        int x2 = Math.min(imageWidth, x + width);
-        int y2 = Math.min(imageHeight, y + height);
+        int x2 = Math.min(targetWidth, x + width);
+        int y2 = Math.min(targetHeight, y + height);
 
         if (x1 >= x2 || y1 >= y2) return;
 
         int fillWidth = x2 - x1;
         for (int py = y1; py < y2; py++) {
-            int rowStart = py * imageWidth + x1;
-            Arrays.fill(pixels, rowStart, rowStart + fillWidth, color);
+            int rowStart = py * targetWidth + x1;
+            Arrays.fill(target, rowStart, rowStart + fillWidth, color);
         }
     }
 
+    /**
+     * Time taken to render the last frame, excluding painting.
+     */
+    public double getLastRenderMillis() {
+        return lastRenderNanos / 1_000_000.0;
+    }
+
     /**
      * Set a single info line (convenience method for simple use).
      */
@@ -609,6 +759,7 @@ public class HeadlessMapPanel extends JPanel {
             }
             mapImage = null;  // Release the image
             pixels = null;
+            invalidateChunks();
             lockedToPlayer = true;  // Reset lock state
         }
         repaint();
@@ -0,0 +1,123 @@
+package com.tonic.headless;
+
+import lombok.Getter;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Frame and CPU counters for the client's game loop, fed once per graphics tick, so the cost of
+ * rendering can be compared with headless mode on and off. Values cover the last full second.
+ * <p>
+ * The feed comes from the {@code graphicsTick} mixin, which normal launches only get through the
+ * bundled {@code patches.zip}. If that bundle predates the mixin no tick ever arrives, and
+ * {@link #summary()} says so instead of reporting zero frames.
+ */
+public class RenderStats
+{
+    private static final long WINDOW_NANOS = 1_000_000_000L;
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+    private static final OperatingSystemMXBean OS = ManagementFactory.getOperatingSystemMXBean();
+
+    // only touched on the client thread
+    private static int drawnFrames;
+    private static int skippedFrames;
+    private static volatile long windowStart = -1;
+    private static long threadCpuStart;
+    private static long processCpuStart;
+
+    /**
+     * Frames drawn in the last second.
+     */
+    @Getter
+    private static volatile int fps;
+    /**
+     * Frames skipped by headless mode in the last second.
+     */
+    @Getter
+    private static volatile int skippedFps;
+    /**
+     * CPU used by the client thread in the last second, as a percentage of one core.
+     */
+    @Getter
+    private static volatile double clientThreadCpu;
+    /**
+     * CPU used by the whole process in the last second, as a percentage of one core.
+     */
+    @Getter
+    private static volatile double processCpu;
+
+    /**
+     * Records a graphics tick. Must be called on the client thread.
+     * @param drawn whether the frame was drawn or skipped
+     */
+    public static void onGraphicsTick(boolean drawn)
+    {
+        if (drawn)
+            drawnFrames++;
+        else
+            skippedFrames++;
+
+        long now = System.nanoTime();
+        if (windowStart < 0)
+        {
+            startWindow(now);
+            return;
+        }
+
+        long elapsed = now - windowStart;
+        if (elapsed < WINDOW_NANOS)
+            return;
+
+        long threadCpu = threadCpuTime();
+        long processCpuTime = processCpuTime();
+        fps = (int) (drawnFrames * WINDOW_NANOS / elapsed);
+        skippedFps = (int) (skippedFrames * WINDOW_NANOS / elapsed);
+        clientThreadCpu = threadCpu < 0 ? -1 : (threadCpu - threadCpuStart) * 100.0 / elapsed;
+        processCpu = processCpuTime < 0 ? -1 : (processCpuTime - processCpuStart) * 100.0 / elapsed;
+        startWindow(now);
+    }
+
+    /**
+     * @return one line summary for overlays and logs
+     */
+    public static String summary()
+    {
+        if (!isHooked())
+            return "Frame hook not patched - relaunch once with -runInjector to rebuild patches.zip";
+        return String.format("FPS: %d (%d skipped) | CPU: %.1f%% client, %.1f%% process",
+                fps, skippedFps, clientThreadCpu, processCpu);
+    }
+
+    /**
+     * @return true once the graphicsTick mixin has reported a frame
+     */
+    public static boolean isHooked()
+    {
+        return windowStart >= 0;
+    }
+
+    private static void startWindow(long now)
+    {
+        drawnFrames = 0;
+        skippedFrames = 0;
+        windowStart = now;
+        threadCpuStart = threadCpuTime();
+        processCpuStart = processCpuTime();
+    }
+
+    private static long threadCpuTime()
+    {
+        return THREADS.isCurrentThreadCpuTimeSupported() ? THREADS.getCurrentThreadCpuTime() : -1;
+    }
+
+    private static long processCpuTime()
+    {
+        if (OS instanceof com.sun.management.OperatingSystemMXBean)
+        {
+            return ((com.sun.management.OperatingSystemMXBean) OS).getProcessCpuTime();
+        }
+        return -1;
+    }
+}
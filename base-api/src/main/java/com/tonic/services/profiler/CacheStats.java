@@ -0,0 +1,86 @@
+package com.tonic.services.profiler;
+
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hit and miss counters for caches living outside base-api, shown in the profiler's Caches tab.
+ *
+ * A cache registers once under a display name and then reports each lookup; a hit may carry the
+ * time the cached result originally took to compute, which is the time the hit saved.
+ */
+public class CacheStats {
+    private static final Map<String, CacheStats> REGISTRY = new LinkedHashMap<>();
+
+    @Getter
+    private final String name;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong savedNanos = new AtomicLong();
+
+    private CacheStats(String name) {
+        this.name = name;
+    }
+
+    /**
+     * @param name name shown in the profiler
+     * @return the counters registered under the name, created on first use
+     */
+    public static synchronized CacheStats register(String name) {
+        return REGISTRY.computeIfAbsent(name, CacheStats::new);
+    }
+
+    /**
+     * @return every registered cache in registration order
+     */
+    public static synchronized List<CacheStats> all() {
+        return new ArrayList<>(REGISTRY.values());
+    }
+
+    /**
+     * @param saved nanoseconds the cached result took to compute originally
+     */
+    public void hit(long saved) {
+        hits.incrementAndGet();
+        savedNanos.addAndGet(saved);
+    }
+
+    public void miss() {
+        misses.incrementAndGet();
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * @return share of lookups answered from the cache, 0 before the first lookup
+     */
+    public double getHitRate() {
+        long hit = hits.get();
+        long total = hit + misses.get();
+        return total == 0 ? 0 : (double) hit / total;
+    }
+
+    /**
+     * @return computation time the hits avoided
+     */
+    public long getSavedMillis() {
+        return savedNanos.get() / 1_000_000;
+    }
+
+    public void reset() {
+        hits.set(0);
+        misses.set(0);
+        savedNanos.set(0);
+    }
+}
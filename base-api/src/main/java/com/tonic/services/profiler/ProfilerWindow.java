@@ -91,6 +91,10 @@ public class ProfilerWindow extends VitaFrame {
     private DefaultListModel<String> threadListModel;
     private JTextArea threadStackArea;
 
+    // Caches tab components
+    private JPanel cachePanel;
+    private DefaultTableModel cacheTableModel;
+
     // VM Config tab components
     private JTextArea vmFlagsArea, cpuFeaturesArea;
     private JTextField flagNameField, flagValueField;
@@ -166,6 +170,9 @@ public class ProfilerWindow extends VitaFrame {
         tabbedPane.addTab("Threads", createThreadPanel());
         tabbedPane.addTab("VM Configuration", createVMConfigPanel());
         tabbedPane.addTab("JVMTI / VM", createJVMTIPanel());
+        cachePanel = createCachePanel();
+        tabbedPane.addTab("Caches", cachePanel);
+        tabbedPane.addChangeListener(e -> timelinePanel.setRecording(tabbedPane.getSelectedComponent() == timelinePanel));
 
         getContentPanel().add(tabbedPane, BorderLayout.CENTER);
 
@@ -817,6 +824,65 @@ public class ProfilerWindow extends VitaFrame {
         return panel;
     }
 
+    // ==================== CACHES PANEL ====================
+
+    private JPanel createCachePanel() {
+        JPanel panel = new JPanel(new BorderLayout(10, 10));
+        panel.setBackground(BG_COLOR);
+        panel.setBorder(new EmptyBorder(15, 15, 15, 15));
+
+        JPanel tablePanel = createStyledPanel("Cache Hit Rates");
+        tablePanel.setLayout(new BorderLayout());
+
+        String[] columns = {"Cache", "Hits", "Misses", "Hit Rate", "Time Saved"};
+        cacheTableModel = new DefaultTableModel(columns, 0) {
+            @Override
+            public boolean isCellEditable(int row, int column) {
+                return false;
+            }
+        };
+
+        JTable table = new JTable(cacheTableModel);
+        table.setBackground(PANEL_BG);
+        table.setForeground(TEXT_COLOR);
+        table.setFont(new Font("Consolas", Font.PLAIN, 12));
+        table.setRowHeight(22);
+        table.getTableHeader().setBackground(new Color(50, 52, 56));
+        table.getTableHeader().setForeground(TEXT_COLOR);
+
+        JScrollPane scroll = new JScrollPane(table);
+        scroll.setBorder(BorderFactory.createLineBorder(new Color(50, 52, 56)));
+        tablePanel.add(scroll, BorderLayout.CENTER);
+
+        JButton resetBtn = createStyledButton("Reset", WARNING_COLOR);
+        resetBtn.addActionListener(e -> {
+            for (CacheStats stats : CacheStats.all()) {
+                stats.reset();
+            }
+            refreshCacheStats();
+        });
+        JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.LEFT, 0, 5));
+        buttonPanel.setOpaque(false);
+        buttonPanel.add(resetBtn);
+        tablePanel.add(buttonPanel, BorderLayout.SOUTH);
+
+        panel.add(tablePanel, BorderLayout.CENTER);
+        return panel;
+    }
+
+    private void refreshCacheStats() {
+        cacheTableModel.setRowCount(0);
+        for (CacheStats stats : CacheStats.all()) {
+            cacheTableModel.addRow(new Object[]{
+                stats.getName(),
+                stats.getHits(),
+                stats.getMisses(),
+                String.format("%.1f%%", stats.getHitRate() * 100),
+                String.format("%.1f s", stats.getSavedMillis() / 1000.0)
+            });
+        }
+    }
+
     // ==================== VM CONFIGURATION PANEL ====================
 
     private JPanel createVMConfigPanel() {
@@ -1811,6 +1877,9 @@ public class ProfilerWindow extends VitaFrame {
         // General refresh timer for other tabs (2 second interval)
         refreshTimer = new Timer(2000, e -> {
             if (isVisible()) {
+                if (tabbedPane.getSelectedComponent() == cachePanel) {
+                    refreshCacheStats();
+                }
                 int selectedTab = tabbedPane.getSelectedIndex();
                 switch (selectedTab) {
                     case 2: refreshJITInfo(); break;
@@ -1827,6 +1896,7 @@ public class ProfilerWindow extends VitaFrame {
         refreshThreadInfo();
         refreshVMFlags();
         refreshJVMTIInfo();
+        refreshCacheStats();
     }
 
     /**
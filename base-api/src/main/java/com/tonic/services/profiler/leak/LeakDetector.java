@@ -1,5 +1,6 @@
 package com.tonic.services.profiler.leak;
 
+import com.tonic.services.profiler.sampling.ClassHistogram;
 import com.tonic.services.profiler.sampling.HeapHistogramSample;
 import com.tonic.services.profiler.sampling.HeapHistogramSampler;
 
@@ -10,6 +11,8 @@ import java.util.stream.Collectors;
 
 /**
  * Detects memory leaks by analyzing heap snapshots over time
+ * Periodic snapshots don't force a GC by default and only update the classes whose counts
+ * changed, so monitoring can run for hours; growth is measured from each class's first count
  */
 public class LeakDetector {
     private final HeapHistogramSampler histogramSampler;
@@ -19,6 +22,10 @@ public class LeakDetector {
     private final ScheduledExecutorService scheduler;
 
     private HeapSnapshot baselineSnapshot;
+    private ClassHistogram lastHistogram;
+    private long lastSnapshotTimestamp;
+    private int snapshotsTaken = 0;
+    private volatile boolean liveSnapshots = false;
     private volatile boolean monitoring = false;
     private int samplingIntervalSeconds = 30;
     private int maxSnapshots = 100;
@@ -68,32 +75,41 @@ public class LeakDetector {
     /**
      * Capture baseline snapshot
      */
-    public void captureBaseline() {
-        // Force GC before baseline
-        System.gc();
-        try {
-            Thread.sleep(200);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
-
-        List<HeapHistogramSample> samples = histogramSampler.captureHistogram();
-        baselineSnapshot = new HeapSnapshot(samples, System.currentTimeMillis(), true);
+    public synchronized void captureBaseline() {
+        ClassHistogram histogram = histogramSampler.captureClassHistogram(liveSnapshots);
+        baselineSnapshot = new HeapSnapshot(histogram, true);
         snapshots.clear();
         growthTrackers.clear();
+        snapshotsTaken = 0;
 
         // Initialize trackers from baseline
-        for (HeapHistogramSample sample : samples) {
-            growthTrackers.put(sample.className, new ClassGrowthTracker(sample.className));
+        for (int i = 0; i < histogram.size(); i++) {
+            ClassGrowthTracker tracker = new ClassGrowthTracker(histogram.getClassName(i));
+            tracker.addDataPoint(histogram.getInstances(i), histogram.getBytes(i), histogram.getTimestamp());
+            growthTrackers.put(histogram.getClassName(i), tracker);
         }
+        lastHistogram = histogram;
+        lastSnapshotTimestamp = histogram.getTimestamp();
     }
 
     /**
      * Capture a snapshot
      */
     public void captureSnapshot() {
-        List<HeapHistogramSample> samples = histogramSampler.captureHistogram();
-        HeapSnapshot snapshot = new HeapSnapshot(samples, System.currentTimeMillis(), false);
+        captureSnapshot(liveSnapshots);
+    }
+
+    /**
+     * Capture a snapshot counting only live objects, which runs a full GC
+     */
+    public void captureSnapshotAfterGC() {
+        captureSnapshot(true);
+    }
+
+    private synchronized void captureSnapshot(boolean liveOnly) {
+        ClassHistogram histogram = histogramSampler.captureClassHistogram(liveOnly);
+        ClassHistogram delta = histogram.deltaFrom(lastHistogram);
+        HeapSnapshot snapshot = new HeapSnapshot(histogram, false);
 
         // Add to snapshots list (with size limit)
         snapshots.add(snapshot);
@@ -101,27 +117,20 @@ public class LeakDetector {
             snapshots.remove(0);
         }
 
-        // Update growth trackers
-        for (HeapHistogramSample sample : samples) {
-            ClassGrowthTracker tracker = growthTrackers.computeIfAbsent(
-                sample.className,
-                ClassGrowthTracker::new
+        // Update growth trackers of the classes that changed
+        for (int i = 0; i < delta.size(); i++) {
+            String className = delta.getClassName(i);
+            int row = histogram.indexOf(className);
+            ClassGrowthTracker tracker = growthTrackers.computeIfAbsent(className, ClassGrowthTracker::new);
+            tracker.addDataPoint(
+                row >= 0 ? histogram.getInstances(row) : 0,
+                row >= 0 ? histogram.getBytes(row) : 0,
+                histogram.getTimestamp()
             );
-            tracker.addDataPoint(sample.instanceCount, sample.totalBytes, snapshot.timestamp);
-        }
-    }
-
-    /**
-     * Force GC and capture snapshot
-     */
-    public void captureSnapshotAfterGC() {
-        System.gc();
-        try {
-            Thread.sleep(200);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
         }
-        captureSnapshot();
+        lastHistogram = histogram;
+        lastSnapshotTimestamp = histogram.getTimestamp();
+        snapshotsTaken++;
     }
 
     /**
@@ -149,7 +158,7 @@ public class LeakDetector {
             }
 
             // Calculate growth rate (instances per minute)
-            double growthRate = tracker.calculateGrowthRate();
+            double growthRate = tracker.calculateGrowthRate(lastSnapshotTimestamp);
 
             // Only flag if there's actual growth
             if (growthRate > 0 && current.instanceCount > baseline.instanceCount) {
@@ -160,9 +169,9 @@ public class LeakDetector {
                     current.totalBytes,
                     baseline.totalBytes,
                     growthRate,
-                    tracker.getDataPointCount(),
+                    snapshotsTaken,
                     tracker.getFirstTimestamp(),
-                    tracker.getLastTimestamp()
+                    lastSnapshotTimestamp
                 );
 
                 suspicions.add(suspicion);
@@ -241,6 +250,18 @@ public class LeakDetector {
         return samplingIntervalSeconds;
     }
 
+    public boolean isLiveSnapshots() {
+        return liveSnapshots;
+    }
+
+    /**
+     * @param liveSnapshots whether periodic snapshots count only live objects, at the cost
+     *                      of a full GC each; otherwise garbage not yet collected is counted
+     */
+    public void setLiveSnapshots(boolean liveSnapshots) {
+        this.liveSnapshots = liveSnapshots;
+    }
+
     /**
      * Get ClassLoader analysis
      */
@@ -252,34 +273,31 @@ public class LeakDetector {
      * Heap snapshot at a point in time
      */
     public static class HeapSnapshot {
-        private final Map<String, HeapHistogramSample> sampleMap;
+        private final ClassHistogram histogram;
         private final long timestamp;
         private final boolean isBaseline;
 
         public HeapSnapshot(List<HeapHistogramSample> samples, long timestamp, boolean isBaseline) {
-            this.sampleMap = new HashMap<>();
-            this.timestamp = timestamp;
-            this.isBaseline = isBaseline;
+            this(ClassHistogram.of(samples, timestamp), isBaseline);
+        }
 
-            for (HeapHistogramSample sample : samples) {
-                sampleMap.put(sample.className, sample);
-            }
+        public HeapSnapshot(ClassHistogram histogram, boolean isBaseline) {
+            this.histogram = histogram;
+            this.timestamp = histogram.getTimestamp();
+            this.isBaseline = isBaseline;
         }
 
         public HeapHistogramSample getSample(String className) {
-            return sampleMap.get(className);
+            int row = histogram.indexOf(className);
+            return row >= 0 ? histogram.getSample(row) : null;
         }
 
         public long getTotalBytes() {
-            return sampleMap.values().stream()
-                .mapToLong(s -> s.totalBytes)
-                .sum();
+            return histogram.getTotalBytes();
         }
 
         public long getTotalInstances() {
-            return sampleMap.values().stream()
-                .mapToLong(s -> s.instanceCount)
-                .sum();
+            return histogram.getTotalInstances();
         }
 
         public long getTimestamp() {
@@ -292,48 +310,74 @@ public class LeakDetector {
     }
 
     /**
-     * Tracks growth for a specific class over time
+     * Tracks growth for a specific class over time. Keeps the first data point and a fixed ring of
+     * the most recent ones, so a tracker's size doesn't grow with the length of the session.
      */
     public static class ClassGrowthTracker {
+        private static final int RECENT_POINTS = 16;
+
         private final String className;
-        private final List<DataPoint> dataPoints;
+        private final long[] instances = new long[RECENT_POINTS];
+        private final long[] bytes = new long[RECENT_POINTS];
+        private final long[] timestamps = new long[RECENT_POINTS];
+        private int count = 0;
+        private long firstInstances;
+        private long firstBytes;
         private long firstTimestamp;
+        private long lastInstances;
         private long lastTimestamp;
 
         public ClassGrowthTracker(String className) {
             this.className = className;
-            this.dataPoints = new ArrayList<>();
         }
 
-        public void addDataPoint(long instances, long bytes, long timestamp) {
-            if (dataPoints.isEmpty()) {
+        public void addDataPoint(long instanceCount, long byteCount, long timestamp) {
+            if (count == 0) {
+                firstInstances = instanceCount;
+                firstBytes = byteCount;
                 firstTimestamp = timestamp;
             }
+            lastInstances = instanceCount;
             lastTimestamp = timestamp;
-            dataPoints.add(new DataPoint(instances, bytes, timestamp));
+            int slot = count % RECENT_POINTS;
+            instances[slot] = instanceCount;
+            bytes[slot] = byteCount;
+            timestamps[slot] = timestamp;
+            count++;
         }
 
+        /**
+         * Growth in instances per minute between the first and last data point
+         */
         public double calculateGrowthRate() {
-            if (dataPoints.size() < 2) {
+            return calculateGrowthRate(lastTimestamp);
+        }
+
+        /**
+         * Growth in instances per minute from the first data point up to the given time,
+         * for trackers that only get data points when the count changes
+         */
+        public double calculateGrowthRate(long now) {
+            if (count < 2) {
                 return 0;
             }
 
-            DataPoint first = dataPoints.get(0);
-            DataPoint last = dataPoints.get(dataPoints.size() - 1);
-
-            long timeDiffMs = last.timestamp - first.timestamp;
+            long timeDiffMs = Math.max(now, lastTimestamp) - firstTimestamp;
             if (timeDiffMs <= 0) {
                 return 0;
             }
 
-            long instanceDiff = last.instances - first.instances;
+            long instanceDiff = lastInstances - firstInstances;
             double minutes = timeDiffMs / 60000.0;
 
             return minutes > 0 ? instanceDiff / minutes : 0;
         }
 
+        /**
+         * Data points added over the tracker's life, not only the ones kept
+         */
         public int getDataPointCount() {
-            return dataPoints.size();
+            return count;
         }
 
         public long getFirstTimestamp() {
@@ -344,8 +388,20 @@ public class LeakDetector {
             return lastTimestamp;
         }
 
+        /**
+         * The first data point followed by the most recent ones, oldest first
+         */
         public List<DataPoint> getDataPoints() {
-            return new ArrayList<>(dataPoints);
+            int kept = Math.min(count, RECENT_POINTS);
+            List<DataPoint> points = new ArrayList<>(kept + 1);
+            if (count > RECENT_POINTS) {
+                points.add(new DataPoint(firstInstances, firstBytes, firstTimestamp));
+            }
+            for (int i = count - kept; i < count; i++) {
+                int slot = i % RECENT_POINTS;
+                points.add(new DataPoint(instances[slot], bytes[slot], timestamps[slot]));
+            }
+            return points;
         }
 
         public static class DataPoint {
@@ -0,0 +1,68 @@
+package com.tonic.services.profiler.recording;
+
+import com.tonic.services.profiler.visualization.FlameGraphNode;
+import lombok.ToString;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Aggregated results from the allocation events of a JFR recording session.
+ * The flame graph is weighted by bytes and ends each stack in the allocated type.
+ */
+@ToString(exclude = {"flameGraphRoot"})
+public class AllocationResults {
+    public final Map<String, AllocationStats> sites;
+    public final Map<String, AllocationStats> types;
+    public final long totalBytes;
+    public final long totalEvents;
+    public final long recordingDurationMs;
+    public final FlameGraphNode flameGraphRoot;
+
+    public AllocationResults(
+            Map<String, AllocationStats> sites,
+            Map<String, AllocationStats> types,
+            long totalBytes,
+            long totalEvents,
+            long recordingDurationMs,
+            FlameGraphNode flameGraphRoot
+    ) {
+        this.sites = sites;
+        this.types = types;
+        this.totalBytes = totalBytes;
+        this.totalEvents = totalEvents;
+        this.recordingDurationMs = recordingDurationMs;
+        this.flameGraphRoot = flameGraphRoot;
+    }
+
+    /**
+     * Get the top N allocation sites by bytes
+     */
+    public List<AllocationStats> getTopSites(int n) {
+        return top(sites, n);
+    }
+
+    /**
+     * Get the top N allocated types by bytes
+     */
+    public List<AllocationStats> getTopTypes(int n) {
+        return top(types, n);
+    }
+
+    /**
+     * Average allocation rate over the recording in MB/s
+     */
+    public double getAllocationRateMBPerSec() {
+        if (recordingDurationMs <= 0) return 0;
+        return (totalBytes / (1024.0 * 1024.0)) / (recordingDurationMs / 1000.0);
+    }
+
+    private static List<AllocationStats> top(Map<String, AllocationStats> stats, int n) {
+        return stats.values().stream()
+                .sorted(Comparator.comparingLong(AllocationStats::getBytes).reversed())
+                .limit(n)
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,41 @@
+package com.tonic.services.profiler.recording;
+
+import lombok.ToString;
+
+/**
+ * Allocation totals for one allocation site or allocated type from JFR allocation events.
+ * Bytes are weighted the way JFR samples them: the new TLAB's size for allocations that
+ * started a TLAB, and the object's size for allocations made outside one.
+ */
+@ToString
+public class AllocationStats {
+    public final String key;  // ClassName.methodName:line for sites, type name for types
+
+    private long bytes;
+    private long events;
+
+    public AllocationStats(String key) {
+        this.key = key;
+    }
+
+    public void add(long weight) {
+        bytes += weight;
+        events++;
+    }
+
+    public long getBytes() {
+        return bytes;
+    }
+
+    public long getEvents() {
+        return events;
+    }
+
+    /**
+     * Get allocated bytes as percentage of all recorded allocation bytes
+     */
+    public double getPercent(long totalBytes) {
+        if (totalBytes <= 0) return 0;
+        return (bytes * 100.0) / totalBytes;
+    }
+}
@@ -2,6 +2,7 @@ package com.tonic.services.profiler.recording;
 
 import jdk.jfr.FlightRecorder;
 import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedClass;
 import jdk.jfr.consumer.RecordedEvent;
 import jdk.jfr.consumer.RecordedFrame;
 import jdk.jfr.consumer.RecordedMethod;
@@ -33,6 +34,9 @@ import java.util.Set;
  *   // ... do work ...
  *   recorder.stopRecording();
  *   MethodTimingResults results = recorder.analyze();
+ *
+ * With setRecordAllocations(true) the recording also samples TLAB allocation events, and
+ * analyze() aggregates them into {@link #getAllocationResults()}.
  */
 public class JFRMethodRecorder {
 
@@ -59,6 +63,9 @@ public class JFRMethodRecorder {
     private FilterMode filterMode = FilterMode.ALL;
     private String packageFilter = "";
     private String classFilter = "";
+    private boolean recordAllocations = false;
+
+    private AllocationResults allocationResults;
 
     /**
      * Check if JFR is available on this JVM
@@ -94,6 +101,12 @@ public class JFRMethodRecorder {
         recording.enable("jdk.NativeMethodSample")
                 .withPeriod(Duration.ofMillis(samplePeriodMs));
 
+        // Allocation sampling: one event per new TLAB, plus every allocation too large for one
+        if (recordAllocations) {
+            recording.enable("jdk.ObjectAllocationInNewTLAB").withStackTrace();
+            recording.enable("jdk.ObjectAllocationOutsideTLAB").withStackTrace();
+        }
+
         // Configure recording destination
         recording.setToDisk(true);
         recording.setDestination(tempFile);
@@ -128,6 +141,7 @@ public class JFRMethodRecorder {
      * Should be called after stopRecording().
      */
     public MethodTimingResults analyze() throws IOException {
+        allocationResults = null;
         if (tempFile == null || !Files.exists(tempFile)) {
             return new MethodTimingResults(new HashMap<>(), 0, samplePeriodMs,
                     recordingStartTime, recordingEndTime, null, null, new HashMap<>());
@@ -139,6 +153,12 @@ public class JFRMethodRecorder {
         Map<String, CallTreeNode> methodNodes = new HashMap<>();  // For caller/callee tracking
         int totalSamples = 0;
 
+        Map<String, AllocationStats> allocationSites = new HashMap<>();
+        Map<String, AllocationStats> allocationTypes = new HashMap<>();
+        FlameGraphNode allocationRoot = new FlameGraphNode("(all)", "", "");
+        long allocatedBytes = 0;
+        long allocationEvents = 0;
+
         try (RecordingFile rf = new RecordingFile(tempFile)) {
             while (rf.hasMoreEvents()) {
                 RecordedEvent event = rf.readEvent();
@@ -153,6 +173,20 @@ public class JFRMethodRecorder {
                         processStackTrace(stackTrace, stats, flameRoot, callTreeRoot, methodNodes);
                         totalSamples++;
                     }
+                } else if ("jdk.ObjectAllocationInNewTLAB".equals(eventName) ||
+                           "jdk.ObjectAllocationOutsideTLAB".equals(eventName)) {
+
+                    RecordedStackTrace stackTrace = event.getStackTrace();
+                    if (stackTrace != null) {
+                        // A new TLAB stands in for everything allocated into it, so weigh it by its size
+                        long weight = "jdk.ObjectAllocationInNewTLAB".equals(eventName)
+                                ? event.getLong("tlabSize")
+                                : event.getLong("allocationSize");
+                        String typeName = typeName(event.getClass("objectClass"));
+                        processAllocation(stackTrace, typeName, weight, allocationSites, allocationTypes, allocationRoot);
+                        allocatedBytes += weight;
+                        allocationEvents++;
+                    }
                 }
             }
         } finally {
@@ -168,6 +202,12 @@ public class JFRMethodRecorder {
         // Update flame root sample count
         flameRoot.addSamples(totalSamples);
 
+        if (recordAllocations) {
+            allocationRoot.addSamples(allocatedBytes);
+            allocationResults = new AllocationResults(allocationSites, allocationTypes, allocatedBytes,
+                    allocationEvents, recordingEndTime - recordingStartTime, allocationRoot);
+        }
+
         return new MethodTimingResults(stats, totalSamples, samplePeriodMs,
                 recordingStartTime, recordingEndTime, flameRoot, callTreeRoot, methodNodes);
     }
@@ -283,6 +323,96 @@ public class JFRMethodRecorder {
         }
     }
 
+    /**
+     * Attribute one allocation event to its site (the first frame passing the filter), its type,
+     * and its stack in the allocation flame graph, which ends in the allocated type
+     */
+    private void processAllocation(RecordedStackTrace stackTrace, String typeName, long weight,
+                                   Map<String, AllocationStats> sites, Map<String, AllocationStats> types,
+                                   FlameGraphNode flameRoot) {
+        List<FrameInfo> filteredFrames = new ArrayList<>();
+        String siteKey = null;
+
+        for (RecordedFrame frame : stackTrace.getFrames()) {
+            if (!frame.isJavaFrame()) {
+                continue;
+            }
+
+            RecordedMethod method = frame.getMethod();
+            if (method == null || method.getType() == null) {
+                continue;
+            }
+
+            String className = method.getType().getName();
+            String methodName = method.getName();
+            if (methodName.startsWith("lambda$") && !shouldIncludeLambdas()) {
+                continue;
+            }
+            if (!matchesFilter(className)) {
+                continue;
+            }
+
+            String methodKey = className + "." + methodName;
+            boolean isTop = siteKey == null;
+            if (isTop) {
+                siteKey = methodKey + ":" + frame.getLineNumber();
+            }
+            filteredFrames.add(new FrameInfo(methodKey, className, methodName, extractPackage(className), isTop));
+        }
+
+        // Allocations made entirely outside the filter are still counted by type
+        types.computeIfAbsent(typeName, AllocationStats::new).add(weight);
+        if (siteKey == null) {
+            return;
+        }
+        sites.computeIfAbsent(siteKey, AllocationStats::new).add(weight);
+
+        FlameGraphNode currentFlame = flameRoot;
+        for (int i = filteredFrames.size() - 1; i >= 0; i--) {
+            FrameInfo fi = filteredFrames.get(i);
+            currentFlame = currentFlame.getOrCreateChild(fi.methodName, fi.className, fi.packageName);
+            currentFlame.addSamples(weight);
+        }
+        currentFlame = currentFlame.getOrCreateChild("new", typeName, extractPackage(typeName));
+        currentFlame.addSamples(weight);
+    }
+
+    /**
+     * Readable name of an allocated class, e.g. "byte[]" for the descriptor "[B"
+     */
+    private static String typeName(RecordedClass type) {
+        if (type == null || type.getName() == null) {
+            return "(unknown)";
+        }
+        String name = type.getName();
+        int dims = 0;
+        while (dims < name.length() && name.charAt(dims) == '[') {
+            dims++;
+        }
+        if (dims == 0) {
+            return name;
+        }
+
+        String element;
+        switch (name.charAt(dims)) {
+            case 'B': element = "byte"; break;
+            case 'C': element = "char"; break;
+            case 'D': element = "double"; break;
+            case 'F': element = "float"; break;
+            case 'I': element = "int"; break;
+            case 'J': element = "long"; break;
+            case 'S': element = "short"; break;
+            case 'Z': element = "boolean"; break;
+            case 'L': element = name.substring(dims + 1, name.length() - 1); break;
+            default: element = name.substring(dims); break;
+        }
+        StringBuilder sb = new StringBuilder(element);
+        for (int i = 0; i < dims; i++) {
+            sb.append("[]");
+        }
+        return sb.toString();
+    }
+
     /**
      * Extract package name from fully qualified class name
      */
@@ -376,6 +506,13 @@ public class JFRMethodRecorder {
         this.classFilter = classFilter != null ? classFilter.trim() : "";
     }
 
+    public void setRecordAllocations(boolean recordAllocations) {
+        if (isRecording) {
+            throw new IllegalStateException("Cannot change settings while recording");
+        }
+        this.recordAllocations = recordAllocations;
+    }
+
     // ==================== Getters ====================
 
     public boolean isRecording() {
@@ -398,6 +535,17 @@ public class JFRMethodRecorder {
         return classFilter;
     }
 
+    public boolean isRecordAllocations() {
+        return recordAllocations;
+    }
+
+    /**
+     * Allocation results of the last analyze(), or null if that recording didn't sample allocations
+     */
+    public AllocationResults getAllocationResults() {
+        return allocationResults;
+    }
+
     public long getRecordingDurationMs() {
         if (isRecording) {
             return System.currentTimeMillis() - recordingStartTime;
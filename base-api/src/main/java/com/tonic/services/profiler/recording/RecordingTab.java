@@ -2,6 +2,8 @@ package com.tonic.services.profiler.recording;
 
 import com.tonic.services.profiler.visualization.FlameGraphNode;
 import com.tonic.services.profiler.visualization.FlameGraphPanel;
+import com.tonic.services.profiler.visualization.TreemapNode;
+import com.tonic.services.profiler.visualization.TreemapPanel;
 
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
@@ -17,7 +19,9 @@ import java.io.File;
 import java.io.FileWriter;
 import java.io.PrintWriter;
 import java.text.SimpleDateFormat;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -27,6 +31,7 @@ import java.util.Map;
  * - Flame Graph: Visual stack trace representation
  * - Call Tree: Hierarchical method breakdown
  * - Method Details: Callers/callees for selected method
+ * - Allocations: Allocation sites, flame graph by bytes and treemap by type
  */
 public class RecordingTab extends JPanel {
     private static final Color BG_COLOR = new Color(30, 31, 34);
@@ -53,6 +58,7 @@ public class RecordingTab extends JPanel {
     // Control components
     private JButton recordButton, stopButton, clearButton, exportButton;
     private JComboBox<String> sampleRateCombo;
+    private JCheckBox allocationsCheckbox;
     private JRadioButton allMethodsRadio, packageRadio, classRadio;
     private JTextField packageField, classField;
     private JLabel statusLabel, sampleCountLabel;
@@ -86,10 +92,18 @@ public class RecordingTab extends JPanel {
     private JCheckBox methodProfilerEnabledCheckbox;
     private JTextField exactTimingFilterField;
 
+    // Allocations components
+    private JTable allocationTable;
+    private DefaultTableModel allocationModel;
+    private JLabel allocationSummaryLabel;
+    private FlameGraphPanel allocationFlamePanel;
+    private TreemapPanel allocationTreemapPanel;
+
     // State
     private Timer statusTimer;
     private long recordingStartTime;
     private MethodTimingResults lastResults;
+    private AllocationResults lastAllocationResults;
     private String selectedMethodKey;
 
     public RecordingTab() {
@@ -119,6 +133,7 @@ public class RecordingTab extends JPanel {
         viewTabs.addTab("Call Tree", createCallTreePanel());
         viewTabs.addTab("Method Details", createMethodDetailsPanel());
         viewTabs.addTab("Exact Timing", createExactTimingPanel());
+        viewTabs.addTab("Allocations", createAllocationsPanel());
 
         add(viewTabs, BorderLayout.CENTER);
 
@@ -160,6 +175,14 @@ public class RecordingTab extends JPanel {
         styleComboBox(sampleRateCombo);
         buttonsPanel.add(sampleRateCombo);
 
+        buttonsPanel.add(Box.createHorizontalStrut(10));
+        allocationsCheckbox = new JCheckBox("Allocations");
+        allocationsCheckbox.setBackground(PANEL_BG);
+        allocationsCheckbox.setForeground(TEXT_COLOR);
+        allocationsCheckbox.setFont(new Font("Segoe UI", Font.PLAIN, 11));
+        allocationsCheckbox.setToolTipText("Also sample TLAB allocations for the Allocations view");
+        buttonsPanel.add(allocationsCheckbox);
+
         buttonsPanel.add(Box.createHorizontalStrut(15));
         statusLabel = createStyledLabel("Ready");
         statusLabel.setFont(statusLabel.getFont().deriveFont(Font.BOLD));
@@ -301,6 +324,52 @@ public class RecordingTab extends JPanel {
         return panel;
     }
 
+    // ==================== Allocations Panel ====================
+
+    private JPanel createAllocationsPanel() {
+        JPanel panel = new JPanel(new BorderLayout(5, 5));
+        panel.setBackground(PANEL_BG);
+        panel.setBorder(new EmptyBorder(5, 5, 5, 5));
+
+        JTabbedPane allocationTabs = new JTabbedPane();
+        styleTabPane(allocationTabs);
+
+        // Sites table
+        String[] columns = {"Site", "Bytes %", "Bytes", "Events"};
+        allocationModel = new DefaultTableModel(columns, 0) {
+            @Override
+            public boolean isCellEditable(int row, int column) {
+                return false;
+            }
+        };
+        allocationTable = new JTable(allocationModel);
+        styleTable(allocationTable);
+        allocationTable.getColumnModel().getColumn(0).setPreferredWidth(360);
+        allocationTable.getColumnModel().getColumn(1).setPreferredWidth(60);
+        allocationTable.getColumnModel().getColumn(2).setPreferredWidth(80);
+        allocationTable.getColumnModel().getColumn(3).setPreferredWidth(60);
+
+        JScrollPane scrollPane = new JScrollPane(allocationTable);
+        scrollPane.setBackground(PANEL_BG);
+        scrollPane.getViewport().setBackground(PANEL_BG);
+        allocationTabs.addTab("Sites", scrollPane);
+
+        allocationFlamePanel = new FlameGraphPanel();
+        allocationFlamePanel.setUnit("bytes");
+        allocationTabs.addTab("Flame Graph", allocationFlamePanel);
+
+        allocationTreemapPanel = new TreemapPanel();
+        allocationTabs.addTab("Types", allocationTreemapPanel);
+
+        panel.add(allocationTabs, BorderLayout.CENTER);
+
+        allocationSummaryLabel = createStyledLabel("Check Allocations before recording to sample allocation sites");
+        allocationSummaryLabel.setBorder(new EmptyBorder(5, 5, 0, 0));
+        panel.add(allocationSummaryLabel, BorderLayout.SOUTH);
+
+        return panel;
+    }
+
     // ==================== Call Tree Panel ====================
 
     private JPanel createCallTreePanel() {
@@ -591,6 +660,7 @@ public class RecordingTab extends JPanel {
             recorder.setFilterMode(getSelectedFilterMode());
             recorder.setPackageFilter(packageField.getText().trim());
             recorder.setClassFilter(classField.getText().trim());
+            recorder.setRecordAllocations(allocationsCheckbox.isSelected());
 
             recorder.startRecording();
             recordingStartTime = System.currentTimeMillis();
@@ -626,6 +696,7 @@ public class RecordingTab extends JPanel {
             protected void done() {
                 try {
                     lastResults = get();
+                    lastAllocationResults = recorder.getAllocationResults();
                     updateAllViews();
 
                     recordButton.setEnabled(true);
@@ -651,6 +722,7 @@ public class RecordingTab extends JPanel {
 
     private void setControlsEnabled(boolean enabled) {
         sampleRateCombo.setEnabled(enabled);
+        allocationsCheckbox.setEnabled(enabled);
         allMethodsRadio.setEnabled(enabled);
         packageRadio.setEnabled(enabled);
         classRadio.setEnabled(enabled);
@@ -667,6 +739,7 @@ public class RecordingTab extends JPanel {
         updateCallTree();
         selectedMethodKey = null;
         updateMethodDetails();
+        updateAllocationViews();
     }
 
     private void updateTableView() {
@@ -710,6 +783,62 @@ public class RecordingTab extends JPanel {
         }
     }
 
+    private void updateAllocationViews() {
+        allocationModel.setRowCount(0);
+
+        if (lastAllocationResults == null || lastAllocationResults.totalEvents == 0) {
+            allocationFlamePanel.setRoot(null);
+            allocationTreemapPanel.setRoot(null);
+            allocationSummaryLabel.setText(lastAllocationResults == null
+                ? "Allocations were not recorded. Check Allocations before recording."
+                : "No allocations captured. Try longer recording or check filters.");
+            return;
+        }
+
+        long totalBytes = lastAllocationResults.totalBytes;
+        for (AllocationStats site : lastAllocationResults.getTopSites(lastAllocationResults.sites.size())) {
+            allocationModel.addRow(new Object[]{
+                site.key,
+                String.format("%.1f%%", site.getPercent(totalBytes)),
+                formatBytes(site.getBytes()),
+                site.getEvents()
+            });
+        }
+
+        allocationFlamePanel.setRoot(lastAllocationResults.flameGraphRoot);
+        allocationTreemapPanel.setRoot(buildAllocationTreemap(lastAllocationResults));
+
+        allocationSummaryLabel.setText(String.format(
+            "%d sites | %d types | %s sampled | %.1f MB/s | %,d events",
+            lastAllocationResults.sites.size(), lastAllocationResults.types.size(), formatBytes(totalBytes),
+            lastAllocationResults.getAllocationRateMBPerSec(), lastAllocationResults.totalEvents));
+    }
+
+    /**
+     * Allocated types grouped by package, largest first
+     */
+    private TreemapNode buildAllocationTreemap(AllocationResults results) {
+        Map<String, List<AllocationStats>> packages = new LinkedHashMap<>();
+        Map<String, Long> packageBytes = new LinkedHashMap<>();
+        for (AllocationStats type : results.getTopTypes(results.types.size())) {
+            int lastDot = type.key.lastIndexOf('.');
+            String packageName = lastDot > 0 ? type.key.substring(0, lastDot) : "(primitive arrays)";
+            packages.computeIfAbsent(packageName, k -> new ArrayList<>()).add(type);
+            packageBytes.merge(packageName, type.getBytes(), Long::sum);
+        }
+
+        TreemapNode root = new TreemapNode("Allocations", results.totalBytes, ACCENT_COLOR);
+        for (Map.Entry<String, List<AllocationStats>> entry : packages.entrySet()) {
+            TreemapNode packageNode = new TreemapNode(entry.getKey(), packageBytes.get(entry.getKey()), WARNING_COLOR);
+            for (AllocationStats type : entry.getValue()) {
+                String simpleName = type.key.substring(type.key.lastIndexOf('.') + 1);
+                packageNode.addChild(new TreemapNode(simpleName, type.getBytes(), ACCENT_COLOR));
+            }
+            root.addChild(packageNode);
+        }
+        return root;
+    }
+
     private void updateCallTree() {
         if (lastResults == null || lastResults.callTreeRoot == null) {
             DefaultMutableTreeNode root = new DefaultMutableTreeNode("(No data)");
@@ -795,6 +924,10 @@ public class RecordingTab extends JPanel {
         resultsSummaryLabel.setText("Results cleared");
         flameGraphPanel.setRoot(null);
         callTreeModel.setRoot(new DefaultMutableTreeNode("(No data)"));
+        lastAllocationResults = null;
+        allocationModel.setRowCount(0);
+        allocationFlamePanel.setRoot(null);
+        allocationTreemapPanel.setRoot(null);
         selectedMethodKey = null;
         updateMethodDetails();
     }
@@ -984,6 +1117,13 @@ public class RecordingTab extends JPanel {
         return String.format("%dm %ds", ms / 60000, (ms % 60000) / 1000);
     }
 
+    private String formatBytes(long bytes) {
+        if (bytes < 1024) return bytes + " B";
+        if (bytes < 1024 * 1024) return String.format("%.1f KB", bytes / 1024.0);
+        if (bytes < 1024L * 1024 * 1024) return String.format("%.1f MB", bytes / (1024.0 * 1024));
+        return String.format("%.2f GB", bytes / (1024.0 * 1024 * 1024));
+    }
+
     private String getConfidenceLevel(int samples) {
         if (samples >= 100) return "High";
         if (samples >= 30) return "Medium";
@@ -0,0 +1,233 @@
+package com.tonic.services.profiler.sampling;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-class instance and byte counts held in parallel primitive arrays, parsed from the
+ * output of the HotSpot GC.class_histogram diagnostic command. The command prints one row per
+ * loaded class, so a class defined by several classloaders (VitaLite loads the client jars twice)
+ * appears more than once; those rows are summed into one per class name.
+ */
+public class ClassHistogram {
+    private String[] classNames;
+    private long[] instances;
+    private long[] bytes;
+    private int size;
+    private final long timestamp;
+    private long totalInstances;
+    private long totalBytes;
+    private final Map<String, Integer> index;
+
+    public ClassHistogram(long timestamp) {
+        this(timestamp, 1024);
+    }
+
+    private ClassHistogram(long timestamp, int capacity) {
+        this.timestamp = timestamp;
+        this.classNames = new String[capacity];
+        this.instances = new long[capacity];
+        this.bytes = new long[capacity];
+        this.index = new HashMap<>(capacity * 2);
+    }
+
+    /**
+     * Parse class histogram output line by line, e.g.
+     * <pre>
+     *  num     #instances         #bytes  class name (module)
+     * -------------------------------------------------------
+     *    1:         12345        1234567  [B (java.base@11.0.2)
+     * Total         45678        9876543
+     * </pre>
+     *
+     * @param text      diagnostic command output
+     * @param names     pool the class names are shared through across histograms, may be null
+     * @param timestamp capture time
+     */
+    public static ClassHistogram parse(String text, Map<String, String> names, long timestamp) {
+        ClassHistogram histogram = new ClassHistogram(timestamp);
+        int length = text.length();
+        int lineStart = 0;
+        while (lineStart < length) {
+            int lineEnd = text.indexOf('\n', lineStart);
+            if (lineEnd < 0) {
+                lineEnd = length;
+            }
+            histogram.parseLine(text, lineStart, lineEnd, names);
+            lineStart = lineEnd + 1;
+        }
+        return histogram;
+    }
+
+    /**
+     * Build a histogram from samples, for sources other than the diagnostic command
+     */
+    public static ClassHistogram of(List<HeapHistogramSample> samples, long timestamp) {
+        ClassHistogram histogram = new ClassHistogram(timestamp, Math.max(16, samples.size()));
+        for (HeapHistogramSample sample : samples) {
+            histogram.add(sample.className, sample.instanceCount, sample.totalBytes);
+        }
+        return histogram;
+    }
+
+    private void parseLine(String text, int start, int end, Map<String, String> names) {
+        // Rows start with "<rank>:", which skips the header, separator and total lines
+        int pos = skipSpaces(text, start, end);
+        int colon = pos;
+        while (colon < end && Character.isDigit(text.charAt(colon))) {
+            colon++;
+        }
+        if (colon == pos || colon >= end || text.charAt(colon) != ':') {
+            return;
+        }
+
+        pos = skipSpaces(text, colon + 1, end);
+        long count = 0;
+        while (pos < end && Character.isDigit(text.charAt(pos))) {
+            count = count * 10 + (text.charAt(pos++) - '0');
+        }
+        pos = skipSpaces(text, pos, end);
+        long byteCount = 0;
+        while (pos < end && Character.isDigit(text.charAt(pos))) {
+            byteCount = byteCount * 10 + (text.charAt(pos++) - '0');
+        }
+        pos = skipSpaces(text, pos, end);
+
+        int nameEnd = pos;
+        while (nameEnd < end && !Character.isWhitespace(text.charAt(nameEnd))) {
+            nameEnd++;
+        }
+        if (nameEnd == pos) {
+            return;
+        }
+
+        String name = text.substring(pos, nameEnd);
+        if (names != null) {
+            String pooled = names.putIfAbsent(name, name);
+            if (pooled != null) {
+                name = pooled;
+            }
+        }
+        add(name, count, byteCount);
+    }
+
+    private static int skipSpaces(String text, int pos, int end) {
+        while (pos < end && Character.isWhitespace(text.charAt(pos))) {
+            pos++;
+        }
+        return pos;
+    }
+
+    private void add(String className, long instanceCount, long byteCount) {
+        totalInstances += instanceCount;
+        totalBytes += byteCount;
+        Integer row = index.get(className);
+        if (row != null) {
+            instances[row] += instanceCount;
+            bytes[row] += byteCount;
+            return;
+        }
+
+        if (size == classNames.length) {
+            int capacity = size * 2;
+            classNames = Arrays.copyOf(classNames, capacity);
+            instances = Arrays.copyOf(instances, capacity);
+            bytes = Arrays.copyOf(bytes, capacity);
+        }
+        classNames[size] = className;
+        instances[size] = instanceCount;
+        bytes[size] = byteCount;
+        index.put(className, size);
+        size++;
+    }
+
+    /**
+     * Classes whose counts changed since the previous histogram, holding the change in
+     * instances and bytes. Classes gone since then show up with negative counts.
+     */
+    public ClassHistogram deltaFrom(ClassHistogram previous) {
+        ClassHistogram delta = new ClassHistogram(timestamp, 64);
+        if (previous == null) {
+            for (int i = 0; i < size; i++) {
+                delta.add(classNames[i], instances[i], bytes[i]);
+            }
+            return delta;
+        }
+
+        boolean[] matched = new boolean[previous.size];
+        for (int i = 0; i < size; i++) {
+            int prev = previous.indexOf(classNames[i]);
+            long instanceDiff = instances[i];
+            long byteDiff = bytes[i];
+            if (prev >= 0) {
+                matched[prev] = true;
+                instanceDiff -= previous.instances[prev];
+                byteDiff -= previous.bytes[prev];
+            }
+            if (instanceDiff != 0 || byteDiff != 0) {
+                delta.add(classNames[i], instanceDiff, byteDiff);
+            }
+        }
+        for (int i = 0; i < previous.size; i++) {
+            if (!matched[i]) {
+                delta.add(previous.classNames[i], -previous.instances[i], -previous.bytes[i]);
+            }
+        }
+        return delta;
+    }
+
+    /**
+     * @return the row of the class, or -1 if it isn't in this histogram
+     */
+    public int indexOf(String className) {
+        Integer i = index.get(className);
+        return i == null ? -1 : i;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public String getClassName(int i) {
+        return classNames[i];
+    }
+
+    public long getInstances(int i) {
+        return instances[i];
+    }
+
+    public long getBytes(int i) {
+        return bytes[i];
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public long getTotalInstances() {
+        return totalInstances;
+    }
+
+    public long getTotalBytes() {
+        return totalBytes;
+    }
+
+    public HeapHistogramSample getSample(int i) {
+        return new HeapHistogramSample(classNames[i], instances[i], bytes[i], timestamp);
+    }
+
+    /**
+     * Convert to samples sorted by total bytes descending
+     */
+    public List<HeapHistogramSample> toSamples() {
+        List<HeapHistogramSample> samples = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            samples.add(getSample(i));
+        }
+        samples.sort((a, b) -> Long.compare(b.totalBytes, a.totalBytes));
+        return samples;
+    }
+}
@@ -7,14 +7,24 @@ import java.lang.management.ManagementFactory;
 import java.lang.management.MemoryMXBean;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import javax.management.InstanceNotFoundException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.ReflectionException;
 
 /**
  * Heap histogram sampler that creates per-class instance and byte counts
  * Similar to VisualVM's heap histogram or jmap -histo
  */
 public class HeapHistogramSampler {
+    private static final String DIAGNOSTIC_COMMAND = "com.sun.management:type=DiagnosticCommand";
+
     private final MemoryMXBean memoryBean;
     private final Map<String, ClassStats> classStats;
+    private final Map<String, String> classNames = new ConcurrentHashMap<>();
+    private volatile ClassHistogram lastHistogram;
+    private volatile boolean diagnosticCommandAvailable = true;
+    private volatile boolean forceFullGC = false;
 
     public HeapHistogramSampler() {
         this.memoryBean = ManagementFactory.getMemoryMXBean();
@@ -23,16 +33,113 @@ public class HeapHistogramSampler {
 
     /**
      * Capture a heap histogram snapshot
-     * This performs a lightweight sampling of loaded classes and estimates instance counts
+     * Uses the GC.class_histogram diagnostic command for exact counts, falling back to
+     * estimates on VMs without it. Only forces a full GC if {@link #setForceFullGC} is on.
      */
     public List<HeapHistogramSample> captureHistogram() {
+        return captureClassHistogram(forceFullGC).toSamples();
+    }
+
+    /**
+     * Capture a heap histogram as primitive arrays
+     *
+     * @param liveOnly count only live objects, which makes the VM run a full GC first;
+     *                 otherwise unreachable objects not yet collected are counted too
+     */
+    public ClassHistogram captureClassHistogram(boolean liveOnly) {
         long timestamp = System.currentTimeMillis();
+        String text = invokeClassHistogram(liveOnly);
+        ClassHistogram histogram = text != null
+            ? ClassHistogram.parse(text, classNames, timestamp)
+            : ClassHistogram.of(captureEstimatedHistogram(liveOnly, timestamp), timestamp);
+        lastHistogram = histogram;
+        return histogram;
+    }
+
+    /**
+     * Capture a histogram and return only the classes that changed since the previous
+     * capture, so growth can be tracked without walking every class each sample
+     */
+    public ClassHistogram captureDelta(boolean liveOnly) {
+        ClassHistogram previous = lastHistogram;
+        return captureClassHistogram(liveOnly).deltaFrom(previous);
+    }
+
+    /**
+     * @return the most recent capture, or null before the first
+     */
+    public ClassHistogram getLastHistogram() {
+        return lastHistogram;
+    }
+
+    public boolean isForceFullGC() {
+        return forceFullGC;
+    }
+
+    /**
+     * @param forceFullGC whether {@link #captureHistogram()} counts only live objects,
+     *                    at the cost of a full GC per capture
+     */
+    public void setForceFullGC(boolean forceFullGC) {
+        this.forceFullGC = forceFullGC;
+    }
+
+    /**
+     * Run GC.class_histogram through the DiagnosticCommand MBean
+     * Even with -all (no forced GC) the VM walks the whole heap at a safepoint, so every
+     * capture is a stop-the-world pause that grows with heap size.
+     *
+     * @return the command output, or null if the command isn't available or this run failed
+     */
+    private String invokeClassHistogram(boolean liveOnly) {
+        if (!diagnosticCommandAvailable) {
+            return null;
+        }
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            String[] args = liveOnly ? new String[0] : new String[]{"-all"};
+            return (String) server.invoke(
+                new ObjectName(DIAGNOSTIC_COMMAND),
+                "gcClassHistogram",
+                new Object[]{args},
+                new String[]{String[].class.getName()}
+            );
+        } catch (InstanceNotFoundException e) {
+            disableDiagnosticCommand(e);
+            return null;
+        } catch (ReflectionException e) {
+            if (e.getTargetException() instanceof NoSuchMethodException) {
+                disableDiagnosticCommand(e);
+            } else {
+                System.err.println("Class histogram failed, using estimates for this capture: " + e.getMessage());
+            }
+            return null;
+        } catch (Exception e) {
+            // A failed run doesn't mean the command is gone, try it again next capture
+            System.err.println("Class histogram failed, using estimates for this capture: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Stop using the diagnostic command, the MBean or its operation doesn't exist on this VM
+     */
+    private void disableDiagnosticCommand(Exception e) {
+        diagnosticCommandAvailable = false;
+        System.err.println("Class histogram diagnostic command unavailable, using estimates: " + e.getMessage());
+    }
+
+    /**
+     * Estimate a histogram from the loaded classes, for VMs without the diagnostic command
+     */
+    private List<HeapHistogramSample> captureEstimatedHistogram(boolean liveOnly, long timestamp) {
         List<HeapHistogramSample> samples = new ArrayList<>();
 
         try {
-            // Force GC to get more accurate counts
-            System.gc();
-            Thread.sleep(100); // Give GC time to complete
+            if (liveOnly) {
+                System.gc();
+                Thread.sleep(100); // Give GC time to complete
+            }
 
             // Get all loaded classes
             Set<Class<?>> loadedClasses = getLoadedClasses();
@@ -71,13 +178,12 @@ public class HeapHistogramSampler {
                 samples.addAll(getFallbackHistogram(timestamp));
             }
 
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
         } catch (Exception e) {
             System.err.println("Error capturing heap histogram: " + e.getMessage());
         }
 
-        // Sort by total bytes descending
-        samples.sort((a, b) -> Long.compare(b.totalBytes, a.totalBytes));
-
         return samples;
     }
 
@@ -322,6 +428,8 @@ public class HeapHistogramSampler {
      */
     public void clear() {
         classStats.clear();
+        classNames.clear();
+        lastHistogram = null;
     }
 
     /**
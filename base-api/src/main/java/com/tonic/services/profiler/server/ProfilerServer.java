@@ -4,6 +4,8 @@ import com.sun.net.httpserver.HttpExchange;
 import com.sun.net.httpserver.HttpServer;
 import com.tonic.services.profiler.MetricSnapshot;
 import com.tonic.services.profiler.ResourceMetricsCollector;
+import com.tonic.services.profiler.recording.AllocationResults;
+import com.tonic.services.profiler.recording.AllocationStats;
 import com.tonic.services.profiler.recording.JFRMethodRecorder;
 import com.tonic.services.profiler.recording.MethodProfiler;
 import com.tonic.services.profiler.recording.MethodStats;
@@ -38,11 +40,12 @@ import java.util.concurrent.Executors;
  *   GET  /profiler/exact/csv           - MethodProfiler data as CSV
  *   GET  /profiler/jfr                 - Last JFR recording results
  *   GET  /profiler/hotspots?top=N      - Top N methods by self time
+ *   GET  /profiler/allocations?top=N   - Top N allocation sites and types
  *   GET  /profiler/method?name=X       - Method details with callers/callees
  *   POST /profiler/exact/enable        - Enable MethodProfiler
  *   POST /profiler/exact/disable       - Disable MethodProfiler
  *   POST /profiler/exact/clear         - Clear MethodProfiler data
- *   POST /profiler/jfr/start?period=N  - Start JFR recording
+ *   POST /profiler/jfr/start?period=N&allocations=true - Start JFR recording
  *   POST /profiler/jfr/stop            - Stop JFR recording
  */
 public class ProfilerServer {
@@ -55,6 +58,7 @@ public class ProfilerServer {
     // JFR state
     private JFRMethodRecorder jfrRecorder;
     private MethodTimingResults lastJFRResults;
+    private AllocationResults lastAllocationResults;
 
     // Sampling state
     private CPUSampler cpuSampler;
@@ -113,6 +117,7 @@ public class ProfilerServer {
         // Analysis endpoints
         server.createContext("/profiler/hotspots", this::handleHotspots);
         server.createContext("/profiler/method", this::handleMethod);
+        server.createContext("/profiler/allocations", this::handleAllocations);
 
         // CPU sampling endpoints
         server.createContext("/profiler/cpu/start", this::handleCPUStart);
@@ -189,7 +194,7 @@ public class ProfilerServer {
             json.append("    \"jfr_sampling\": {\n");
             json.append("      \"description\": \"JVM Flight Recorder sampling profiler for statistical CPU profiling\",\n");
             json.append("      \"GET /profiler/jfr\": \"Results from last JFR recording session\",\n");
-            json.append("      \"POST /profiler/jfr/start\": \"Start JFR recording. Optional: ?period=N (sample period in ms, default 10)\",\n");
+            json.append("      \"POST /profiler/jfr/start\": \"Start JFR recording. Optional: ?period=N (sample period in ms, default 10), ?allocations=true (also sample TLAB allocations)\",\n");
             json.append("      \"POST /profiler/jfr/stop\": \"Stop JFR recording and analyze results\"\n");
             json.append("    },\n");
 
@@ -197,7 +202,8 @@ public class ProfilerServer {
             json.append("    \"analysis\": {\n");
             json.append("      \"description\": \"Higher-level analysis endpoints for JFR data\",\n");
             json.append("      \"GET /profiler/hotspots\": \"Top methods by CPU time. Optional: ?top=N (default 10)\",\n");
-            json.append("      \"GET /profiler/method\": \"Method details with callers/callees. Required: ?name=ClassName.methodName\"\n");
+            json.append("      \"GET /profiler/method\": \"Method details with callers/callees. Required: ?name=ClassName.methodName\",\n");
+            json.append("      \"GET /profiler/allocations\": \"Top allocation sites and types by sampled bytes, from a recording started with allocations=true. Optional: ?top=N (default 10)\"\n");
             json.append("    },\n");
 
             // CPU sampling
@@ -399,12 +405,15 @@ public class ProfilerServer {
         } catch (NumberFormatException e) {
             // Use default
         }
+        boolean allocations = "true".equalsIgnoreCase(params.get("allocations"));
 
         try {
             jfrRecorder = new JFRMethodRecorder();
             jfrRecorder.setSamplePeriodMs(period);
+            jfrRecorder.setRecordAllocations(allocations);
             jfrRecorder.startRecording();
-            sendJson(exchange, 200, "{\"success\":true,\"recording\":true,\"periodMs\":" + period + "}");
+            sendJson(exchange, 200, "{\"success\":true,\"recording\":true,\"periodMs\":" + period +
+                    ",\"allocations\":" + allocations + "}");
         } catch (Exception e) {
             sendJson(exchange, 500, "{\"success\":false,\"error\":\"" + escapeJson(e.getMessage()) + "\"}");
         }
@@ -421,10 +430,14 @@ public class ProfilerServer {
         try {
             jfrRecorder.stopRecording();
             lastJFRResults = jfrRecorder.analyze();
+            lastAllocationResults = jfrRecorder.getAllocationResults();
 
             StringBuilder json = new StringBuilder();
             json.append("{\"success\":true,\"recording\":false,");
             json.append("\"totalSamples\":").append(lastJFRResults.totalSamples).append(",");
+            if (lastAllocationResults != null) {
+                json.append("\"allocationEvents\":").append(lastAllocationResults.totalEvents).append(",");
+            }
             json.append("\"methodCount\":").append(lastJFRResults.getMethodCount()).append(",");
             json.append("\"durationMs\":").append(lastJFRResults.recordingEndTime - lastJFRResults.recordingStartTime);
             json.append("}");
@@ -474,6 +487,54 @@ public class ProfilerServer {
         sendJson(exchange, 200, json.toString());
     }
 
+    private void handleAllocations(HttpExchange exchange) throws IOException {
+        if (!checkGet(exchange)) return;
+
+        if (lastAllocationResults == null) {
+            sendJson(exchange, 200, "{\"hasResults\":false,\"message\":\"No allocation results available. Record with /profiler/jfr/start?allocations=true first.\"}");
+            return;
+        }
+
+        Map<String, String> params = parseQuery(exchange.getRequestURI().getQuery());
+        int top = 10;
+        try {
+            if (params.containsKey("top")) {
+                top = Integer.parseInt(params.get("top"));
+            }
+        } catch (NumberFormatException e) {
+            // Use default
+        }
+
+        AllocationResults results = lastAllocationResults;
+        StringBuilder json = new StringBuilder();
+        json.append("{");
+        json.append("\"hasResults\":true,");
+        json.append("\"recordingDurationMs\":").append(results.recordingDurationMs).append(",");
+        json.append("\"totalBytes\":").append(results.totalBytes).append(",");
+        json.append("\"totalEvents\":").append(results.totalEvents).append(",");
+        json.append("\"allocationRateMBPerSec\":").append(String.format("%.2f", results.getAllocationRateMBPerSec())).append(",");
+        json.append("\"sites\":[");
+        appendAllocationStats(json, results.getTopSites(top), results.totalBytes);
+        json.append("],\"types\":[");
+        appendAllocationStats(json, results.getTopTypes(top), results.totalBytes);
+        json.append("]}");
+        sendJson(exchange, 200, json.toString());
+    }
+
+    private void appendAllocationStats(StringBuilder json, List<AllocationStats> stats, long totalBytes) {
+        boolean first = true;
+        for (AllocationStats a : stats) {
+            if (!first) json.append(",");
+            first = false;
+            json.append("{");
+            json.append("\"name\":\"").append(escapeJson(a.key)).append("\",");
+            json.append("\"bytes\":").append(a.getBytes()).append(",");
+            json.append("\"events\":").append(a.getEvents()).append(",");
+            json.append("\"percent\":").append(String.format("%.2f", a.getPercent(totalBytes)));
+            json.append("}");
+        }
+    }
+
     private void handleMethod(HttpExchange exchange) throws IOException {
         if (!checkGet(exchange)) return;
 
@@ -0,0 +1,208 @@
+package com.tonic.services.profiler.timeline;
+
+import com.tonic.services.profiler.gc.GCPauseEvent;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Bar chart of recent game ticks. Each bar stacks the client thread time recorded in the tick
+ * (subscribers, Static.invoke work, overlays) against the 600ms budget, with the tick interval
+ * drawn as a marker and GC pauses and JIT activity flagged beneath the bar.
+ */
+public class TickChartPanel extends JPanel {
+    private static final Color BG_COLOR = new Color(30, 31, 34);
+    private static final Color GRID_COLOR = new Color(60, 62, 66);
+    private static final Color TEXT_COLOR = new Color(200, 200, 200);
+    private static final Color EVENT_COLOR = new Color(64, 156, 255);
+    private static final Color INVOKE_COLOR = new Color(156, 39, 176);
+    private static final Color OVERLAY_COLOR = new Color(0, 188, 212);
+    private static final Color INTERVAL_COLOR = new Color(255, 235, 59);
+    private static final Color LATE_COLOR = new Color(233, 30, 99);
+    private static final Color GC_COLOR = new Color(255, 152, 0);
+    private static final Color JIT_COLOR = new Color(33, 150, 243);
+    private static final int BAR_WIDTH = 4;
+    private static final int MARKER_HEIGHT = 10;
+    private static final int HEADER_HEIGHT = 18;
+
+    private List<TickSample> ticks = new ArrayList<>();
+    private List<GCPauseEvent> gcEvents = new ArrayList<>();
+    private int hoveredIndex = -1;
+
+    public TickChartPanel() {
+        setBackground(BG_COLOR);
+        setPreferredSize(new Dimension(0, 170));
+        ToolTipManager.sharedInstance().registerComponent(this);
+
+        addMouseMotionListener(new MouseAdapter() {
+            @Override
+            public void mouseMoved(MouseEvent e) {
+                int index = indexAt(e.getX());
+                if (index != hoveredIndex) {
+                    hoveredIndex = index;
+                    repaint();
+                }
+            }
+        });
+        addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseExited(MouseEvent e) {
+                hoveredIndex = -1;
+                repaint();
+            }
+        });
+    }
+
+    /**
+     * Show ticks, oldest first, with the GC pauses to flag
+     */
+    public void setData(List<TickSample> ticks, List<GCPauseEvent> gcEvents) {
+        this.ticks = ticks;
+        this.gcEvents = gcEvents;
+        repaint();
+    }
+
+    private int visibleCount() {
+        return Math.max(1, (getWidth() - 10) / BAR_WIDTH);
+    }
+
+    private int firstVisible() {
+        return Math.max(0, ticks.size() - visibleCount());
+    }
+
+    private int indexAt(int x) {
+        int index = firstVisible() + (x - 5) / BAR_WIDTH;
+        return x >= 5 && index < ticks.size() ? index : -1;
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        super.paintComponent(g);
+        Graphics2D g2d = (Graphics2D) g;
+        g2d.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        g2d.setFont(new Font("Segoe UI", Font.PLAIN, 11));
+
+        if (ticks.isEmpty()) {
+            g2d.setColor(TEXT_COLOR);
+            String message;
+            if (!TickTimeline.isEnabled()) {
+                message = "Client thread recording is off";
+            } else if (TickTimeline.isEventHooked()) {
+                message = "Waiting for game ticks...";
+            } else {
+                message = "No EventBus hook seen yet - if this persists, patches.zip predates the timeline mixins (relaunch once with -runInjector)";
+            }
+            g2d.drawString(message, 10, 20);
+            return;
+        }
+
+        int chartTop = HEADER_HEIGHT;
+        int chartBottom = getHeight() - MARKER_HEIGHT - 4;
+        int chartHeight = Math.max(1, chartBottom - chartTop);
+        long scaleMicros = TickTimeline.TICK_BUDGET_MS * 2000;  // Two budgets tall
+
+        // Budget line
+        int budgetY = chartBottom - (int) (chartHeight * (TickTimeline.TICK_BUDGET_MS * 1000.0 / scaleMicros));
+        g2d.setColor(GRID_COLOR);
+        g2d.drawLine(0, budgetY, getWidth(), budgetY);
+        g2d.drawLine(0, chartBottom, getWidth(), chartBottom);
+
+        int first = firstVisible();
+        int gcIndex = 0;
+        for (int i = first; i < ticks.size(); i++) {
+            TickSample tick = ticks.get(i);
+            int x = 5 + (i - first) * BAR_WIDTH;
+            int y = chartBottom;
+
+            y = drawSegment(g2d, x, y, tick.eventMicros, scaleMicros, chartHeight, chartTop, EVENT_COLOR);
+            y = drawSegment(g2d, x, y, tick.invokeMicros, scaleMicros, chartHeight, chartTop, INVOKE_COLOR);
+            drawSegment(g2d, x, y, tick.overlayMicros, scaleMicros, chartHeight, chartTop, OVERLAY_COLOR);
+
+            // Interval marker
+            int intervalY = chartBottom - (int) (chartHeight * Math.min(1.0, tick.intervalMicros / (double) scaleMicros));
+            g2d.setColor(tick.isLate() ? LATE_COLOR : INTERVAL_COLOR);
+            g2d.fillRect(x, Math.max(chartTop, intervalY - 1), BAR_WIDTH - 1, 2);
+
+            // GC and JIT flags
+            while (gcIndex < gcEvents.size() && gcEvents.get(gcIndex).getTimestamp() < tick.startMillis) {
+                gcIndex++;
+            }
+            boolean gc = gcIndex < gcEvents.size() && tick.overlaps(gcEvents.get(gcIndex).getTimestamp());
+            if (gc) {
+                g2d.setColor(GC_COLOR);
+                g2d.fillRect(x, chartBottom + 3, BAR_WIDTH - 1, MARKER_HEIGHT / 2);
+            }
+            if (tick.jitMillis >= 50) {
+                g2d.setColor(JIT_COLOR);
+                g2d.fillRect(x, chartBottom + 3 + MARKER_HEIGHT / 2, BAR_WIDTH - 1, MARKER_HEIGHT / 2);
+            }
+
+            if (i == hoveredIndex) {
+                g2d.setColor(new Color(255, 255, 255, 60));
+                g2d.fillRect(x, chartTop, BAR_WIDTH - 1, chartBottom - chartTop);
+            }
+        }
+
+        drawLegend(g2d);
+    }
+
+    private int drawSegment(Graphics2D g2d, int x, int bottom, int micros, long scaleMicros,
+                            int chartHeight, int chartTop, Color color) {
+        int height = (int) Math.round(chartHeight * (micros / (double) scaleMicros));
+        int top = Math.max(chartTop, bottom - height);
+        if (bottom > top) {
+            g2d.setColor(color);
+            g2d.fillRect(x, top, BAR_WIDTH - 1, bottom - top);
+        }
+        return top;
+    }
+
+    private void drawLegend(Graphics2D g2d) {
+        String[] labels = {"Subscribers", "Static.invoke", "Overlays", "Interval", "Late", "GC", "JIT"};
+        Color[] colors = {EVENT_COLOR, INVOKE_COLOR, OVERLAY_COLOR, INTERVAL_COLOR, LATE_COLOR, GC_COLOR, JIT_COLOR};
+        FontMetrics fm = g2d.getFontMetrics();
+        int x = 8;
+        for (int i = 0; i < labels.length; i++) {
+            g2d.setColor(colors[i]);
+            g2d.fillRect(x, 5, 8, 8);
+            g2d.setColor(TEXT_COLOR);
+            g2d.drawString(labels[i], x + 11, 13);
+            x += 11 + fm.stringWidth(labels[i]) + 12;
+        }
+        g2d.drawString(TickTimeline.TICK_BUDGET_MS + " ms budget", x + 8, 13);
+    }
+
+    @Override
+    public String getToolTipText(MouseEvent e) {
+        int index = indexAt(e.getX());
+        if (index < 0) {
+            return null;
+        }
+        TickSample tick = ticks.get(index);
+        StringBuilder sb = new StringBuilder("<html>");
+        sb.append(String.format("<b>Tick %d</b> - %.0f ms interval<br>", tick.tick, tick.intervalMicros / 1000.0));
+        sb.append(String.format("Subscribers: %.1f ms (GameTick %.1f, ClientTick %.1f over %d)<br>",
+            tick.eventMicros / 1000.0, tick.gameTickMicros / 1000.0, tick.clientTickMicros / 1000.0, tick.clientTicks));
+        sb.append(String.format("Static.invoke: %.1f ms over %d<br>", tick.invokeMicros / 1000.0, tick.invokes));
+        sb.append(TickTimeline.isOverlayHooked()
+            ? String.format("Overlays: %.1f ms<br>", tick.overlayMicros / 1000.0)
+            : "Overlays: not patched<br>");
+        if (tick.topHandler != null) {
+            sb.append(String.format("Slowest subscriber: %s (%.1f ms)<br>", tick.topHandler, tick.topHandlerMicros / 1000.0));
+        }
+        sb.append(TickTimeline.isPacketHooked()
+            ? String.format("Packets: %d in, %d out", tick.packetsIn, tick.packetsOut)
+            : "Packets: not patched");
+        sb.append(String.format(" | JIT: %d ms", tick.jitMillis));
+        for (GCPauseEvent gcEvent : gcEvents) {
+            if (tick.overlaps(gcEvent.getTimestamp())) {
+                sb.append(String.format("<br>GC: %s (%d ms)", gcEvent.getGcName(), gcEvent.getDuration()));
+            }
+        }
+        return sb.append("</html>").toString();
+    }
+}
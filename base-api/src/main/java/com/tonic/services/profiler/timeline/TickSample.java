@@ -0,0 +1,77 @@
+package com.tonic.services.profiler.timeline;
+
+/**
+ * One game tick as recorded by {@link TickTimeline}. Times are in microseconds unless noted.
+ */
+public class TickSample {
+    private static final long LATE_MICROS = (TickTimeline.TICK_BUDGET_MS + 100) * 1000;
+    private static final long BUSY_MICROS = TickTimeline.TICK_BUDGET_MS * 1000 / 2;
+
+    public final long tick;
+    public final long startMillis;
+    public final int intervalMicros;      // Time until the next GameTick
+    public final int gameTickMicros;      // GameTick subscribers
+    public final int clientTickMicros;    // ClientTick subscribers, all frames in the tick
+    public final int clientTickMaxMicros; // Slowest single ClientTick
+    public final int clientTicks;
+    public final int eventMicros;         // All subscribers, GameTick and ClientTick included
+    public final int invokeMicros;        // Static.invoke work handed to the client thread
+    public final int invokes;
+    public final int overlayMicros;
+    public final int packetsIn;
+    public final int packetsOut;
+    public final int jitMillis;           // Compiler thread time, not a client thread pause
+    public final String topHandler;
+    public final int topHandlerMicros;
+
+    public TickSample(long tick, long startMillis, int intervalMicros, int gameTickMicros,
+                      int clientTickMicros, int clientTickMaxMicros, int clientTicks, int eventMicros,
+                      int invokeMicros, int invokes, int overlayMicros, int packetsIn, int packetsOut,
+                      int jitMillis, String topHandler, int topHandlerMicros) {
+        this.tick = tick;
+        this.startMillis = startMillis;
+        this.intervalMicros = intervalMicros;
+        this.gameTickMicros = gameTickMicros;
+        this.clientTickMicros = clientTickMicros;
+        this.clientTickMaxMicros = clientTickMaxMicros;
+        this.clientTicks = clientTicks;
+        this.eventMicros = eventMicros;
+        this.invokeMicros = invokeMicros;
+        this.invokes = invokes;
+        this.overlayMicros = overlayMicros;
+        this.packetsIn = packetsIn;
+        this.packetsOut = packetsOut;
+        this.jitMillis = jitMillis;
+        this.topHandler = topHandler;
+        this.topHandlerMicros = topHandlerMicros;
+    }
+
+    public long getEndMillis() {
+        return startMillis + intervalMicros / 1000;
+    }
+
+    /**
+     * Client thread time accounted for: subscribers, invoked work and overlays
+     */
+    public long getBusyMicros() {
+        return (long) eventMicros + invokeMicros + overlayMicros;
+    }
+
+    /**
+     * The next GameTick came noticeably later than the 600ms cadence
+     */
+    public boolean isLate() {
+        return intervalMicros > LATE_MICROS;
+    }
+
+    /**
+     * Recorded client thread work took more than half the tick budget
+     */
+    public boolean isBusy() {
+        return getBusyMicros() > BUSY_MICROS;
+    }
+
+    public boolean overlaps(long timestampMillis) {
+        return timestampMillis >= startMillis && timestampMillis <= getEndMillis();
+    }
+}
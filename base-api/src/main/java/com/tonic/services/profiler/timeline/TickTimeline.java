@@ -0,0 +1,476 @@
+package com.tonic.services.profiler.timeline;
+
+import com.tonic.services.profiler.JITCompilerAccess;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Records where the client thread spends each game tick.
+ *
+ * The hooks are called from injected code: EventBus.post and every subscriber call it makes,
+ * overlay rendering, Static.invoke work handed to the client thread, and packet reads and writes.
+ * A tick starts when GameTick is posted and one row per finished tick goes into a fixed-size
+ * ring buffer of primitive arrays, so recording allocates nothing per tick.
+ *
+ * Everything except the packet counters is only recorded on the thread that posts GameTick.
+ *
+ * Normal launches get the EventBus, overlay and packet hooks from the bundled patches.zip, so a
+ * bundle older than those mixins leaves them out. Each hook notes that it has fired, letting the
+ * UI tell a missing hook apart from an idle one.
+ */
+public class TickTimeline {
+    public static final long TICK_BUDGET_MS = 600;
+
+    private static final int CAPACITY = 1000;  // ~10 minutes of ticks
+    private static final int MAX_DEPTH = 32;
+    private static final String GAME_TICK = "net.runelite.api.events.GameTick";
+    private static final String CLIENT_TICK = "net.runelite.api.events.ClientTick";
+    private static final int OTHER = 0, GAME = 1, CLIENT = 2;
+
+    private static volatile boolean enabled = false;
+    private static volatile boolean restart = true;
+    private static volatile boolean clearRequested = false;
+    private static volatile Thread clientThread;
+    private static volatile boolean eventHooked;
+    private static volatile boolean overlayHooked;
+    private static volatile boolean packetHooked;
+    private static Class<?> gameTickClass;
+    private static Class<?> clientTickClass;
+
+    // Ring buffer, one row per finished tick, written by the client thread only
+    private static final long[] startMillis = new long[CAPACITY];
+    private static final int[] intervalMicros = new int[CAPACITY];
+    private static final int[] gameTickMicros = new int[CAPACITY];
+    private static final int[] clientTickMicros = new int[CAPACITY];
+    private static final int[] clientTickMaxMicros = new int[CAPACITY];
+    private static final int[] clientTicks = new int[CAPACITY];
+    private static final int[] eventMicros = new int[CAPACITY];
+    private static final int[] invokeMicros = new int[CAPACITY];
+    private static final int[] invokes = new int[CAPACITY];
+    private static final int[] overlayMicros = new int[CAPACITY];
+    private static final int[] packetsIn = new int[CAPACITY];
+    private static final int[] packetsOut = new int[CAPACITY];
+    private static final int[] jitMillis = new int[CAPACITY];
+    private static final int[] topHandler = new int[CAPACITY];
+    private static final int[] topHandlerMicros = new int[CAPACITY];
+    private static volatile long ticksRecorded = 0;
+
+    // Current tick
+    private static long tickStartNanos;
+    private static long tickStartMillis;
+    private static long lastJitMillis = -1;
+    private static long gameTickNanos;
+    private static long clientTickNanos;
+    private static long clientTickMaxNanos;
+    private static int clientTickCount;
+    private static long eventNanos;
+    private static long invokeNanos;
+    private static int invokeCount;
+    private static long overlayNanos;
+    private static long overlayStartNanos;
+    private static int tickTopHandler = -1;
+    private static long tickTopHandlerNanos;
+    private static final AtomicInteger tickPacketsIn = new AtomicInteger();
+    private static final AtomicInteger tickPacketsOut = new AtomicInteger();
+
+    // Open EventBus.post calls and subscriber calls, nested when a subscriber posts an event
+    private static final int[] postKinds = new int[MAX_DEPTH];
+    private static final long[] postStarts = new long[MAX_DEPTH];
+    private static int postDepth;
+    private static final HandlerCost[] handlerCosts = new HandlerCost[MAX_DEPTH];
+    private static final long[] handlerStarts = new long[MAX_DEPTH];
+    private static int handlerDepth;
+
+    private static final Map<Object, HandlerCost> HANDLERS = new ConcurrentHashMap<>();
+    private static final List<HandlerCost> HANDLER_IDS = new CopyOnWriteArrayList<>();
+
+    // ==================== Hooks ====================
+
+    /**
+     * Called by EventBus.post before dispatching. A GameTick closes the previous tick.
+     */
+    public static void postStart(Object event) {
+        if (!enabled || event == null) {
+            return;
+        }
+        if (!eventHooked) {
+            eventHooked = true;
+        }
+
+        int kind = kindOf(event.getClass());
+        Thread thread = Thread.currentThread();
+        if (kind == GAME) {
+            clientThread = thread;
+            rollTick(System.nanoTime());
+        } else if (thread != clientThread) {
+            return;
+        }
+
+        if (postDepth == MAX_DEPTH) {
+            postDepth = 0;
+        }
+        postKinds[postDepth] = kind;
+        postStarts[postDepth++] = System.nanoTime();
+    }
+
+    /**
+     * Called by EventBus.post after dispatching.
+     */
+    public static void postEnd() {
+        if (!enabled || Thread.currentThread() != clientThread || postDepth == 0) {
+            return;
+        }
+
+        long elapsed = System.nanoTime() - postStarts[--postDepth];
+        int kind = postKinds[postDepth];
+        if (kind == GAME) {
+            gameTickNanos += elapsed;
+        } else if (kind == CLIENT) {
+            clientTickNanos += elapsed;
+            clientTickCount++;
+            if (elapsed > clientTickMaxNanos) {
+                clientTickMaxNanos = elapsed;
+            }
+        }
+        if (postDepth == 0) {
+            eventNanos += elapsed;
+        }
+    }
+
+    /**
+     * Called by EventBus.post before invoking a subscriber.
+     *
+     * @param target the subscriber object, or the consumer for subscribers registered as lambdas
+     * @param method the subscribed method, null for lambda subscribers
+     */
+    public static void handlerStart(Object target, Method method) {
+        if (!enabled || Thread.currentThread() != clientThread) {
+            return;
+        }
+
+        if (handlerDepth == MAX_DEPTH) {
+            handlerDepth = 0;
+        }
+        handlerCosts[handlerDepth] = costOf(target, method);
+        handlerStarts[handlerDepth++] = System.nanoTime();
+    }
+
+    /**
+     * Called by EventBus.post after a subscriber returns or throws.
+     */
+    public static void handlerEnd() {
+        if (!enabled || Thread.currentThread() != clientThread || handlerDepth == 0) {
+            return;
+        }
+
+        long elapsed = System.nanoTime() - handlerStarts[--handlerDepth];
+        HandlerCost cost = handlerCosts[handlerDepth];
+        handlerCosts[handlerDepth] = null;
+        if (cost == null) {
+            return;
+        }
+        cost.record(elapsed);
+        if (elapsed > tickTopHandlerNanos) {
+            tickTopHandlerNanos = elapsed;
+            tickTopHandler = cost.id;
+        }
+    }
+
+    /**
+     * Called when the overlay renderer starts drawing a layer.
+     */
+    public static void overlayStart() {
+        if (!enabled || Thread.currentThread() != clientThread) {
+            return;
+        }
+        if (!overlayHooked) {
+            overlayHooked = true;
+        }
+        overlayStartNanos = System.nanoTime();
+    }
+
+    /**
+     * Called when the overlay renderer finishes drawing a layer.
+     */
+    public static void overlayEnd() {
+        if (!enabled || Thread.currentThread() != clientThread || overlayStartNanos == 0) {
+            return;
+        }
+        overlayNanos += System.nanoTime() - overlayStartNanos;
+        overlayStartNanos = 0;
+    }
+
+    /**
+     * Wrap work that Static.invoke hands to the client thread so its run time is recorded.
+     * Returns the runnable itself while recording is off.
+     */
+    public static Runnable timeInvoke(Runnable runnable) {
+        if (!enabled) {
+            return runnable;
+        }
+        return () -> {
+            long start = System.nanoTime();
+            try {
+                runnable.run();
+            } finally {
+                invokeDone(System.nanoTime() - start);
+            }
+        };
+    }
+
+    private static void invokeDone(long elapsed) {
+        if (!enabled || Thread.currentThread() != clientThread) {
+            return;
+        }
+        invokeNanos += elapsed;
+        invokeCount++;
+    }
+
+    public static void onPacketReceived() {
+        if (enabled) {
+            packetHooked = true;
+            tickPacketsIn.incrementAndGet();
+        }
+    }
+
+    public static void onPacketSent() {
+        if (enabled) {
+            packetHooked = true;
+            tickPacketsOut.incrementAndGet();
+        }
+    }
+
+    // ==================== Recording ====================
+
+    private static int kindOf(Class<?> type) {
+        if (type == gameTickClass) {
+            return GAME;
+        }
+        if (type == clientTickClass) {
+            return CLIENT;
+        }
+        if (gameTickClass == null && type.getName().equals(GAME_TICK)) {
+            gameTickClass = type;
+            return GAME;
+        }
+        if (clientTickClass == null && type.getName().equals(CLIENT_TICK)) {
+            clientTickClass = type;
+            return CLIENT;
+        }
+        return OTHER;
+    }
+
+    private static HandlerCost costOf(Object target, Method method) {
+        Object key = method != null ? method : (target != null ? target.getClass() : HandlerCost.class);
+        HandlerCost cost = HANDLERS.get(key);
+        if (cost == null) {
+            String name;
+            if (method != null) {
+                name = method.getDeclaringClass().getSimpleName() + "." + method.getName();
+            } else if (target != null) {
+                String className = target.getClass().getName();
+                int lambda = className.indexOf("$$Lambda");
+                name = (lambda > 0 ? className.substring(0, lambda) : className) + " (lambda)";
+            } else {
+                name = "(unknown)";
+            }
+            cost = new HandlerCost(HANDLER_IDS.size(), name);
+            HANDLERS.put(key, cost);
+            HANDLER_IDS.add(cost);
+        }
+        return cost;
+    }
+
+    /**
+     * Close the current tick into the ring buffer and start the next one. GameTick is posted from
+     * the top of the client loop, so any spans still open here belong to calls that threw.
+     */
+    private static void rollTick(long now) {
+        long jit = JITCompilerAccess.getTotalCompilationTime();
+
+        if (clearRequested) {
+            clearRequested = false;
+            ticksRecorded = 0;
+            HANDLERS.clear();
+            HANDLER_IDS.clear();
+            restart = true;
+        }
+
+        if (restart) {
+            restart = false;
+        } else if (tickStartNanos != 0) {
+            int row = (int) (ticksRecorded % CAPACITY);
+            startMillis[row] = tickStartMillis;
+            intervalMicros[row] = micros(now - tickStartNanos);
+            gameTickMicros[row] = micros(gameTickNanos);
+            clientTickMicros[row] = micros(clientTickNanos);
+            clientTickMaxMicros[row] = micros(clientTickMaxNanos);
+            clientTicks[row] = clientTickCount;
+            eventMicros[row] = micros(eventNanos);
+            invokeMicros[row] = micros(invokeNanos);
+            invokes[row] = invokeCount;
+            overlayMicros[row] = micros(overlayNanos);
+            packetsIn[row] = tickPacketsIn.get();
+            packetsOut[row] = tickPacketsOut.get();
+            jitMillis[row] = jit >= 0 && lastJitMillis >= 0 ? (int) (jit - lastJitMillis) : 0;
+            topHandler[row] = tickTopHandler;
+            topHandlerMicros[row] = micros(tickTopHandlerNanos);
+            ticksRecorded = ticksRecorded + 1;
+        }
+
+        tickStartNanos = now;
+        tickStartMillis = System.currentTimeMillis();
+        lastJitMillis = jit;
+        gameTickNanos = 0;
+        clientTickNanos = 0;
+        clientTickMaxNanos = 0;
+        clientTickCount = 0;
+        eventNanos = 0;
+        invokeNanos = 0;
+        invokeCount = 0;
+        overlayNanos = 0;
+        overlayStartNanos = 0;
+        tickTopHandler = -1;
+        tickTopHandlerNanos = 0;
+        tickPacketsIn.set(0);
+        tickPacketsOut.set(0);
+        postDepth = 0;
+        while (handlerDepth > 0) {
+            handlerCosts[--handlerDepth] = null;
+        }
+    }
+
+    private static int micros(long nanos) {
+        return (int) Math.min(Integer.MAX_VALUE, TimeUnit.NANOSECONDS.toMicros(nanos));
+    }
+
+    // ==================== Control and Access ====================
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Start or stop recording. Recording restarts at the next GameTick.
+     */
+    public static void setEnabled(boolean enable) {
+        if (enable && !enabled) {
+            restart = true;
+        }
+        enabled = enable;
+    }
+
+    /**
+     * Drop recorded ticks and subscriber costs at the next GameTick
+     */
+    public static void clear() {
+        clearRequested = true;
+        restart = true;
+    }
+
+    /**
+     * Whether the EventBus.post hook has fired while recording
+     */
+    public static boolean isEventHooked() {
+        return eventHooked;
+    }
+
+    /**
+     * Whether the overlay renderer hook has fired while recording
+     */
+    public static boolean isOverlayHooked() {
+        return overlayHooked;
+    }
+
+    /**
+     * Whether a packet reader or writer hook has fired while recording
+     */
+    public static boolean isPacketHooked() {
+        return packetHooked;
+    }
+
+    public static long getTicksRecorded() {
+        return ticksRecorded;
+    }
+
+    /**
+     * Get up to max of the most recent ticks, oldest first
+     */
+    public static List<TickSample> getTicks(int max) {
+        long recorded = ticksRecorded;
+        int count = (int) Math.min(Math.min(recorded, CAPACITY), max);
+        List<TickSample> ticks = new ArrayList<>(count);
+        for (long n = recorded - count; n < recorded; n++) {
+            int row = (int) (n % CAPACITY);
+            int handler = topHandler[row];
+            String handlerName = handler >= 0 && handler < HANDLER_IDS.size() ? HANDLER_IDS.get(handler).name : null;
+            ticks.add(new TickSample(n, startMillis[row], intervalMicros[row], gameTickMicros[row],
+                    clientTickMicros[row], clientTickMaxMicros[row], clientTicks[row], eventMicros[row],
+                    invokeMicros[row], invokes[row], overlayMicros[row], packetsIn[row], packetsOut[row],
+                    jitMillis[row], handlerName, topHandlerMicros[row]));
+        }
+        return ticks;
+    }
+
+    /**
+     * Get subscriber costs sorted by total time, highest first
+     */
+    public static List<HandlerCost> getHandlerCosts() {
+        List<HandlerCost> costs = new ArrayList<>(HANDLER_IDS);
+        costs.sort(Comparator.comparingLong(HandlerCost::getTotalNanos).reversed());
+        return costs;
+    }
+
+    /**
+     * Time spent in one @Subscribe method across all recorded ticks. Written by the client
+     * thread only and read without locking by the UI.
+     */
+    public static class HandlerCost {
+        private final int id;
+        private final String name;
+        private long calls;
+        private long totalNanos;
+        private long maxNanos;
+
+        HandlerCost(int id, String name) {
+            this.id = id;
+            this.name = name;
+        }
+
+        void record(long nanos) {
+            calls++;
+            totalNanos += nanos;
+            if (nanos > maxNanos) {
+                maxNanos = nanos;
+            }
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getCalls() {
+            return calls;
+        }
+
+        public long getTotalNanos() {
+            return totalNanos;
+        }
+
+        public long getMaxNanos() {
+            return maxNanos;
+        }
+
+        public long getAverageNanos() {
+            return calls == 0 ? 0 : totalNanos / calls;
+        }
+    }
+}
@@ -9,13 +9,18 @@ import java.util.List;
 import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
- * Collects and aggregates timeline events from multiple sources
+ * Collects and aggregates timeline events from multiple sources: GC pauses, and the slow ticks
+ * and JIT activity recorded by {@link TickTimeline}, with each slow tick listing the GC pauses
+ * that landed inside it
  */
 public class TimelineCollector {
     private final List<TimelineEvent> events;
     private final int maxEvents;
     private final GCPauseAnalyzer gcAnalyzer;
 
+    // Compiler time within one tick worth showing next to the ticks around it
+    private static final int JIT_EVENT_MS = 100;
+
     public TimelineCollector(int maxEvents, GCPauseAnalyzer gcAnalyzer) {
         this.events = new CopyOnWriteArrayList<>();
         this.maxEvents = maxEvents;
@@ -29,9 +34,11 @@ public class TimelineCollector {
         events.clear();
 
         // Collect GC events
-        if (gcAnalyzer != null) {
-            collectGCEvents();
-        }
+        List<GCPauseEvent> gcEvents = gcAnalyzer != null ? gcAnalyzer.getAllEvents() : Collections.emptyList();
+        collectGCEvents(gcEvents);
+
+        // Collect slow ticks and JIT activity
+        collectTickEvents(gcEvents);
 
         // Sort events by timestamp
         Collections.sort(events);
@@ -42,9 +49,7 @@ public class TimelineCollector {
         }
     }
 
-    private void collectGCEvents() {
-        List<GCPauseEvent> gcEvents = gcAnalyzer.getAllEvents();
-
+    private void collectGCEvents(List<GCPauseEvent> gcEvents) {
         for (GCPauseEvent gcEvent : gcEvents) {
             TimelineEvent.EventType type;
             switch (gcEvent.getGcType()) {
@@ -98,6 +103,85 @@ public class TimelineCollector {
         }
     }
 
+    private void collectTickEvents(List<GCPauseEvent> gcEvents) {
+        for (TickSample tick : TickTimeline.getTicks(maxEvents)) {
+            if (tick.jitMillis >= JIT_EVENT_MS) {
+                events.add(new TimelineEvent(
+                    tick.startMillis,
+                    TimelineEvent.EventType.COMPILATION,
+                    String.format("JIT compiling %d ms during tick %d", tick.jitMillis, tick.tick),
+                    tick.jitMillis,
+                    tick.jitMillis >= TickTimeline.TICK_BUDGET_MS
+                        ? TimelineEvent.EventSeverity.MEDIUM : TimelineEvent.EventSeverity.LOW,
+                    "Compiler thread time, summed over compiler threads. It runs beside the\n" +
+                    "client thread but competes with it for CPU."
+                ));
+            }
+
+            if (!tick.isLate() && !tick.isBusy()) {
+                continue;
+            }
+
+            long intervalMs = tick.intervalMicros / 1000;
+            long busyMs = tick.getBusyMicros() / 1000;
+            long worstMs = Math.max(intervalMs - TickTimeline.TICK_BUDGET_MS, busyMs);
+
+            TimelineEvent.EventSeverity severity;
+            if (intervalMs > TickTimeline.TICK_BUDGET_MS * 2) {
+                severity = TimelineEvent.EventSeverity.CRITICAL;
+            } else if (worstMs > 500) {
+                severity = TimelineEvent.EventSeverity.HIGH;
+            } else if (worstMs > 300) {
+                severity = TimelineEvent.EventSeverity.MEDIUM;
+            } else {
+                severity = TimelineEvent.EventSeverity.LOW;
+            }
+
+            StringBuilder details = new StringBuilder();
+            details.append(String.format("Tick interval: %d ms (budget %d ms)\n", intervalMs, TickTimeline.TICK_BUDGET_MS));
+            details.append(String.format("Client thread recorded: %d ms\n", busyMs));
+            details.append(String.format("  Subscribers: %.1f ms\n", tick.eventMicros / 1000.0));
+            details.append(String.format("    GameTick: %.1f ms\n", tick.gameTickMicros / 1000.0));
+            details.append(String.format("    ClientTick: %.1f ms over %d frames (max %.1f ms)\n",
+                tick.clientTickMicros / 1000.0, tick.clientTicks, tick.clientTickMaxMicros / 1000.0));
+            details.append(String.format("  Static.invoke: %.1f ms over %d calls\n", tick.invokeMicros / 1000.0, tick.invokes));
+            details.append(String.format("  Overlays: %.1f ms\n", tick.overlayMicros / 1000.0));
+            if (tick.topHandler != null) {
+                details.append(String.format("Slowest subscriber: %s (%.1f ms)\n", tick.topHandler, tick.topHandlerMicros / 1000.0));
+            }
+            details.append(String.format("Packets: %d in, %d out\n", tick.packetsIn, tick.packetsOut));
+            details.append(String.format("JIT compiling: %d ms\n", tick.jitMillis));
+
+            int gcCount = 0;
+            long gcMs = 0;
+            for (GCPauseEvent gcEvent : gcEvents) {
+                if (tick.overlaps(gcEvent.getTimestamp())) {
+                    if (gcCount++ == 0) {
+                        details.append("GC pauses in this tick:\n");
+                    }
+                    gcMs += gcEvent.getDuration();
+                    details.append(String.format("  %s, %s (%d ms)\n",
+                        gcEvent.getGcName(), gcEvent.getGcCause(), gcEvent.getDuration()));
+                }
+            }
+            if (gcCount == 0) {
+                details.append("GC pauses in this tick: none\n");
+            }
+
+            String description = String.format("Tick %d: %d ms interval, %d ms busy%s",
+                tick.tick, intervalMs, busyMs, gcCount > 0 ? String.format(", %d ms GC", gcMs) : "");
+
+            events.add(new TimelineEvent(
+                tick.startMillis,
+                TimelineEvent.EventType.SLOW_TICK,
+                description,
+                intervalMs,
+                severity,
+                details.toString()
+            ));
+        }
+    }
+
     /**
      * Get all events
      */
@@ -136,13 +220,14 @@ public class TimelineCollector {
      */
     public TimelineStatistics getStatistics() {
         if (events.isEmpty()) {
-            return new TimelineStatistics(0, 0, 0, 0, 0, 0, 0, 0);
+            return new TimelineStatistics(0, 0, 0, 0, 0, 0, 0, 0, 0);
         }
 
         int totalEvents = events.size();
         int gcEvents = 0;
         int compilationEvents = 0;
         int threadEvents = 0;
+        int slowTicks = 0;
         long totalDuration = 0;
         long longestEvent = 0;
 
@@ -165,6 +250,9 @@ public class TimelineCollector {
                 case THREAD_END:
                     threadEvents++;
                     break;
+                case SLOW_TICK:
+                    slowTicks++;
+                    break;
             }
         }
 
@@ -177,6 +265,7 @@ public class TimelineCollector {
             gcEvents,
             compilationEvents,
             threadEvents,
+            slowTicks,
             totalDuration,
             longestEvent,
             oldestEvent,
@@ -192,18 +281,20 @@ public class TimelineCollector {
         public final int gcEvents;
         public final int compilationEvents;
         public final int threadEvents;
+        public final int slowTicks;
         public final long totalDuration;
         public final long longestEvent;
         public final long oldestEventTime;
         public final long timeSpan;
 
         public TimelineStatistics(int totalEvents, int gcEvents, int compilationEvents,
-                                 int threadEvents, long totalDuration, long longestEvent,
+                                 int threadEvents, int slowTicks, long totalDuration, long longestEvent,
                                  long oldestEventTime, long timeSpan) {
             this.totalEvents = totalEvents;
             this.gcEvents = gcEvents;
             this.compilationEvents = compilationEvents;
             this.threadEvents = threadEvents;
+            this.slowTicks = slowTicks;
             this.totalDuration = totalDuration;
             this.longestEvent = longestEvent;
             this.oldestEventTime = oldestEventTime;
@@ -7,11 +7,12 @@ import javax.swing.border.EmptyBorder;
 import javax.swing.table.DefaultTableModel;
 import java.awt.*;
 import java.text.SimpleDateFormat;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 
 /**
- * Timeline visualization panel showing JVM events
+ * Timeline visualization panel showing JVM events next to per-tick client thread activity
  */
 public class TimelinePanel extends JPanel {
     private static final Color BG_COLOR = new Color(30, 31, 34);
@@ -20,6 +21,11 @@ public class TimelinePanel extends JPanel {
     private static final Color ACCENT_COLOR = new Color(64, 156, 255);
 
     private final TimelineCollector collector;
+    private final GCPauseAnalyzer gcAnalyzer;
+    private TickChartPanel tickChart;
+    private JCheckBox recordTicksCheckbox;
+    private JTable handlerTable;
+    private DefaultTableModel handlerModel;
     private JTable eventTable;
     private DefaultTableModel tableModel;
     private JTextArea statsArea;
@@ -28,6 +34,7 @@ public class TimelinePanel extends JPanel {
 
     public TimelinePanel(GCPauseAnalyzer gcAnalyzer) {
         this.collector = new TimelineCollector(500, gcAnalyzer);
+        this.gcAnalyzer = gcAnalyzer;
 
         setLayout(new BorderLayout(10, 10));
         setBackground(BG_COLOR);
@@ -41,7 +48,7 @@ public class TimelinePanel extends JPanel {
         // Top - Statistics Panel
         JPanel statsPanel = createStyledPanel("Timeline Statistics");
         statsPanel.setLayout(new BorderLayout());
-        statsPanel.setPreferredSize(new Dimension(0, 100));
+        statsPanel.setPreferredSize(new Dimension(0, 130));
 
         statsArea = new JTextArea();
         statsArea.setEditable(false);
@@ -55,7 +62,34 @@ public class TimelinePanel extends JPanel {
         statsScroll.setBorder(BorderFactory.createLineBorder(new Color(50, 52, 56)));
         statsPanel.add(statsScroll, BorderLayout.CENTER);
 
-        add(statsPanel, BorderLayout.NORTH);
+        JPanel tickControls = new JPanel(new FlowLayout(FlowLayout.RIGHT, 8, 0));
+        tickControls.setOpaque(false);
+        recordTicksCheckbox = new JCheckBox("Record client thread", TickTimeline.isEnabled());
+        recordTicksCheckbox.setBackground(PANEL_BG);
+        recordTicksCheckbox.setForeground(TEXT_COLOR);
+        recordTicksCheckbox.setFont(new Font("Segoe UI", Font.PLAIN, 11));
+        recordTicksCheckbox.setToolTipText("Time subscribers, Static.invoke work and overlays per game tick");
+        recordTicksCheckbox.addActionListener(e -> TickTimeline.setEnabled(recordTicksCheckbox.isSelected()));
+        tickControls.add(recordTicksCheckbox);
+
+        JButton clearTicksButton = new JButton("Clear Ticks");
+        clearTicksButton.setFont(new Font("Segoe UI", Font.PLAIN, 11));
+        clearTicksButton.addActionListener(e -> TickTimeline.clear());
+        tickControls.add(clearTicksButton);
+        statsPanel.add(tickControls, BorderLayout.SOUTH);
+
+        // Tick chart under the statistics
+        JPanel tickPanel = createStyledPanel("Client Thread per Game Tick");
+        tickPanel.setLayout(new BorderLayout());
+        tickChart = new TickChartPanel();
+        tickPanel.add(tickChart, BorderLayout.CENTER);
+
+        JPanel northPanel = new JPanel(new BorderLayout(10, 10));
+        northPanel.setOpaque(false);
+        northPanel.add(statsPanel, BorderLayout.NORTH);
+        northPanel.add(tickPanel, BorderLayout.CENTER);
+
+        add(northPanel, BorderLayout.NORTH);
 
         // Center - Event Table and Details
         JSplitPane centerSplit = new JSplitPane(JSplitPane.HORIZONTAL_SPLIT);
@@ -112,8 +146,38 @@ public class TimelinePanel extends JPanel {
         detailsScroll.setBorder(BorderFactory.createLineBorder(new Color(50, 52, 56)));
         detailsPanel.add(detailsScroll, BorderLayout.CENTER);
 
+        // Right bottom - Subscriber costs
+        JPanel handlerPanel = createStyledPanel("Subscriber Cost");
+        handlerPanel.setLayout(new BorderLayout());
+
+        String[] handlerColumns = {"Subscriber", "Calls", "Total ms", "Avg us", "Max ms"};
+        handlerModel = new DefaultTableModel(handlerColumns, 0) {
+            @Override
+            public boolean isCellEditable(int row, int column) {
+                return false;
+            }
+        };
+
+        handlerTable = new JTable(handlerModel);
+        handlerTable.setBackground(PANEL_BG);
+        handlerTable.setForeground(TEXT_COLOR);
+        handlerTable.setFont(new Font("Consolas", Font.PLAIN, 11));
+        handlerTable.setGridColor(new Color(50, 52, 56));
+        handlerTable.setRowHeight(20);
+        handlerTable.getTableHeader().setBackground(new Color(50, 52, 56));
+        handlerTable.getTableHeader().setForeground(TEXT_COLOR);
+        handlerTable.getColumnModel().getColumn(0).setPreferredWidth(220);
+
+        JScrollPane handlerScroll = new JScrollPane(handlerTable);
+        handlerScroll.setBorder(BorderFactory.createLineBorder(new Color(50, 52, 56)));
+        handlerPanel.add(handlerScroll, BorderLayout.CENTER);
+
+        JSplitPane rightSplit = new JSplitPane(JSplitPane.VERTICAL_SPLIT, detailsPanel, handlerPanel);
+        rightSplit.setBackground(BG_COLOR);
+        rightSplit.setResizeWeight(0.5);
+
         centerSplit.setLeftComponent(tablePanel);
-        centerSplit.setRightComponent(detailsPanel);
+        centerSplit.setRightComponent(rightSplit);
 
         add(centerSplit, BorderLayout.CENTER);
     }
@@ -128,6 +192,7 @@ public class TimelinePanel extends JPanel {
             collector.collectEvents();
             updateStatistics();
             updateEventTable();
+            updateTickViews();
         });
     }
 
@@ -135,8 +200,8 @@ public class TimelinePanel extends JPanel {
         TimelineCollector.TimelineStatistics stats = collector.getStatistics();
 
         StringBuilder sb = new StringBuilder();
-        sb.append(String.format("Total Events: %d  |  GC: %d  |  Compilation: %d  |  Thread: %d  |  ",
-            stats.totalEvents, stats.gcEvents, stats.compilationEvents, stats.threadEvents));
+        sb.append(String.format("Total Events: %d  |  GC: %d  |  Compilation: %d  |  Thread: %d  |  Slow Ticks: %d  |  ",
+            stats.totalEvents, stats.gcEvents, stats.compilationEvents, stats.threadEvents, stats.slowTicks));
 
         if (stats.totalEvents > 0) {
             sb.append(String.format("Time Span: %.1f seconds  |  Longest Event: %d ms",
@@ -145,9 +210,40 @@ public class TimelinePanel extends JPanel {
             sb.append("No events captured yet");
         }
 
+        List<TickSample> ticks = TickTimeline.getTicks(100);
+        if (!ticks.isEmpty()) {
+            long busy = 0;
+            long worstBusy = 0;
+            int late = 0;
+            for (TickSample tick : ticks) {
+                busy += tick.getBusyMicros();
+                worstBusy = Math.max(worstBusy, tick.getBusyMicros());
+                if (tick.isLate()) late++;
+            }
+            sb.append(String.format("%nLast %d ticks: avg client thread %.1f ms  |  worst %.1f ms  |  late %d",
+                ticks.size(), busy / 1000.0 / ticks.size(), worstBusy / 1000.0, late));
+        }
+
         statsArea.setText(sb.toString());
     }
 
+    private void updateTickViews() {
+        List<TickSample> ticks = TickTimeline.getTicks(500);
+        tickChart.setData(ticks, gcAnalyzer != null ? gcAnalyzer.getAllEvents() : Collections.emptyList());
+
+        handlerModel.setRowCount(0);
+        for (TickTimeline.HandlerCost cost : TickTimeline.getHandlerCosts()) {
+            if (handlerModel.getRowCount() >= 100) break;
+            handlerModel.addRow(new Object[]{
+                cost.getName(),
+                cost.getCalls(),
+                String.format("%.1f", cost.getTotalNanos() / 1_000_000.0),
+                String.format("%.1f", cost.getAverageNanos() / 1_000.0),
+                String.format("%.2f", cost.getMaxNanos() / 1_000_000.0)
+            });
+        }
+    }
+
     private void updateEventTable() {
         List<TimelineEvent> events = collector.getAllEvents();
 
@@ -206,7 +302,16 @@ public class TimelinePanel extends JPanel {
         }
     }
 
+    /**
+     * Turn client thread recording on while the tab is selected and off when it is left
+     */
+    public void setRecording(boolean recording) {
+        TickTimeline.setEnabled(recording);
+        recordTicksCheckbox.setSelected(recording);
+    }
+
     public void cleanup() {
+        TickTimeline.setEnabled(false);
         if (refreshTimer != null) {
             refreshTimer.stop();
             refreshTimer = null;
@@ -22,6 +22,7 @@ public class FlameGraphPanel extends JPanel {
     private FlameGraphNode root;
     private FlameGraphNode hoveredNode;
     private FlameGraphNode focusedNode;
+    private String unit = "samples";
     private Map<String, Color> packageColors;
     private int colorIndex = 0;
 
@@ -113,6 +114,14 @@ public class FlameGraphPanel extends JPanel {
         repaint();
     }
 
+    /**
+     * Set what node weights count, e.g. "bytes" for allocation flame graphs
+     */
+    public void setUnit(String unit) {
+        this.unit = unit;
+        repaint();
+    }
+
     @Override
     protected void paintComponent(Graphics g) {
         super.paintComponent(g);
@@ -168,10 +177,10 @@ public class FlameGraphPanel extends JPanel {
 
         String focusInfo;
         if (focusedNode == root) {
-            focusInfo = "All Stacks (" + root.getSamples() + " samples) - Click frame to zoom, scroll to magnify";
+            focusInfo = "All Stacks (" + root.getSamples() + " " + unit + ") - Click frame to zoom, scroll to magnify";
         } else {
             focusInfo = "Focused: " + focusedNode.getDisplayName() +
-                       " (" + focusedNode.getSamples() + " samples) - Click background to reset";
+                       " (" + focusedNode.getSamples() + " " + unit + ") - Click background to reset";
         }
 
         // Show zoom level if zoomed
@@ -293,8 +302,8 @@ public class FlameGraphPanel extends JPanel {
         long totalSamples = root.getSamples();
         double percentage = (node.getSamples() * 100.0) / totalSamples;
 
-        String text = String.format("%s: %d samples (%.2f%%)",
-            node.getFullName(), node.getSamples(), percentage);
+        String text = String.format("%s: %d %s (%.2f%%)",
+            node.getFullName(), node.getSamples(), unit, percentage);
 
         g2d.setFont(new Font("Segoe UI", Font.PLAIN, 11));
         FontMetrics fm = g2d.getFontMetrics();
@@ -251,6 +251,29 @@ tasks.test {
     useJUnitPlatform()
 }
 
+// Compile injector/mappings.json into the indexed binary store read by MappingProvider
+val generateMappingStore by tasks.registering(JavaExec::class) {
+    group = "build"
+    description = "Generates injector/mappings.bin from injector/mappings.json"
+
+    val mappingsJson = file("src/main/resources/com/tonic/injector/mappings.json")
+    val outputDir = layout.buildDirectory.dir("generated/mappings")
+
+    inputs.file(mappingsJson)
+    outputs.dir(outputDir)
+
+    classpath = files(sourceSets.main.get().java.classesDirectory) + configurations.runtimeClasspath.get()
+    mainClass.set("com.tonic.util.MappingStore")
+    args = listOf(
+        mappingsJson.absolutePath,
+        outputDir.get().file("com/tonic/injector/mappings.bin").asFile.absolutePath
+    )
+}
+
+tasks.processResources {
+    from(generateMappingStore)
+}
+
 // Release-specific shadow jar with additional exclusions
 tasks.register<com.github.jengelman.gradle.plugins.shadow.tasks.ShadowJar>("shadowJarRelease") {
     group = "release-pipeline"
@@ -299,6 +322,7 @@ tasks.register<com.github.jengelman.gradle.plugins.shadow.tasks.ShadowJar>("shad
     exclude("com/tonic/mixin/**")
     exclude("com/tonic/rlmixin/**")
     exclude("**/mappings.json")
+    exclude("**/mappings.bin")
 
     transform(com.github.jengelman.gradle.plugins.shadow.transformers.AppendingTransformer::class.java) {
         resource = "META-INF/services/javax.swing.LookAndFeel"
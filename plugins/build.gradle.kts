@@ -28,6 +28,7 @@ dependencies {
     implementation(group = "com.fifesoft", name = "rsyntaxtextarea", version = "3.1.2")
     implementation(group = "com.fifesoft", name = "autocomplete", version = "3.1.1")
     compileOnly("com.github.javaparser:javaparser-symbol-solver-core:3.25.5")
+    compileOnly("org.ow2.asm:asm:9.2")
 }
 
 tasks.test {
@@ -1,9 +1,9 @@
 package com.tonic.plugins.bankvaluer;
 
 import com.tonic.Static;
+import com.tonic.data.definitions.ItemDef;
 import com.tonic.services.BankCache;
-import com.tonic.util.TextUtil;
-import net.runelite.api.Client;
+import com.tonic.services.DefinitionCache;
 import net.runelite.api.ItemComposition;
 import net.runelite.api.gameval.ItemID;
 import net.runelite.client.game.ItemManager;
@@ -28,8 +28,8 @@ public class BankValuerUtils
     }
 
     public static String getName(int id) {
-        Client client = Static.getClient();
-        return Static.invoke(() -> TextUtil.sanitize(client.getItemDefinition(id).getName()));
+        ItemDef definition = DefinitionCache.item(id);
+        return definition == null ? null : definition.getName();
     }
 
     /**
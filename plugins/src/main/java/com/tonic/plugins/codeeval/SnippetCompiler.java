@@ -0,0 +1,270 @@
+package com.tonic.plugins.codeeval;
+
+import javax.tools.*;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Long-lived javac front end for one evaluation class loader.
+ * <p>
+ * The compiler and its file manager are created once, with the class path set once, so javac's
+ * archive cache and the JIT-compiled compiler stay warm between runs instead of every run opening
+ * and indexing every jar again. All compiles happen on one background thread, since the file
+ * manager isn't thread safe, and that thread compiles a warm-up snippet as soon as it starts.
+ * Compiled bytecode is kept per source hash, so re-running an unchanged snippet skips javac.
+ */
+public class SnippetCompiler {
+    private static final int CACHE_SIZE = 32;
+    private static final List<String> OPTIONS = Arrays.asList("-proc:none", "-g");
+
+    private final ClassLoader parentClassLoader;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "CodeEval-Compiler");
+        t.setDaemon(true);
+        return t;
+    });
+    private final Map<String, Map<String, byte[]>> compiled = Collections.synchronizedMap(
+            new LinkedHashMap<String, Map<String, byte[]>>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Map<String, byte[]>> eldest) {
+                    return size() > CACHE_SIZE;
+                }
+            });
+
+    // only touched on the compiler thread
+    private JavaCompiler compiler;
+    private StandardJavaFileManager standardFileManager;
+
+    public SnippetCompiler(ClassLoader parentClassLoader) {
+        this.parentClassLoader = parentClassLoader;
+    }
+
+    /**
+     * Starts the compiler in the background by compiling a throwaway class.
+     * @param className class name declared by the source
+     * @param source warm-up source, ideally importing what real snippets import
+     */
+    public void warmUp(String className, String source) {
+        executor.submit(() -> {
+            long start = System.nanoTime();
+            try {
+                compile(className, source);
+                System.out.println("[CodeEval] Compiler warmed up in " + ((System.nanoTime() - start) / 1_000_000) + "ms");
+            } catch (Exception e) {
+                System.err.println("[CodeEval] Compiler warm-up failed: " + e.getMessage());
+            }
+            return null;
+        });
+    }
+
+    /**
+     * @param prefix class name prefix
+     * @param source snippet source
+     * @return a class name that is stable for the source, so its compiled bytecode can be reused
+     */
+    public static String classNameFor(String prefix, String source) {
+        return prefix + hash(source).substring(0, 16);
+    }
+
+    /**
+     * Compiles the source, or reuses the bytecode from an earlier compile of the same source, and
+     * defines it in a fresh class loader.
+     * @param className binary name of the top-level class declared by the source
+     * @param source full class source
+     * @return the loaded top-level class
+     */
+    public Class<?> compileAndLoad(String className, String source) throws Exception {
+        String key = hash(source);
+        Map<String, byte[]> classes = compiled.get(key);
+        if (classes == null) {
+            Future<Map<String, byte[]>> future = executor.submit(() -> compile(className, source));
+            try {
+                classes = future.get();
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                throw cause instanceof Exception ? (Exception) cause : e;
+            } catch (InterruptedException e) {
+                future.cancel(true);
+                throw e;
+            }
+            compiled.put(key, classes);
+        }
+        return new SnippetClassLoader(parentClassLoader, classes).loadClass(className);
+    }
+
+    private Map<String, byte[]> compile(String className, String source) throws Exception {
+        if (compiler == null) {
+            compiler = ToolProvider.getSystemJavaCompiler();
+            if (compiler == null) {
+                throw new RuntimeException("Java compiler not available");
+            }
+            standardFileManager = compiler.getStandardFileManager(null, null, StandardCharsets.UTF_8);
+            standardFileManager.setLocation(StandardLocation.CLASS_PATH, buildClasspath());
+        }
+
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        InMemoryFileManager fileManager = new InMemoryFileManager(standardFileManager);
+        JavaFileObject sourceFile = new InMemoryJavaFileObject(className, source);
+
+        JavaCompiler.CompilationTask task = compiler.getTask(
+            null, fileManager, diagnostics, OPTIONS, null, Collections.singletonList(sourceFile)
+        );
+
+        if (!task.call()) {
+            StringBuilder errorMessage = new StringBuilder("Compilation failed:\n");
+            for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics()) {
+                errorMessage.append(diagnostic.toString()).append("\n");
+            }
+            throw new RuntimeException(errorMessage.toString());
+        }
+
+        Map<String, byte[]> classes = fileManager.getCompiledClasses();
+        if (!classes.containsKey(className)) {
+            throw new RuntimeException("No compiled class found for: " + className);
+        }
+        return classes;
+    }
+
+    private List<File> buildClasspath() {
+        Set<File> files = new LinkedHashSet<>();
+
+        // Start with system classpath
+        for (String entry : System.getProperty("java.class.path").split(File.pathSeparator)) {
+            if (!entry.isEmpty()) {
+                files.add(new File(entry));
+            }
+        }
+
+        // Add URLs from the RLClassLoader if it's a URLClassLoader
+        if (parentClassLoader instanceof URLClassLoader) {
+            for (URL url : ((URLClassLoader) parentClassLoader).getURLs()) {
+                try {
+                    files.add(Paths.get(url.toURI()).toFile());
+                } catch (Exception e) {
+                    // Fallback to URL path if URI conversion fails
+                    files.add(new File(url.getPath()));
+                }
+            }
+        }
+
+        return new ArrayList<>(files);
+    }
+
+    private static String hash(String source) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(source.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // In-memory Java file object
+    private static class InMemoryJavaFileObject extends SimpleJavaFileObject {
+        private final String code;
+
+        public InMemoryJavaFileObject(String className, String code) {
+            super(URI.create("string:///" + className.replace('.', '/') + Kind.SOURCE.extension), Kind.SOURCE);
+            this.code = code;
+        }
+
+        @Override
+        public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+            return code;
+        }
+    }
+
+    // Compiled Java file object
+    private static class CompiledJavaFileObject extends SimpleJavaFileObject {
+        private final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+
+        public CompiledJavaFileObject(String className) {
+            super(URI.create("bytes:///" + className.replace('.', '/') + Kind.CLASS.extension), Kind.CLASS);
+        }
+
+        @Override
+        public OutputStream openOutputStream() {
+            return baos;
+        }
+
+        public byte[] getBytes() {
+            return baos.toByteArray();
+        }
+    }
+
+    // In-memory file manager, one per compile over the shared standard file manager
+    private static class InMemoryFileManager extends ForwardingJavaFileManager<JavaFileManager> {
+        private final Map<String, CompiledJavaFileObject> compiledClasses = new HashMap<>();
+
+        public InMemoryFileManager(JavaFileManager fileManager) {
+            super(fileManager);
+        }
+
+        @Override
+        public JavaFileObject getJavaFileForOutput(Location location, String className, JavaFileObject.Kind kind, FileObject sibling) {
+            CompiledJavaFileObject file = new CompiledJavaFileObject(className);
+            compiledClasses.put(className, file);
+            return file;
+        }
+
+        @Override
+        public void close() {
+            // the wrapped file manager is shared between compiles, keep it open
+        }
+
+        public Map<String, byte[]> getCompiledClasses() {
+            Map<String, byte[]> classes = new HashMap<>();
+            for (Map.Entry<String, CompiledJavaFileObject> entry : compiledClasses.entrySet()) {
+                classes.put(entry.getKey(), entry.getValue().getBytes());
+            }
+            return Collections.unmodifiableMap(classes);
+        }
+    }
+
+    // Defines the snippet's classes, including nested and anonymous ones, and delegates everything
+    // else to the parent (RLClassLoader), preserving its child-first loading behavior
+    private static class SnippetClassLoader extends ClassLoader {
+        private final Map<String, byte[]> classes;
+
+        public SnippetClassLoader(ClassLoader parent, Map<String, byte[]> classes) {
+            super(parent);
+            this.classes = classes;
+        }
+
+        @Override
+        public Class<?> loadClass(String name) throws ClassNotFoundException {
+            if (classes.containsKey(name)) {
+                synchronized (getClassLoadingLock(name)) {
+                    Class<?> loaded = findLoadedClass(name);
+                    return loaded != null ? loaded : findClass(name);
+                }
+            }
+            return super.loadClass(name);
+        }
+
+        @Override
+        protected Class<?> findClass(String name) throws ClassNotFoundException {
+            byte[] bytes = classes.get(name);
+            if (bytes == null || bytes.length == 0) {
+                throw new ClassNotFoundException("No bytecode available for " + name);
+            }
+            return defineClass(name, bytes, 0, bytes.length);
+        }
+    }
+}
@@ -1,20 +1,28 @@
 package com.tonic.plugins.codeeval.completion;
 
 import java.io.File;
+import java.io.InputStream;
 import java.net.URL;
 import java.net.URLClassLoader;
+import java.nio.file.Files;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.jar.JarEntry;
-import java.util.jar.JarFile;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.objectweb.asm.Opcodes;
 
 /**
- * Caches class information for autocompletion by scanning JARs and using reflection
+ * Caches class information for autocompletion. Jars are read through persistent {@link ClassIndex}
+ * files, so building the cache never loads or initializes the classes it lists; reflection is only
+ * used for classes that have no class file to read, like the gamepack's.
  */
 public class ClassCache {
+    private static final AtomicBoolean pruned = new AtomicBoolean();
+
     private final Map<String, ClassInfo> classInfoByFullName = new ConcurrentHashMap<>();
     private final Map<String, ClassInfo> classInfoBySimpleName = new ConcurrentHashMap<>();
     private final Map<String, List<ClassInfo>> classInfoByPackage = new ConcurrentHashMap<>();
+    private final Map<File, ClassIndex> jarIndexes = new ConcurrentHashMap<>();
     private final ClassLoader classLoader;
     private final Set<String> indexedPackages = new HashSet<>();
     private volatile boolean indexingComplete = false;
@@ -30,6 +38,9 @@ public class ClassCache {
         if (packages == null || packages.isEmpty()) return;
 
         indexedPackages.addAll(packages);
+        if (pruned.compareAndSet(false, true)) {
+            ClassIndex.pruneStale();
+        }
 
         // Try to get URLs from classloader
         if (classLoader instanceof URLClassLoader) {
@@ -73,26 +84,29 @@ public class ClassCache {
     }
 
     private void indexJar(File jarFile, Set<String> packages) {
-        if (!jarFile.exists() || !jarFile.canRead()) return;
-
-        try (JarFile jar = new JarFile(jarFile)) {
-            Enumeration<JarEntry> entries = jar.entries();
-            while (entries.hasMoreElements()) {
-                JarEntry entry = entries.nextElement();
-                String name = entry.getName();
-
-                if (name.endsWith(".class") && !name.contains("$")) {
-                    String className = name.replace('/', '.').replace(".class", "");
-                    if (matchesAnyPackage(className, packages)) {
-                        cacheClassInfo(className);
-                    }
-                }
+        ClassIndex index = indexFor(jarFile);
+        if (index == null) return;
+
+        for (String className : index.getClassNames()) {
+            if (!className.contains("$") && matchesAnyPackage(className, packages)) {
+                cacheIndexedClass(className, index);
             }
-        } catch (Exception e) {
-            // Silently skip problematic JARs
         }
     }
 
+    private ClassIndex indexFor(File jarFile) {
+        if (!jarFile.exists() || !jarFile.canRead()) return null;
+
+        ClassIndex index = jarIndexes.get(jarFile);
+        if (index == null) {
+            index = ClassIndex.forJar(jarFile);
+            if (index != null) {
+                jarIndexes.put(jarFile, index);
+            }
+        }
+        return index;
+    }
+
     private void indexDirectory(File dir, String packagePrefix, Set<String> packages) {
         File[] files = dir.listFiles();
         if (files == null) return;
@@ -103,8 +117,15 @@ public class ClassCache {
                 indexDirectory(file, newPrefix, packages);
             } else if (file.getName().endsWith(".class") && !file.getName().contains("$")) {
                 String className = packagePrefix + "." + file.getName().replace(".class", "");
-                if (matchesAnyPackage(className, packages)) {
-                    cacheClassInfo(className);
+                if (matchesAnyPackage(className, packages) && !classInfoByFullName.containsKey(className)) {
+                    try {
+                        ClassRecord record = ClassRecord.parse(Files.readAllBytes(file.toPath()));
+                        if (record.isPublic() && !record.isSynthetic()) {
+                            register(className, new ClassInfo(className, record.access, () -> record, this));
+                        }
+                    } catch (Exception ignored) {
+                        // Silently skip unreadable class files
+                    }
                 }
             }
         }
@@ -122,47 +143,63 @@ public class ClassCache {
         return false;
     }
 
-    private void cacheClassInfo(String className) {
+    private void cacheIndexedClass(String className, ClassIndex index) {
         if (classInfoByFullName.containsKey(className)) return;
 
-        try {
-            Class<?> clazz = classLoader.loadClass(className);
-
-            // Skip non-public classes and synthetic/anonymous classes
-            if (!java.lang.reflect.Modifier.isPublic(clazz.getModifiers())) return;
-            if (clazz.isAnonymousClass() || clazz.isSynthetic()) return;
+        // Skip non-public classes and synthetic/anonymous classes
+        int access = index.getAccess(className);
+        if ((access & Opcodes.ACC_PUBLIC) == 0 || (access & Opcodes.ACC_SYNTHETIC) != 0) return;
 
-            ClassInfo info = new ClassInfo(clazz);
-            classInfoByFullName.put(className, info);
-            classInfoBySimpleName.put(info.getSimpleName(), info);
+        register(className, new ClassInfo(className, access, () -> index.read(className), this));
+    }
 
-            // Index by package
-            int lastDot = className.lastIndexOf('.');
-            if (lastDot > 0) {
-                String packageName = className.substring(0, lastDot);
-                classInfoByPackage.computeIfAbsent(packageName, k -> new ArrayList<>()).add(info);
-            }
+    private void register(String className, ClassInfo info) {
+        classInfoByFullName.put(className, info);
+        classInfoBySimpleName.put(info.getSimpleName(), info);
 
-        } catch (Throwable e) {
-            // Silently skip classes that can't be loaded
+        // Index by package
+        int lastDot = className.lastIndexOf('.');
+        if (lastDot > 0) {
+            String packageName = className.substring(0, lastDot);
+            classInfoByPackage.computeIfAbsent(packageName, k -> Collections.synchronizedList(new ArrayList<>())).add(info);
         }
     }
 
     /**
-     * Loads a specific class into the cache
+     * Loads a specific class into the cache. Indexed jars are checked first, then the class file
+     * is read through the class loader, and only classes with no class file are loaded.
      */
     public ClassInfo loadClass(String fullClassName) {
         if (classInfoByFullName.containsKey(fullClassName)) {
             return classInfoByFullName.get(fullClassName);
         }
 
-        try {
-            Class<?> clazz = classLoader.loadClass(fullClassName);
-            ClassInfo info = new ClassInfo(clazz);
-            classInfoByFullName.put(fullClassName, info);
-            classInfoBySimpleName.put(info.getSimpleName(), info);
-            return info;
-        } catch (Throwable e) {
+        ClassInfo info = readClassInfo(fullClassName);
+        if (info == null) {
+            try {
+                info = new ClassInfo(classLoader.loadClass(fullClassName));
+            } catch (Throwable e) {
+                return null;
+            }
+        }
+        classInfoByFullName.put(fullClassName, info);
+        classInfoBySimpleName.put(info.getSimpleName(), info);
+        return info;
+    }
+
+    private ClassInfo readClassInfo(String fullClassName) {
+        for (ClassIndex index : jarIndexes.values()) {
+            if (index.contains(fullClassName)) {
+                return new ClassInfo(fullClassName, index.getAccess(fullClassName), () -> index.read(fullClassName), this);
+            }
+        }
+
+        try (InputStream in = classLoader.getResourceAsStream(fullClassName.replace('.', '/') + ".class")) {
+            if (in == null) return null;
+            ClassRecord record = ClassRecord.parse(in.readAllBytes());
+            if (!record.name.equals(fullClassName)) return null;
+            return new ClassInfo(fullClassName, record.access, () -> record, this);
+        } catch (Exception e) {
             return null;
         }
     }
@@ -339,20 +376,13 @@ public class ClassCache {
         try {
             String path = url.getPath();
             if (path.endsWith(".jar")) {
-                File jarFile = new File(url.toURI());
-                if (!jarFile.exists() || !jarFile.canRead()) return;
-
-                try (JarFile jar = new JarFile(jarFile)) {
-                    Enumeration<JarEntry> entries = jar.entries();
-                    while (entries.hasMoreElements()) {
-                        JarEntry entry = entries.nextElement();
-                        String name = entry.getName();
-
-                        // Root package: no '/' in name, ends with .class, not inner class
-                        if (name.endsWith(".class") && !name.contains("/") && !name.contains("$")) {
-                            String className = name.replace(".class", "");
-                            cacheClassInfo(className);
-                        }
+                ClassIndex index = indexFor(new File(url.toURI()));
+                if (index == null) return;
+
+                for (String className : index.getClassNames()) {
+                    // Root package: no package, not inner class
+                    if (!className.contains(".") && !className.contains("$")) {
+                        cacheIndexedClass(className, index);
                     }
                 }
             }
@@ -0,0 +1,244 @@
+package com.tonic.plugins.codeeval.completion;
+
+import com.tonic.Static;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.util.*;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+
+/**
+ * Persistent completion index for one jar: every class header and its public member signatures,
+ * read with ASM and written once to {@code VITA_DIR/codeeval} under a name derived from the jar's
+ * path, size and modification time. A changed jar gets a new file and only that jar is re-read;
+ * unchanged jars map their existing file.
+ * <p>
+ * The file is memory-mapped. Only the class directory is read onto the heap at load time; a
+ * class's members are decoded from the mapping the first time they're asked for.
+ * <p>
+ * Layout: magic, version, class count, then per class its name, access flags and record offset,
+ * then the records. A record is the super name, interface names, and the fields and methods as
+ * access, name and descriptor. Strings are a two-byte length followed by UTF-8 bytes.
+ */
+final class ClassIndex {
+    private static final int MAGIC = 0x56434958; // VCIX
+    private static final int VERSION = 1;
+    private static final Path INDEX_DIR = Static.VITA_DIR.resolve("codeeval");
+    private static final long STALE_MILLIS = 30L * 24 * 60 * 60 * 1000;
+
+    private final ByteBuffer buffer;
+    private final int recordsStart;
+    private final Map<String, int[]> directory;
+
+    private ClassIndex(ByteBuffer buffer) throws IOException {
+        ByteBuffer buf = buffer.duplicate();
+        if (buf.getInt() != MAGIC || buf.getInt() != VERSION) {
+            throw new IOException("Not a class index");
+        }
+        int count = buf.getInt();
+        Map<String, int[]> directory = new HashMap<>(count * 2);
+        for (int i = 0; i < count; i++) {
+            String name = readString(buf);
+            int access = buf.getInt();
+            int offset = buf.getInt();
+            directory.put(name, new int[]{access, offset});
+        }
+        this.buffer = buffer;
+        this.recordsStart = buf.position();
+        this.directory = directory;
+    }
+
+    /**
+     * Maps the jar's index file, building it first if the jar is new or has changed.
+     * @return the index, or null if the jar can't be read
+     */
+    static ClassIndex forJar(File jar) {
+        try {
+            Files.createDirectories(INDEX_DIR);
+            Path file = INDEX_DIR.resolve(fingerprint(jar) + ".idx");
+            if (Files.exists(file)) {
+                try {
+                    ClassIndex index = map(file);
+                    Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+                    return index;
+                } catch (IOException e) {
+                    System.err.println("[CodeEval] Rebuilding unreadable index for " + jar.getName());
+                }
+            }
+
+            long start = System.nanoTime();
+            Path tmp = Files.createTempFile(INDEX_DIR, "index", ".tmp");
+            int classes = write(jar, tmp);
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            System.out.println("[CodeEval] Indexed " + classes + " classes from " + jar.getName() + " in "
+                    + ((System.nanoTime() - start) / 1_000_000) + "ms");
+            return map(file);
+        } catch (Exception e) {
+            System.err.println("[CodeEval] Could not index " + jar.getName() + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Deletes index files no jar has used for a month, left behind by client or plugin updates.
+     */
+    static void pruneStale() {
+        if (!Files.isDirectory(INDEX_DIR)) {
+            return;
+        }
+        long cutoff = System.currentTimeMillis() - STALE_MILLIS;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(INDEX_DIR, "*.{idx,tmp}")) {
+            for (Path file : files) {
+                try {
+                    if (Files.getLastModifiedTime(file).toMillis() < cutoff) {
+                        Files.delete(file);
+                    }
+                } catch (IOException ignored) {
+                    // still mapped elsewhere or already gone
+                }
+            }
+        } catch (IOException ignored) {
+        }
+    }
+
+    Set<String> getClassNames() {
+        return Collections.unmodifiableSet(directory.keySet());
+    }
+
+    boolean contains(String className) {
+        return directory.containsKey(className);
+    }
+
+    /**
+     * @return the class's access flags, or -1 if the class isn't in this jar
+     */
+    int getAccess(String className) {
+        int[] entry = directory.get(className);
+        return entry == null ? -1 : entry[0];
+    }
+
+    /**
+     * Decodes the class's record from the mapping.
+     * @return the record, or null if the class isn't in this jar
+     */
+    ClassRecord read(String className) {
+        int[] entry = directory.get(className);
+        if (entry == null) {
+            return null;
+        }
+        ByteBuffer buf = buffer.duplicate();
+        buf.position(recordsStart + entry[1]);
+        String superName = readString(buf);
+        String[] interfaces = new String[buf.getShort() & 0xFFFF];
+        for (int i = 0; i < interfaces.length; i++) {
+            interfaces[i] = readString(buf);
+        }
+        ClassRecord.Member[] fields = readMembers(buf);
+        ClassRecord.Member[] methods = readMembers(buf);
+        return new ClassRecord(className, entry[0], superName.isEmpty() ? null : superName, interfaces, fields, methods);
+    }
+
+    private static ClassIndex map(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return new ClassIndex(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    private static int write(File jar, Path out) throws IOException {
+        ByteArrayOutputStream records = new ByteArrayOutputStream(1 << 16);
+        DataOutputStream recordOut = new DataOutputStream(records);
+        List<ClassRecord> headers = new ArrayList<>();
+        List<Integer> offsets = new ArrayList<>();
+
+        try (JarFile jarFile = new JarFile(jar, false)) {
+            Enumeration<JarEntry> entries = jarFile.entries();
+            while (entries.hasMoreElements()) {
+                JarEntry entry = entries.nextElement();
+                String name = entry.getName();
+                if (!name.endsWith(".class") || name.startsWith("META-INF/") || name.endsWith("module-info.class")) {
+                    continue;
+                }
+                ClassRecord record;
+                try (InputStream in = jarFile.getInputStream(entry)) {
+                    record = ClassRecord.parse(in.readAllBytes());
+                } catch (Exception e) {
+                    // unreadable or newer class file version, skip it
+                    continue;
+                }
+                headers.add(record);
+                offsets.add(records.size());
+                writeString(recordOut, record.superName == null ? "" : record.superName);
+                recordOut.writeShort(record.interfaces.length);
+                for (String iface : record.interfaces) {
+                    writeString(recordOut, iface);
+                }
+                writeMembers(recordOut, record.fields);
+                writeMembers(recordOut, record.methods);
+            }
+        }
+
+        try (DataOutputStream dataOut = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(out)))) {
+            dataOut.writeInt(MAGIC);
+            dataOut.writeInt(VERSION);
+            dataOut.writeInt(headers.size());
+            for (int i = 0; i < headers.size(); i++) {
+                writeString(dataOut, headers.get(i).name);
+                dataOut.writeInt(headers.get(i).access);
+                dataOut.writeInt(offsets.get(i));
+            }
+            records.writeTo(dataOut);
+        }
+        return headers.size();
+    }
+
+    private static void writeMembers(DataOutputStream out, ClassRecord.Member[] members) throws IOException {
+        out.writeShort(members.length);
+        for (ClassRecord.Member member : members) {
+            out.writeInt(member.access);
+            writeString(out, member.name);
+            writeString(out, member.descriptor);
+        }
+    }
+
+    private static ClassRecord.Member[] readMembers(ByteBuffer buf) {
+        ClassRecord.Member[] members = new ClassRecord.Member[buf.getShort() & 0xFFFF];
+        for (int i = 0; i < members.length; i++) {
+            int access = buf.getInt();
+            String name = readString(buf);
+            String descriptor = readString(buf);
+            members[i] = new ClassRecord.Member(access, name, descriptor);
+        }
+        return members;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > 0xFFFF) {
+            throw new IOException("String too long for index: " + bytes.length + " bytes");
+        }
+        out.writeShort(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer buf) {
+        byte[] bytes = new byte[buf.getShort() & 0xFFFF];
+        buf.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static String fingerprint(File jar) throws Exception {
+        String key = jar.getCanonicalPath() + "|" + jar.length() + "|" + jar.lastModified() + "|" + VERSION;
+        byte[] digest = MessageDigest.getInstance("SHA-1").digest(key.getBytes(StandardCharsets.UTF_8));
+        StringBuilder hex = new StringBuilder(digest.length * 2);
+        for (byte b : digest) {
+            hex.append(String.format("%02x", b));
+        }
+        return jar.getName().replaceAll("[^A-Za-z0-9._-]", "_") + "-" + hex.substring(0, 16);
+    }
+}
@@ -1,26 +1,40 @@
 package com.tonic.plugins.codeeval.completion;
 
+import lombok.AccessLevel;
 import lombok.Getter;
+import org.objectweb.asm.Opcodes;
+
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.*;
+import java.util.function.Supplier;
 
 /**
- * Caches information about a class for autocompletion
+ * Caches information about a class for autocompletion. Built either from a loaded class by
+ * reflection, or from an index record, in which case members are decoded on first use.
  */
 @Getter
 public class ClassInfo {
     private final String fullName;
     private final String simpleName;
-    private final List<MethodInfo> methods;
-    private final List<MethodInfo> staticMethods;
-    private final List<FieldInfo> fields;
-    private final List<FieldInfo> staticFields;
+    @Getter(AccessLevel.NONE)
+    private List<MethodInfo> methods;
+    @Getter(AccessLevel.NONE)
+    private List<MethodInfo> staticMethods;
+    @Getter(AccessLevel.NONE)
+    private List<FieldInfo> fields;
+    @Getter(AccessLevel.NONE)
+    private List<FieldInfo> staticFields;
     private final boolean isInterface;
     private final boolean isEnum;
 
+    // set until the members of an indexed class are first needed
+    @Getter(AccessLevel.NONE)
+    private Supplier<ClassRecord> recordSource;
+    @Getter(AccessLevel.NONE)
+    private ClassCache cache;
+
     public ClassInfo(Class<?> clazz) {
         this.fullName = clazz.getName();
         this.simpleName = clazz.getSimpleName();
@@ -59,13 +73,123 @@ public class ClassInfo {
         }
     }
 
+    /**
+     * Creates an entry for an indexed class without reading its members yet.
+     * @param recordSource reads the class's record when its members are first needed
+     * @param cache cache to resolve super types through
+     */
+    ClassInfo(String fullName, int access, Supplier<ClassRecord> recordSource, ClassCache cache) {
+        this.fullName = fullName;
+        this.simpleName = simpleNameOf(fullName);
+        this.isInterface = (access & Opcodes.ACC_INTERFACE) != 0;
+        this.isEnum = (access & Opcodes.ACC_ENUM) != 0;
+        this.recordSource = recordSource;
+        this.cache = cache;
+    }
+
+    public List<MethodInfo> getMethods() {
+        loadMembers();
+        return methods;
+    }
+
+    public List<MethodInfo> getStaticMethods() {
+        loadMembers();
+        return staticMethods;
+    }
+
+    public List<FieldInfo> getFields() {
+        loadMembers();
+        return fields;
+    }
+
+    public List<FieldInfo> getStaticFields() {
+        loadMembers();
+        return staticFields;
+    }
+
+    /**
+     * Decodes declared members from the record and merges in the public members inherited from
+     * super types, like {@link Class#getMethods()} and {@link Class#getFields()} would.
+     */
+    private synchronized void loadMembers() {
+        if (recordSource == null) return;
+
+        ClassRecord record = recordSource.get();
+        Map<String, MethodInfo> methodsByKey = new LinkedHashMap<>();
+        Map<String, FieldInfo> fieldsByName = new LinkedHashMap<>();
+        if (record != null) {
+            for (ClassRecord.Member member : record.methods) {
+                MethodInfo method = new MethodInfo(member.name, member.descriptor, (member.access & Opcodes.ACC_STATIC) != 0);
+                methodsByKey.putIfAbsent(methodKey(method), method);
+            }
+            for (ClassRecord.Member member : record.fields) {
+                fieldsByName.putIfAbsent(member.name, new FieldInfo(member.name, member.descriptor,
+                        (member.access & Opcodes.ACC_STATIC) != 0, (member.access & Opcodes.ACC_FINAL) != 0));
+            }
+
+            // Skip Object members for cleaner completions
+            if (record.superName != null && !record.superName.equals("java.lang.Object")) {
+                inherit(cache.get(record.superName), methodsByKey, fieldsByName, true);
+            }
+            for (String iface : record.interfaces) {
+                inherit(cache.get(iface), methodsByKey, fieldsByName, false);
+            }
+        }
+
+        List<MethodInfo> methods = new ArrayList<>();
+        List<MethodInfo> staticMethods = new ArrayList<>();
+        for (MethodInfo method : methodsByKey.values()) {
+            (method.isStatic() ? staticMethods : methods).add(method);
+        }
+        List<FieldInfo> fields = new ArrayList<>();
+        List<FieldInfo> staticFields = new ArrayList<>();
+        for (FieldInfo field : fieldsByName.values()) {
+            (field.isStatic() ? staticFields : fields).add(field);
+        }
+        this.methods = methods;
+        this.staticMethods = staticMethods;
+        this.fields = fields;
+        this.staticFields = staticFields;
+        this.recordSource = null;
+        this.cache = null;
+    }
+
+    private static void inherit(ClassInfo parent, Map<String, MethodInfo> methodsByKey,
+                                Map<String, FieldInfo> fieldsByName, boolean superclass) {
+        if (parent == null) return;
+        for (MethodInfo method : parent.getMethods()) {
+            methodsByKey.putIfAbsent(methodKey(method), method);
+        }
+        // static methods of interfaces aren't inherited
+        if (superclass) {
+            for (MethodInfo method : parent.getStaticMethods()) {
+                methodsByKey.putIfAbsent(methodKey(method), method);
+            }
+        }
+        for (FieldInfo field : parent.getFields()) {
+            fieldsByName.putIfAbsent(field.getName(), field);
+        }
+        for (FieldInfo field : parent.getStaticFields()) {
+            fieldsByName.putIfAbsent(field.getName(), field);
+        }
+    }
+
+    private static String methodKey(MethodInfo method) {
+        return method.getName() + Arrays.toString(method.getParameterTypes());
+    }
+
+    private static String simpleNameOf(String fullName) {
+        int cut = Math.max(fullName.lastIndexOf('.'), fullName.lastIndexOf('$'));
+        return fullName.substring(cut + 1);
+    }
+
     /**
      * Gets all instance members (methods + fields)
      */
     public List<Object> getInstanceMembers() {
         List<Object> members = new ArrayList<>();
-        members.addAll(methods);
-        members.addAll(fields);
+        members.addAll(getMethods());
+        members.addAll(getFields());
         return members;
     }
 
@@ -74,8 +198,8 @@ public class ClassInfo {
      */
     public List<Object> getStaticMembers() {
         List<Object> members = new ArrayList<>();
-        members.addAll(staticMethods);
-        members.addAll(staticFields);
+        members.addAll(getStaticMethods());
+        members.addAll(getStaticFields());
         return members;
     }
 
@@ -83,12 +207,12 @@ public class ClassInfo {
      * Gets a method by name (first match)
      */
     public MethodInfo getMethod(String name) {
-        for (MethodInfo method : methods) {
+        for (MethodInfo method : getMethods()) {
             if (method.getName().equals(name)) {
                 return method;
             }
         }
-        for (MethodInfo method : staticMethods) {
+        for (MethodInfo method : getStaticMethods()) {
             if (method.getName().equals(name)) {
                 return method;
             }
@@ -101,12 +225,12 @@ public class ClassInfo {
      */
     public List<MethodInfo> getMethodsMatching(String prefix) {
         List<MethodInfo> matching = new ArrayList<>();
-        for (MethodInfo method : methods) {
+        for (MethodInfo method : getMethods()) {
             if (method.matchesPrefix(prefix)) {
                 matching.add(method);
             }
         }
-        for (MethodInfo method : staticMethods) {
+        for (MethodInfo method : getStaticMethods()) {
             if (method.matchesPrefix(prefix)) {
                 matching.add(method);
             }
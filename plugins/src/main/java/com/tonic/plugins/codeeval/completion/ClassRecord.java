@@ -0,0 +1,110 @@
+package com.tonic.plugins.codeeval.completion;
+
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassVisitor;
+import org.objectweb.asm.FieldVisitor;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Class header and public member signatures read straight from class bytes with ASM, so a class
+ * can be offered for completion without being loaded or initialized.
+ */
+final class ClassRecord {
+    final String name;
+    final int access;
+    final String superName;
+    final String[] interfaces;
+    final Member[] fields;
+    final Member[] methods;
+
+    ClassRecord(String name, int access, String superName, String[] interfaces, Member[] fields, Member[] methods) {
+        this.name = name;
+        this.access = access;
+        this.superName = superName;
+        this.interfaces = interfaces;
+        this.fields = fields;
+        this.methods = methods;
+    }
+
+    static final class Member {
+        final int access;
+        final String name;
+        final String descriptor;
+
+        Member(int access, String name, String descriptor) {
+            this.access = access;
+            this.name = name;
+            this.descriptor = descriptor;
+        }
+    }
+
+    boolean isPublic() {
+        return (access & Opcodes.ACC_PUBLIC) != 0;
+    }
+
+    boolean isSynthetic() {
+        return (access & Opcodes.ACC_SYNTHETIC) != 0;
+    }
+
+    /**
+     * Reads the class header and public, non-synthetic members. Method bodies are skipped.
+     */
+    static ClassRecord parse(byte[] bytes) {
+        ClassReader reader = new ClassReader(bytes);
+        List<Member> fields = new ArrayList<>();
+        List<Member> methods = new ArrayList<>();
+        String[] header = new String[2];
+        int[] access = new int[1];
+        String[][] interfaces = new String[1][];
+
+        reader.accept(new ClassVisitor(Opcodes.ASM9) {
+            @Override
+            public void visit(int version, int acc, String name, String signature, String superName, String[] ifaces) {
+                header[0] = name.replace('/', '.');
+                header[1] = superName == null ? null : superName.replace('/', '.');
+                access[0] = acc;
+                interfaces[0] = new String[ifaces == null ? 0 : ifaces.length];
+                for (int i = 0; i < interfaces[0].length; i++) {
+                    interfaces[0][i] = ifaces[i].replace('/', '.');
+                }
+            }
+
+            @Override
+            public FieldVisitor visitField(int acc, String name, String descriptor, String signature, Object value) {
+                if ((acc & Opcodes.ACC_PUBLIC) != 0 && (acc & Opcodes.ACC_SYNTHETIC) == 0) {
+                    fields.add(new Member(acc, name, descriptor));
+                }
+                return null;
+            }
+
+            @Override
+            public MethodVisitor visitMethod(int acc, String name, String descriptor, String signature, String[] exceptions) {
+                if ((acc & Opcodes.ACC_PUBLIC) != 0
+                        && (acc & (Opcodes.ACC_SYNTHETIC | Opcodes.ACC_BRIDGE)) == 0
+                        && name.charAt(0) != '<') {
+                    methods.add(new Member(acc, name, descriptor));
+                }
+                return null;
+            }
+        }, ClassReader.SKIP_CODE | ClassReader.SKIP_DEBUG | ClassReader.SKIP_FRAMES);
+
+        return new ClassRecord(header[0], access[0], header[1], interfaces[0],
+                fields.toArray(new Member[0]), methods.toArray(new Member[0]));
+    }
+
+    /**
+     * @return the type's name in {@link Class#getName()} form, e.g. {@code int},
+     * {@code java.lang.String} or {@code [Ljava.lang.String;}
+     */
+    static String typeName(Type type) {
+        if (type.getSort() == Type.ARRAY) {
+            return type.getDescriptor().replace('/', '.');
+        }
+        return type.getClassName();
+    }
+}
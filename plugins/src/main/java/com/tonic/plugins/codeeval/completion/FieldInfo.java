@@ -1,6 +1,7 @@
 package com.tonic.plugins.codeeval.completion;
 
 import lombok.Getter;
+import org.objectweb.asm.Type;
 import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
 
@@ -23,6 +24,17 @@ public class FieldInfo {
         this.shortDescription = buildShortDescription();
     }
 
+    /**
+     * Builds the field from its descriptor, as read from class bytes.
+     */
+    public FieldInfo(String name, String descriptor, boolean isStatic, boolean isFinal) {
+        this.name = name;
+        this.type = simplifyTypeName(ClassRecord.typeName(Type.getType(descriptor)));
+        this.isStatic = isStatic;
+        this.isFinal = isFinal;
+        this.shortDescription = buildShortDescription();
+    }
+
     private String buildShortDescription() {
         StringBuilder sb = new StringBuilder();
         if (isStatic) sb.append("static ");
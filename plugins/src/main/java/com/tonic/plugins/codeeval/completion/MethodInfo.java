@@ -1,6 +1,7 @@
 package com.tonic.plugins.codeeval.completion;
 
 import lombok.Getter;
+import org.objectweb.asm.Type;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.util.Arrays;
@@ -39,6 +40,28 @@ public class MethodInfo {
         this.shortDescription = buildShortDescription();
     }
 
+    /**
+     * Builds the method from its descriptor, as read from class bytes.
+     */
+    public MethodInfo(String name, String descriptor, boolean isStatic) {
+        this.name = name;
+        this.returnType = ClassRecord.typeName(Type.getReturnType(descriptor));
+        this.returnTypeSimple = simplifyTypeName(this.returnType);
+        this.isStatic = isStatic;
+
+        Type[] paramTypes = Type.getArgumentTypes(descriptor);
+        this.parameterTypes = new String[paramTypes.length];
+        this.parameterNames = new String[paramTypes.length];
+
+        for (int i = 0; i < paramTypes.length; i++) {
+            this.parameterTypes[i] = simplifyTypeName(ClassRecord.typeName(paramTypes[i]));
+            this.parameterNames[i] = "arg" + i;
+        }
+
+        this.signature = buildSignature();
+        this.shortDescription = buildShortDescription();
+    }
+
     private String buildSignature() {
         StringBuilder sb = new StringBuilder();
         sb.append(name).append("(");
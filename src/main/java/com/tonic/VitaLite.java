@@ -1,5 +1,6 @@
 package com.tonic;
 
+import com.tonic.runelite.jvm.CdsArchive;
 import com.tonic.vitalite.Main;
 import com.tonic.vitalite.SelfUpdate;
 import com.tonic.vitalite.Versioning;
@@ -43,7 +44,14 @@ public class VitaLite {
             String[] newArgs = new String[args.length + 1];
             newArgs[0] = "-safeLaunch";
             System.arraycopy(args, 0, newArgs, 1, args.length);
-            launchInNewJVM("com.tonic.vitalite.Main", buildFullClasspath(), newArgs);
+            String classpath = buildFullClasspath();
+            Process client = launchInNewJVM("com.tonic.vitalite.Main", classpath, newArgs);
+            if(hasArg(args, CdsArchive.TRAIN_ARG))
+            {
+                // The class list is only complete once the training client exits
+                client.waitFor();
+                CdsArchive.dump(classpath);
+            }
             System.exit(0);
         } catch (Exception e) {
             e.printStackTrace();
@@ -64,10 +72,15 @@ public class VitaLite {
     }
 
     private static boolean isSafeLaunch(String[] args)
+    {
+        return hasArg(args, "-safeLaunch");
+    }
+
+    private static boolean hasArg(String[] args, String name)
     {
         for(String arg : args)
         {
-            if(arg.equals("-safeLaunch"))
+            if(arg.equals(name))
             {
                 return true;
             }
@@ -125,7 +125,7 @@ public class RLClassLoader extends URLClassLoader {
 
     private Class<?> loadClassFromSignedJar(String className) throws ClassNotFoundException {
         try {
-            URL jarUrl = Main.LIBS.getUrls().get(className);
+            URL jarUrl = Main.LIBS.jarUrlOf(className);
             if (jarUrl == null) {
                 throw new ClassNotFoundException(className);
             }
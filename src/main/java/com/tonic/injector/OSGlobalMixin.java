@@ -11,9 +11,6 @@ import com.tonic.util.dto.JField;
 import org.objectweb.asm.Opcodes;
 import org.objectweb.asm.tree.*;
 
-import java.util.ArrayList;
-import java.util.List;
-
 public class OSGlobalMixin
 {
     private static final PathsGetReplacer pathsGetReplacer = new PathsGetReplacer();
@@ -36,10 +33,13 @@ public class OSGlobalMixin
             modifyResourceLoading.instrument(classNode);
         }
 
+        JClass client = MappingProvider.getClass("Client");
+        JField randomDat = MappingProvider.getField(client, "randomDat");
+        JField mouseFlag = MappingProvider.getField(client, "mouseFlag");
+
         for(MethodNode method : classNode.methods)
         {
-            randomDat(classNode, method);
-            mouseFlag(method);
+            fieldRefs(classNode, method, randomDat, mouseFlag);
             isHidden(classNode, method);
 
             if(!Static.getCliArgs().isIncognito())
@@ -73,61 +73,32 @@ public class OSGlobalMixin
         method.instructions.insert(code);
     }
 
-    public static void mouseFlag(MethodNode method)
-    {
-        JClass client = MappingProvider.getClass("Client");
-        JField mouseFlag = MappingProvider.getField(client, "mouseFlag");
-
-        List<FieldInsnNode> toReplace = new ArrayList<>();
-
-        for(AbstractInsnNode insn : method.instructions)
-        {
-            if(insn.getOpcode() != Opcodes.GETSTATIC)
-                continue;
-
-            FieldInsnNode fin = (FieldInsnNode) insn;
-            if(!fin.owner.equals(mouseFlag.getOwnerObfuscatedName()) || !fin.name.equals(mouseFlag.getObfuscatedName()))
-                continue;
-
-            toReplace.add(fin);
-        }
-
-        if(toReplace.isEmpty())
-            return;
-
-        for (FieldInsnNode insn : toReplace) {
-            InsnNode iconst0 = new InsnNode(Opcodes.ICONST_0);
-            method.instructions.set(insn, iconst0);
-        }
-    }
-
-    public static void randomDat(ClassNode clazz, MethodNode method)
+    /**
+     * Patches the randomDat and mouseFlag references in one walk over the method.
+     */
+    public static void fieldRefs(ClassNode clazz, MethodNode method, JField randomDat, JField mouseFlag)
     {
-        JClass client = MappingProvider.getClass("Client");
-        JField randomDat = MappingProvider.getField(client, "randomDat");
-        AbstractInsnNode target = null;
-        for(AbstractInsnNode insn : method.instructions)
+        AbstractInsnNode randomDatTarget = null;
+        AbstractInsnNode insn = method.instructions.getFirst();
+        while(insn != null)
         {
-            if (!(insn instanceof FieldInsnNode))
-                continue;
-            FieldInsnNode fin = (FieldInsnNode) insn;
-            if(!fin.owner.equals(randomDat.getOwnerObfuscatedName()) || !fin.name.equals(randomDat.getObfuscatedName()))
-                continue;
-
-            if(insn.getNext().getOpcode() != Opcodes.IFNULL)
+            AbstractInsnNode next = insn.getNext();
+            if(insn instanceof FieldInsnNode)
             {
-                if(insn.getPrevious().getOpcode() != Opcodes.ACONST_NULL || !(insn.getNext() instanceof JumpInsnNode))
-                    continue;
-                if(insn.getNext().getOpcode() == Opcodes.GOTO)
-                    continue;
-                target = insn;
-                break;
+                FieldInsnNode fin = (FieldInsnNode) insn;
+                if(randomDatTarget == null && matches(fin, randomDat) && isRandomDatTarget(fin))
+                {
+                    randomDatTarget = fin;
+                }
+                else if(fin.getOpcode() == Opcodes.GETSTATIC && matches(fin, mouseFlag))
+                {
+                    method.instructions.set(fin, new InsnNode(Opcodes.ICONST_0));
+                }
             }
-            target = insn;
-            break;
+            insn = next;
         }
 
-        if(target == null)
+        if(randomDatTarget == null)
         {
             return;
         }
@@ -137,6 +108,22 @@ public class OSGlobalMixin
                 .invokeStatic("client", "setRandomDat", "(Ljava/lang/String;)V")
                 .build();
 
-        method.instructions.insertBefore(target, code);
+        method.instructions.insertBefore(randomDatTarget, code);
+    }
+
+    private static boolean isRandomDatTarget(AbstractInsnNode insn)
+    {
+        if(insn.getNext().getOpcode() == Opcodes.IFNULL)
+            return true;
+        return insn.getPrevious().getOpcode() == Opcodes.ACONST_NULL
+                && insn.getNext() instanceof JumpInsnNode
+                && insn.getNext().getOpcode() != Opcodes.GOTO;
+    }
+
+    private static boolean matches(FieldInsnNode fin, JField field)
+    {
+        return fin.name.equals(field.getObfuscatedName())
+                && fin.owner.equals(field.getOwnerObfuscatedName())
+                && fin.desc.equals(field.getDescriptor());
     }
 }
@@ -8,7 +8,7 @@ import com.tonic.injector.annotations.FieldHook;
 import com.tonic.injector.annotations.Mixin;
 import com.tonic.injector.types.FieldHookDef;
 import com.tonic.injector.util.AnnotationUtil;
-import org.jetbrains.annotations.NotNull;
+import com.tonic.injector.util.MemberMap;
 import org.objectweb.asm.Opcodes;
 import org.objectweb.asm.tree.*;
 
@@ -19,7 +19,8 @@ import java.util.List;
  * Intercepts field write operations with conditional hook method calls.
  */
 public class FieldHookTransformer {
-    private static final List<FieldHookDef> fieldHooks = new ArrayList<>();
+    // hooks keyed by obfuscated (owner, name, desc) of the hooked field, in registration order
+    private static final MemberMap<List<FieldHookDef>> hooksByTarget = new MemberMap<>();
 
     /**
      * Registers field hook for later instrumentation.
@@ -38,78 +39,125 @@ public class FieldHookTransformer {
         InjectTransformer.patch(gamepack, mixin, method);
 
         FieldHookDef hook = new FieldHookDef(jField, method.name, jField.getOwnerObfuscatedName(), method.desc);
-        fieldHooks.add(hook);
+        List<FieldHookDef> hooks = hooksByTarget.get(jField.getOwnerObfuscatedName(), jField.getObfuscatedName(), jField.getDescriptor());
+        if(hooks == null)
+        {
+            hooks = new ArrayList<>(1);
+            hooksByTarget.put(jField.getOwnerObfuscatedName(), jField.getObfuscatedName(), jField.getDescriptor(), hooks);
+        }
+        hooks.add(hook);
     }
 
     /**
-     * Instruments all methods in class with registered field hooks.
+     * Instruments all methods in class with registered field hooks. Each method's instructions are
+     * walked once and every field write is dispatched to the hooks registered for it.
      * @param classNode class to instrument
      */
     public static void instrument(ClassNode classNode)
     {
-        for(FieldHookDef hook : fieldHooks)
+        if(hooksByTarget.isEmpty())
+            return;
+
+        for(MethodNode methodNode : classNode.methods)
         {
-            for(MethodNode methodNode : classNode.methods)
-            {
-                instrument(methodNode, hook);
+            instrument(methodNode);
+        }
+    }
+
+    /**
+     * Instruments single method with all field hooks matching its field writes.
+     * @param method method to instrument
+     */
+    private static void instrument(MethodNode method) {
+        if(method.instructions == null || method.instructions.size() == 0)
+            return;
+
+        List<AbstractInsnNode> points = null;
+        List<FieldHookDef> pointHooks = null;
+        for (AbstractInsnNode insn = method.instructions.getFirst();
+             insn != null; insn = insn.getNext()) {
+
+            int opcode = insn.getOpcode();
+            if (opcode != Opcodes.PUTSTATIC && opcode != Opcodes.PUTFIELD)
+                continue;
+
+            FieldInsnNode fieldInsn = (FieldInsnNode) insn;
+            List<FieldHookDef> hooks = hooksByTarget.get(fieldInsn.owner, fieldInsn.name, fieldInsn.desc);
+            if (hooks == null)
+                continue;
+
+            for (FieldHookDef hook : hooks) {
+                if (hook.isStatic() != (opcode == Opcodes.PUTSTATIC))
+                    continue;
+                if ((method.name + method.desc).equals(hook.getHookMethod() + hook.getHookDesc()))
+                    continue;
+                if (points == null) {
+                    points = new ArrayList<>();
+                    pointHooks = new ArrayList<>();
+                }
+                points.add(insn);
+                pointHooks.add(hook);
             }
         }
+
+        if (points == null)
+            return;
+
+        for (int i = 0; i < points.size(); i++) {
+            instrument(method, points.get(i), pointHooks.get(i));
+        }
     }
 
     /**
-     * Instruments single method with field access hooks.
+     * Wraps single field write with a hook call.
      * @param method method to instrument
+     * @param fieldInsn field write instruction
      * @param hook field hook definition
      */
-    private static void instrument(MethodNode method, FieldHookDef hook) {
+    private static void instrument(MethodNode method, AbstractInsnNode fieldInsn, FieldHookDef hook) {
         String desc = hook.getTarget().getDescriptor();
         boolean isStatic = hook.isStatic();
 
-        if((method.name + method.desc).equals(hook.getHookMethod() + hook.getHookDesc()))
-            return;
-
-        List<AbstractInsnNode> fieldSets = getInjectionPoints(method, hook, isStatic);
-        for (AbstractInsnNode fieldInsn : fieldSets) {
-            InsnList wrapper = new InsnList();
-            LabelNode skipLabel = new LabelNode();
-
-            if (isStatic) {
-                wrapper.add(new InsnNode(getDupOpcode(desc)));
-                
-                if (hook.getTarget().getGetter() != null) {
-                    Number multiplier = hook.getTarget().getGetter();
-                    if (desc.equals("I")) {
-                        wrapper.add(new LdcInsnNode(multiplier.intValue()));
-                        wrapper.add(new InsnNode(Opcodes.IMUL));
-                    } else if (desc.equals("J")) {
-                        wrapper.add(new LdcInsnNode(multiplier.longValue()));
-                        wrapper.add(new InsnNode(Opcodes.LMUL));
-                    }
-                }
-                
-                wrapper.add(new MethodInsnNode(
-                        Opcodes.INVOKESTATIC,
-                        hook.getHookClass(),
-                        hook.getHookMethod(),
-                        hook.getHookDesc(),
-                        false
-                ));
-                wrapper.add(new JumpInsnNode(Opcodes.IFNE, skipLabel));
-                if (isWideType(desc)) {
-                    wrapper.add(new InsnNode(Opcodes.POP2));
-                } else {
-                    wrapper.add(new InsnNode(Opcodes.POP));
+        InsnList wrapper = new InsnList();
+        LabelNode skipLabel = new LabelNode();
+
+        if (isStatic) {
+            wrapper.add(new InsnNode(getDupOpcode(desc)));
+            
+            if (hook.getTarget().getGetter() != null) {
+                Number multiplier = hook.getTarget().getGetter();
+                if (desc.equals("I")) {
+                    wrapper.add(new LdcInsnNode(multiplier.intValue()));
+                    wrapper.add(new InsnNode(Opcodes.IMUL));
+                } else if (desc.equals("J")) {
+                    wrapper.add(new LdcInsnNode(multiplier.longValue()));
+                    wrapper.add(new InsnNode(Opcodes.LMUL));
                 }
-                LabelNode continueLabel = new LabelNode();
-                wrapper.add(new JumpInsnNode(Opcodes.GOTO, continueLabel));
-                wrapper.add(skipLabel);
-                method.instructions.insertBefore(fieldInsn, wrapper);
-                method.instructions.insert(fieldInsn, continueLabel);
+            }
+            
+            wrapper.add(new MethodInsnNode(
+                    Opcodes.INVOKESTATIC,
+                    hook.getHookClass(),
+                    hook.getHookMethod(),
+                    hook.getHookDesc(),
+                    false
+            ));
+            wrapper.add(new JumpInsnNode(Opcodes.IFNE, skipLabel));
+            if (isWideType(desc)) {
+                wrapper.add(new InsnNode(Opcodes.POP2));
             } else {
-                //dupe obj ref {obj, value} -> {obj, value, obj}
-                wrapper.add(new InsnNode(Opcodes.DUP2));
-
-                //wrapper.add(new InsnNode(getDupOpcode(desc)));
+                wrapper.add(new InsnNode(Opcodes.POP));
+            }
+            LabelNode continueLabel = new LabelNode();
+            wrapper.add(new JumpInsnNode(Opcodes.GOTO, continueLabel));
+            wrapper.add(skipLabel);
+            method.instructions.insertBefore(fieldInsn, wrapper);
+            method.instructions.insert(fieldInsn, continueLabel);
+        } else {
+            //dupe obj ref {obj, value} -> {obj, value, obj}
+            wrapper.add(new InsnNode(Opcodes.DUP2));
+
+            //wrapper.add(new InsnNode(getDupOpcode(desc)));
 //                if (isWideType(desc)) {
 //                    wrapper.add(new InsnNode(Opcodes.DUP2_X1));
 //                    wrapper.add(new InsnNode(Opcodes.POP2));
@@ -119,65 +167,39 @@ public class FieldHookTransformer {
 //                    wrapper.add(new InsnNode(Opcodes.POP));
 //                    wrapper.add(new InsnNode(Opcodes.DUP));
 //                }
-                
-                if (hook.getTarget().getGetter() != null) {
-                    Number multiplier = hook.getTarget().getGetter();
-                    if (desc.equals("I")) {
-                        wrapper.add(new LdcInsnNode(multiplier.intValue()));
-                        wrapper.add(new InsnNode(Opcodes.IMUL));
-                    } else if (desc.equals("J")) {
-                        wrapper.add(new LdcInsnNode(multiplier.longValue()));
-                        wrapper.add(new InsnNode(Opcodes.LMUL));
-                    }
-                }
-                
-                wrapper.add(new MethodInsnNode(
-                        Opcodes.INVOKEVIRTUAL,
-                        hook.getHookClass(),
-                        hook.getHookMethod(),
-                        hook.getHookDesc(),
-                        false
-                ));
-                wrapper.add(new JumpInsnNode(Opcodes.IFNE, skipLabel));
-                if (isWideType(desc)) {
-                    wrapper.add(new InsnNode(Opcodes.POP2));
-                } else {
-                    wrapper.add(new InsnNode(Opcodes.POP));
+            
+            if (hook.getTarget().getGetter() != null) {
+                Number multiplier = hook.getTarget().getGetter();
+                if (desc.equals("I")) {
+                    wrapper.add(new LdcInsnNode(multiplier.intValue()));
+                    wrapper.add(new InsnNode(Opcodes.IMUL));
+                } else if (desc.equals("J")) {
+                    wrapper.add(new LdcInsnNode(multiplier.longValue()));
+                    wrapper.add(new InsnNode(Opcodes.LMUL));
                 }
+            }
+            
+            wrapper.add(new MethodInsnNode(
+                    Opcodes.INVOKEVIRTUAL,
+                    hook.getHookClass(),
+                    hook.getHookMethod(),
+                    hook.getHookDesc(),
+                    false
+            ));
+            wrapper.add(new JumpInsnNode(Opcodes.IFNE, skipLabel));
+            if (isWideType(desc)) {
+                wrapper.add(new InsnNode(Opcodes.POP2));
+            } else {
                 wrapper.add(new InsnNode(Opcodes.POP));
-                LabelNode continueLabel = new LabelNode();
-                wrapper.add(new JumpInsnNode(Opcodes.GOTO, continueLabel));
-                wrapper.add(skipLabel);
-
-                method.instructions.insertBefore(fieldInsn, wrapper);
-                method.instructions.insert(fieldInsn, continueLabel);
             }
-        }
-    }
-
-    /**
-     * Finds field access instructions matching hook definition.
-     * @param method method to scan
-     * @param hook hook definition
-     * @param isStatic whether to look for static field access
-     * @return matching field access instructions
-     */
-    @NotNull
-    private static List<AbstractInsnNode> getInjectionPoints(MethodNode method, FieldHookDef hook, boolean isStatic) {
-        List<AbstractInsnNode> fieldSets = new ArrayList<>();
-        for (AbstractInsnNode insn = method.instructions.getFirst();
-             insn != null; insn = insn.getNext()) {
+            wrapper.add(new InsnNode(Opcodes.POP));
+            LabelNode continueLabel = new LabelNode();
+            wrapper.add(new JumpInsnNode(Opcodes.GOTO, continueLabel));
+            wrapper.add(skipLabel);
 
-            if ((isStatic && insn.getOpcode() == Opcodes.PUTSTATIC) || (!isStatic && insn.getOpcode() == Opcodes.PUTFIELD)) {
-                FieldInsnNode fieldInsn = (FieldInsnNode) insn;
-                if (fieldInsn.owner.equals(hook.getTarget().getOwnerObfuscatedName()) &&
-                        fieldInsn.name.equals(hook.getTarget().getObfuscatedName()) &&
-                        fieldInsn.desc.equals(hook.getTarget().getDescriptor())) {
-                    fieldSets.add(insn);
-                }
-            }
+            method.instructions.insertBefore(fieldInsn, wrapper);
+            method.instructions.insert(fieldInsn, continueLabel);
         }
-        return fieldSets;
     }
 
     /**
@@ -80,23 +80,27 @@ public class ShadowTransformer
         if (multiplier != null && toShadowParams.length > shadowParams.length) {
             Type garbageType = toShadowParams[toShadowParams.length - 1];
 
-            if (multiplier instanceof Integer) {
-                instructions.add(new LdcInsnNode(multiplier.intValue()));
-                if (garbageType.getSort() == Type.BYTE) {
-                    instructions.add(new InsnNode(Opcodes.I2B));
-                } else if (garbageType.getSort() == Type.SHORT) {
-                    instructions.add(new InsnNode(Opcodes.I2S));
-                } else if (garbageType.getSort() == Type.CHAR) {
-                    instructions.add(new InsnNode(Opcodes.I2C));
-                }
-            } else if (multiplier instanceof Long) {
-                instructions.add(new LdcInsnNode(multiplier.longValue()));
-            } else if (multiplier instanceof Float) {
-                instructions.add(new LdcInsnNode(multiplier.floatValue()));
-            } else if (multiplier instanceof Double) {
-                instructions.add(new LdcInsnNode(multiplier.doubleValue()));
-            } else {
-                instructions.add(new LdcInsnNode(multiplier.intValue()));
+            // the mapping's boxed type depends on where it was loaded from, the descriptor doesn't
+            switch (garbageType.getSort()) {
+                case Type.LONG:
+                    instructions.add(new LdcInsnNode(multiplier.longValue()));
+                    break;
+                case Type.FLOAT:
+                    instructions.add(new LdcInsnNode(multiplier.floatValue()));
+                    break;
+                case Type.DOUBLE:
+                    instructions.add(new LdcInsnNode(multiplier.doubleValue()));
+                    break;
+                default:
+                    instructions.add(new LdcInsnNode(multiplier.intValue()));
+                    if (garbageType.getSort() == Type.BYTE) {
+                        instructions.add(new InsnNode(Opcodes.I2B));
+                    } else if (garbageType.getSort() == Type.SHORT) {
+                        instructions.add(new InsnNode(Opcodes.I2S));
+                    } else if (garbageType.getSort() == Type.CHAR) {
+                        instructions.add(new InsnNode(Opcodes.I2C));
+                    }
+                    break;
             }
         }
 
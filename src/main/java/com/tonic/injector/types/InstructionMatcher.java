@@ -542,13 +542,6 @@ public class InstructionMatcher {
      * This searches all classes for a field with the given name.
      */
     private static JField findFieldInAnyClass(String fieldName) {
-        for (JClass jClass : MappingProvider.getMappings()) {
-            for (JField jField : jClass.getFields()) {
-                if (jField.getName() != null && jField.getName().equals(fieldName)) {
-                    return jField;
-                }
-            }
-        }
-        return null;
+        return MappingProvider.getAnyField(fieldName);
     }
 }
\ No newline at end of file
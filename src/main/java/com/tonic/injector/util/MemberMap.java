@@ -0,0 +1,50 @@
+package com.tonic.injector.util;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Map keyed by a member's (owner, name, desc), nested per key part so lookups hash the strings the
+ * instruction already holds instead of building a concatenated key per instruction. Lookups from
+ * gamepack instructions mostly miss on the owner or name, which ends them after one or two probes.
+ * @param <V> value type
+ */
+public class MemberMap<V>
+{
+    private final Map<String, Map<String, Map<String, V>>> byOwner = new HashMap<>();
+
+    /**
+     * @param owner internal name of the owner class
+     * @param name member name
+     * @param desc member descriptor
+     * @return the value, or null if none is mapped
+     */
+    public V get(String owner, String name, String desc)
+    {
+        Map<String, Map<String, V>> byName = byOwner.get(owner);
+        if(byName == null)
+            return null;
+        Map<String, V> byDesc = byName.get(name);
+        if(byDesc == null)
+            return null;
+        return byDesc.get(desc);
+    }
+
+    /**
+     * @param owner internal name of the owner class
+     * @param name member name
+     * @param desc member descriptor
+     * @param value value
+     */
+    public void put(String owner, String name, String desc, V value)
+    {
+        byOwner.computeIfAbsent(owner, k -> new HashMap<>(4))
+                .computeIfAbsent(name, k -> new HashMap<>(2))
+                .put(desc, value);
+    }
+
+    public boolean isEmpty()
+    {
+        return byOwner.isEmpty();
+    }
+}
@@ -4,7 +4,10 @@ import com.tonic.Static;
 import com.tonic.api.TGameEngine;
 import com.tonic.data.LoginMessage;
 import com.tonic.data.LoginResponse;
+import com.tonic.headless.RenderStats;
 import com.tonic.injector.annotations.*;
+import net.runelite.api.Client;
+import net.runelite.api.GameState;
 import org.slf4j.Logger;
 
 @Mixin("GameEngine")
@@ -27,6 +30,25 @@ public class TGameEngineMixin implements TGameEngine
         return true;
     }
 
+    /**
+     * Skips the whole frame (scene, models, interfaces and the canvas blit) while headless and
+     * past the login screen. Client ticks, packet handling and events run from the game loop
+     * separately, so game logic is unaffected. The login screen still draws, since its input is
+     * handled while drawing.
+     */
+    @Disable("graphicsTick")
+    public static boolean graphicsTick()
+    {
+        boolean draw = true;
+        if(Static.isHeadless())
+        {
+            Client client = Static.getClient();
+            draw = client == null || client.getGameState().getState() < GameState.LOGGING_IN.getState();
+        }
+        RenderStats.onGraphicsTick(draw);
+        return draw;
+    }
+
     @Disable("processError")
     public static boolean processError(String message, Throwable error)
     {
@@ -7,6 +7,7 @@ import com.tonic.injector.annotations.*;
 import com.tonic.model.ui.VitaLiteOptionsPanel;
 import com.tonic.packets.PacketMapReader;
 import com.tonic.packets.types.MapEntry;
+import com.tonic.services.profiler.timeline.TickTimeline;
 import lombok.Getter;
 import net.runelite.api.gameval.InterfaceID;
 import java.math.BigInteger;
@@ -73,6 +74,7 @@ public abstract class TPacketWriterMixin implements TPacketWriter
             return;
         }
 
+        TickTimeline.onPacketSent();
         TPacketBuffer buffer = node.getPacketBuffer();
         TClientPacket packet = node.getClientPacket();
 
@@ -10,6 +10,7 @@ import com.tonic.injector.annotations.*;
 import com.tonic.util.asm.BytecodeBuilder;
 import com.tonic.util.MappingProvider;
 import com.tonic.model.ui.VitaLiteOptionsPanel;
+import com.tonic.services.profiler.timeline.TickTimeline;
 import com.tonic.util.dto.JClass;
 import com.tonic.util.dto.JField;
 import org.objectweb.asm.Opcodes;
@@ -67,6 +68,7 @@ public class TServerPacketLoggerMixin
     @Inject
     public static void process()
     {
+        TickTimeline.onPacketReceived();
         TClient client = Static.getClient();
         TPacketWriter writer = client.getPacketWriter();
         TServerPacket packet = writer.getServerPacket();
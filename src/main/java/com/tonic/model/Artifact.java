@@ -1,11 +1,16 @@
 package com.tonic.model;
 
 import java.util.HashMap;
+import java.util.Map;
 
 public class Artifact {
-    public HashMap<String, byte[]> classes;
+    public final Map<String, byte[]> classes;
 
     public Artifact() {
-        this.classes = new HashMap<>(16, 0.5f);
+        this(new HashMap<>(16, 0.5f));
+    }
+
+    public Artifact(Map<String, byte[]> classes) {
+        this.classes = classes;
     }
 }
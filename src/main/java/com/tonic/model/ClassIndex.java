@@ -0,0 +1,311 @@
+package com.tonic.model;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URL;
+import java.security.cert.Certificate;
+import java.util.*;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+
+/**
+ * Class byte map backed by a name-to-(jar, entry) index. Bytes are read from the jar, and signatures
+ * verified, the first time a class is requested rather than at startup. Recently read bytes are kept
+ * in a small LRU so the injector and signer scan don't re-inflate the same entry; bytes that are
+ * {@link #put} (patched classes) are held until replaced.
+ */
+public class ClassIndex extends AbstractMap<String, byte[]>
+{
+    private static final long LRU_LIMIT_BYTES = 16L * 1024 * 1024;
+
+    private final Libs libs;
+    private final Map<String, Source> index = new HashMap<>(16, 0.5f);
+    private final Map<String, byte[]> overrides = new HashMap<>();
+    private final LinkedHashMap<String, byte[]> recent = new LinkedHashMap<>(256, 0.75f, true);
+    private final List<JarFile> jars = new ArrayList<>();
+
+    private long recentBytes = 0;
+    private long overrideBytes = 0;
+    private long bytesRead = 0;
+    private int classesRead = 0;
+    private int lruHits = 0;
+
+    public ClassIndex(Libs libs)
+    {
+        this.libs = libs;
+    }
+
+    /**
+     * Indexes a class entry without reading it.
+     * @param className binary class name
+     * @param jar open, verifying jar containing the entry
+     * @param url jar location, used for code sources
+     * @param entryName jar entry name
+     */
+    public synchronized void addEntry(String className, JarFile jar, URL url, String entryName)
+    {
+        index.put(className, new Source(jar, url, entryName));
+    }
+
+    /**
+     * Registers a jar whose entries are served by this index so it can be fingerprinted and closed.
+     * @param jar open jar
+     */
+    public synchronized void addJar(JarFile jar)
+    {
+        jars.add(jar);
+    }
+
+    /**
+     * @param className binary class name
+     * @return location of the jar the class is indexed from, or null
+     */
+    public synchronized URL sourceOf(String className)
+    {
+        Source source = index.get(className);
+        return source != null ? source.url : null;
+    }
+
+    /**
+     * Cheap identity for the indexed jars: path, size and modification time of each.
+     * @return fingerprint string, stable while the jars are unchanged
+     */
+    public synchronized String fingerprint()
+    {
+        List<String> parts = new ArrayList<>(jars.size());
+        for (JarFile jar : jars)
+        {
+            File file = new File(jar.getName());
+            parts.add(file.getName() + ":" + file.length() + ":" + file.lastModified());
+        }
+        Collections.sort(parts);
+        return String.join(";", parts);
+    }
+
+    @Override
+    public synchronized byte[] get(Object key)
+    {
+        if (!(key instanceof String))
+        {
+            return null;
+        }
+        String className = (String) key;
+
+        byte[] bytes = overrides.get(className);
+        if (bytes != null)
+        {
+            return bytes;
+        }
+
+        bytes = recent.get(className);
+        if (bytes != null)
+        {
+            lruHits++;
+            return bytes;
+        }
+
+        Source source = index.get(className);
+        if (source == null)
+        {
+            return null;
+        }
+
+        bytes = read(className, source);
+        recent.put(className, bytes);
+        recentBytes += bytes.length;
+        trimRecent();
+        return bytes;
+    }
+
+    @Override
+    public synchronized byte[] put(String key, byte[] value)
+    {
+        byte[] cached = recent.remove(key);
+        if (cached != null)
+        {
+            recentBytes -= cached.length;
+        }
+        byte[] previous = overrides.put(key, value);
+        if (previous != null)
+        {
+            overrideBytes -= previous.length;
+        }
+        overrideBytes += value.length;
+        return previous;
+    }
+
+    @Override
+    public synchronized boolean containsKey(Object key)
+    {
+        return overrides.containsKey(key) || index.containsKey(key);
+    }
+
+    @Override
+    public synchronized int size()
+    {
+        int size = index.size();
+        for (String key : overrides.keySet())
+        {
+            if (!index.containsKey(key))
+            {
+                size++;
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Entries read their bytes only when {@link Map.Entry#getValue()} is called, so iterating
+     * names does not touch the jars.
+     */
+    @Override
+    public Set<Entry<String, byte[]>> entrySet()
+    {
+        return new AbstractSet<>()
+        {
+            @Override
+            public Iterator<Entry<String, byte[]>> iterator()
+            {
+                List<String> keys;
+                synchronized (ClassIndex.this)
+                {
+                    keys = new ArrayList<>(index.keySet());
+                    for (String key : overrides.keySet())
+                    {
+                        if (!index.containsKey(key))
+                        {
+                            keys.add(key);
+                        }
+                    }
+                }
+                Iterator<String> it = keys.iterator();
+                return new Iterator<>()
+                {
+                    @Override
+                    public boolean hasNext()
+                    {
+                        return it.hasNext();
+                    }
+
+                    @Override
+                    public Entry<String, byte[]> next()
+                    {
+                        return new LazyEntry(it.next());
+                    }
+                };
+            }
+
+            @Override
+            public int size()
+            {
+                return ClassIndex.this.size();
+            }
+        };
+    }
+
+    /**
+     * @return bytes inflated from jars since startup
+     */
+    public synchronized long getBytesRead()
+    {
+        return bytesRead;
+    }
+
+    /**
+     * @return bytes currently held, patched classes plus the LRU
+     */
+    public synchronized long getBytesHeld()
+    {
+        return overrideBytes + recentBytes;
+    }
+
+    public synchronized String getStats()
+    {
+        return String.format(
+                "%d indexed, %d read (%.1f MB), %d LRU hits, %.1f MB held (%d patched)",
+                index.size(), classesRead, bytesRead / 1048576.0, lruHits,
+                (overrideBytes + recentBytes) / 1048576.0, overrides.size()
+        );
+    }
+
+    private byte[] read(String className, Source source)
+    {
+        try
+        {
+            JarEntry entry = source.jar.getJarEntry(source.entryName);
+            byte[] bytes;
+            // Read entry fully to trigger signature verification (for signed jars)
+            try (InputStream is = source.jar.getInputStream(entry))
+            {
+                bytes = is.readAllBytes();
+            }
+            Certificate[] certs = entry.getCertificates(); // might be null for unsigned
+            if (certs != null)
+            {
+                libs.getClassCerts().put(className, certs);
+                libs.getUrls().put(className, source.url);
+            }
+            bytesRead += bytes.length;
+            classesRead++;
+            return bytes;
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException("Failed to read " + className + " from " + source.url, e);
+        }
+    }
+
+    private void trimRecent()
+    {
+        Iterator<Map.Entry<String, byte[]>> it = recent.entrySet().iterator();
+        while (recentBytes > LRU_LIMIT_BYTES && it.hasNext())
+        {
+            recentBytes -= it.next().getValue().length;
+            it.remove();
+        }
+    }
+
+    private static final class Source
+    {
+        private final JarFile jar;
+        private final URL url;
+        private final String entryName;
+
+        private Source(JarFile jar, URL url, String entryName)
+        {
+            this.jar = jar;
+            this.url = url;
+            this.entryName = entryName;
+        }
+    }
+
+    private final class LazyEntry implements Entry<String, byte[]>
+    {
+        private final String key;
+
+        private LazyEntry(String key)
+        {
+            this.key = key;
+        }
+
+        @Override
+        public String getKey()
+        {
+            return key;
+        }
+
+        @Override
+        public byte[] getValue()
+        {
+            return get(key);
+        }
+
+        @Override
+        public byte[] setValue(byte[] value)
+        {
+            return put(key, value);
+        }
+    }
+}
@@ -6,19 +6,22 @@ import lombok.Setter;
 
 import java.net.URL;
 import java.security.cert.Certificate;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Getter
 @Setter
 public class Libs
 {
-    private final Artifact other = new Artifact();
-    private final Artifact runelite = new Artifact();
+    private final ClassIndex otherIndex = new ClassIndex(this);
+    private final ClassIndex runeliteIndex = new ClassIndex(this);
+    private final Artifact other = new Artifact(otherIndex);
+    private final Artifact runelite = new Artifact(runeliteIndex);
     private final Artifact gamepack = new Artifact();
     private final Artifact gamepackClean = new Artifact();
-    private final Map<String, Certificate[]> classCerts = new HashMap<>();
-    private final Map<String, URL> urls = new HashMap<>();
+    // populated as signed classes are first read, class loading may happen on several threads
+    private final Map<String, Certificate[]> classCerts = new ConcurrentHashMap<>();
+    private final Map<String, URL> urls = new ConcurrentHashMap<>();
 
     public Libs(URL[] urls) throws Exception {
         ArtifactReader.read(this, urls);
@@ -37,4 +40,26 @@ public class Libs
         }
         return other.classes.get(className);
     }
+
+    /**
+     * @param className binary class name
+     * @return location of the jar the RuneLite or dependency class comes from, or null
+     */
+    public URL jarUrlOf(String className)
+    {
+        URL url = runeliteIndex.sourceOf(className);
+        if (url != null)
+        {
+            return url;
+        }
+        return otherIndex.sourceOf(className);
+    }
+
+    /**
+     * @return summary of bytes read from jars versus bytes held in memory
+     */
+    public String getStats()
+    {
+        return "runelite: " + runeliteIndex.getStats() + " | other: " + otherIndex.getStats();
+    }
 }
@@ -2,6 +2,7 @@ package com.tonic.rlmixins;
 
 import com.tonic.injector.annotations.*;
 import com.tonic.util.asm.BytecodeBuilder;
+import org.objectweb.asm.Opcodes;
 import org.objectweb.asm.tree.*;
 
 @Mixin("net/runelite/client/eventbus/EventBus")
@@ -25,4 +26,75 @@ public class EventBusMixin {
         method.instructions.insertBefore(insertionPoint, toInject);
         method.instructions.remove(insertionPoint);
     }
+
+    /**
+     * Times post() and each subscriber it invokes for the profiler's tick timeline. The subscriber
+     * span is closed both after the call and at the start of the handler that catches what it
+     * throws.
+     */
+    @Insert(
+            method = "post",
+            at = @At(
+                    value = AtTarget.INVOKE,
+                    owner = "net/runelite/client/eventbus/EventBus$Subscriber",
+                    target = "invoke"
+            ),
+            raw = true
+    )
+    public static void post(MethodNode method, AbstractInsnNode insertionPoint)
+    {
+        String timeline = "com/tonic/services/profiler/timeline/TickTimeline";
+        String subscriber = "net/runelite/client/eventbus/EventBus$Subscriber";
+
+        // [subscriber, event] -> handlerStart(subscriber.getObject(), subscriber.getMethod())
+        InsnList before = BytecodeBuilder.create()
+                .dup2()
+                .pop()
+                .dup()
+                .invokeVirtual(subscriber, "getObject", "()Ljava/lang/Object;")
+                .swap()
+                .invokeVirtual(subscriber, "getMethod", "()Ljava/lang/reflect/Method;")
+                .invokeStatic(timeline, "handlerStart", "(Ljava/lang/Object;Ljava/lang/reflect/Method;)V")
+                .build();
+        method.instructions.insertBefore(insertionPoint, before);
+        method.instructions.insert(insertionPoint, BytecodeBuilder.create()
+                .invokeStatic(timeline, "handlerEnd", "()V")
+                .build());
+
+        for (TryCatchBlockNode block : method.tryCatchBlocks)
+        {
+            if (!covers(method, block, insertionPoint))
+            {
+                continue;
+            }
+            AbstractInsnNode handlerStart = block.handler;
+            while (handlerStart.getOpcode() == -1)
+            {
+                handlerStart = handlerStart.getNext();
+            }
+            method.instructions.insertBefore(handlerStart, BytecodeBuilder.create()
+                    .invokeStatic(timeline, "handlerEnd", "()V")
+                    .build());
+        }
+
+        method.instructions.insert(BytecodeBuilder.create()
+                .pushLocal(1)
+                .invokeStatic(timeline, "postStart", "(Ljava/lang/Object;)V")
+                .build());
+        for (AbstractInsnNode insn : method.instructions.toArray())
+        {
+            if (insn.getOpcode() == Opcodes.RETURN)
+            {
+                method.instructions.insertBefore(insn, BytecodeBuilder.create()
+                        .invokeStatic(timeline, "postEnd", "()V")
+                        .build());
+            }
+        }
+    }
+
+    private static boolean covers(MethodNode method, TryCatchBlockNode block, AbstractInsnNode insn)
+    {
+        int index = method.instructions.indexOf(insn);
+        return method.instructions.indexOf(block.start) <= index && index < method.instructions.indexOf(block.end);
+    }
 }
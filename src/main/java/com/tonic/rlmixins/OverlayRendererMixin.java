@@ -0,0 +1,40 @@
+package com.tonic.rlmixins;
+
+import com.tonic.injector.annotations.At;
+import com.tonic.injector.annotations.AtTarget;
+import com.tonic.injector.annotations.Insert;
+import com.tonic.injector.annotations.Mixin;
+import com.tonic.util.asm.BytecodeBuilder;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.tree.AbstractInsnNode;
+import org.objectweb.asm.tree.MethodNode;
+
+@Mixin("net/runelite/client/ui/overlay/OverlayRenderer")
+public class OverlayRendererMixin
+{
+    /**
+     * Times each overlay layer render for the profiler's tick timeline.
+     */
+    @Insert(
+            method = "renderOverlays",
+            at = @At(value = AtTarget.RETURN),
+            raw = true
+    )
+    public static void renderOverlays(MethodNode method, AbstractInsnNode insertionPoint)
+    {
+        String timeline = "com/tonic/services/profiler/timeline/TickTimeline";
+
+        method.instructions.insert(BytecodeBuilder.create()
+                .invokeStatic(timeline, "overlayStart", "()V")
+                .build());
+        for (AbstractInsnNode insn : method.instructions.toArray())
+        {
+            if (insn.getOpcode() == Opcodes.RETURN)
+            {
+                method.instructions.insertBefore(insn, BytecodeBuilder.create()
+                        .invokeStatic(timeline, "overlayEnd", "()V")
+                        .build());
+            }
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package com.tonic.runelite.jvm;
+
+import com.tonic.Static;
+import com.tonic.vitalite.Main;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Application class-data sharing (AppCDS) archive for the VitaLite client JVM.
+ * <p>
+ * A training launch ({@code -cdsTrain}) records every class the JVM loads from the boot and
+ * application class path, which is the JDK plus the VitaLite jar and its bundled libraries. Once the
+ * training client exits the launcher dumps those classes into a shared archive that later launches
+ * map instead of parsing and verifying them again. RuneLite and gamepack classes are defined from
+ * patched bytes by {@code RLClassLoader} and cannot be archived, but the archive is still keyed on
+ * the downloaded RuneLite jars and dropped when they change so a retrain picks up the new client's
+ * class set. The key is checked by the launcher, before the client JVM would map the archive.
+ */
+public class CdsArchive
+{
+    private static final Path CDS_DIR = Static.VITA_DIR.resolve("cds");
+    private static final Path CLASS_LIST = CDS_DIR.resolve("classes.lst");
+    private static final Path ARCHIVE = CDS_DIR.resolve("vitalite.jsa");
+    private static final Path ARCHIVE_KEY = CDS_DIR.resolve("archive.key");
+
+    public static final String TRAIN_ARG = "-cdsTrain";
+    public static final String DISABLE_ARG = "-noCds";
+
+    /**
+     * Adds the class-list recording or archive flags to a client JVM command line.
+     * @param command command being built, before the main class
+     * @param training whether this launch is a training run
+     */
+    public static void addLaunchArgs(List<String> command, boolean training)
+    {
+        if (training)
+        {
+            try
+            {
+                Files.createDirectories(CDS_DIR);
+                Files.deleteIfExists(CLASS_LIST);
+            }
+            catch (IOException e)
+            {
+                System.err.println("[CDS] Could not prepare " + CDS_DIR + ": " + e.getMessage());
+                return;
+            }
+            command.add("-XX:DumpLoadedClassList=" + CLASS_LIST);
+            System.out.println("[CDS] Training run, recording loaded classes to " + CLASS_LIST);
+            return;
+        }
+
+        if (Files.exists(ARCHIVE) && isCurrent())
+        {
+            command.add("-XX:SharedArchiveFile=" + ARCHIVE);
+            command.add("-Xshare:auto");
+        }
+    }
+
+    /**
+     * Drops the archive if it was built for a different JDK or RuneLite version. The gamepack is the
+     * injected client of the same RuneLite version, so the RuneLite jars stand in for it.
+     * @return true if the archive matches the current install
+     */
+    private static boolean isCurrent()
+    {
+        try
+        {
+            String archived = Files.exists(ARCHIVE_KEY)
+                    ? new String(Files.readAllBytes(ARCHIVE_KEY), StandardCharsets.UTF_8)
+                    : null;
+            if (fingerprint().equals(archived))
+            {
+                return true;
+            }
+            Files.deleteIfExists(ARCHIVE);
+            Files.deleteIfExists(ARCHIVE_KEY);
+            System.out.println("[CDS] JDK or RuneLite changed, archive invalidated. Relaunch with " + TRAIN_ARG + " to rebuild it.");
+        }
+        catch (IOException e)
+        {
+            System.err.println("[CDS] Could not validate archive: " + e.getMessage());
+        }
+        return false;
+    }
+
+    /**
+     * Cheap identity for the install the archive was trained against: JDK version plus the name,
+     * size and modification time of each downloaded RuneLite jar.
+     */
+    private static String fingerprint()
+    {
+        List<String> parts = new ArrayList<>();
+        File[] jars = Main.REPOSITORY_DIR.toFile().listFiles(f -> f.getName().endsWith(".jar"));
+        if (jars != null)
+        {
+            for (File jar : jars)
+            {
+                parts.add(jar.getName() + ":" + jar.length() + ":" + jar.lastModified());
+            }
+        }
+        Collections.sort(parts);
+        return System.getProperty("java.version") + "|" + String.join(";", parts);
+    }
+
+    /**
+     * Dumps the archive from the class list recorded by a finished training run.
+     * @param classpath class path the client JVM is launched with, must match later launches
+     * @return true if an archive was written
+     */
+    public static boolean dump(String classpath)
+    {
+        try
+        {
+            if (!Files.exists(CLASS_LIST))
+            {
+                System.err.println("[CDS] Training run did not complete, no archive created");
+                return false;
+            }
+
+            Files.deleteIfExists(ARCHIVE);
+            Files.deleteIfExists(ARCHIVE_KEY);
+
+            List<String> command = new ArrayList<>();
+            command.add(javaBin());
+            command.add("-Xshare:dump");
+            command.add("-XX:SharedClassListFile=" + CLASS_LIST);
+            command.add("-XX:SharedArchiveFile=" + ARCHIVE);
+            command.add("-cp");
+            command.add(classpath);
+
+            long start = System.nanoTime();
+            Process process = new ProcessBuilder(command).inheritIO().start();
+            int exit = process.waitFor();
+            if (exit != 0 || !Files.exists(ARCHIVE))
+            {
+                System.err.println("[CDS] Archive dump failed with exit code " + exit);
+                return false;
+            }
+
+            // The training client has finished updating the jars, so they are final here
+            Files.write(ARCHIVE_KEY, fingerprint().getBytes(StandardCharsets.UTF_8));
+            System.out.println("[CDS] Wrote " + ARCHIVE + " (" + (Files.size(ARCHIVE) / 1024) + " KB) in "
+                    + ((System.nanoTime() - start) / 1_000_000) + "ms");
+            return true;
+        }
+        catch (IOException e)
+        {
+            System.err.println("[CDS] Archive dump failed: " + e.getMessage());
+            return false;
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * @return true if this JVM was started with the VitaLite shared archive mapped
+     */
+    public static boolean isActive()
+    {
+        for (String arg : ManagementFactory.getRuntimeMXBean().getInputArguments())
+        {
+            if (arg.startsWith("-XX:SharedArchiveFile=") && arg.endsWith(ARCHIVE.getFileName().toString()))
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public static Path getDirectory()
+    {
+        return CDS_DIR;
+    }
+
+    private static String javaBin()
+    {
+        return System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+    }
+}
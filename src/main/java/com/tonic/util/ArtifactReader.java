@@ -6,7 +6,6 @@ import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
-import java.security.cert.Certificate;
 import java.util.Enumeration;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
@@ -32,39 +31,36 @@ public class ArtifactReader {
 
     private static void readJarFromUrl(Libs libs, URL url) throws Exception {
         File file = new File(url.toURI());
-        try (JarFile jarFile = new JarFile(file, true)) {
-            Enumeration<JarEntry> entries = jarFile.entries();
-            while (entries.hasMoreElements()) {
-                JarEntry entry = entries.nextElement();
-                String entryName = entry.getName();
-                if (entry.isDirectory()) continue;
+        // Kept open for the life of the client: entries are read (and verified) on first use
+        JarFile jarFile = new JarFile(file, true);
+        boolean hasRunelite = false;
+        boolean hasOther = false;
+        Enumeration<JarEntry> entries = jarFile.entries();
+        while (entries.hasMoreElements()) {
+            JarEntry entry = entries.nextElement();
+            String entryName = entry.getName();
+            if (entry.isDirectory() || !entryName.endsWith(".class")) continue;
 
-                // Read entry fully to trigger signature verification (for signed jars)
-                byte[] entryBytes;
-                try (InputStream is = jarFile.getInputStream(entry)) {
-                    entryBytes = readAllBytes(is);
-                }
-
-                if (entryName.endsWith(".class")) {
-                    String className = entryName.replace('/', '.')
-                            .substring(0, entryName.length() - 6);
-                    Certificate[] certs = entry.getCertificates(); // might be null for unsigned
-                    if (className.startsWith("net.runelite")) {
-                        libs.getRunelite().classes.put(className, entryBytes);
-                        if (certs != null) {
-                            libs.getClassCerts().put(className, certs);
-                            libs.getUrls().put(className, url);
-                        }
-                    } else {
-                        libs.getOther().classes.put(className, entryBytes);
-                        if (certs != null) {
-                            libs.getClassCerts().put(className, certs);
-                            libs.getUrls().put(className, url);
-                        }
-                    }
-                }
+            String className = entryName.replace('/', '.')
+                    .substring(0, entryName.length() - 6);
+            if (className.startsWith("net.runelite")) {
+                libs.getRuneliteIndex().addEntry(className, jarFile, url, entryName);
+                hasRunelite = true;
+            } else {
+                libs.getOtherIndex().addEntry(className, jarFile, url, entryName);
+                hasOther = true;
             }
         }
+
+        if (hasRunelite) {
+            libs.getRuneliteIndex().addJar(jarFile);
+        }
+        if (hasOther) {
+            libs.getOtherIndex().addJar(jarFile);
+        }
+        if (!hasRunelite && !hasOther) {
+            jarFile.close();
+        }
     }
 
     private static void readJarFromUrl2(Libs libs, URL url) throws IOException {
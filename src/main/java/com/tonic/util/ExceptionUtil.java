@@ -42,19 +42,14 @@ public class ExceptionUtil
 
         String obfuClazz = map.get(0).getKey();
         String obfuMethod = map.get(0).getValue();
-        JClass jClazz = MappingProvider.getMappings().stream()
-                .filter(c -> c.getObfuscatedName().equals(obfuClazz))
-                .findFirst().orElse(null);
+        JClass jClazz = MappingProvider.getClassByObfuscatedName(obfuClazz);
         JMethod jMethod = null;
 
         String out = data.split("\n")[0] + " @ [" + obfuClazz + "::" + obfuMethod + "]";
 
         if(jClazz != null)
         {
-            jMethod = jClazz.getMethods().stream()
-                    .filter(m -> m.getObfuscatedName().equals(obfuMethod))
-                    .findFirst()
-                    .orElse(null);
+            jMethod = MappingProvider.getMethodByObfuscatedName(jClazz, obfuMethod);
         }
 
         if(jMethod != null)
@@ -77,17 +72,12 @@ public class ExceptionUtil
             {
                 String obfuClazz = entry.getValue().getKey();
                 String obfuMethod = entry.getValue().getValue();
-                JClass jClazz = MappingProvider.getMappings().stream()
-                        .filter(c -> c.getObfuscatedName().equals(obfuClazz))
-                        .findFirst().orElse(null);
+                JClass jClazz = MappingProvider.getClassByObfuscatedName(obfuClazz);
                 JMethod jMethod = null;
 
                 if(jClazz != null)
                 {
-                    jMethod = jClazz.getMethods().stream()
-                            .filter(m -> m.getObfuscatedName().equals(obfuMethod))
-                            .findFirst()
-                            .orElse(null);
+                    jMethod = MappingProvider.getMethodByObfuscatedName(jClazz, obfuMethod);
                 }
 
                 out.append("\t").append(entry.getKey()).append(") [").append(obfuClazz).append("::").append(obfuMethod).append("]");
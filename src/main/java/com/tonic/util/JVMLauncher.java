@@ -1,5 +1,7 @@
 package com.tonic.util;
 
+import com.tonic.runelite.jvm.CdsArchive;
+
 import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
@@ -23,6 +25,11 @@ public class JVMLauncher {
         command.add("-XX:+UseStringDeduplication");
         command.add("-Dio.netty.leakDetectionLevel=advanced");
 
+        List<String> args = Arrays.asList(programArgs);
+        if (!args.contains(CdsArchive.DISABLE_ARG)) {
+            CdsArchive.addLaunchArgs(command, args.contains(CdsArchive.TRAIN_ARG));
+        }
+
         if (classpath != null && !classpath.isEmpty()) {
             command.add("-cp");
             command.add(classpath);
@@ -33,7 +40,7 @@ public class JVMLauncher {
 
         command.add(mainClass);
 
-        command.addAll(Arrays.asList(programArgs));
+        command.addAll(args);
 
         ProcessBuilder pb = new ProcessBuilder(command);
         pb.inheritIO();
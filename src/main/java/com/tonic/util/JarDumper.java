@@ -7,18 +7,18 @@ import java.io.*;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.util.HashMap;
+import java.util.Map;
 import java.util.jar.*;
 
 public class JarDumper
 {
-    public static void dump(HashMap<String, byte[]> classes) throws IOException {
+    public static void dump(Map<String, byte[]> classes) throws IOException {
         String outputPath = Static.getCliArgs().getRsdump();
         if(outputPath == null)
             return;
         ensureFolders(outputPath);
         try (JarOutputStream jos = new JarOutputStream(new FileOutputStream(outputPath))) {
-            for (HashMap.Entry<String, byte[]> entry : classes.entrySet()) {
+            for (Map.Entry<String, byte[]> entry : classes.entrySet()) {
                 String className = entry.getKey();
                 byte[] classBytes = entry.getValue();
                 String entryName = className.replace('.', '/') + ".class";
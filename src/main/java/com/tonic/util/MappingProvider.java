@@ -1,151 +1,230 @@
 package com.tonic.util;
 
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
-import com.google.gson.reflect.TypeToken;
 import com.tonic.VitaLite;
 import com.tonic.util.dto.JClass;
 import com.tonic.util.dto.JField;
 import com.tonic.util.dto.JMethod;
-import lombok.Getter;
 
 import javax.annotation.Nullable;
-import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
 
 /**
  * This class provides methods to retrieve mappings for classes, methods, and fields.
+ * Mappings are loaded lazily on first lookup, preferring the binary store generated at build
+ * time ({@code injector/mappings.bin}) and falling back to {@code injector/mappings.json}.
+ * All lookups are served from hash indexes.
  */
-@Getter
 public class MappingProvider
 {
-    @Getter
-    private static final List<JClass> mappings = new ArrayList<>();
+    private static volatile MappingIndex index;
 
-    static
+    /**
+     * @return all class mappings, in mapping file order
+     */
+    public static List<JClass> getMappings()
     {
-        Gson gson = new GsonBuilder().excludeFieldsWithoutExposeAnnotation().create();
-        try (InputStream inputStream = VitaLite.class.getResourceAsStream("injector/mappings.json")) {
-            if( inputStream == null) {
-                throw new IOException("Mappings file not found");
-            }
-            BufferedReader bufferedReader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
-            String fileContent = bufferedReader.lines().collect(Collectors.joining(System.lineSeparator()));
-            mappings.addAll(gson.fromJson(fileContent, new TypeToken<List<JClass>>(){}.getType()));
-        }
-        catch (IOException e)
-        {
-            //will fail in release builds
-        }
+        return index().classes;
+    }
+
+    /**
+     * Drops the loaded mappings and their indexes. Lookups made afterwards return nothing.
+     */
+    public static void release()
+    {
+        index = MappingIndex.EMPTY;
     }
 
     public static JClass getClass(String name)
     {
-        for (JClass jClass : mappings)
-        {
-            if (jClass.getName() != null && jClass.getName().equals(name))
-            {
-                return jClass;
-            }
-        }
-        return null;
+        if(name == null)
+            return null;
+        return index().classesByName.get(name);
     }
 
     public static JClass getClassByObfuscatedName(String obfuscatedName)
     {
-        for (JClass jClass : mappings)
-        {
-            if (jClass.getObfuscatedName().equals(obfuscatedName))
-            {
-                return jClass;
-            }
-        }
-        return null;
+        return index().classesByObfuscatedName.get(obfuscatedName);
     }
 
     public static JMethod getMethod(JClass owner, String name)
     {
-        for (JMethod jMethod : owner.getMethods())
+        if(name == null)
+            return null;
+        JMethod jMethod = index().methodsByName.get(memberKey(owner, name));
+        if (jMethod != null)
         {
-            if (jMethod.getName() != null && jMethod.getName().equals(name))
-            {
-                return jMethod;
-            }
+            return jMethod;
         }
         return getStaticMethod(name);
     }
 
     public static JMethod getMethodByObfuscatedName(JClass owner, String obfuscatedName)
     {
-        for (JMethod jMethod : owner.getMethods())
-        {
-            if (jMethod.getObfuscatedName().equals(obfuscatedName))
-            {
-                return jMethod;
-            }
-        }
-        return null;
+        return index().methodsByObfuscatedName.get(memberKey(owner, obfuscatedName));
     }
 
     public static JMethod getStaticMethod(String name)
     {
-        for (JClass jClass : mappings)
-        {
-            for (JMethod jMethod : jClass.getMethods())
-            {
-                if (jMethod.getName() != null && jMethod.getName().equals(name) && jMethod.isStatic())
-                {
-                    return jMethod;
-                }
-            }
-        }
-        return null;
+        if(name == null)
+            return null;
+        return index().staticMethodsByName.get(name);
     }
 
     public static JField getField(@Nullable JClass owner, String name)
     {
+        if(name == null)
+            return null;
         if(owner == null)
             return getStaticField(name);
-        for (JField jField : owner.getFields())
+        JField jField = index().fieldsByName.get(memberKey(owner, name));
+        if (jField != null)
         {
-            if (jField.getName() != null && jField.getName().equals(name))
-            {
-                return jField;
-            }
+            return jField;
         }
         return getStaticField(name);
     }
 
     public static JField getFieldByObfuscatedName(JClass owner, String obfuscatedName)
     {
-        for (JField jField : owner.getFields())
+        return index().fieldsByObfuscatedName.get(memberKey(owner, obfuscatedName));
+    }
+
+    public static JField getStaticField(String name)
+    {
+        if(name == null)
+            return null;
+        return index().staticFieldsByName.get(name);
+    }
+
+    /**
+     * Finds a field by mapped name in any class, static or not.
+     * @param name mapped field name
+     * @return first field with that name in mapping file order, or null
+     */
+    public static JField getAnyField(String name)
+    {
+        if(name == null)
+            return null;
+        return index().anyFieldsByName.get(name);
+    }
+
+    private static MappingIndex index()
+    {
+        MappingIndex current = index;
+        if (current == null)
         {
-            if (jField.getObfuscatedName().equals(obfuscatedName))
+            synchronized (MappingProvider.class)
             {
-                return jField;
+                current = index;
+                if (current == null)
+                {
+                    current = new MappingIndex(load());
+                    index = current;
+                }
             }
         }
-        return null;
+        return current;
     }
 
-    public static JField getStaticField(String name)
+    private static List<JClass> load()
     {
-        for (JClass jClass : mappings)
+        try (InputStream inputStream = VitaLite.class.getResourceAsStream("injector/mappings.bin")) {
+            if (inputStream != null) {
+                return MappingStore.read(inputStream);
+            }
+        }
+        catch (IOException e)
         {
-            for (JField jField : jClass.getFields())
+            System.err.println("Failed to read binary mappings, falling back to json: " + e.getMessage());
+        }
+
+        try (InputStream inputStream = VitaLite.class.getResourceAsStream("injector/mappings.json")) {
+            if( inputStream == null) {
+                throw new IOException("Mappings file not found");
+            }
+            return MappingStore.readJson(inputStream);
+        }
+        catch (IOException e)
+        {
+            //will fail in release builds
+            return new ArrayList<>();
+        }
+    }
+
+    private static String memberKey(JClass owner, String name)
+    {
+        return memberKey(owner.getObfuscatedName(), name);
+    }
+
+    private static String memberKey(String ownerObfuscatedName, String name)
+    {
+        return ownerObfuscatedName + '.' + name;
+    }
+
+    /**
+     * Hash indexes over a loaded mapping set. Where several entries share a key the first one in
+     * mapping file order wins, matching the behaviour of a linear scan.
+     */
+    private static final class MappingIndex
+    {
+        private static final MappingIndex EMPTY = new MappingIndex(Collections.emptyList());
+
+        private final List<JClass> classes;
+        private final Map<String, JClass> classesByName = new HashMap<>();
+        private final Map<String, JClass> classesByObfuscatedName = new HashMap<>();
+        private final Map<String, JMethod> methodsByName = new HashMap<>();
+        private final Map<String, JMethod> methodsByObfuscatedName = new HashMap<>();
+        private final Map<String, JMethod> staticMethodsByName = new HashMap<>();
+        private final Map<String, JField> fieldsByName = new HashMap<>();
+        private final Map<String, JField> fieldsByObfuscatedName = new HashMap<>();
+        private final Map<String, JField> staticFieldsByName = new HashMap<>();
+        private final Map<String, JField> anyFieldsByName = new HashMap<>();
+
+        private MappingIndex(List<JClass> classes)
+        {
+            this.classes = classes;
+            for (JClass jClass : classes)
             {
-                if (jField.getName() != null && jField.getName().equals(name) && jField.isStatic())
+                String owner = jClass.getObfuscatedName();
+                if (jClass.getName() != null)
+                {
+                    classesByName.putIfAbsent(jClass.getName(), jClass);
+                }
+                classesByObfuscatedName.putIfAbsent(owner, jClass);
+
+                for (JMethod jMethod : jClass.getMethods())
+                {
+                    if (jMethod.getName() != null)
+                    {
+                        methodsByName.putIfAbsent(memberKey(owner, jMethod.getName()), jMethod);
+                        if (jMethod.isStatic())
+                        {
+                            staticMethodsByName.putIfAbsent(jMethod.getName(), jMethod);
+                        }
+                    }
+                    methodsByObfuscatedName.putIfAbsent(memberKey(owner, jMethod.getObfuscatedName()), jMethod);
+                }
+
+                for (JField jField : jClass.getFields())
                 {
-                    return jField;
+                    if (jField.getName() != null)
+                    {
+                        fieldsByName.putIfAbsent(memberKey(owner, jField.getName()), jField);
+                        anyFieldsByName.putIfAbsent(jField.getName(), jField);
+                        if (jField.isStatic())
+                        {
+                            staticFieldsByName.putIfAbsent(jField.getName(), jField);
+                        }
+                    }
+                    fieldsByObfuscatedName.putIfAbsent(memberKey(owner, jField.getObfuscatedName()), jField);
                 }
             }
         }
-        return null;
     }
 }
@@ -0,0 +1,274 @@
+package com.tonic.util;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.reflect.TypeToken;
+import com.tonic.util.dto.JClass;
+import com.tonic.util.dto.JField;
+import com.tonic.util.dto.JMethod;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact binary form of {@code injector/mappings.json}. Every string is written once to a shared
+ * string table and referenced by index, so owners and descriptors that repeat thousands of times
+ * cost four bytes each. Generated at build time by the {@code generateMappingStore} Gradle task.
+ */
+public class MappingStore
+{
+    private static final int MAGIC = 0x564D4150; // "VMAP"
+    private static final int VERSION = 1;
+
+    private static final byte NUMBER_NULL = 0;
+    private static final byte NUMBER_LONG = 1;
+    private static final byte NUMBER_DOUBLE = 2;
+
+    /**
+     * Parses mappings from their JSON form.
+     * @param in json input stream
+     * @return parsed class mappings
+     */
+    public static List<JClass> readJson(InputStream in)
+    {
+        Gson gson = new GsonBuilder().excludeFieldsWithoutExposeAnnotation().create();
+        Reader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        List<JClass> classes = gson.fromJson(reader, new TypeToken<List<JClass>>(){}.getType());
+        return classes != null ? classes : new ArrayList<>();
+    }
+
+    /**
+     * Writes mappings in the binary store format.
+     * @param classes class mappings
+     * @param out destination stream
+     */
+    public static void write(List<JClass> classes, OutputStream out) throws IOException
+    {
+        List<String> strings = new ArrayList<>();
+        Map<String, Integer> stringIds = new HashMap<>();
+        for (JClass jClass : classes)
+        {
+            intern(strings, stringIds, jClass.getName());
+            intern(strings, stringIds, jClass.getObfuscatedName());
+            for (JField field : jClass.getFields())
+            {
+                intern(strings, stringIds, field.getName());
+                intern(strings, stringIds, field.getObfuscatedName());
+                intern(strings, stringIds, field.getOwner());
+                intern(strings, stringIds, field.getOwnerObfuscatedName());
+                intern(strings, stringIds, field.getDescriptor());
+            }
+            for (JMethod method : jClass.getMethods())
+            {
+                intern(strings, stringIds, method.getName());
+                intern(strings, stringIds, method.getObfuscatedName());
+                intern(strings, stringIds, method.getOwner());
+                intern(strings, stringIds, method.getOwnerObfuscatedName());
+                intern(strings, stringIds, method.getDescriptor());
+            }
+        }
+
+        DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out));
+        data.writeInt(MAGIC);
+        data.writeInt(VERSION);
+
+        data.writeInt(strings.size());
+        for (String s : strings)
+        {
+            data.writeUTF(s);
+        }
+
+        data.writeInt(classes.size());
+        for (JClass jClass : classes)
+        {
+            writeString(data, stringIds, jClass.getName());
+            writeString(data, stringIds, jClass.getObfuscatedName());
+
+            data.writeInt(jClass.getFields().size());
+            for (JField field : jClass.getFields())
+            {
+                writeString(data, stringIds, field.getName());
+                writeString(data, stringIds, field.getObfuscatedName());
+                writeString(data, stringIds, field.getOwner());
+                writeString(data, stringIds, field.getOwnerObfuscatedName());
+                writeString(data, stringIds, field.getDescriptor());
+                writeNumber(data, field.getGetter());
+                writeNumber(data, field.getSetter());
+                data.writeBoolean(field.isStatic());
+            }
+
+            data.writeInt(jClass.getMethods().size());
+            for (JMethod method : jClass.getMethods())
+            {
+                writeString(data, stringIds, method.getName());
+                writeString(data, stringIds, method.getObfuscatedName());
+                writeString(data, stringIds, method.getOwner());
+                writeString(data, stringIds, method.getOwnerObfuscatedName());
+                writeString(data, stringIds, method.getDescriptor());
+                writeNumber(data, method.getGarbageValue());
+                data.writeBoolean(method.isStatic());
+            }
+        }
+        data.flush();
+    }
+
+    /**
+     * Reads mappings from the binary store format.
+     * @param in binary input stream
+     * @return class mappings, in the same order they were written
+     */
+    public static List<JClass> read(InputStream in) throws IOException
+    {
+        DataInputStream data = new DataInputStream(new BufferedInputStream(in, 1 << 16));
+        if (data.readInt() != MAGIC)
+        {
+            throw new IOException("Not a mapping store");
+        }
+        int version = data.readInt();
+        if (version != VERSION)
+        {
+            throw new IOException("Unsupported mapping store version: " + version);
+        }
+
+        String[] strings = new String[data.readInt()];
+        for (int i = 0; i < strings.length; i++)
+        {
+            strings[i] = data.readUTF();
+        }
+
+        int classCount = data.readInt();
+        List<JClass> classes = new ArrayList<>(classCount);
+        for (int i = 0; i < classCount; i++)
+        {
+            JClass jClass = new JClass();
+            jClass.setName(readString(data, strings));
+            jClass.setObfuscatedName(readString(data, strings));
+
+            int fieldCount = data.readInt();
+            for (int f = 0; f < fieldCount; f++)
+            {
+                JField field = new JField();
+                field.setName(readString(data, strings));
+                field.setObfuscatedName(readString(data, strings));
+                field.setOwner(readString(data, strings));
+                field.setOwnerObfuscatedName(readString(data, strings));
+                field.setDescriptor(readString(data, strings));
+                field.setGetter(readNumber(data));
+                field.setSetter(readNumber(data));
+                field.setStatic(data.readBoolean());
+                jClass.getFields().add(field);
+            }
+
+            int methodCount = data.readInt();
+            for (int m = 0; m < methodCount; m++)
+            {
+                JMethod method = new JMethod();
+                method.setName(readString(data, strings));
+                method.setObfuscatedName(readString(data, strings));
+                method.setOwner(readString(data, strings));
+                method.setOwnerObfuscatedName(readString(data, strings));
+                method.setDescriptor(readString(data, strings));
+                method.setGarbageValue(readNumber(data));
+                method.setStatic(data.readBoolean());
+                jClass.getMethods().add(method);
+            }
+            classes.add(jClass);
+        }
+        return classes;
+    }
+
+    private static void intern(List<String> strings, Map<String, Integer> stringIds, String s)
+    {
+        if (s != null && !stringIds.containsKey(s))
+        {
+            stringIds.put(s, strings.size());
+            strings.add(s);
+        }
+    }
+
+    private static void writeString(DataOutputStream data, Map<String, Integer> stringIds, String s) throws IOException
+    {
+        data.writeInt(s == null ? -1 : stringIds.get(s));
+    }
+
+    private static String readString(DataInputStream data, String[] strings) throws IOException
+    {
+        int id = data.readInt();
+        return id < 0 ? null : strings[id];
+    }
+
+    private static void writeNumber(DataOutputStream data, Number number) throws IOException
+    {
+        if (number == null)
+        {
+            data.writeByte(NUMBER_NULL);
+            return;
+        }
+        String text = number.toString();
+        if (text.indexOf('.') >= 0 || text.indexOf('e') >= 0 || text.indexOf('E') >= 0)
+        {
+            data.writeByte(NUMBER_DOUBLE);
+            data.writeDouble(number.doubleValue());
+        }
+        else
+        {
+            data.writeByte(NUMBER_LONG);
+            data.writeLong(number.longValue());
+        }
+    }
+
+    private static Number readNumber(DataInputStream data) throws IOException
+    {
+        byte tag = data.readByte();
+        switch (tag)
+        {
+            case NUMBER_NULL:
+                return null;
+            case NUMBER_LONG:
+                return data.readLong();
+            case NUMBER_DOUBLE:
+                return data.readDouble();
+            default:
+                throw new IOException("Corrupt mapping store number tag: " + tag);
+        }
+    }
+
+    /**
+     * Build-time entry point: converts a mappings json file into the binary store.
+     * @param args {@code <mappings.json> <mappings.bin>}
+     */
+    public static void main(String[] args) throws IOException
+    {
+        if (args.length != 2)
+        {
+            System.err.println("Usage: MappingStore <mappings.json> <mappings.bin>");
+            System.exit(1);
+        }
+
+        Path input = Paths.get(args[0]);
+        Path output = Paths.get(args[1]);
+
+        List<JClass> classes;
+        try (InputStream in = Files.newInputStream(input))
+        {
+            classes = readJson(in);
+        }
+
+        if (output.getParent() != null)
+        {
+            Files.createDirectories(output.getParent());
+        }
+        try (OutputStream out = Files.newOutputStream(output))
+        {
+            write(classes, out);
+        }
+        System.out.println("Wrote " + classes.size() + " class mappings to " + output + " (" + Files.size(output) + " bytes)");
+    }
+}
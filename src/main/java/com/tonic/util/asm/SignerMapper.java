@@ -1,9 +1,17 @@
 package com.tonic.util.asm;
 
+import com.tonic.Static;
 import com.tonic.vitalite.Main;
 import org.objectweb.asm.tree.*;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import static org.objectweb.asm.Opcodes.*;
@@ -14,6 +22,8 @@ import static org.objectweb.asm.Opcodes.*;
 public class SignerMapper
 {
     private static final Set<String> blacklist = new HashSet<>();
+    private static final Path CACHE_FILE = Static.VITA_DIR.resolve("signers.cache");
+    private static final byte[] GET_SIGNERS = "getSigners".getBytes(StandardCharsets.US_ASCII);
 
     public static boolean shouldIgnore(String className)
     {
@@ -24,34 +34,40 @@ public class SignerMapper
     {
         blacklist.add("net.runelite.api.hooks.Callbacks");
         blacklist.add("net.runelite.client.callback.Hooks");
-        for(var entry : Main.LIBS.getRunelite().classes.entrySet())
-        {
-            ClassNode node = ClassNodeUtil.toNode(entry.getValue());
-            for(MethodNode mn : node.methods)
-            {
-                scan(mn);
-            }
-        }
 
-        for(var entry : Main.LIBS.getGamepack().classes.entrySet())
+        // RuneLite and dependency jars are read lazily, so only rescan them when they change
+        String fingerprint = Main.LIBS.getRuneliteIndex().fingerprint() + "|" + Main.LIBS.getOtherIndex().fingerprint();
+        Set<String> jarResults = readCache(fingerprint);
+        if(jarResults == null)
         {
-            ClassNode node = ClassNodeUtil.toNode(entry.getValue());
-            for(MethodNode mn : node.methods)
-            {
-                scan(mn);
-            }
+            jarResults = new HashSet<>();
+            scan(Main.LIBS.getRunelite().classes, jarResults);
+            scan(Main.LIBS.getOther().classes, jarResults);
+            writeCache(fingerprint, jarResults);
         }
+        blacklist.addAll(jarResults);
+
+        scan(Main.LIBS.getGamepack().classes, blacklist);
+    }
 
-        for(var entry : Main.LIBS.getOther().classes.entrySet())
+    private static void scan(Map<String, byte[]> classes, Set<String> out)
+    {
+        for(var entry : classes.entrySet())
         {
-            ClassNode node = ClassNodeUtil.toNode(entry.getValue());
+            byte[] bytes = entry.getValue();
+            // getSigners has to be in the constant pool for the class to call it
+            if(!contains(bytes, GET_SIGNERS))
+                continue;
+
+            ClassNode node = ClassNodeUtil.toNode(bytes);
             for(MethodNode mn : node.methods)
             {
-                scan(mn);
+                scan(mn, out);
             }
         }
     }
-    private static void scan(MethodNode mn)
+
+    private static void scan(MethodNode mn, Set<String> out)
     {
         AbstractInsnNode target;
         for(AbstractInsnNode insn : mn.instructions)
@@ -67,9 +83,57 @@ public class SignerMapper
                 {
                     FieldInsnNode fin = (FieldInsnNode) target;
                     String clazz = fin.desc.replace("L", "").replace(";", "").replace("/", ".");
-                    blacklist.add(clazz);
+                    out.add(clazz);
                 }
             }
         }
     }
+
+    private static boolean contains(byte[] haystack, byte[] needle)
+    {
+        outer:
+        for(int i = 0; i <= haystack.length - needle.length; i++)
+        {
+            for(int j = 0; j < needle.length; j++)
+            {
+                if(haystack[i + j] != needle[j])
+                    continue outer;
+            }
+            return true;
+        }
+        return false;
+    }
+
+    private static Set<String> readCache(String fingerprint)
+    {
+        try
+        {
+            if(!Files.exists(CACHE_FILE))
+                return null;
+            List<String> lines = Files.readAllLines(CACHE_FILE, StandardCharsets.UTF_8);
+            if(lines.isEmpty() || !lines.get(0).equals(fingerprint))
+                return null;
+            return new HashSet<>(lines.subList(1, lines.size()));
+        }
+        catch (IOException e)
+        {
+            return null;
+        }
+    }
+
+    private static void writeCache(String fingerprint, Set<String> classes)
+    {
+        try
+        {
+            List<String> lines = new ArrayList<>(classes.size() + 1);
+            lines.add(fingerprint);
+            lines.addAll(classes);
+            Files.createDirectories(CACHE_FILE.getParent());
+            Files.write(CACHE_FILE, lines, StandardCharsets.UTF_8);
+        }
+        catch (IOException e)
+        {
+            System.err.println("Failed to write signer cache: " + e.getMessage());
+        }
+    }
 }
@@ -38,6 +38,7 @@ public class Main {
 
     public static void main(String[] args) throws Exception
     {
+        StartupPhases.mark(null);
         LogFileManager.initialize();
         VitaLiteOptions optionsParser = Static.getCliArgs();
         args = optionsParser.parse(args);
@@ -69,10 +70,15 @@ public class Main {
         }
         Files.createDirectories(REPOSITORY_DIR);
         JvmParams.set();
+        StartupPhases.mark("options");
         RLUpdater.run();
+        StartupPhases.mark("update");
         loadArtifacts();
+        StartupPhases.mark("artifacts");
         SignerMapper.map();
+        StartupPhases.mark("signers");
         loadClassLoader();
+        StartupPhases.mark("classloader");
 
         if(optionsParser.isRunInjector())
         {
@@ -94,13 +100,18 @@ public class Main {
             PatchApplier.applyPatches();
         }
 
-        MappingProvider.getMappings().clear();
+        MappingProvider.release();
+        StartupPhases.mark("patch");
         if(optionsParser.getPort() != null)
         {
             LauncherCom.sendReadySignal(Integer.parseInt(optionsParser.getPort()), "Done");
         }
         CLASSLOADER.launch(args);
+        StartupPhases.mark("launch");
         Install.install();
+        StartupPhases.mark("install");
+        StartupPhases.print();
+        System.out.println("[Main] Class bytes: " + LIBS.getStats());
         Logger.norm("VitaLite started. - Did you know... " + CatFacts.get(-1));
     }
 
@@ -0,0 +1,118 @@
+package com.tonic.vitalite;
+
+import com.tonic.runelite.jvm.CdsArchive;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Wall-clock timings of the client startup phases. Launches without the shared class archive are
+ * saved as the baseline that archive-backed launches are compared against.
+ */
+public final class StartupPhases
+{
+    private static final Path BASELINE = CdsArchive.getDirectory().resolve("phases-baseline.properties");
+    private static final Map<String, Long> phases = new LinkedHashMap<>();
+    private static long last = -1;
+
+    private StartupPhases() {
+    }
+
+    /**
+     * Marks the end of a phase. The first call also records JVM startup up to that point.
+     * @param phase phase name
+     */
+    public static synchronized void mark(String phase)
+    {
+        long now = ManagementFactory.getRuntimeMXBean().getUptime();
+        if (last < 0)
+        {
+            phases.put("jvm", now);
+            last = now;
+            if (phase == null)
+                return;
+        }
+        phases.merge(phase, now - last, Long::sum);
+        last = now;
+    }
+
+    /**
+     * Prints all phases, and the difference to the baseline when the shared archive is in use.
+     */
+    public static synchronized void print()
+    {
+        boolean cds = CdsArchive.isActive();
+        Properties baseline = cds ? loadBaseline() : null;
+
+        StringBuilder out = new StringBuilder("[Startup] ")
+                .append(cds ? "with" : "without")
+                .append(" class-data sharing:");
+        long total = 0;
+        long baselineTotal = 0;
+        for (var entry : phases.entrySet())
+        {
+            total += entry.getValue();
+            out.append("\n\t").append(entry.getKey()).append(": ").append(entry.getValue()).append("ms");
+            if (baseline != null && baseline.containsKey(entry.getKey()))
+            {
+                long before = Long.parseLong(baseline.getProperty(entry.getKey()));
+                baselineTotal += before;
+                out.append(" (was ").append(before).append("ms)");
+            }
+        }
+        out.append("\n\ttotal: ").append(total).append("ms");
+        if (baseline != null && baselineTotal > 0)
+        {
+            out.append(" (was ").append(baselineTotal).append("ms)");
+        }
+        System.out.println(out);
+
+        if (!cds)
+        {
+            saveBaseline();
+        }
+    }
+
+    private static Properties loadBaseline()
+    {
+        if (!Files.exists(BASELINE))
+            return null;
+        Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(BASELINE))
+        {
+            properties.load(in);
+            return properties;
+        }
+        catch (IOException e)
+        {
+            return null;
+        }
+    }
+
+    private static void saveBaseline()
+    {
+        Properties properties = new Properties();
+        for (var entry : phases.entrySet())
+        {
+            properties.setProperty(entry.getKey(), Long.toString(entry.getValue()));
+        }
+        try
+        {
+            Files.createDirectories(BASELINE.getParent());
+            try (OutputStream out = Files.newOutputStream(BASELINE))
+            {
+                properties.store(out, "VitaLite startup phases without class-data sharing");
+            }
+        }
+        catch (IOException ignored)
+        {
+        }
+    }
+}